@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.world;
+
+import eu.hansolo.fx.charts.world.World.Resolution;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+/**
+ * Precompiles the svg paths of all resolutions into the binary files that
+ * are read by WorldGeometry.of(). Only used by the createWorldGeometry build
+ * task, the files are written to the package folder below the directory that
+ * is given as first argument.
+ */
+public class WorldGeometryGenerator {
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) { throw new IllegalArgumentException("Missing output directory"); }
+        Path folder = Paths.get(args[0], WorldGeometry.class.getPackageName().split("\\."));
+        Files.createDirectories(folder);
+        for (Resolution resolution : Resolution.values()) {
+            WorldGeometry geometry = WorldGeometry.parse(resolution);
+            try (OutputStream outputStream = Files.newOutputStream(folder.resolve(WorldGeometry.getBinaryName(resolution)))) {
+                geometry.write(outputStream);
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts;
+
+import eu.hansolo.fx.charts.tools.Helper;
+import javafx.scene.paint.LinearGradient;
+
+import java.util.Arrays;
+
+
+/**
+ * Holds the z values of a matrix heat map in a double[] grid (row by row) and
+ * the resulting argb colors in an int[] of the same layout. The minimum and
+ * maximum z value are updated with every new value (the grid is only scanned
+ * again if the last cell with the current minimum or maximum got another
+ * value). The colors come from a lookup table of the gradient. As long as the
+ * z range doesn't change only the changed cells are colorized, otherwise the
+ * whole grid will be colorized in one pass by the next call of update().
+ * Cells without a value are NaN and get the empty color (transparent by default).
+ */
+public class MatrixHeatMapEngine {
+    public  static final int       LOOKUP_SIZE = 256;
+    private        final int       cols;
+    private        final int       rows;
+    private        final double[]  values;
+    private        final int[]     colors;
+    private        final boolean[] dirty;
+    private        final int[]     dirtyCells;
+    private              int       noOfDirtyCells;
+    private              int[]     lookup;
+    private              int       emptyColor;
+    private              double    minZ;
+    private              double    maxZ;
+    private              int       noOfMinCells;
+    private              int       noOfMaxCells;
+    private              double    colorMinZ;
+    private              double    colorScale;
+    private              boolean   recolor;
+
+
+    // ******************** Constructors **************************************
+    public MatrixHeatMapEngine(final int COLS, final int ROWS, final LinearGradient GRADIENT) {
+        cols       = COLS;
+        rows       = ROWS;
+        values     = new double[COLS * ROWS];
+        colors     = new int[COLS * ROWS];
+        dirty      = new boolean[COLS * ROWS];
+        dirtyCells = new int[COLS * ROWS];
+        lookup     = Helper.createArgbLookup(GRADIENT, LOOKUP_SIZE);
+        emptyColor = 0;
+        clear();
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+
+    public double getMinZ() { return minZ; }
+    public double getMaxZ() { return maxZ; }
+
+    public double getValue(final int X, final int Y) { return values[Y * cols + X]; }
+    /**
+     * Sets the z value of the given cell, Double.NaN removes the value.
+     * The colors will be updated by the next call of update().
+     */
+    public void setValue(final int X, final int Y, final double Z) {
+        if (X < 0 || X >= cols || Y < 0 || Y >= rows) { return; }
+        final int    INDEX = Y * cols + X;
+        final double OLD   = values[INDEX];
+        if (Double.compare(OLD, Z) == 0) { return; }
+        values[INDEX] = Z;
+
+        if (!Double.isNaN(Z)) {
+            if (Z < minZ) {
+                minZ         = Z;
+                noOfMinCells = 1;
+            } else if (Z == minZ) {
+                noOfMinCells++;
+            }
+            if (Z > maxZ) {
+                maxZ         = Z;
+                noOfMaxCells = 1;
+            } else if (Z == maxZ) {
+                noOfMaxCells++;
+            }
+        }
+        // Only if the last cell with the minimum or maximum changed, the grid has to be scanned
+        if (!Double.isNaN(OLD)) {
+            if (OLD == minZ) { noOfMinCells--; }
+            if (OLD == maxZ) { noOfMaxCells--; }
+            if (0 == noOfMinCells || 0 == noOfMaxCells) { scanMinMax(); }
+        }
+
+        if (minZ != colorMinZ || getScale() != colorScale) {
+            recolor = true;
+        } else if (!recolor && !dirty[INDEX]) {
+            dirty[INDEX]                 = true;
+            dirtyCells[noOfDirtyCells++] = INDEX;
+        }
+    }
+
+    /**
+     * Sets the z values of all cells (row by row) and colorizes them in one pass
+     */
+    public void setValues(final double[] VALUES) {
+        System.arraycopy(VALUES, 0, values, 0, values.length);
+        scanMinMax();
+        recolor = true;
+        update(null);
+    }
+
+    public void clear() {
+        Arrays.fill(values, Double.NaN);
+        Arrays.fill(colors, emptyColor);
+        minZ         = Double.POSITIVE_INFINITY;
+        maxZ         = Double.NEGATIVE_INFINITY;
+        noOfMinCells = 0;
+        noOfMaxCells = 0;
+        colorMinZ    = minZ;
+        colorScale   = 0;
+        recolor      = false;
+        clearDirtyCells();
+    }
+
+    public int getEmptyColor() { return emptyColor; }
+    /**
+     * Sets the argb color of the cells without a value, all cells will be colorized by the next call of update()
+     */
+    public void setEmptyColor(final int COLOR) {
+        if (COLOR == emptyColor) { return; }
+        emptyColor = COLOR;
+        recolor    = true;
+    }
+
+    public void setGradient(final LinearGradient GRADIENT) {
+        lookup  = Helper.createArgbLookup(GRADIENT, LOOKUP_SIZE);
+        recolor = true;
+    }
+
+    /**
+     * Returns the argb colors of all cells row by row, the array is not copied
+     */
+    public int[] getColors() { return colors; }
+
+    public int getColor(final int X, final int Y) { return colors[Y * cols + X]; }
+
+    /**
+     * Colorizes the changed cells, or all cells if the z range or the gradient
+     * changed, and passes them to the given listener (if not null).
+     * @return true if all cells have been colorized
+     */
+    public boolean update(final UpdateListener LISTENER) {
+        if (recolor) {
+            colorMinZ  = minZ;
+            colorScale = getScale();
+            for (int i = 0 ; i < values.length ; i++) { colors[i] = toColor(values[i]); }
+            clearDirtyCells();
+            recolor = false;
+            if (null != LISTENER) { LISTENER.onAllCellsChanged(colors); }
+            return true;
+        }
+        for (int i = 0 ; i < noOfDirtyCells ; i++) {
+            int index = dirtyCells[i];
+            colors[index] = toColor(values[index]);
+            if (null != LISTENER) { LISTENER.onCellChanged(index % cols, index / cols, colors[index]); }
+        }
+        clearDirtyCells();
+        return false;
+    }
+
+    private int toColor(final double Z) {
+        if (Double.isNaN(Z)) { return emptyColor; }
+        int index = (int) ((Z - colorMinZ) * colorScale + 0.5);
+        return lookup[index < 0 ? 0 : (index >= LOOKUP_SIZE ? LOOKUP_SIZE - 1 : index)];
+    }
+
+    private double getScale() { return maxZ > minZ ? (LOOKUP_SIZE - 1) / (maxZ - minZ) : 0; }
+
+    private void scanMinMax() {
+        minZ         = Double.POSITIVE_INFINITY;
+        maxZ         = Double.NEGATIVE_INFINITY;
+        noOfMinCells = 0;
+        noOfMaxCells = 0;
+        for (double z : values) {
+            if (Double.isNaN(z)) { continue; }
+            if (z < minZ) {
+                minZ         = z;
+                noOfMinCells = 1;
+            } else if (z == minZ) {
+                noOfMinCells++;
+            }
+            if (z > maxZ) {
+                maxZ         = z;
+                noOfMaxCells = 1;
+            } else if (z == maxZ) {
+                noOfMaxCells++;
+            }
+        }
+    }
+
+    private void clearDirtyCells() {
+        for (int i = 0 ; i < noOfDirtyCells ; i++) { dirty[dirtyCells[i]] = false; }
+        noOfDirtyCells = 0;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    public interface UpdateListener {
+        void onCellChanged(int x, int y, int color);
+
+        void onAllCellsChanged(int[] colors);
+    }
+}
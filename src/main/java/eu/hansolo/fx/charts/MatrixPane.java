@@ -16,6 +16,7 @@
 
 package eu.hansolo.fx.charts;
 
+import eu.hansolo.fx.charts.MatrixHeatMapEngine.UpdateListener;
 import eu.hansolo.fx.charts.PixelMatrix.PixelShape;
 import eu.hansolo.fx.charts.data.MatrixItem;
 import eu.hansolo.fx.charts.series.MatrixItemSeries;
@@ -27,13 +28,28 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Paint;
 
+import java.util.Arrays;
 
+
+/**
+ * In waterfall mode (see enableWaterfall()) the series is not used. Rows are
+ * appended with addRow() and shown with the newest row at the bottom. The
+ * values are kept in a WaterfallHistory and the colors of the visible rows
+ * in an array (one int per value) that is used as circular buffer. Appending
+ * a row only colorizes that row. The cells are scaled up to the canvas size
+ * by nearest neighbour into an image that is drawn without scaling, so the
+ * cell borders stay sharp. The colors are mapped to lowerBoundZ - upperBoundZ.
+ */
 public class MatrixPane<T extends MatrixItem> extends Region implements ChartArea {
     private static final double                PREFERRED_WIDTH  = 250;
     private static final double                PREFERRED_HEIGHT = 250;
@@ -52,9 +68,20 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
     private              MatrixItemSeries<T>   series;
     private              PixelMatrix           matrix;
     private              LinearGradient        matrixGradient;
-    private              double                minZ;
-    private              double                maxZ;
-    private              double                rangeZ;
+    private              MatrixHeatMapEngine   engine;
+    private              UpdateListener        engineListener;
+    private              WaterfallHistory      history;
+    private              Canvas                waterfallCanvas;
+    private              GraphicsContext       waterfallCtx;
+    private              WritableImage         waterfallImage;
+    private              int[]                 waterfallImagePixels;
+    private              int[]                 waterfallImageCols;
+    private              int[]                 waterfallLookup;
+    private              int[]                 waterfallPixels;
+    private              double[]              waterfallRow;
+    private              int                   waterfallRows;
+    private              int                   waterfallImageRow;
+    private              int                   scrollback;
     private              double                scaleX;
     private              double                scaleY;
     private              double                scaleZ;
@@ -86,6 +113,10 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
         scaleX           = 1;
         scaleY           = 1;
         scaleZ           = 1;
+        engineListener   = new UpdateListener() {
+            @Override public void onCellChanged(final int X, final int Y, final int COLOR) { matrix.setPixel(X, Y, COLOR); }
+            @Override public void onAllCellsChanged(final int[] COLORS) { matrix.setPixels(COLORS); }
+        };
         _lowerBoundX     = 0;
         _upperBoundX     = 100;
         _lowerBoundY     = 0;
@@ -292,15 +323,17 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
         if (getSeries().getItems().isEmpty()) { throw new Exception("Series is empty"); }
         return getSeries().getAt(X, Y);
     }
+    /**
+     * Sets the z value of the given cell and updates the matrix. If the z range
+     * changed all cells will be colorized again, otherwise only the given one.
+     */
     public void setValueAt(final int X, final int Y, final double Z) {
-        if (null != getSeries()) {
-            minZ   = Math.min(minZ, Z);
-            maxZ   = Math.max(maxZ, Z);
-            rangeZ = maxZ - minZ;
-
-            Color color = Helper.getColorAt(matrixGradient, Z / rangeZ);
-            matrix.setPixel(X, Y, color);
-        }
+        if (null == getSeries()) { return; }
+        // Creates the engine with the values of the series if it doesn't exist yet or doesn't fit the matrix
+        if (null == engine || engine.getCols() != matrix.getCols() || engine.getRows() != matrix.getRows()) { drawMatrixHeatMap(getSeries()); }
+        engine.setValue(X, Y, Z);
+        engine.update(engineListener);
+        matrix.drawMatrix();
     }
 
     public MatrixItemSeries<T> getSeries() { return series; }
@@ -312,12 +345,86 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
     public LinearGradient getMatrixGradient() { return matrixGradient; }
     public void setMatrixGradient(final LinearGradient GRADIENT) {
         matrixGradient = GRADIENT;
+        if (null != engine) { engine.setGradient(GRADIENT); }
+        if (isWaterfall()) { waterfallLookup = Helper.createArgbLookup(GRADIENT, MatrixHeatMapEngine.LOOKUP_SIZE); }
+        drawChart();
+    }
+
+    /**
+     * Switches to waterfall mode
+     * @param COLS         number of values per row
+     * @param ROWS         number of visible rows
+     * @param HISTORY_SIZE number of rows that are kept for scrolling back (at least ROWS)
+     */
+    public void enableWaterfall(final int COLS, final int ROWS, final int HISTORY_SIZE) {
+        history           = new WaterfallHistory(COLS, Math.max(ROWS, HISTORY_SIZE));
+        waterfallRows     = ROWS;
+        waterfallImage    = null;
+        waterfallPixels   = new int[COLS * ROWS];
+        waterfallRow      = new double[COLS];
+        waterfallLookup   = Helper.createArgbLookup(matrixGradient, MatrixHeatMapEngine.LOOKUP_SIZE);
+        waterfallImageRow = 0;
+        scrollback        = 0;
+        if (null == waterfallCanvas) {
+            waterfallCanvas = new Canvas(width, height);
+            waterfallCtx    = waterfallCanvas.getGraphicsContext2D();
+        }
+        pane.getChildren().setAll(waterfallCanvas);
+        resize();
+    }
+    public void disableWaterfall() {
+        if (!isWaterfall()) { return; }
+        history              = null;
+        waterfallImage       = null;
+        waterfallImagePixels = null;
+        waterfallImageCols   = null;
+        waterfallPixels      = null;
+        waterfallRow         = null;
+        waterfallLookup      = null;
+        pane.getChildren().setAll(matrix);
+        resize();
+    }
+    public boolean isWaterfall() { return null != history; }
+
+    public WaterfallHistory getHistory() { return history; }
+
+    /**
+     * Appends a row to the waterfall, only this row will be colorized
+     */
+    public void addRow(final double[] VALUES) {
+        if (!isWaterfall()) { return; }
+        history.append(VALUES);
+        if (scrollback > 0) {
+            // Keep the rows that are shown at the same position as long as they are in the history
+            int lastScrollback = scrollback;
+            scrollback = Math.min(scrollback + 1, getMaxScrollback());
+            if (scrollback == lastScrollback) { fillWaterfall(); }
+            return;
+        }
+        history.getRow(0, waterfallRow);
+        colorizeWaterfallRow(waterfallRow, waterfallPixels, waterfallImageRow * history.getCols());
+        waterfallImageRow = waterfallImageRow == waterfallRows - 1 ? 0 : waterfallImageRow + 1;
+        drawWaterfall();
+    }
+
+    /**
+     * Returns the number of rows the waterfall is scrolled back from the newest row
+     */
+    public int getScrollback() { return scrollback; }
+    public void setScrollback(final int ROWS) {
+        if (!isWaterfall()) { return; }
+        scrollback = Helper.clamp(0, getMaxScrollback(), ROWS);
         drawChart();
     }
+    public int getMaxScrollback() { return isWaterfall() ? Math.max(0, history.size() - waterfallRows) : 0; }
 
 
     // ******************** Draw Chart ****************************************
     private void drawChart() {
+        if (isWaterfall()) {
+            fillWaterfall();
+            return;
+        }
         if (null == series || series.getItems().isEmpty()) return;
 
         final ChartType TYPE = series.getChartType();
@@ -328,14 +435,90 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
     }
 
     private void drawMatrixHeatMap(final MatrixItemSeries<T> SERIES) {
-        minZ   = SERIES.getItems().stream().mapToDouble(MatrixItem::getZ).min().getAsDouble();
-        maxZ   = SERIES.getItems().stream().mapToDouble(MatrixItem::getZ).max().getAsDouble();
-        rangeZ = maxZ - minZ;
+        final int COLS = matrix.getCols();
+        final int ROWS = matrix.getRows();
+        if (null == engine || engine.getCols() != COLS || engine.getRows() != ROWS) {
+            engine = new MatrixHeatMapEngine(COLS, ROWS, matrixGradient);
+        }
+        // Cells without an item get the off color of the matrix
+        engine.setEmptyColor(Helper.toArgb(matrix.getPixelOffColor()));
+
+        final double[] VALUES = new double[COLS * ROWS];
+        Arrays.fill(VALUES, Double.NaN);
+        for (T item : SERIES.getItems()) {
+            int x = item.getX();
+            int y = item.getY();
+            if (x >= 0 && x < COLS && y >= 0 && y < ROWS) { VALUES[y * COLS + x] = item.getZ(); }
+        }
+        engine.setValues(VALUES);
+        matrix.setPixels(engine.getColors());
+        matrix.drawMatrix();
+    }
+
 
-        SERIES.getItems().forEach(data -> {
-            Color color = Helper.getColorAt(matrixGradient, data.getZ() / rangeZ);
-            matrix.setPixel(data.getX(), data.getY(), color);
-        });
+    /**
+     * Colorizes all visible rows of the waterfall again
+     */
+    private void fillWaterfall() {
+        final int COLS    = history.getCols();
+        final int VISIBLE = Math.min(waterfallRows, history.size() - scrollback);
+        Arrays.fill(waterfallPixels, 0);
+        // The oldest visible row goes to the top, the newest to the bottom
+        for (int i = 0 ; i < VISIBLE ; i++) {
+            history.getRow(scrollback + i, waterfallRow);
+            colorizeWaterfallRow(waterfallRow, waterfallPixels, (waterfallRows - 1 - i) * COLS);
+        }
+        waterfallImageRow = 0;
+        drawWaterfall();
+    }
+
+    private void colorizeWaterfallRow(final double[] VALUES, final int[] PIXELS, final int OFFSET) {
+        final double MIN   = getLowerBoundZ();
+        final int    MAX   = waterfallLookup.length - 1;
+        final double SCALE = getRangeZ() > 0 ? MAX / getRangeZ() : 0;
+        for (int col = 0 ; col < VALUES.length ; col++) {
+            double value = VALUES[col];
+            if (Double.isNaN(value)) {
+                PIXELS[OFFSET + col] = 0;
+            } else {
+                int index = (int) ((value - MIN) * SCALE + 0.5);
+                PIXELS[OFFSET + col] = waterfallLookup[index < 0 ? 0 : (index > MAX ? MAX : index)];
+            }
+        }
+    }
+
+    /**
+     * Scales the cells up to the canvas size by nearest neighbour, starting with
+     * the oldest row of the circular buffer at the top, and draws the result
+     * without scaling. Screen rows that show the same cell row as the row above
+     * are copied instead of being looked up again.
+     */
+    private void drawWaterfall() {
+        final int W    = (int) Math.ceil(waterfallCanvas.getWidth());
+        final int H    = (int) Math.ceil(waterfallCanvas.getHeight());
+        final int COLS = history.getCols();
+        waterfallCtx.clearRect(0, 0, waterfallCanvas.getWidth(), waterfallCanvas.getHeight());
+        if (W <= 0 || H <= 0) { return; }
+        if (null == waterfallImage || waterfallImage.getWidth() != W || waterfallImage.getHeight() != H) {
+            waterfallImage       = new WritableImage(W, H);
+            waterfallImagePixels = new int[W * H];
+            waterfallImageCols   = new int[W];
+            for (int x = 0 ; x < W ; x++) { waterfallImageCols[x] = (int) ((long) x * COLS / W); }
+        }
+        int lastRow = -1;
+        for (int y = 0 ; y < H ; y++) {
+            final int ROW    = (waterfallImageRow + (int) ((long) y * waterfallRows / H)) % waterfallRows;
+            final int OFFSET = y * W;
+            if (ROW == lastRow) {
+                System.arraycopy(waterfallImagePixels, OFFSET - W, waterfallImagePixels, OFFSET, W);
+            } else {
+                final int SRC_OFFSET = ROW * COLS;
+                for (int x = 0 ; x < W ; x++) { waterfallImagePixels[OFFSET + x] = waterfallPixels[SRC_OFFSET + waterfallImageCols[x]]; }
+                lastRow = ROW;
+            }
+        }
+        waterfallImage.getPixelWriter().setPixels(0, 0, W, H, PixelFormat.getIntArgbInstance(), waterfallImagePixels, 0, W);
+        waterfallCtx.drawImage(waterfallImage, 0, 0);
     }
 
 
@@ -359,6 +542,10 @@ public class MatrixPane<T extends MatrixItem> extends Region implements ChartAre
             pane.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
 
             matrix.setPrefSize(width, height);
+            if (null != waterfallCanvas) {
+                waterfallCanvas.setWidth(width);
+                waterfallCanvas.setHeight(height);
+            }
 
             scaleX = width / getRangeX();
             scaleY = height / getRangeY();
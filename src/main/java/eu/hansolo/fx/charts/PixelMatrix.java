@@ -30,13 +30,29 @@ import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 
+/**
+ * The pixels are stored row by row in one int array. Shifting the matrix only
+ * moves the origin (offsetX, offsetY) of that array instead of copying it.
+ * Pixels that changed since the last drawMatrix() call are tracked, so that
+ * only those have to be drawn again.
+ * In raster mode the pixel size is rounded to whole pixels, every color is
+ * rendered once into a sprite that is copied into an image, and the canvas
+ * only draws that image (a shift just draws it with another offset). This is
+ * the faster mode for big matrices.
+ */
 @DefaultProperty("children")
 public class PixelMatrix extends Region {
     public  enum PixelShape { SQUARE, ROUNDED_RECT, ROUND }
@@ -46,6 +62,8 @@ public class PixelMatrix extends Region {
     private static final int                               BLUE_MASK                  = 255;
     private static final int                               ALPHA_MASK                 = 255 << 24;
     private static final double                            ALPHA_FACTOR               = 1.0 / 255.0;
+    private static final int                               MAX_CACHED_COLORS          = 1024;
+    private static final int                               SUB_SAMPLES                = 4;
     private double                                         preferredWidth;
     private double                                         preferredHeight;
     private double                                         width;
@@ -57,7 +75,21 @@ public class PixelMatrix extends Region {
     private PixelShape                                     pixelShape;
     private int                                            cols;
     private int                                            rows;
-    private int[][]                                        matrix;
+    private int[]                                          matrix;
+    private int                                            offsetX;
+    private int                                            offsetY;
+    private boolean[]                                      dirty;
+    private int[]                                          dirtyCells;
+    private int                                            noOfDirtyCells;
+    private boolean                                        fullRedraw;
+    private Map<Integer, Color>                            colorCache;
+    private boolean                                        rasterMode;
+    private WritableImage                                  image;
+    private int[]                                          imageBuffer;
+    private int                                            cellWidth;
+    private int                                            cellHeight;
+    private float[]                                        coverage;
+    private Map<Integer, int[]>                            sprites;
     private double                                         pixelSize;
     private double                                         pixelWidth;
     private double                                         pixelHeight;
@@ -92,7 +124,9 @@ public class PixelMatrix extends Region {
         pixelShape             = DOT_SHAPE;
         cols                   = COLS;
         rows                   = ROWS;
-        matrix                 = new int[cols][rows];
+        colorCache             = new HashMap<>();
+        sprites                = new HashMap<>();
+        rasterMode             = false;
         useSpacer              = true;
         squarePixels           = true;
         spacerSizeFactor       = DEFAULT_SPACER_SIZE_FACTOR;
@@ -107,11 +141,14 @@ public class PixelMatrix extends Region {
     // ******************** Initialization ************************************
     private void initGraphics() {
         // prefill matrix with pixelOffColor
-        for (int y = 0 ; y < rows ; y++) {
-            for (int x = 0 ; x < cols ; x++) {
-                matrix[x][y] = pixelOffColor;
-            }
-        }
+        matrix         = new int[cols * rows];
+        dirty          = new boolean[cols * rows];
+        dirtyCells     = new int[cols * rows];
+        noOfDirtyCells = 0;
+        offsetX        = 0;
+        offsetY        = 0;
+        Arrays.fill(matrix, pixelOffColor);
+        fullRedraw     = true;
 
         if (Double.compare(getPrefWidth(), 0.0) <= 0 || Double.compare(getPrefHeight(), 0.0) <= 0 ||
             Double.compare(getWidth(), 0.0) <= 0 || Double.compare(getHeight(), 0.0) <= 0) {
@@ -140,9 +177,8 @@ public class PixelMatrix extends Region {
 
     public void setColsAndRows(final int[] COLS_AND_ROWS) { setColsAndRows(COLS_AND_ROWS[0], COLS_AND_ROWS[1]); }
     public void setColsAndRows(final int COLS, final int ROWS) {
-        cols   = COLS;
-        rows   = ROWS;
-        matrix = new int[cols][rows];
+        cols = COLS;
+        rows = ROWS;
         initGraphics();
         resize();
     }
@@ -156,20 +192,34 @@ public class PixelMatrix extends Region {
     public Color getPixelOffColor() { return convertToColor(pixelOffColor); }
     public void setPixelOffColor(final Color COLOR) {
         pixelOffColor = convertToInt(COLOR);
-        for (int y = 0 ; y < rows ; y++) {
-            for (int x = 0 ; x < cols ; x++) {
-                matrix[x][y] = pixelOffColor;
-            }
-        }
+        Arrays.fill(matrix, pixelOffColor);
+        fullRedraw = true;
         drawMatrix();
     }
 
     public PixelShape getPixelShape() { return pixelShape; }
     public void setPixelShape(final PixelShape SHAPE) {
         pixelShape = SHAPE;
+        invalidateSprites();
         drawMatrix();
     }
 
+    public boolean isRasterMode() { return rasterMode; }
+    /**
+     * In raster mode the pixels are copied as prerendered sprites into an image
+     * that is drawn on the canvas, the pixel size will be rounded down to whole pixels.
+     */
+    public void setRasterMode(final boolean RASTER_MODE) {
+        if (rasterMode == RASTER_MODE) { return; }
+        rasterMode = RASTER_MODE;
+        if (!rasterMode) {
+            image       = null;
+            imageBuffer = null;
+            sprites.clear();
+        }
+        resize();
+    }
+
     public boolean isUsingSpacer() { return useSpacer; }
     public void setUseSpacer(final boolean USE) {
         useSpacer = USE;
@@ -187,6 +237,7 @@ public class PixelMatrix extends Region {
         spacerSizeFactor         = Helper.clamp(0.0, 0.2, FACTOR);
         spacer                   = useSpacer ? pixelSize * spacerSizeFactor : 0;
         pixelSizeMinusDoubleSpacer = pixelSize - spacer * 2;
+        invalidateSprites();
         drawMatrix();
     }
 
@@ -195,7 +246,23 @@ public class PixelMatrix extends Region {
     public void setPixel(final int X, final int Y, final int COLOR_VALUE) {
         if (X >= cols || X < 0) return;
         if (Y >= rows || Y < 0) return;
-        matrix[X][Y] = COLOR_VALUE;
+        int index = indexOf(X, Y);
+        if (matrix[index] == COLOR_VALUE) { return; }
+        matrix[index] = COLOR_VALUE;
+        if (!fullRedraw && !dirty[index]) {
+            dirty[index]                 = true;
+            dirtyCells[noOfDirtyCells++] = index;
+        }
+    }
+
+    /**
+     * Sets the colors of all pixels (row by row, cols * rows values), a shift offset will be reset
+     */
+    public void setPixels(final int[] COLOR_VALUES) {
+        System.arraycopy(COLOR_VALUES, 0, matrix, 0, matrix.length);
+        offsetX    = 0;
+        offsetY    = 0;
+        fullRedraw = true;
     }
 
     public void setPixelWithRedraw(final int X, final int Y, final boolean ON) {
@@ -221,7 +288,18 @@ public class PixelMatrix extends Region {
     public int getCols() { return cols; }
     public int getRows() { return rows; }
 
-    public int[][] getMatrix() { return matrix; }
+    /**
+     * Returns a copy of the pixels as [col][row] array, changing it won't change the matrix
+     */
+    public int[][] getMatrix() {
+        int[][] copy = new int[cols][rows];
+        for (int y = 0 ; y < rows ; y++) {
+            for (int x = 0 ; x < cols ; x++) {
+                copy[x][y] = matrix[indexOf(x, y)];
+            }
+        }
+        return copy;
+    }
 
     public static Color convertToColor(final int COLOR_VALUE) {
         return Color.rgb((COLOR_VALUE & RED_MASK) >> 16, (COLOR_VALUE & GREEN_MASK) >> 8, (COLOR_VALUE & BLUE_MASK), ALPHA_FACTOR * ((COLOR_VALUE & ALPHA_MASK) >>> 24));
@@ -241,109 +319,246 @@ public class PixelMatrix extends Region {
     public static int getBitAt(final int X, final int Y, final int[] BYTE_ARRAY) { return (BYTE_ARRAY[Y] >> X) & 1; }
     public static boolean getBitAtBoolean(final int X, final int Y, final int[] BYTE_ARRAY) { return ((BYTE_ARRAY[Y] >> X) & 1) == 1; }
 
-    public int getColorValueAt(final int X, final int Y) { return matrix[X][Y]; }
+    public int getColorValueAt(final int X, final int Y) { return matrix[indexOf(X, Y)]; }
 
-    public Color getColorAt(final int X, final int Y) { return convertToColor(matrix[X][Y]); }
+    public Color getColorAt(final int X, final int Y) { return convertToColor(matrix[indexOf(X, Y)]); }
 
     public void shiftLeft() {
-        int[] firstColumn = new int[rows];
-        for (int y = 0 ; y < rows ; y++) { firstColumn[y] = matrix[0][y]; }
-        for (int y = 0 ; y < rows ; y++) {
-            for (int x = 1 ; x < cols ; x++) {
-                matrix[x - 1][y] = matrix[x][y];
-            }
-        }
-        for (int y = 0 ; y < rows ; y++) { matrix[cols - 1][y] = firstColumn[y]; }
+        offsetX    = offsetX == cols - 1 ? 0 : offsetX + 1;
+        fullRedraw = !rasterMode || fullRedraw;
         drawMatrix();
     }
     public void shiftRight() {
-        int[] lastColumn = new int[rows];
-        for (int y = 0 ; y < rows ; y++) { lastColumn[y] = matrix[cols - 1][y]; }
-        for (int y = 0 ; y < rows ; y++) {
-            for (int x = cols - 2 ; x >= 0 ; x--) {
-                matrix[x + 1][y] = matrix[x][y];
-            }
-        }
-        for (int y = 0 ; y < rows ; y++) { matrix[0][y] = lastColumn[y]; }
+        offsetX    = offsetX == 0 ? cols - 1 : offsetX - 1;
+        fullRedraw = !rasterMode || fullRedraw;
         drawMatrix();
     }
 
     public void shiftUp() {
-        int[] firstRow = new int[cols];
-        for (int x = 0 ; x < cols ; x++) { firstRow[x] = matrix[x][0]; }
-        for (int y = 1 ; y < rows ; y++) {
-            for (int x = 0 ; x < cols ; x++) {
-                matrix[x][y - 1] = matrix[x][y];
-            }
-        }
-        for (int x = 0 ; x < cols ; x++) { matrix[x][rows - 1] = firstRow[x]; }
+        offsetY    = offsetY == rows - 1 ? 0 : offsetY + 1;
+        fullRedraw = !rasterMode || fullRedraw;
         drawMatrix();
     }
     public void shiftDown() {
-        int[] lastRow = new int[cols];
-        for (int x = 0 ; x < cols ; x++) { lastRow[x] = matrix[x][rows - 1]; }
-        for (int y = rows - 2 ; y >= 0 ; y--) {
-            for (int x = 0 ; x < cols ; x++) {
-                matrix[x][y + 1] = matrix[x][y];
-            }
-        }
-        for (int x = 0 ; x < cols ; x++) { matrix[x][0] = lastRow[x]; }
+        offsetY    = offsetY == 0 ? rows - 1 : offsetY - 1;
+        fullRedraw = !rasterMode || fullRedraw;
         drawMatrix();
     }
 
     public void setAllPixelsOn() {
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < cols; x++) {
-                setPixel(x, y, true);
-            }
-        }
+        Arrays.fill(matrix, pixelOnColor);
+        fullRedraw = true;
         drawMatrix();
     }
     public void setAllPixelsOff() {
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < cols; x++) {
-                setPixel(x, y, false);
-            }
-        }
+        Arrays.fill(matrix, pixelOffColor);
+        fullRedraw = true;
         drawMatrix();
     }
 
+    /**
+     * Draws the pixels that changed since the last call, or all pixels if needed
+     */
     public void drawMatrix() {
-        ctx.clearRect(0, 0, width, height);
+        if (width <= 0 || height <= 0) { return; }
+        if (rasterMode) {
+            drawRaster();
+        } else if (fullRedraw) {
+            ctx.clearRect(0, 0, width, height);
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    drawPixel(x, y, false);
+                }
+            }
+        } else {
+            for (int i = 0 ; i < noOfDirtyCells ; i++) {
+                int index = dirtyCells[i];
+                drawPixel(logicalX(index % cols), logicalY(index / cols), true);
+            }
+        }
+        clearDirtyCells();
+    }
+
+    private void drawPixel(final int X, final int Y, final boolean CLEAR) {
+        double x = X * pixelWidth;
+        double y = Y * pixelHeight;
+        if (CLEAR) { ctx.clearRect(x, y, pixelWidth, pixelHeight); }
+        ctx.setFill(getColor(matrix[indexOf(X, Y)]));
         switch(pixelShape) {
             case ROUNDED_RECT:
-                CtxBounds      bounds      = new CtxBounds(pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer);
-                CtxCornerRadii cornerRadii = new CtxCornerRadii(pixelSize * 0.125);
-                for (int y = 0; y < rows; y++) {
-                    for (int x = 0; x < cols; x++) {
-                        ctx.setFill(convertToColor(matrix[x][y]));
-                        bounds.setX(x * pixelWidth + spacer);
-                        bounds.setY(y * pixelHeight + spacer);
-                        Helper.drawRoundedRect(ctx, bounds, cornerRadii);
-                        ctx.fill();
-                    }
-                }
+                Helper.drawRoundedRect(ctx, new CtxBounds(x + spacer, y + spacer, pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer), new CtxCornerRadii(pixelSize * 0.125));
+                ctx.fill();
                 break;
             case ROUND:
-                for (int y = 0; y < rows; y++) {
-                    for (int x = 0; x < cols; x++) {
-                        ctx.setFill(convertToColor(matrix[x][y]));
-                        ctx.fillOval(x * pixelWidth + spacer, y * pixelHeight + spacer, pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer);
-                    }
-                }
+                ctx.fillOval(x + spacer, y + spacer, pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer);
                 break;
             case SQUARE:
             default    :
-                for (int y = 0; y < rows; y++) {
-                    for (int x = 0; x < cols; x++) {
-                        ctx.setFill(convertToColor(matrix[x][y]));
-                        ctx.fillRect(x * pixelWidth + spacer, y * pixelHeight + spacer, pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer);
+                ctx.fillRect(x + spacer, y + spacer, pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer);
+                break;
+        }
+    }
+
+    /**
+     * Copies the sprites of the dirty pixels into the image and draws the image
+     * on the canvas. The image holds the pixels in storage order, the offsets are
+     * applied by drawing it in up to four parts.
+     */
+    private void drawRaster() {
+        final int IMAGE_WIDTH  = cols * cellWidth;
+        final int IMAGE_HEIGHT = rows * cellHeight;
+        if (IMAGE_WIDTH <= 0 || IMAGE_HEIGHT <= 0) { return; }
+        if (null == image || (int) image.getWidth() != IMAGE_WIDTH || (int) image.getHeight() != IMAGE_HEIGHT) {
+            image       = new WritableImage(IMAGE_WIDTH, IMAGE_HEIGHT);
+            imageBuffer = new int[IMAGE_WIDTH * IMAGE_HEIGHT];
+            fullRedraw  = true;
+        }
+        if (fullRedraw) {
+            for (int index = 0 ; index < matrix.length ; index++) { copySprite(index, IMAGE_WIDTH); }
+            image.getPixelWriter().setPixels(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT, PixelFormat.getIntArgbInstance(), imageBuffer, 0, IMAGE_WIDTH);
+        } else if (noOfDirtyCells > 0) {
+            int minCol = cols, minRow = rows, maxCol = -1, maxRow = -1;
+            for (int i = 0 ; i < noOfDirtyCells ; i++) {
+                int index = dirtyCells[i];
+                int col   = index % cols;
+                int row   = index / cols;
+                copySprite(index, IMAGE_WIDTH);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+            }
+            int x = minCol * cellWidth;
+            int y = minRow * cellHeight;
+            image.getPixelWriter().setPixels(x, y, (maxCol - minCol + 1) * cellWidth, (maxRow - minRow + 1) * cellHeight, PixelFormat.getIntArgbInstance(),
+                                             IntBuffer.wrap(imageBuffer, y * IMAGE_WIDTH + x, imageBuffer.length - y * IMAGE_WIDTH - x), IMAGE_WIDTH);
+        }
+
+        final int SPLIT_X = offsetX * cellWidth;
+        final int SPLIT_Y = offsetY * cellHeight;
+        ctx.clearRect(0, 0, width, height);
+        drawImagePart(SPLIT_X, SPLIT_Y, IMAGE_WIDTH - SPLIT_X, IMAGE_HEIGHT - SPLIT_Y, 0, 0);
+        drawImagePart(0, SPLIT_Y, SPLIT_X, IMAGE_HEIGHT - SPLIT_Y, IMAGE_WIDTH - SPLIT_X, 0);
+        drawImagePart(SPLIT_X, 0, IMAGE_WIDTH - SPLIT_X, SPLIT_Y, 0, IMAGE_HEIGHT - SPLIT_Y);
+        drawImagePart(0, 0, SPLIT_X, SPLIT_Y, IMAGE_WIDTH - SPLIT_X, IMAGE_HEIGHT - SPLIT_Y);
+    }
+
+    private void drawImagePart(final int SRC_X, final int SRC_Y, final int WIDTH, final int HEIGHT, final int DST_X, final int DST_Y) {
+        if (WIDTH <= 0 || HEIGHT <= 0) { return; }
+        ctx.drawImage(image, SRC_X, SRC_Y, WIDTH, HEIGHT, DST_X, DST_Y, WIDTH, HEIGHT);
+    }
+
+    private void copySprite(final int INDEX, final int IMAGE_WIDTH) {
+        final int[] SPRITE = getSprite(matrix[INDEX]);
+        int target = (INDEX / cols) * cellHeight * IMAGE_WIDTH + (INDEX % cols) * cellWidth;
+        for (int y = 0, source = 0 ; y < cellHeight ; y++, source += cellWidth, target += IMAGE_WIDTH) {
+            System.arraycopy(SPRITE, source, imageBuffer, target, cellWidth);
+        }
+    }
+
+    /**
+     * Returns the argb pixels of one matrix pixel in the given color, the sprites
+     * are created from the coverage of the pixel shape and cached per color
+     */
+    private int[] getSprite(final int COLOR_VALUE) {
+        int[] sprite = sprites.get(COLOR_VALUE);
+        if (null == sprite) {
+            if (null == coverage) { coverage = createCoverage(); }
+            if (sprites.size() >= MAX_CACHED_COLORS) { sprites.clear(); }
+            final int ALPHA = (COLOR_VALUE >>> 24);
+            final int RGB   = COLOR_VALUE & 0x00FFFFFF;
+            sprite = new int[coverage.length];
+            for (int i = 0 ; i < coverage.length ; i++) {
+                sprite[i] = (Math.round(ALPHA * coverage[i]) << 24) | RGB;
+            }
+            sprites.put(COLOR_VALUE, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Returns for every pixel of a cell how much of it is covered by the pixel shape (0 - 1)
+     */
+    private float[] createCoverage() {
+        final float[] COVERAGE = new float[cellWidth * cellHeight];
+        final double  LEFT     = spacer;
+        final double  TOP      = spacer;
+        final double  RIGHT    = spacer + pixelWidthMinusDoubleSpacer;
+        final double  BOTTOM   = spacer + pixelHeightMinusDoubleSpacer;
+        final double  RADIUS   = PixelShape.ROUNDED_RECT == pixelShape ? Math.min(pixelSize * 0.125, Math.min(pixelWidthMinusDoubleSpacer, pixelHeightMinusDoubleSpacer) * 0.5) : 0;
+        final double  CX       = (LEFT + RIGHT) * 0.5;
+        final double  CY       = (TOP + BOTTOM) * 0.5;
+        final double  RX       = pixelWidthMinusDoubleSpacer * 0.5;
+        final double  RY       = pixelHeightMinusDoubleSpacer * 0.5;
+        final double  STEP     = 1.0 / SUB_SAMPLES;
+        for (int y = 0 ; y < cellHeight ; y++) {
+            for (int x = 0 ; x < cellWidth ; x++) {
+                int hits = 0;
+                for (int sy = 0 ; sy < SUB_SAMPLES ; sy++) {
+                    double py = y + (sy + 0.5) * STEP;
+                    for (int sx = 0 ; sx < SUB_SAMPLES ; sx++) {
+                        double px = x + (sx + 0.5) * STEP;
+                        if (px < LEFT || px > RIGHT || py < TOP || py > BOTTOM) { continue; }
+                        switch(pixelShape) {
+                            case ROUND:
+                                double dx = (px - CX) / RX;
+                                double dy = (py - CY) / RY;
+                                if (dx * dx + dy * dy <= 1) { hits++; }
+                                break;
+                            case ROUNDED_RECT:
+                                double ex = Math.max(0, Math.max(LEFT + RADIUS - px, px - RIGHT + RADIUS));
+                                double ey = Math.max(0, Math.max(TOP + RADIUS - py, py - BOTTOM + RADIUS));
+                                if (ex * ex + ey * ey <= RADIUS * RADIUS) { hits++; }
+                                break;
+                            case SQUARE:
+                            default    :
+                                hits++;
+                                break;
+                        }
                     }
                 }
-                break;
+                COVERAGE[y * cellWidth + x] = hits / (float) (SUB_SAMPLES * SUB_SAMPLES);
+            }
         }
+        return COVERAGE;
+    }
+
+    private void invalidateSprites() {
+        coverage   = null;
+        sprites.clear();
+        fullRedraw = true;
     }
 
+    private void clearDirtyCells() {
+        for (int i = 0 ; i < noOfDirtyCells ; i++) { dirty[dirtyCells[i]] = false; }
+        noOfDirtyCells = 0;
+        fullRedraw     = false;
+    }
+
+    private Color getColor(final int COLOR_VALUE) {
+        Color color = colorCache.get(COLOR_VALUE);
+        if (null == color) {
+            if (colorCache.size() >= MAX_CACHED_COLORS) { colorCache.clear(); }
+            color = convertToColor(COLOR_VALUE);
+            colorCache.put(COLOR_VALUE, color);
+        }
+        return color;
+    }
+
+    /**
+     * Returns the index in the matrix array of the pixel at the given position
+     */
+    private int indexOf(final int X, final int Y) {
+        int x = X + offsetX;
+        int y = Y + offsetY;
+        if (x >= cols) { x -= cols; }
+        if (y >= rows) { y -= rows; }
+        return y * cols + x;
+    }
+
+    private int logicalX(final int COL) { return COL >= offsetX ? COL - offsetX : COL - offsetX + cols; }
+    private int logicalY(final int ROW) { return ROW >= offsetY ? ROW - offsetY : ROW - offsetY + rows; }
+
     public void setOnPixelMatrixEvent(final PixelMatrixEventListener LISTENER) { addPixelMatrixEventListener(LISTENER); }
     public void addPixelMatrixEventListener(final PixelMatrixEventListener LISTENER) { if (!listeners.contains(LISTENER)) listeners.add(LISTENER); }
     public void removePixelMatrixEventListener(final PixelMatrixEventListener LISTENER) { if (listeners.contains(LISTENER)) listeners.remove(LISTENER); }
@@ -395,6 +610,16 @@ public class PixelMatrix extends Region {
         pixelHeightMinusDoubleSpacer = pixelHeight - spacer * 2;
 
 
+        if (rasterMode) {
+            pixelSize                    = Math.max(1, Math.floor(pixelSize));
+            pixelWidth                   = Math.max(1, Math.floor(pixelWidth));
+            pixelHeight                  = Math.max(1, Math.floor(pixelHeight));
+            spacer                       = useSpacer ? pixelSize * getSpacerSizeFactor() : 0;
+            pixelSizeMinusDoubleSpacer   = pixelSize - spacer * 2;
+            pixelWidthMinusDoubleSpacer  = pixelWidth - spacer * 2;
+            pixelHeightMinusDoubleSpacer = pixelHeight - spacer * 2;
+        }
+
         if (width > 0 && height > 0) {
             if (squarePixels) {
                 pixelWidth                   = pixelSize;
@@ -407,6 +632,9 @@ public class PixelMatrix extends Region {
 
             canvas.relocate((getWidth() - (cols *pixelWidth)) * 0.5, (getHeight() - (rows * pixelHeight)) * 0.5);
 
+            cellWidth  = (int) pixelWidth;
+            cellHeight = (int) pixelHeight;
+            invalidateSprites();
             drawMatrix();
         }
     }
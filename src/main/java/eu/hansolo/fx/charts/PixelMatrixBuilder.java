@@ -82,6 +82,11 @@ public class PixelMatrixBuilder<B extends PixelMatrixBuilder<B>> {
         return (B)this;
     }
 
+    public final B rasterMode(final boolean RASTER_MODE) {
+        properties.put("rasterMode", new SimpleBooleanProperty(RASTER_MODE));
+        return (B)this;
+    }
+
     public final B prefSize(final double WIDTH, final double HEIGHT) {
         properties.put("prefSize", new SimpleObjectProperty<>(new Dimension2D(WIDTH, HEIGHT)));
         return (B)this;
@@ -212,6 +217,8 @@ public class PixelMatrixBuilder<B extends PixelMatrixBuilder<B>> {
                 CONTROL.setSpacerSizeFactor(((DoubleProperty) properties.get(key)).get());
             } else if ("squarePixels".equals(key)) {
                 CONTROL.setSquarePixels(((BooleanProperty) properties.get(key)).get());
+            } else if ("rasterMode".equals(key)) {
+                CONTROL.setRasterMode(((BooleanProperty) properties.get(key)).get());
             }
         }
         return CONTROL;
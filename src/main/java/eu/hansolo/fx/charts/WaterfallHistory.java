@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts;
+
+import java.util.Arrays;
+
+
+/**
+ * Circular buffer for the rows of a waterfall (spectrogram). The values of
+ * all rows are kept in one double array, appending a row only copies that
+ * row and overwrites the oldest one when the capacity is reached.
+ * Rows are addressed by their age, 0 is the newest row.
+ */
+public class WaterfallHistory {
+    private final int      cols;
+    private final int      capacity;
+    private final double[] values;
+    private       int      next;
+    private       int      size;
+
+
+    // ******************** Constructors **************************************
+    public WaterfallHistory(final int COLS, final int CAPACITY) {
+        if (COLS < 1 || CAPACITY < 1) { throw new IllegalArgumentException("Cols and capacity must be > 0"); }
+        cols     = COLS;
+        capacity = CAPACITY;
+        values   = new double[COLS * CAPACITY];
+        clear();
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getCols() { return cols; }
+
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Returns the number of rows in the history (at most the capacity)
+     */
+    public int size() { return size; }
+
+    /**
+     * Appends a row, missing values will be NaN and additional values are ignored
+     */
+    public void append(final double[] ROW) {
+        final int OFFSET = next * cols;
+        final int LENGTH = Math.min(ROW.length, cols);
+        System.arraycopy(ROW, 0, values, OFFSET, LENGTH);
+        if (LENGTH < cols) { Arrays.fill(values, OFFSET + LENGTH, OFFSET + cols, Double.NaN); }
+        next = next == capacity - 1 ? 0 : next + 1;
+        if (size < capacity) { size++; }
+    }
+
+    public double getValue(final int AGE, final int COL) { return values[getOffset(AGE) + COL]; }
+
+    /**
+     * Copies the values of the row with the given age into OUT
+     */
+    public void getRow(final int AGE, final double[] OUT) { System.arraycopy(values, getOffset(AGE), OUT, 0, cols); }
+
+    public void clear() {
+        Arrays.fill(values, Double.NaN);
+        next = 0;
+        size = 0;
+    }
+
+    private int getOffset(final int AGE) {
+        if (AGE < 0 || AGE >= size) { throw new IndexOutOfBoundsException("Age " + AGE + " not in history of " + size + " rows"); }
+        int row = next - 1 - AGE;
+        return (row < 0 ? row + capacity : row) * cols;
+    }
+}
@@ -17,6 +17,9 @@
 package eu.hansolo.fx.charts;
 
 import eu.hansolo.fx.charts.data.XYItem;
+import eu.hansolo.fx.charts.series.XYSeries;
+import eu.hansolo.fx.charts.tools.Helper;
+import javafx.animation.AnimationTimer;
 import javafx.beans.DefaultProperty;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
@@ -31,6 +34,7 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -76,6 +80,10 @@ public class XYChart<T extends XYItem> extends Region {
     private              StringProperty            subTitle;
     private              AnchorPane                pane;
     private              BooleanBinding            showing;
+    private              boolean                   streaming;
+    private              boolean                   coalesceRedrawsBeforeStreaming;
+    private              boolean                   autoAdvanceX;
+    private              AnimationTimer            streamingTimer;
 
 
     // ******************** Constructors **************************************
@@ -97,6 +105,11 @@ public class XYChart<T extends XYItem> extends Region {
         grid   = GRID;
         width  = PREFERRED_WIDTH;
         height = PREFERRED_HEIGHT;
+        streaming      = false;
+        autoAdvanceX   = true;
+        streamingTimer = new AnimationTimer() {
+            @Override public void handle(final long now) { drainStreams(); }
+        };
 
         checkReferenceZero();
         initGraphics();
@@ -169,6 +182,7 @@ public class XYChart<T extends XYItem> extends Region {
     @Override public ObservableList<Node> getChildren() { return super.getChildren(); }
 
     public void dispose() {
+        stopStreaming();
         xyPanes.forEach(xyPane -> xyPane.dispose());
     }
 
@@ -248,6 +262,139 @@ public class XYChart<T extends XYItem> extends Region {
 
     public void refresh() { xyPanes.forEach(xyPane -> xyPane.redraw()); }
 
+    public boolean getCoalesceRedraws() { return xyPanes.size() > 0 && xyPanes.get(0).getCoalesceRedraws(); }
+    public void setCoalesceRedraws(final boolean COALESCE) { xyPanes.forEach(xyPane -> xyPane.setCoalesceRedraws(COALESCE)); }
+
+    public int getSubDivisions() { return xyPanes.size() > 0 ? xyPanes.get(0).getSubDivisions() : 0; }
+    public void setSubDivisions(final int COUNT) { xyPanes.forEach(xyPane -> xyPane.setSubDivisions(COUNT)); }
+
+    public long getRequestedRedraws() { return xyPanes.stream().mapToLong(XYPane::getRequestedRedraws).sum(); }
+    public long getPerformedRedraws() { return xyPanes.stream().mapToLong(XYPane::getPerformedRedraws).sum(); }
+    public long getCoalescedRedraws() { return xyPanes.stream().mapToLong(XYPane::getCoalescedRedraws).sum(); }
+
+    public boolean isStreaming() { return streaming; }
+    /**
+     * Starts the streaming mode in which the items that were queued with
+     * XYSeries.offer() from any thread will be appended once per pulse, the
+     * x axis advances to the newest x value and the chart will be redrawn
+     * at most once per pulse.
+     */
+    public void startStreaming() {
+        if (streaming) { return; }
+        streaming                      = true;
+        coalesceRedrawsBeforeStreaming = getCoalesceRedraws();
+        setCoalesceRedraws(true);
+        streamingTimer.start();
+    }
+    /**
+     * Starts the streaming mode with the given x range, the range will be used
+     * for the x axis and as streaming window for all series of the chart.
+     */
+    public void startStreaming(final double WINDOW_RANGE_X) {
+        if (WINDOW_RANGE_X <= 0) { throw new IllegalArgumentException("Window range must be > 0"); }
+        xyPanes.forEach(xyPane -> xyPane.getListOfSeries().forEach(series -> series.setWindowRangeX(WINDOW_RANGE_X)));
+        double lastX = getLastX();
+        if (!Double.isNaN(lastX)) {
+            setRangeX(lastX - WINDOW_RANGE_X, lastX);
+        } else {
+            double lowerBoundX = getLowerBoundX();
+            setRangeX(lowerBoundX, lowerBoundX + WINDOW_RANGE_X);
+        }
+        startStreaming();
+    }
+    public void stopStreaming() {
+        if (!streaming) { return; }
+        streaming = false;
+        streamingTimer.stop();
+        drainStreams();
+        setCoalesceRedraws(coalesceRedrawsBeforeStreaming);
+    }
+
+    /**
+     * Returns the number of items that have been offered to the series of this chart but not yet appended
+     */
+    public int getQueueDepth() {
+        return xyPanes.stream().flatMap(xyPane -> xyPane.getListOfSeries().stream()).filter(series -> null != series).mapToInt(XYSeries::getQueueDepth).sum();
+    }
+
+    /**
+     * Returns the number of items that have been dropped by the ingestion queues of the series of this chart
+     */
+    public long getNoOfDroppedItems() {
+        return xyPanes.stream().flatMap(xyPane -> xyPane.getListOfSeries().stream()).filter(series -> null != series).mapToLong(XYSeries::getNoOfDroppedItems).sum();
+    }
+
+    /**
+     * If true (default) the x axis will be moved in streaming mode so that
+     * the newest x value is at its upper bound, the range of the axis stays the same.
+     */
+    public boolean isAutoAdvanceX() { return autoAdvanceX; }
+    public void setAutoAdvanceX(final boolean AUTO_ADVANCE) { autoAdvanceX = AUTO_ADVANCE; }
+
+    private void drainStreams() {
+        boolean changed = false;
+        for (XYPane<T> xyPane : xyPanes) {
+            for (XYSeries<T> series : xyPane.getListOfSeries()) {
+                if (null != series && series.drainPending() > 0) { changed = true; }
+            }
+        }
+        if (!changed || !autoAdvanceX) { return; }
+        double lastX = getLastX();
+        if (Double.isNaN(lastX) || lastX <= getUpperBoundX()) { return; }
+        double range = getUpperBoundX() - getLowerBoundX();
+        setRangeX(lastX - range, lastX);
+    }
+
+    private double getLastX() {
+        double lastX = Double.NaN;
+        for (XYPane<T> xyPane : xyPanes) {
+            for (XYSeries<T> series : xyPane.getListOfSeries()) {
+                if (null == series) { continue; }
+                double x = series.getLastX();
+                if (!Double.isNaN(x) && (Double.isNaN(lastX) || x > lastX)) { lastX = x; }
+            }
+        }
+        return lastX;
+    }
+
+    private Axis getXAxis() {
+        if (hasBottomXAxis) { return xAxisB; }
+        if (hasTopXAxis)    { return xAxisT; }
+        if (hasCenterXAxis) { return xAxisC; }
+        return null;
+    }
+
+    private double getLowerBoundX() {
+        Axis xAxis = getXAxis();
+        if (null != xAxis) { return xAxis.getMinValue(); }
+        return xyPanes.isEmpty() ? 0 : xyPanes.get(0).getLowerBoundX();
+    }
+    private double getUpperBoundX() {
+        Axis xAxis = getXAxis();
+        if (null != xAxis) { return xAxis.getMaxValue(); }
+        return xyPanes.isEmpty() ? 0 : xyPanes.get(0).getUpperBoundX();
+    }
+
+    /**
+     * Sets the range of the x axis (the XYPanes are bound to it) or of the
+     * XYPanes if there is no x axis. A time axis will also get the new start and end.
+     */
+    private void setRangeX(final double LOWER_BOUND, final double UPPER_BOUND) {
+        Axis xAxis = getXAxis();
+        if (null == xAxis) {
+            xyPanes.forEach(xyPane -> {
+                xyPane.setLowerBoundX(LOWER_BOUND);
+                xyPane.setUpperBoundX(UPPER_BOUND);
+            });
+            return;
+        }
+        if (AxisType.TIME == xAxis.getType()) {
+            xAxis.setStart(LocalDateTime.ofEpochSecond((long) LOWER_BOUND, 0, Helper.getZoneOffset()));
+            xAxis.setEnd(LocalDateTime.ofEpochSecond((long) UPPER_BOUND, 0, Helper.getZoneOffset()));
+        }
+        xAxis.setMinMax(LOWER_BOUND, UPPER_BOUND);
+    }
+
     private void checkForAxis() {
         axis.forEach(axis -> {
             Position position = axis.getPosition();
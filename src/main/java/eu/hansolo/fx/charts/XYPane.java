@@ -20,10 +20,16 @@ import eu.hansolo.fx.charts.data.XYChartItem;
 import eu.hansolo.fx.charts.data.XYItem;
 import eu.hansolo.fx.charts.event.SeriesEventListener;
 import eu.hansolo.fx.charts.font.Fonts;
+import eu.hansolo.fx.charts.series.DoubleXYSeries;
 import eu.hansolo.fx.charts.series.Series;
 import eu.hansolo.fx.charts.series.XYSeries;
+import eu.hansolo.fx.charts.tools.CatmullRom;
 import eu.hansolo.fx.charts.tools.Helper;
+import eu.hansolo.fx.charts.tools.Decimator;
+import eu.hansolo.fx.charts.tools.GridIndex;
 import eu.hansolo.fx.charts.tools.Point;
+import eu.hansolo.fx.charts.tools.RedrawScheduler;
+import eu.hansolo.fx.charts.tools.SmoothingCache;
 import eu.hansolo.fx.charts.tools.Statistics;
 import eu.hansolo.fx.charts.tools.TooltipPopup;
 import javafx.beans.property.BooleanProperty;
@@ -53,12 +59,14 @@ import javafx.scene.text.TextAlignment;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import static eu.hansolo.fx.charts.ChartType.SMOOTH_POLAR;
@@ -78,6 +86,10 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
     private static final double                         MIN_SYMBOL_SIZE  = 2;
     private static final double                         MAX_SYMBOL_SIZE  = 6;
     private static final int                            SUB_DIVISIONS    = 24;
+    private static final String                         AVERAGE_KEY      = "average";
+    private static final String                         MIN_KEY          = "min";
+    private static final String                         MAX_KEY          = "max";
+    private static final String                         STD_DEV_KEY      = "stdDev";
     private static       double                         aspectRatio;
     private              boolean                        keepAspect;
     private              double                         size;
@@ -125,6 +137,24 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
     private              BooleanProperty                stdDeviationVisible;
     private              double                         _averageStrokeWidth;
     private              DoubleProperty                 averageStrokeWidth;
+    private              boolean                        _singlePathLines;
+    private              BooleanProperty                singlePathLines;
+    private              boolean                        _coalesceRedraws;
+    private              BooleanProperty                coalesceRedraws;
+    private              RedrawScheduler                redrawScheduler;
+    private              Map<ChartType, Decimation>     decimationPerType;
+    private              Map<XYSeries<T>, DecimatedData> decimationCache;
+    private              Map<XYSeries<T>, Boolean>       sortedByXCache;
+    private              Map<XYSeries<T>, GridIndex>     scatterIndexCache;
+    private              boolean                        scatterIndexEnabled;
+    private              int                            subDivisions;
+    private              Map<Object, SmoothingCache>    smoothingCache;
+    private              double[]                       polarX;
+    private              double[]                       polarY;
+    private              double[]                       polarSmoothedX;
+    private              double[]                       polarSmoothedY;
+    private              double[]                       splineX;
+    private              double[]                       splineY;
     private              TooltipPopup                   popup;
     private              SeriesEventListener            seriesListener;
     private              EventHandler<MouseEvent>       mouseHandler;
@@ -168,8 +198,27 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         _envelopeVisible     = false;
         _stdDeviationVisible = true;
         _averageStrokeWidth  = 1;
+        _singlePathLines     = true;
+        _coalesceRedraws     = false;
+        redrawScheduler      = new RedrawScheduler(this::drawChart);
+        decimationPerType    = new EnumMap<>(ChartType.class);
+        decimationCache      = new HashMap<>();
+        sortedByXCache       = new HashMap<>();
+        scatterIndexCache    = new HashMap<>();
+        scatterIndexEnabled  = false;
+        subDivisions         = SUB_DIVISIONS;
+        smoothingCache       = new HashMap<>();
+        polarX               = new double[0];
+        polarY               = new double[0];
+        polarSmoothedX       = new double[0];
+        polarSmoothedY       = new double[0];
+        splineX              = new double[0];
+        splineY              = new double[0];
         popup                = new TooltipPopup(2000);
-        seriesListener       = e -> redraw();
+        seriesListener       = e -> {
+            invalidateCaches((XYSeries<T>) e.getSeries());
+            redraw();
+        };
         mouseHandler         = e -> {
             for (XYSeries<T> series : listOfSeries) {
                 double  radius = series.getSymbolSize() * 0.5;
@@ -219,14 +268,18 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
                 if (c.wasAdded()) {
                     c.getAddedSubList().forEach(series -> series.setOnSeriesEvent(seriesListener));
                 } else if (c.wasRemoved()) {
-                    c.getRemoved().forEach(series -> series.removeSeriesEventListener(seriesListener));
+                    c.getRemoved().forEach(series -> {
+                        series.removeSeriesEventListener(seriesListener);
+                        invalidateCaches(series);
+                        smoothingCache.remove(series);
+                    });
                 }
             }
             redraw();
         });
         listOfSeries.forEach(series -> {
             if (null != series) {
-                series.setOnSeriesEvent(seriesEvent -> redraw());
+                series.setOnSeriesEvent(seriesListener);
             }
         });
         canvas.addEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
@@ -244,6 +297,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
     @Override public ObservableList<Node> getChildren() { return super.getChildren(); }
 
     public void dispose() {
+        redrawScheduler.stop();
         canvas.removeEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
     }
 
@@ -621,6 +675,97 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         return averageStrokeWidth;
     }
 
+    /**
+     * If true lines will be drawn as one path per series (split only at empty
+     * items) instead of one strokeLine() call per segment.
+     */
+    public boolean isSinglePathLines() { return null == singlePathLines ? _singlePathLines : singlePathLines.get(); }
+    public void setSinglePathLines(final boolean SINGLE_PATH) {
+        if (null == singlePathLines) {
+            _singlePathLines = SINGLE_PATH;
+            redraw();
+        } else {
+            singlePathLines.set(SINGLE_PATH);
+        }
+    }
+    public BooleanProperty singlePathLinesProperty() {
+        if (null == singlePathLines) {
+            singlePathLines = new BooleanPropertyBase(_singlePathLines) {
+                @Override protected void invalidated() { redraw(); }
+                @Override public Object getBean() { return XYPane.this; }
+                @Override public String getName() { return "singlePathLines"; }
+            };
+        }
+        return singlePathLines;
+    }
+
+    /**
+     * If true all redraw requests (series, item and axis changes) will be
+     * collected and the chart will be drawn at most once per JavaFX pulse.
+     */
+    public boolean getCoalesceRedraws() { return null == coalesceRedraws ? _coalesceRedraws : coalesceRedraws.get(); }
+    public void setCoalesceRedraws(final boolean COALESCE) {
+        if (null == coalesceRedraws) {
+            _coalesceRedraws = COALESCE;
+            if (!COALESCE) { redrawScheduler.flush(); }
+        } else {
+            coalesceRedraws.set(COALESCE);
+        }
+    }
+    public BooleanProperty coalesceRedrawsProperty() {
+        if (null == coalesceRedraws) {
+            coalesceRedraws = new BooleanPropertyBase(_coalesceRedraws) {
+                @Override protected void invalidated() { if (!get()) { redrawScheduler.flush(); } }
+                @Override public Object getBean() { return XYPane.this; }
+                @Override public String getName() { return "coalesceRedraws"; }
+            };
+        }
+        return coalesceRedraws;
+    }
+
+    public long getRequestedRedraws() { return redrawScheduler.getRequestedRedraws(); }
+    public long getPerformedRedraws() { return redrawScheduler.getPerformedRedraws(); }
+    public long getCoalescedRedraws() { return redrawScheduler.getCoalescedRedraws(); }
+    public void resetRedrawStatistics() { redrawScheduler.resetStatistics(); }
+
+    /**
+     * Defines the decimation that will be used for line and area series of the
+     * given chart type that do not define their own decimation.
+     */
+    public Decimation getDecimation(final ChartType TYPE) { return decimationPerType.getOrDefault(TYPE, Decimation.NONE); }
+    public void setDecimation(final ChartType TYPE, final Decimation DECIMATION) {
+        if (null == DECIMATION || Decimation.NONE == DECIMATION) {
+            decimationPerType.remove(TYPE);
+        } else {
+            decimationPerType.put(TYPE, DECIMATION);
+        }
+        decimationCache.clear();
+        redraw();
+    }
+
+    /**
+     * If true scatter series that are not sorted by x will be put in a spatial
+     * index so that only the items in the visible area have to be drawn.
+     * The index will be rebuilt after each change of the series.
+     */
+    public boolean isScatterIndexEnabled() { return scatterIndexEnabled; }
+    public void setScatterIndexEnabled(final boolean ENABLED) {
+        scatterIndexEnabled = ENABLED;
+        scatterIndexCache.clear();
+        redraw();
+    }
+
+    /**
+     * Defines the number of points that will be calculated between two items
+     * of smoothed chart types. Lower values can be used to keep the chart
+     * responsive while the user is interacting with it.
+     */
+    public int getSubDivisions() { return subDivisions; }
+    public void setSubDivisions(final int COUNT) {
+        subDivisions = clamp(1, 64, COUNT);
+        redraw();
+    }
+
     public boolean containsPolarChart() {
         for(XYSeries<T> series : listOfSeries) {
             if (null == series) { continue; }
@@ -633,7 +778,11 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
 
     // ******************** Draw Chart ****************************************
     protected void redraw() {
-        drawChart();
+        if (getCoalesceRedraws()) {
+            redrawScheduler.requestRedraw();
+        } else {
+            drawChart();
+        }
     }
 
     private void drawChart() {
@@ -670,6 +819,8 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         for (XYSeries<T> series : listOfSeries) {
             final ChartType TYPE        = series.getChartType();
             final boolean   SHOW_POINTS = series.getSymbolsVisible();
+                // Columnar series only support the basic chart types
+                if (series instanceof DoubleXYSeries && !isSupportedByDoubleXYSeries(TYPE)) { continue; }
                 switch (TYPE) {
                     case LINE:
                         drawLine(series, SHOW_POINTS);
@@ -711,9 +862,13 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
     }
 
     private void drawLine(final XYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        DecimatedData decimatedData = getDecimatedData(SERIES);
+        if (null != decimatedData) { drawLine(SERIES, decimatedData, SHOW_POINTS); return; }
+        if (SERIES instanceof DoubleXYSeries) { drawLine((DoubleXYSeries<T>) SERIES, SHOW_POINTS); return; }
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
-        List<T> items = SERIES.getItems();
+        List<T> items = getVisibleItems(SERIES, 0, 1);
+        if (items.isEmpty()) { return; }
         double  oldX  = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
         double  oldY  = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
         boolean wasEmpty = items.get(0).isEmptyItem();
@@ -722,26 +877,38 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(Color.TRANSPARENT);
 
-        for (T item : SERIES.getItems()) {
+        final boolean SINGLE_PATH = isSinglePathLines();
+        if (SINGLE_PATH) {
+            ctx.beginPath();
+            ctx.moveTo(oldX, oldY);
+        }
+        for (T item : items) {
             double x = (item.getX() - LOWER_BOUND_X) * scaleX;
             double y = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
             boolean isEmpty = item.isEmptyItem();
             if (!isEmpty && !wasEmpty) {
-            ctx.strokeLine(oldX, oldY, x, y);
+                if (SINGLE_PATH) { ctx.lineTo(x, y); } else { ctx.strokeLine(oldX, oldY, x, y); }
+            } else if (SINGLE_PATH && !isEmpty) {
+                ctx.moveTo(x, y);
             }
             oldX     = x;
             oldY     = y;
             wasEmpty = isEmpty;
         }
+        if (SINGLE_PATH) { ctx.stroke(); }
 
         if (SHOW_POINTS) { drawSymbols(SERIES); }
     }
 
     private void drawArea(final XYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        DecimatedData decimatedData = getDecimatedData(SERIES);
+        if (null != decimatedData) { drawArea(SERIES, decimatedData, SHOW_POINTS); return; }
+        if (SERIES instanceof DoubleXYSeries) { drawArea((DoubleXYSeries<T>) SERIES, SHOW_POINTS); return; }
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
-        List<T> items     = SERIES.getItems();
+        List<T> items     = getVisibleItems(SERIES, 0, 1);
         int     noOfItems = items.size();
+        if (0 == noOfItems) { return; }
         double  oldX      = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
         double  oldY      = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
         boolean wasEmpty  = items.get(0).isEmptyItem();
@@ -776,24 +943,34 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.fill();
 
         // Draw Line
-        oldX = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
-        oldY = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
-        for (T item : SERIES.getItems()) {
+        oldX     = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
+        oldY     = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
+        wasEmpty = items.get(0).isEmptyItem();
+        final boolean SINGLE_PATH = isSinglePathLines();
+        if (SINGLE_PATH) {
+            ctx.beginPath();
+            ctx.moveTo(oldX, oldY);
+        }
+        for (T item : items) {
             double x = (item.getX() - LOWER_BOUND_X) * scaleX;
             double y = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
             boolean isEmpty = item.isEmptyItem();
             if (!isEmpty && !wasEmpty) {
-                ctx.strokeLine(oldX, oldY, x, y);
+                if (SINGLE_PATH) { ctx.lineTo(x, y); } else { ctx.strokeLine(oldX, oldY, x, y); }
+            } else if (SINGLE_PATH && !isEmpty) {
+                ctx.moveTo(x, y);
             }
             oldX = x;
             oldY = y;
             wasEmpty = isEmpty;
         }
+        if (SINGLE_PATH) { ctx.stroke(); }
 
         if (SHOW_POINTS) { drawSymbols(SERIES); }
     }
 
     private void drawScatter(final XYSeries<T> SERIES) {
+        if (SERIES instanceof DoubleXYSeries) { drawScatter((DoubleXYSeries<T>) SERIES); return; }
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
         ctx.setStroke(Color.TRANSPARENT);
@@ -804,20 +981,31 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         Paint  symbolStroke = SERIES.getSymbolStroke();
         double size         = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
 
-        for (T item : SERIES.getItems()) {
-            double x = (item.getX() - LOWER_BOUND_X) * scaleX;
-            double y = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
+        GridIndex index = getScatterIndex(SERIES);
+        if (null != index) {
+            List<T> items = SERIES.getItems();
+            queryVisible(index, size, i -> drawScatterItem(items.get(i), LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, size));
+            return;
+        }
+        for (T item : getVisibleItems(SERIES, size, 0)) {
+            drawScatterItem(item, LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, size);
+        }
+    }
 
-            Symbol itemSymbol = item.getSymbol();
-            if (Symbol.NONE == itemSymbol) {
-                drawSymbol(x, y, symbolFill, symbolStroke, seriesSymbol, size);
-            } else {
-                drawSymbol(x, y, item.getFill(), item.getStroke(), itemSymbol, size);
-            }
+    private void drawScatterItem(final T ITEM, final double LOWER_BOUND_X, final double LOWER_BOUND_Y, final Symbol SERIES_SYMBOL, final Paint SYMBOL_FILL, final Paint SYMBOL_STROKE, final double SYMBOL_SIZE) {
+        double x = (ITEM.getX() - LOWER_BOUND_X) * scaleX;
+        double y = height - (ITEM.getY() - LOWER_BOUND_Y) * scaleY;
+
+        Symbol itemSymbol = ITEM.getSymbol();
+        if (Symbol.NONE == itemSymbol) {
+            drawSymbol(x, y, SYMBOL_FILL, SYMBOL_STROKE, SERIES_SYMBOL, SYMBOL_SIZE);
+        } else {
+            drawSymbol(x, y, ITEM.getFill(), ITEM.getStroke(), itemSymbol, SYMBOL_SIZE);
         }
     }
 
     private void drawSmoothLine(final XYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        if (SERIES instanceof DoubleXYSeries) { drawSmoothLine((DoubleXYSeries<T>) SERIES, SHOW_POINTS); return; }
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
 
@@ -825,20 +1013,10 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(Color.TRANSPARENT);
 
-        List<Point> points = new ArrayList<>(SERIES.getItems().size());
-        SERIES.getItems().forEach(item -> points.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-
-        Point[] interpolatedPoints = Helper.subdividePoints(points.toArray(new Point[0]), SUB_DIVISIONS);
-
-        ctx.beginPath();
-        for(Point p : interpolatedPoints) {
-            if (p.isEmpty()) {
-                ctx.moveTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
-            } else {
-                ctx.lineTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
-            }
-        }
-        ctx.stroke();
+        SmoothingCache smoothed = getSmoothingCache(SERIES);
+        smoothed.update(getVisibleItems(SERIES, 0, 2), subDivisions);
+        smoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
+        strokeSmoothed(smoothed);
 
         if (SHOW_POINTS) { drawSymbols(SERIES); }
     }
@@ -846,7 +1024,8 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
     private void drawSmoothArea(final XYSeries<T> SERIES, final boolean SHOW_POINTS) {
         final double LOWER_BOUND_X = getLowerBoundX();
         final double LOWER_BOUND_Y = getLowerBoundY();
-        List<T> items     = SERIES.getItems();
+        List<T> items     = getVisibleItems(SERIES, 0, 2);
+        if (items.isEmpty()) { return; }
         double  oldX      = (items.get(0).getX() - LOWER_BOUND_X) * scaleX;
         double  oldY      = height - (items.get(0).getY() - LOWER_BOUND_Y) * scaleY;
         boolean wasEmpty  = items.get(0).isEmptyItem();
@@ -855,17 +1034,16 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(SERIES.getFill());
 
-        List<Point> points = new ArrayList<>(items.size());
-        items.forEach(item -> points.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-
-        Point[] interpolatedPoints = Helper.subdividePoints(points.toArray(new Point[0]), SUB_DIVISIONS);
+        SmoothingCache smoothed = getSmoothingCache(SERIES);
+        smoothed.update(items, subDivisions);
+        smoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
 
         ctx.beginPath();
         ctx.moveTo(oldX, oldY);
-        for(Point p : interpolatedPoints) {
-            double x = (p.getX() - LOWER_BOUND_X) * scaleX;
-            double  y       = height - (p.getY() - LOWER_BOUND_Y) * scaleY;
-            boolean isEmpty = p.isEmpty();
+        for (int i = 0 ; i < smoothed.size() ; i++) {
+            double  x       = smoothed.getScreenX(i);
+            double  y       = smoothed.getScreenY(i);
+            boolean isEmpty = smoothed.isEmpty(i);
 
             if (isEmpty) {
                 ctx.lineTo(oldX, height - (LOWER_BOUND_Y) * scaleY);
@@ -886,15 +1064,7 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.closePath();
         ctx.fill();
 
-        ctx.beginPath();
-        for(Point p : interpolatedPoints) {
-            if (p.isEmpty()) {
-                ctx.moveTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
-            } else {
-                ctx.lineTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
-            }
-        }
-        ctx.stroke();
+        strokeSmoothed(smoothed);
 
         if (SHOW_POINTS) { drawSymbols(SERIES); }
     }
@@ -943,9 +1113,11 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         // Subdivide points
         Point[] subdividedPoints;
         if (SMOOTHED) {
-            subdividedPoints = Helper.subdividePoints(points.toArray(new Point[0]), SUB_DIVISIONS);
+            SmoothingCache smoothed = getSmoothingCache(SERIES);
+            smoothed.update(points.toArray(new Point[0]), subDivisions);
+            subdividedPoints = smoothed.toPoints();
         } else {
-            subdividedPoints = Helper.subdividePointsLinear(points.toArray(new Point[0]), SUB_DIVISIONS);
+            subdividedPoints = Helper.subdividePointsLinear(points.toArray(new Point[0]), subDivisions);
         }
 
         // Split in points above and below 0
@@ -975,16 +1147,18 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setStroke(SERIES.getStroke());
         ctx.setFill(SERIES.getFill());
 
-        List<Point> points = new ArrayList<>(items.size());
-        items.forEach(item -> points.add(new Point(item.getX(), item.getY())));
+        Point[] points = new Point[items.size()];
+        for (int i = 0 ; i < points.length ; i++) { points[i] = new Point(items.get(i).getX(), items.get(i).getY()); }
 
-        Point[] interpolatedPoints = Helper.subdividePoints(points.toArray(new Point[0]), SUB_DIVISIONS);
+        SmoothingCache smoothed = getSmoothingCache(SERIES);
+        smoothed.update(points, subDivisions);
+        smoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
 
         ctx.beginPath();
         ctx.moveTo(oldX, oldY);
-        for(Point p : interpolatedPoints) {
-            double x = (p.getX() - LOWER_BOUND_X) * scaleX;
-            ctx.lineTo(x, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
+        for (int i = 0 ; i < smoothed.size() ; i++) {
+            double x = smoothed.getScreenX(i);
+            ctx.lineTo(x, smoothed.getScreenY(i));
             oldX = x;
         }
 
@@ -994,16 +1168,17 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.fill();
 
         ctx.beginPath();
-        for(Point p : interpolatedPoints) {
-            ctx.lineTo((p.getX() - LOWER_BOUND_X) * scaleX, height - (p.getY() - LOWER_BOUND_Y) * scaleY);
+        for (int i = 0 ; i < smoothed.size() ; i++) {
+            ctx.lineTo(smoothed.getScreenX(i), smoothed.getScreenY(i));
         }
         ctx.stroke();
     }
 
     private void drawLineDelta(final XYSeries<T> SERIES_1, final XYSeries<T> SERIES_2) {
         if (SERIES_1.getItems().size() != SERIES_2.getItems().size()) { throw new IllegalArgumentException("Both series must have the same number of items!"); }
-        final double LOWER_BOUND_X = getLowerBoundX();
-        final double LOWER_BOUND_Y = getLowerBoundY();
+        final double  LOWER_BOUND_X = getLowerBoundX();
+        final double  LOWER_BOUND_Y = getLowerBoundY();
+        final boolean SINGLE_PATH   = isSinglePathLines();
 
         int     noOfItems         = SERIES_1.getItems().size();
         List<T> cachedItems       = new LinkedList<>();
@@ -1093,13 +1268,15 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
                 }
             }
 
-            ctx.setLineWidth(SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025);
-            ctx.setStroke(series1Stroke);
-            ctx.strokeLine((lastXyData1.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData1.getY() - LOWER_BOUND_Y) * scaleY, (xyData1.getX() - LOWER_BOUND_X) * scaleX, height - (xyData1.getY() - LOWER_BOUND_Y) * scaleY);
+            if (!SINGLE_PATH) {
+                ctx.setLineWidth(SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025);
+                ctx.setStroke(series1Stroke);
+                ctx.strokeLine((lastXyData1.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData1.getY() - LOWER_BOUND_Y) * scaleY, (xyData1.getX() - LOWER_BOUND_X) * scaleX, height - (xyData1.getY() - LOWER_BOUND_Y) * scaleY);
 
-            ctx.setLineWidth(SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025);
-            ctx.setStroke(series2Stroke);
-            ctx.strokeLine((lastXyData2.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData2.getY() - LOWER_BOUND_Y) * scaleY, (xyData2.getX() - LOWER_BOUND_X) * scaleX, height - (xyData2.getY() - LOWER_BOUND_Y) * scaleY);
+                ctx.setLineWidth(SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025);
+                ctx.setStroke(series2Stroke);
+                ctx.strokeLine((lastXyData2.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData2.getY() - LOWER_BOUND_Y) * scaleY, (xyData2.getX() - LOWER_BOUND_X) * scaleX, height - (xyData2.getY() - LOWER_BOUND_Y) * scaleY);
+            }
         }
         Collections.reverse(cachedItems);
         for (T item : cachedItems) { ctx.lineTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY); }
@@ -1112,6 +1289,33 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.fill();
         cachedItems.clear();
 
+        if (SINGLE_PATH) {
+            ctx.setLineWidth(SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025);
+            ctx.setStroke(series1Stroke);
+            ctx.beginPath();
+            for (int i = 0 ; i < noOfItems ; i++) {
+                T item = items1.get(i);
+                if (0 == i) {
+                    ctx.moveTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY);
+                } else {
+                    ctx.lineTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY);
+                }
+            }
+            ctx.stroke();
+
+            ctx.setLineWidth(SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025);
+            ctx.setStroke(series2Stroke);
+            ctx.beginPath();
+            for (int i = 0 ; i < noOfItems ; i++) {
+                T item = items2.get(i);
+                if (0 == i) {
+                    ctx.moveTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY);
+                } else {
+                    ctx.lineTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY);
+                }
+            }
+            ctx.stroke();
+        }
 
         if (SERIES_1.getSymbolsVisible()) { drawSymbols(SERIES_1); }
         if (SERIES_2.getSymbolsVisible()) { drawSymbols(SERIES_2); }
@@ -1119,17 +1323,22 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
 
     private void drawSmoothLineDelta(final XYSeries<T> SERIES_1, final XYSeries<T> SERIES_2) {
         if (SERIES_1.getItems().size() != SERIES_2.getItems().size()) { throw new IllegalArgumentException("Both series must have the same number of items!"); }
-        final double LOWER_BOUND_X = getLowerBoundX();
-        final double LOWER_BOUND_Y = getLowerBoundY();
+        final double  LOWER_BOUND_X = getLowerBoundX();
+        final double  LOWER_BOUND_Y = getLowerBoundY();
+        final boolean SINGLE_PATH   = isSinglePathLines();
 
         // Smooth series
         List<Point> points1 = new ArrayList<>(SERIES_1.getItems().size());
         SERIES_1.getItems().forEach(item -> points1.add(new Point(item.getX(), item.getY())));
-        Point[] interpolatedPoints1 = Helper.subdividePoints(points1.toArray(new Point[0]), SUB_DIVISIONS);
+        SmoothingCache smoothed1 = getSmoothingCache(SERIES_1);
+        smoothed1.update(points1.toArray(new Point[0]), subDivisions);
+        Point[] interpolatedPoints1 = smoothed1.toPoints();
 
         List<Point> points2 = new ArrayList<>(SERIES_2.getItems().size());
         SERIES_2.getItems().forEach(item -> points2.add(new Point(item.getX(), item.getY())));
-        Point[] interpolatedPoints2 = Helper.subdividePoints(points2.toArray(new Point[0]), SUB_DIVISIONS);
+        SmoothingCache smoothed2 = getSmoothingCache(SERIES_2);
+        smoothed2.update(points2.toArray(new Point[0]), subDivisions);
+        Point[] interpolatedPoints2 = smoothed2.toPoints();
 
         int         noOfItems         = interpolatedPoints1.length;
         List<Point> cachedItems       = new LinkedList<>();
@@ -1217,13 +1426,15 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
                 }
             }
 
-            ctx.setLineWidth(SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025);
-            ctx.setStroke(series1Stroke);
-            ctx.strokeLine((lastXyData1.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData1.getY() - LOWER_BOUND_Y) * scaleY, (xyData1.getX() - LOWER_BOUND_X) * scaleX, height - (xyData1.getY() - LOWER_BOUND_Y) * scaleY);
+            if (!SINGLE_PATH) {
+                ctx.setLineWidth(SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025);
+                ctx.setStroke(series1Stroke);
+                ctx.strokeLine((lastXyData1.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData1.getY() - LOWER_BOUND_Y) * scaleY, (xyData1.getX() - LOWER_BOUND_X) * scaleX, height - (xyData1.getY() - LOWER_BOUND_Y) * scaleY);
 
-            ctx.setLineWidth(SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025);
-            ctx.setStroke(series2Stroke);
-            ctx.strokeLine((lastXyData2.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData2.getY() - LOWER_BOUND_Y) * scaleY, (xyData2.getX() - LOWER_BOUND_X) * scaleX, height - (xyData2.getY() - LOWER_BOUND_Y) * scaleY);
+                ctx.setLineWidth(SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025);
+                ctx.setStroke(series2Stroke);
+                ctx.strokeLine((lastXyData2.getX() - LOWER_BOUND_X) * scaleX, height - (lastXyData2.getY() - LOWER_BOUND_Y) * scaleY, (xyData2.getX() - LOWER_BOUND_X) * scaleX, height - (xyData2.getY() - LOWER_BOUND_Y) * scaleY);
+            }
         }
         Collections.reverse(cachedItems);
         for (Point item : cachedItems) { ctx.lineTo((item.getX() - LOWER_BOUND_X) * scaleX, height - (item.getY() - LOWER_BOUND_Y) * scaleY); }
@@ -1236,11 +1447,28 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.fill();
         cachedItems.clear();
 
+        if (SINGLE_PATH) {
+            strokePoints(interpolatedPoints1, SERIES_1.getStrokeWidth() > -1 ? SERIES_1.getStrokeWidth() : size * 0.0025, series1Stroke);
+            strokePoints(interpolatedPoints2, SERIES_2.getStrokeWidth() > -1 ? SERIES_2.getStrokeWidth() : size * 0.0025, series2Stroke);
+        }
 
         if (SERIES_1.getSymbolsVisible()) { drawSymbols(SERIES_1); }
         if (SERIES_2.getSymbolsVisible()) { drawSymbols(SERIES_2); }
     }
 
+    private void strokePoints(final Point[] POINTS, final double LINE_WIDTH, final Paint STROKE) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        ctx.setLineWidth(LINE_WIDTH);
+        ctx.setStroke(STROKE);
+        ctx.beginPath();
+        ctx.moveTo((POINTS[0].getX() - LOWER_BOUND_X) * scaleX, height - (POINTS[0].getY() - LOWER_BOUND_Y) * scaleY);
+        for (int i = 1 ; i < POINTS.length ; i++) {
+            ctx.lineTo((POINTS[i].getX() - LOWER_BOUND_X) * scaleX, height - (POINTS[i].getY() - LOWER_BOUND_Y) * scaleY);
+        }
+        ctx.stroke();
+    }
+
     private void drawPolar(final XYSeries<T> SERIES) {
         final double  CENTER_X      = 0.5 * size;
         final double  CENTER_Y      = CENTER_X;
@@ -1264,47 +1492,49 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
         ctx.setStroke(SERIES.getStroke());
 
-        double  radAngle = Math.toRadians(180);
-        Point[] points   = new Point[NO_OF_ITEMS + 1];
-
-        T       item     = SERIES.getItems().get(0);
-        double  r1       = (CENTER_Y - (CENTER_Y - OFFSET - ((item.getY() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE));
-        double  phi      = Math.toRadians(Helper.clamp(0.0, 360.0, item.getX()));
-        double  x        = CENTER_X + (-Math.sin(radAngle + phi) * r1);
-        double  y        = CENTER_Y + (+Math.cos(radAngle + phi) * r1);
-        points[0]        = new Point(x, y);
+        double  radAngle   = Math.toRadians(180);
+        int     noOfPoints = NO_OF_ITEMS + 1;
+        if (polarX.length < noOfPoints) {
+            polarX = new double[noOfPoints];
+            polarY = new double[noOfPoints];
+        }
 
-        for (int i = 1 ; i < NO_OF_ITEMS  ;i++) {
+        T item = SERIES.getItems().get(0);
+        for (int i = 0 ; i < NO_OF_ITEMS  ;i++) {
             item = SERIES.getItems().get(i);
-            r1   = (CENTER_Y - (CENTER_Y - OFFSET - ((item.getY() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE));
-            phi  = Math.toRadians(Helper.clamp(0.0, 360.0, item.getX()));
-            x = CENTER_X + (-Math.sin(radAngle + phi) * r1);
-            y = CENTER_Y + (+Math.cos(radAngle + phi) * r1);
-            points[i] = new Point(x, y);
+            double r1  = (CENTER_Y - (CENTER_Y - OFFSET - ((item.getY() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE));
+            double phi = Math.toRadians(Helper.clamp(0.0, 360.0, item.getX()));
+            polarX[i]  = CENTER_X + (-Math.sin(radAngle + phi) * r1);
+            polarY[i]  = CENTER_Y + (+Math.cos(radAngle + phi) * r1);
         }
-        points[points.length - 1] = points[0]; // last point == first point
+        // last point == first point
+        polarX[noOfPoints - 1] = polarX[0];
+        polarY[noOfPoints - 1] = polarY[0];
 
+        ctx.beginPath();
         if (SMOOTH_POLAR == SERIES.getChartType()) {
+            int noOfSmoothedPoints = Helper.getNoOfSubdividedPoints(noOfPoints, 16);
+            if (polarSmoothedX.length < noOfSmoothedPoints) {
+                polarSmoothedX = new double[noOfSmoothedPoints];
+                polarSmoothedY = new double[noOfSmoothedPoints];
+            }
             //Use the subdividePointsRadial method if wrapping required.
-            Point[] interpolatedPoints = SERIES.isWithWrapping()? Helper.subdividePointsRadial(points, 16):Helper.subdividePoints(points, 16);
-            ctx.beginPath();
-            ctx.moveTo(interpolatedPoints[0].getX(), interpolatedPoints[0].getY());
-            for (int i = 0 ; i < interpolatedPoints.length - 1 ; i++) {
-                Point point = interpolatedPoints[i];
-                ctx.lineTo(point.getX(), point.getY());
+            if (SERIES.isWithWrapping()) {
+                Helper.subdividePointsRadial(polarX, polarY, noOfPoints, 16, polarSmoothedX, polarSmoothedY);
+            } else {
+                Helper.subdividePoints(polarX, polarY, noOfPoints, 16, polarSmoothedX, polarSmoothedY);
+            }
+            ctx.moveTo(polarSmoothedX[0], polarSmoothedY[0]);
+            for (int i = 1 ; i < noOfSmoothedPoints ; i++) {
+                ctx.lineTo(polarSmoothedX[i], polarSmoothedY[i]);
             }
-            ctx.lineTo(interpolatedPoints[interpolatedPoints.length - 1].getX(), interpolatedPoints[interpolatedPoints.length - 1].getY());
-            ctx.closePath();
         } else {
-            ctx.beginPath();
-            ctx.moveTo(points[0].getX(), points[0].getY());
-            for (int i = 0; i < points.length - 1; i++) {
-                Point point = points[i];
-                ctx.lineTo(point.getX(), point.getY());
+            ctx.moveTo(polarX[0], polarY[0]);
+            for (int i = 1 ; i < noOfPoints ; i++) {
+                ctx.lineTo(polarX[i], polarY[i]);
             }
-            ctx.lineTo(points[points.length - 1].getX(), points[points.length - 1].getY());
-            ctx.closePath();
         }
+        ctx.closePath();
 
         ctx.fill();
         ctx.stroke();
@@ -1316,12 +1546,12 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
             Paint  symbolFill   = SERIES.getSymbolFill();
             Paint  symbolStroke = SERIES.getSymbolStroke();
             double size         = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
-            for (Point point : points) {
+            for (int i = 0 ; i < noOfPoints ; i++) {
                 Symbol itemSymbol = item.getSymbol();
                 if (Symbol.NONE == itemSymbol) {
-                    drawSymbol(point.getX(), point.getY(), symbolFill, symbolStroke, seriesSymbol, size);
+                    drawSymbol(polarX[i], polarY[i], symbolFill, symbolStroke, seriesSymbol, size);
                 } else {
-                    drawSymbol(point.getX(), point.getY(), item.getFill(), item.getStroke(), itemSymbol, size);
+                    drawSymbol(polarX[i], polarY[i], item.getFill(), item.getStroke(), itemSymbol, size);
                 }
             }
         }
@@ -1521,11 +1751,13 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
 
     private void drawSmoothedMultiTimeSeries(final List<XYSeries<T>> LIST_OF_SERIES) {
         // Aggregating data
-        List<XYItem> minItems    = new LinkedList<>();
-        List<XYItem> maxItems    = new LinkedList<>();
-        List<XYItem> avgItems    = new LinkedList<>();
-        List<XYItem> stdDevItems = new LinkedList<>();
-        XYSeries<T> series0 = LIST_OF_SERIES.get(0);
+        XYSeries<T>  series0     = LIST_OF_SERIES.get(0);
+        int          noOfItems   = series0.getItems().size();
+        // Indexed access below and in the SmoothingCache, ArrayLists keep it O(1)
+        List<XYItem> minItems    = new ArrayList<>(noOfItems);
+        List<XYItem> maxItems    = new ArrayList<>(noOfItems);
+        List<XYItem> avgItems    = new ArrayList<>(noOfItems);
+        List<XYItem> stdDevItems = new ArrayList<>(noOfItems);
         for (int i = 0 ; i < series0.getItems().size() ; i++) {
             T item = series0.getItems().get(i);
             double x = item.getX();
@@ -1547,9 +1779,8 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
             stdDevItems.add(new XYChartItem(x, Statistics.getStdDev(valuesForX)));
         }
 
-        List<Point> avgItemsPoints = new ArrayList<>(avgItems.size());
-        avgItems.forEach(item -> avgItemsPoints.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-        Point[] avgInterpolatedPoints = Helper.subdividePoints(avgItemsPoints.toArray(new Point[0]), SUB_DIVISIONS);
+        SmoothingCache avgSmoothed = getSmoothingCache(AVERAGE_KEY);
+        avgSmoothed.update(avgItems, subDivisions);
 
 
         // Visualize data
@@ -1557,33 +1788,27 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         final double LOWER_BOUND_Y = getLowerBoundY();
 
         if (isEnvelopeVisible()) {
-            List<Point> minItemsPoints = new ArrayList<>(minItems.size());
-            minItems.forEach(item -> minItemsPoints.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-            Point[] minInterpolatedPoints = Helper.subdividePoints(minItemsPoints.toArray(new Point[0]), SUB_DIVISIONS);
+            SmoothingCache minSmoothed = getSmoothingCache(MIN_KEY);
+            minSmoothed.update(minItems, subDivisions);
+            minSmoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
 
-            List<Point> maxItemsPoints = new ArrayList<>(maxItems.size());
-            maxItems.forEach(item -> maxItemsPoints.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-            Point[] maxInterpolatedPoints = Helper.subdividePoints(maxItemsPoints.toArray(new Point[0]), SUB_DIVISIONS);
+            SmoothingCache maxSmoothed = getSmoothingCache(MAX_KEY);
+            maxSmoothed.update(maxItems, subDivisions);
+            maxSmoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
 
-            double startX = (maxInterpolatedPoints[0].getX() - LOWER_BOUND_X) * scaleX;
-            double startY = height - (maxInterpolatedPoints[0].getY() - LOWER_BOUND_Y) * scaleY;
+            double startX = maxSmoothed.getScreenX(0);
+            double startY = maxSmoothed.getScreenY(0);
 
             ctx.setFill(getEnvelopeFill());
             ctx.setStroke(getEnvelopeStroke());
             ctx.setLineWidth(0.5);
             ctx.beginPath();
             ctx.moveTo(startX, startY);
-            for (int i = 1; i < maxInterpolatedPoints.length ; i++) {
-                Point point = maxInterpolatedPoints[i];
-                double x    = (point.getX() - LOWER_BOUND_X) * scaleX;
-                double y    = height - (point.getY() - LOWER_BOUND_Y) * scaleY;
-                ctx.lineTo(x, y);
+            for (int i = 1; i < maxSmoothed.size() ; i++) {
+                ctx.lineTo(maxSmoothed.getScreenX(i), maxSmoothed.getScreenY(i));
             }
-            for (int i = minInterpolatedPoints.length - 1; i >= 0; i--) {
-                Point point = minInterpolatedPoints[i];
-                double x    = (point.getX() - LOWER_BOUND_X) * scaleX;
-                double y    = height - (point.getY() - LOWER_BOUND_Y) * scaleY;
-                ctx.lineTo(x, y);
+            for (int i = minSmoothed.size() - 1; i >= 0; i--) {
+                ctx.lineTo(minSmoothed.getScreenX(i), minSmoothed.getScreenY(i));
             }
             ctx.lineTo(startX, startY);
             ctx.closePath();
@@ -1599,30 +1824,25 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         double oldY;
 
         if (isStdDeviationVisible()) {
-            List<Point> stdDevItemsPoints = new ArrayList<>(stdDevItems.size());
-            stdDevItems.forEach(item -> stdDevItemsPoints.add(new Point(item.getX(), item.getY(), item.isEmptyItem())));
-            Point[] stdDevInterpolatedPoints = Helper.subdividePoints(stdDevItemsPoints.toArray(new Point[0]), SUB_DIVISIONS);
+            SmoothingCache stdDevSmoothed = getSmoothingCache(STD_DEV_KEY);
+            stdDevSmoothed.update(stdDevItems, subDivisions);
 
             // Std. Deviation area
             ctx.setFill(getStdDeviationFill());
             ctx.setStroke(getStdDeviationStroke());
             ctx.setLineWidth(0.5);
             ctx.beginPath();
-            double startX = (stdDevInterpolatedPoints[0].getX() - LOWER_BOUND_X) * scaleX;
-            double startY = height - (avgInterpolatedPoints[0].getY() - stdDevInterpolatedPoints[0].getY() * 0.5 - LOWER_BOUND_Y) * scaleY;
+            double startX = (stdDevSmoothed.getX(0) - LOWER_BOUND_X) * scaleX;
+            double startY = height - (avgSmoothed.getY(0) - stdDevSmoothed.getY(0) * 0.5 - LOWER_BOUND_Y) * scaleY;
             ctx.moveTo(startX, startY);
-            for (int i = 0; i < stdDevInterpolatedPoints.length ; i++) {
-                Point stdPoint = stdDevInterpolatedPoints[i];
-                Point avgPoint = avgInterpolatedPoints[i];
-                double x       = (avgPoint.getX() - LOWER_BOUND_X) * scaleX;
-                double y       = height - (avgPoint.getY() - stdPoint.getY() * 0.5 - LOWER_BOUND_Y) * scaleY;
+            for (int i = 0; i < stdDevSmoothed.size() ; i++) {
+                double x = (avgSmoothed.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y = height - (avgSmoothed.getY(i) - stdDevSmoothed.getY(i) * 0.5 - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
-            for (int i = stdDevInterpolatedPoints.length - 1; i >= 0; i--) {
-                Point stdPoint = stdDevInterpolatedPoints[i];
-                Point avgPoint = avgInterpolatedPoints[i];
-                double x       = (avgPoint.getX() - LOWER_BOUND_X) * scaleX;
-                double y       = height - (avgPoint.getY() + stdPoint.getY() * 0.5 - LOWER_BOUND_Y) * scaleY;
+            for (int i = stdDevSmoothed.size() - 1; i >= 0; i--) {
+                double x = (avgSmoothed.getX(i) - LOWER_BOUND_X) * scaleX;
+                double y = height - (avgSmoothed.getY(i) + stdDevSmoothed.getY(i) * 0.5 - LOWER_BOUND_Y) * scaleY;
                 ctx.lineTo(x, y);
             }
             ctx.lineTo(startX, startY);
@@ -1634,14 +1854,12 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         ctx.setLineWidth(getAverageStrokeWidth());
         ctx.setStroke(getAverageStroke());
         ctx.beginPath();
-        oldX = (avgInterpolatedPoints[0].getX() - LOWER_BOUND_X) * scaleX;
+        avgSmoothed.toScreen(LOWER_BOUND_X, LOWER_BOUND_Y, scaleX, scaleY, height);
+        oldX = avgSmoothed.getScreenX(0);
         oldY = height - (avgItems.get(0).getY() - LOWER_BOUND_Y) * scaleY;
         ctx.moveTo(oldX, oldY);
-        for (int i = 1 ; i < avgInterpolatedPoints.length ; i++) {
-            Point point = avgInterpolatedPoints[i];
-            double x    = (point.getX() - LOWER_BOUND_X) * scaleX;
-            double y    = height - (point.getY() - LOWER_BOUND_Y) * scaleY;
-            ctx.lineTo(x, y);
+        for (int i = 1 ; i < avgSmoothed.size() ; i++) {
+            ctx.lineTo(avgSmoothed.getScreenX(i), avgSmoothed.getScreenY(i));
         }
         ctx.stroke();
     }
@@ -1743,16 +1961,434 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
         Color        symbolFill    = SERIES.getSymbolFill();
         Color        symbolStroke  = SERIES.getSymbolStroke();
         double       size          = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
-        for (T item : SERIES.getItems()) {
-            double x          = (item.getX() - LOWER_BOUND_X) * scaleX;
-            double y          = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
-            Symbol itemSymbol = item.getSymbol();
+        GridIndex    index         = getScatterIndex(SERIES);
+        if (null != index) {
+            List<T> items = SERIES.getItems();
+            queryVisible(index, size, i -> drawScatterItem(items.get(i), LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, size));
+            return;
+        }
+        for (T item : getVisibleItems(SERIES, size, 0)) {
             if (item.isEmptyItem()) { continue; }
-            if (Symbol.NONE == itemSymbol) {
-                drawSymbol(x, y, symbolFill, symbolStroke, seriesSymbol, size);
+            drawScatterItem(item, LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, size);
+        }
+    }
+
+    // ******************** Smoothing ***************************************
+    private SmoothingCache getSmoothingCache(final Object KEY) { return smoothingCache.computeIfAbsent(KEY, key -> new SmoothingCache()); }
+
+    private void strokeSmoothed(final SmoothingCache SMOOTHED) {
+        ctx.beginPath();
+        for (int i = 0 ; i < SMOOTHED.size() ; i++) {
+            if (SMOOTHED.isEmpty(i)) {
+                ctx.moveTo(SMOOTHED.getScreenX(i), SMOOTHED.getScreenY(i));
+            } else {
+                ctx.lineTo(SMOOTHED.getScreenX(i), SMOOTHED.getScreenY(i));
+            }
+        }
+        ctx.stroke();
+    }
+
+
+    // ******************** Culling *****************************************
+    private void invalidateCaches(final XYSeries<T> SERIES) {
+        DecimatedData data = decimationCache.get(SERIES);
+        if (null != data) { data.invalidate(); }
+        sortedByXCache.remove(SERIES);
+        scatterIndexCache.remove(SERIES);
+    }
+
+    private boolean isSortedByX(final XYSeries<T> SERIES) {
+        if (SERIES.isSortedByX()) { return true; }
+        return sortedByXCache.computeIfAbsent(SERIES, series -> series instanceof DoubleXYSeries ? ((DoubleXYSeries<T>) series).checkSortedByX() : Helper.isSortedByX(series.getItems()));
+    }
+
+    /**
+     * Returns the index range [from, to) of the items that lie in the visible x range
+     * (extended by PADDING pixels on both sides) plus the given number of neighbours
+     * on each side. If the series is not sorted by x the full range will be returned.
+     */
+    private int[] getVisibleRange(final XYSeries<T> SERIES, final double PADDING, final int NEIGHBOURS) {
+        final boolean COLUMNAR    = SERIES instanceof DoubleXYSeries;
+        final int     NO_OF_ITEMS = COLUMNAR ? ((DoubleXYSeries<T>) SERIES).size() : SERIES.getItems().size();
+        if (NO_OF_ITEMS < 2 || !isSortedByX(SERIES)) { return new int[] { 0, NO_OF_ITEMS }; }
+
+        final double PADDING_X = scaleX > 0 ? PADDING / scaleX : 0;
+        final double MIN_X     = getLowerBoundX() - PADDING_X;
+        final double MAX_X     = getUpperBoundX() + PADDING_X;
+        int lower;
+        int upper;
+        if (COLUMNAR) {
+            DoubleXYSeries<T> series = (DoubleXYSeries<T>) SERIES;
+            lower = series.lowerIndexOfX(MIN_X);
+            upper = series.upperIndexOfX(MAX_X);
+        } else {
+            List<T> items = SERIES.getItems();
+            lower = Helper.lowerIndexOfX(items, MIN_X);
+            upper = Helper.upperIndexOfX(items, MAX_X);
+        }
+        return new int[] { Math.max(0, lower - NEIGHBOURS), Math.min(NO_OF_ITEMS, upper + NEIGHBOURS) };
+    }
+
+    private List<T> getVisibleItems(final XYSeries<T> SERIES, final double PADDING, final int NEIGHBOURS) {
+        List<T> items = SERIES.getItems();
+        int[]   range = getVisibleRange(SERIES, PADDING, NEIGHBOURS);
+        return (range[0] == 0 && range[1] == items.size()) ? items : items.subList(range[0], range[1]);
+    }
+
+    /**
+     * Returns the spatial index of the given scatter series or null if the
+     * series is sorted by x (and can be culled by a binary search) or the
+     * index is disabled.
+     */
+    private GridIndex getScatterIndex(final XYSeries<T> SERIES) {
+        if (!scatterIndexEnabled || isSortedByX(SERIES)) { return null; }
+        GridIndex index = scatterIndexCache.get(SERIES);
+        if (null != index) { return index; }
+        int      noOfItems = SERIES instanceof DoubleXYSeries ? ((DoubleXYSeries<T>) SERIES).size() : SERIES.getItems().size();
+        double[] xValues   = new double[noOfItems];
+        double[] yValues   = new double[noOfItems];
+        if (SERIES instanceof DoubleXYSeries) {
+            ((DoubleXYSeries<T>) SERIES).copyTo(xValues, yValues);
+        } else {
+            List<T> items = SERIES.getItems();
+            for (int i = 0 ; i < noOfItems ; i++) {
+                T item = items.get(i);
+                xValues[i] = item.getX();
+                yValues[i] = item.isEmptyItem() ? Double.NaN : item.getY();
+            }
+        }
+        index = new GridIndex(xValues, yValues, noOfItems);
+        scatterIndexCache.put(SERIES, index);
+        return index;
+    }
+
+    /**
+     * Calls the consumer with the index of every item in the given index
+     * that lies in the visible area extended by PADDING pixels.
+     */
+    private void queryVisible(final GridIndex INDEX, final double PADDING, final IntConsumer CONSUMER) {
+        final double PADDING_X = scaleX > 0 ? PADDING / scaleX : 0;
+        final double PADDING_Y = scaleY > 0 ? PADDING / scaleY : 0;
+        INDEX.query(getLowerBoundX() - PADDING_X, getLowerBoundY() - PADDING_Y, getUpperBoundX() + PADDING_X, getUpperBoundY() + PADDING_Y, CONSUMER);
+    }
+
+
+    // ******************** Decimation **************************************
+    private Decimation getEffectiveDecimation(final XYSeries<T> SERIES) {
+        Decimation decimation = SERIES.getDecimation();
+        return null == decimation ? getDecimation(SERIES.getChartType()) : decimation;
+    }
+
+    /**
+     * Returns the decimated values of the given series or null if the series
+     * does not need to be decimated or is not sorted by x (both algorithms
+     * bucket the items by index). The decimated values will only be
+     * recalculated if the bounds, the size or the data of the series changed,
+     * the buffers of the cache entry will be reused.
+     */
+    private DecimatedData getDecimatedData(final XYSeries<T> SERIES) {
+        Decimation decimation = getEffectiveDecimation(SERIES);
+        int        noOfItems  = SERIES.getNoOfItems();
+        int        threshold  = (int) Math.max(3, width);
+        if (Decimation.NONE == decimation || noOfItems <= 2 * threshold || !isSortedByX(SERIES)) {
+            decimationCache.remove(SERIES);
+            return null;
+        }
+
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double UPPER_BOUND_X = getUpperBoundX();
+        DecimatedData data = decimationCache.get(SERIES);
+        if (null == data) {
+            data = new DecimatedData();
+            decimationCache.put(SERIES, data);
+        } else if (data.isValidFor(decimation, LOWER_BOUND_X, UPPER_BOUND_X, width)) {
+            return data;
+        }
+
+        data.ensureCapacity(noOfItems);
+        double[] xValues = data.sourceXValues;
+        double[] yValues = data.sourceYValues;
+        if (SERIES instanceof DoubleXYSeries) {
+            ((DoubleXYSeries<T>) SERIES).copyTo(xValues, yValues);
+        } else {
+            List<T> items = SERIES.getItems();
+            for (int i = 0 ; i < noOfItems ; i++) {
+                T item = items.get(i);
+                xValues[i] = item.getX();
+                yValues[i] = item.isEmptyItem() ? Double.NaN : item.getY();
+            }
+        }
+        int count = Decimator.decimate(decimation, xValues, yValues, noOfItems, LOWER_BOUND_X, UPPER_BOUND_X, scaleX, threshold, data.xValues, data.yValues);
+        data.set(decimation, LOWER_BOUND_X, UPPER_BOUND_X, width, count);
+        return data;
+    }
+
+    private void drawLine(final XYSeries<T> SERIES, final DecimatedData DATA, final boolean SHOW_POINTS) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final double[] X_VALUES    = DATA.xValues;
+        final double[] Y_VALUES    = DATA.yValues;
+        if (DATA.count == 0) { return; }
+
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+
+        final boolean SINGLE_PATH = isSinglePathLines();
+        double        oldX        = (X_VALUES[0] - LOWER_BOUND_X) * scaleX;
+        double        oldY        = height - (Y_VALUES[0] - LOWER_BOUND_Y) * scaleY;
+        boolean       wasEmpty    = Double.isNaN(Y_VALUES[0]);
+        if (SINGLE_PATH) {
+            ctx.beginPath();
+            if (!wasEmpty) { ctx.moveTo(oldX, oldY); }
+        }
+        for (int i = 1 ; i < DATA.count ; i++) {
+            double  x       = (X_VALUES[i] - LOWER_BOUND_X) * scaleX;
+            double  y       = height - (Y_VALUES[i] - LOWER_BOUND_Y) * scaleY;
+            boolean isEmpty = Double.isNaN(Y_VALUES[i]);
+            if (!isEmpty && !wasEmpty) {
+                if (SINGLE_PATH) { ctx.lineTo(x, y); } else { ctx.strokeLine(oldX, oldY, x, y); }
+            } else if (SINGLE_PATH && !isEmpty) {
+                ctx.moveTo(x, y);
+            }
+            oldX     = x;
+            oldY     = y;
+            wasEmpty = isEmpty;
+        }
+        if (SINGLE_PATH) { ctx.stroke(); }
+
+        if (SHOW_POINTS) { drawSymbols(SERIES, DATA); }
+    }
+
+    private void drawArea(final XYSeries<T> SERIES, final DecimatedData DATA, final boolean SHOW_POINTS) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final double ZERO_Y        = height - (LOWER_BOUND_Y) * scaleY;
+        final double[] X_VALUES    = DATA.xValues;
+        final double[] Y_VALUES    = DATA.yValues;
+        if (DATA.count == 0) { return; }
+
+        final double FIRST_X  = (X_VALUES[0] - LOWER_BOUND_X) * scaleX;
+        double       oldX     = FIRST_X;
+        boolean      wasEmpty = Double.isNaN(Y_VALUES[0]);
+
+        // Fill Area
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(SERIES.getFill());
+        ctx.beginPath();
+        ctx.moveTo(oldX, wasEmpty ? ZERO_Y : height - (Y_VALUES[0] - LOWER_BOUND_Y) * scaleY);
+        for (int i = 1 ; i < DATA.count ; i++) {
+            double  x       = (X_VALUES[i] - LOWER_BOUND_X) * scaleX;
+            boolean isEmpty = Double.isNaN(Y_VALUES[i]);
+            if (isEmpty) {
+                ctx.lineTo(oldX, ZERO_Y);
+                ctx.lineTo(x, ZERO_Y);
+            } else if (wasEmpty) {
+                ctx.lineTo(x, ZERO_Y);
+                ctx.lineTo(x, height - (Y_VALUES[i] - LOWER_BOUND_Y) * scaleY);
+            } else {
+                ctx.lineTo(x, height - (Y_VALUES[i] - LOWER_BOUND_Y) * scaleY);
+            }
+            oldX     = x;
+            wasEmpty = isEmpty;
+        }
+        ctx.lineTo(oldX, height);
+        ctx.lineTo(FIRST_X, height);
+        ctx.closePath();
+        ctx.fill();
+
+        // Draw Line
+        drawLine(SERIES, DATA, SHOW_POINTS);
+    }
+
+    private void drawSymbols(final XYSeries<T> SERIES, final DecimatedData DATA) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        Symbol       seriesSymbol  = SERIES.getSymbol();
+        Color        symbolFill    = SERIES.getSymbolFill();
+        Color        symbolStroke  = SERIES.getSymbolStroke();
+        double       size          = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
+        for (int i = 0 ; i < DATA.count ; i++) {
+            if (Double.isNaN(DATA.yValues[i])) { continue; }
+            drawSymbol((DATA.xValues[i] - LOWER_BOUND_X) * scaleX, height - (DATA.yValues[i] - LOWER_BOUND_Y) * scaleY, symbolFill, symbolStroke, seriesSymbol, size);
+        }
+    }
+
+
+    // ******************** Columnar series ***********************************
+    private boolean isSupportedByDoubleXYSeries(final ChartType TYPE) {
+        switch (TYPE) {
+            case LINE       :
+            case AREA       :
+            case SCATTER    :
+            case SMOOTH_LINE: return true;
+            default         : return false;
+        }
+    }
+
+    private void drawLine(final DoubleXYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        final int[] RANGE = getVisibleRange(SERIES, 0, 1);
+        final int   FROM  = RANGE[0];
+        final int   TO    = RANGE[1];
+        if (FROM >= TO) { return; }
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        double  oldX     = (SERIES.getX(FROM) - LOWER_BOUND_X) * scaleX;
+        double  oldY     = height - (SERIES.getY(FROM) - LOWER_BOUND_Y) * scaleY;
+        boolean wasEmpty = SERIES.isEmptyItem(FROM);
+
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+
+        final boolean SINGLE_PATH = isSinglePathLines();
+        if (SINGLE_PATH) {
+            ctx.beginPath();
+            if (!wasEmpty) { ctx.moveTo(oldX, oldY); }
+        }
+        for (int i = FROM + 1 ; i < TO ; i++) {
+            double  x       = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+            double  y       = height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY;
+            boolean isEmpty = SERIES.isEmptyItem(i);
+            if (!isEmpty && !wasEmpty) {
+                if (SINGLE_PATH) { ctx.lineTo(x, y); } else { ctx.strokeLine(oldX, oldY, x, y); }
+            } else if (SINGLE_PATH && !isEmpty) {
+                ctx.moveTo(x, y);
+            }
+            oldX     = x;
+            oldY     = y;
+            wasEmpty = isEmpty;
+        }
+        if (SINGLE_PATH) { ctx.stroke(); }
+
+        if (SHOW_POINTS) { drawSymbols(SERIES); }
+    }
+
+    private void drawArea(final DoubleXYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        final int[] RANGE = getVisibleRange(SERIES, 0, 1);
+        final int   FROM  = RANGE[0];
+        final int   TO    = RANGE[1];
+        if (FROM >= TO) { return; }
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        final double ZERO_Y        = height - (LOWER_BOUND_Y) * scaleY;
+        final double FIRST_X       = (SERIES.getX(FROM) - LOWER_BOUND_X) * scaleX;
+        double  oldX     = FIRST_X;
+        boolean wasEmpty = SERIES.isEmptyItem(FROM);
+
+        // Fill Area
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(SERIES.getFill());
+        ctx.beginPath();
+        ctx.moveTo(oldX, wasEmpty ? ZERO_Y : height - (SERIES.getY(FROM) - LOWER_BOUND_Y) * scaleY);
+        for (int i = FROM + 1 ; i < TO ; i++) {
+            double  x       = (SERIES.getX(i) - LOWER_BOUND_X) * scaleX;
+            boolean isEmpty = SERIES.isEmptyItem(i);
+            if (isEmpty) {
+                ctx.lineTo(oldX, ZERO_Y);
+                ctx.lineTo(x, ZERO_Y);
+            } else if (wasEmpty) {
+                ctx.lineTo(x, ZERO_Y);
+                ctx.lineTo(x, height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY);
             } else {
-                drawSymbol(x, y, item.getFill(), item.getStroke(), itemSymbol, size);
+                ctx.lineTo(x, height - (SERIES.getY(i) - LOWER_BOUND_Y) * scaleY);
             }
+            oldX     = x;
+            wasEmpty = isEmpty;
+        }
+        ctx.lineTo(oldX, height);
+        ctx.lineTo(FIRST_X, height);
+        ctx.closePath();
+        ctx.fill();
+
+        // Draw Line
+        drawLine(SERIES, SHOW_POINTS);
+    }
+
+    private void drawScatter(final DoubleXYSeries<T> SERIES) {
+        ctx.setStroke(Color.TRANSPARENT);
+        ctx.setFill(Color.TRANSPARENT);
+        drawSymbols(SERIES);
+    }
+
+    private void drawSmoothLine(final DoubleXYSeries<T> SERIES, final boolean SHOW_POINTS) {
+        final int[] RANGE = getVisibleRange(SERIES, 0, 2);
+        final int   FROM  = RANGE[0];
+        final int   TO    = RANGE[1];
+        if (FROM >= TO) { return; }
+        if (TO - FROM < 3) { drawLine(SERIES, SHOW_POINTS); return; }
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        if (splineX.length < subDivisions + 1) {
+            splineX = new double[subDivisions + 1];
+            splineY = new double[subDivisions + 1];
+        }
+
+        ctx.setLineWidth(SERIES.getStrokeWidth() > -1 ? SERIES.getStrokeWidth() : size * 0.0025);
+        ctx.setStroke(SERIES.getStroke());
+        ctx.setFill(Color.TRANSPARENT);
+
+        // Catmull-Rom spline evaluated directly on the primitive values
+        ctx.beginPath();
+        boolean penDown = false;
+        for (int i = FROM ; i < TO - 1 ; i++) {
+            if (SERIES.isEmptyItem(i) || SERIES.isEmptyItem(i + 1)) {
+                penDown = false;
+                continue;
+            }
+            int    i0 = (i == FROM || SERIES.isEmptyItem(i - 1)) ? i : i - 1;
+            int    i3 = (i + 2 == TO || SERIES.isEmptyItem(i + 2)) ? i + 1 : i + 2;
+            double x0 = SERIES.getX(i0), y0 = SERIES.getY(i0);
+            double x1 = SERIES.getX(i),  y1 = SERIES.getY(i);
+            double x2 = SERIES.getX(i + 1), y2 = SERIES.getY(i + 1);
+            double x3 = SERIES.getX(i3), y3 = SERIES.getY(i3);
+            int count = CatmullRom.subdivide(x0, y0, x1, y1, x2, y2, x3, y3, subDivisions, true, splineX, splineY, 0);
+            for (int j = 0 ; j < count ; j++) {
+                double x = (splineX[j] - LOWER_BOUND_X) * scaleX;
+                double y = height - (splineY[j] - LOWER_BOUND_Y) * scaleY;
+                if (penDown) {
+                    ctx.lineTo(x, y);
+                } else {
+                    ctx.moveTo(x, y);
+                    penDown = true;
+                }
+            }
+        }
+        ctx.stroke();
+
+        if (SHOW_POINTS) { drawSymbols(SERIES); }
+    }
+
+    private void drawSymbols(final DoubleXYSeries<T> SERIES) {
+        final double LOWER_BOUND_X = getLowerBoundX();
+        final double LOWER_BOUND_Y = getLowerBoundY();
+        Symbol       seriesSymbol  = SERIES.getSymbol();
+        Color        symbolFill    = SERIES.getSymbolFill();
+        Color        symbolStroke  = SERIES.getSymbolStroke();
+        Color[]      palette       = SERIES.getStylePalette();
+        double       size          = SERIES.getSymbolSize() > -1 ? SERIES.getSymbolSize() : symbolSize;
+        GridIndex    index         = getScatterIndex(SERIES);
+        if (null != index) {
+            queryVisible(index, size, i -> drawSymbol(SERIES, i, LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, palette, size));
+            return;
+        }
+        final int[] RANGE = getVisibleRange(SERIES, size, 0);
+        for (int i = RANGE[0] ; i < RANGE[1] ; i++) {
+            if (SERIES.isEmptyItem(i)) { continue; }
+            drawSymbol(SERIES, i, LOWER_BOUND_X, LOWER_BOUND_Y, seriesSymbol, symbolFill, symbolStroke, palette, size);
+        }
+    }
+
+    private void drawSymbol(final DoubleXYSeries<T> SERIES, final int INDEX, final double LOWER_BOUND_X, final double LOWER_BOUND_Y,
+                            final Symbol SYMBOL, final Color SYMBOL_FILL, final Color SYMBOL_STROKE, final Color[] PALETTE, final double SYMBOL_SIZE) {
+        double x = (SERIES.getX(INDEX) - LOWER_BOUND_X) * scaleX;
+        double y = height - (SERIES.getY(INDEX) - LOWER_BOUND_Y) * scaleY;
+        if (null == PALETTE || PALETTE.length == 0) {
+            drawSymbol(x, y, SYMBOL_FILL, SYMBOL_STROKE, SYMBOL, SYMBOL_SIZE);
+        } else {
+            drawSymbol(x, y, PALETTE[SERIES.getStyleIndex(INDEX) % PALETTE.length], SYMBOL_STROKE, SYMBOL, SYMBOL_SIZE);
         }
     }
 
@@ -1833,4 +2469,44 @@ public class XYPane<T extends XYItem> extends Region implements ChartArea {
             redraw();
         }
     }
+
+
+    // ******************** Inner Classes *************************************
+    private static class DecimatedData {
+        private Decimation decimation;
+        private double     lowerBoundX;
+        private double     upperBoundX;
+        private double     width;
+        private double[]   sourceXValues = new double[0];
+        private double[]   sourceYValues = new double[0];
+        private double[]   xValues       = new double[0];
+        private double[]   yValues       = new double[0];
+        private int        count;
+        private boolean    valid;
+
+
+        // ******************** Methods ***************************************
+        boolean isValidFor(final Decimation DECIMATION, final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double WIDTH) {
+            return valid && decimation == DECIMATION && Double.compare(lowerBoundX, LOWER_BOUND_X) == 0 && Double.compare(upperBoundX, UPPER_BOUND_X) == 0 && Double.compare(width, WIDTH) == 0;
+        }
+
+        void invalidate() { valid = false; }
+
+        void ensureCapacity(final int NO_OF_ITEMS) {
+            if (sourceXValues.length >= NO_OF_ITEMS) { return; }
+            sourceXValues = new double[NO_OF_ITEMS];
+            sourceYValues = new double[NO_OF_ITEMS];
+            xValues       = new double[NO_OF_ITEMS];
+            yValues       = new double[NO_OF_ITEMS];
+        }
+
+        void set(final Decimation DECIMATION, final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double WIDTH, final int COUNT) {
+            decimation  = DECIMATION;
+            lowerBoundX = LOWER_BOUND_X;
+            upperBoundX = UPPER_BOUND_X;
+            width       = WIDTH;
+            count       = COUNT;
+            valid       = true;
+        }
+    }
 }
@@ -32,7 +32,9 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
@@ -68,6 +70,7 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
     private              DoubleProperty        lowerBoundZ;
     private              double                _upperBoundZ;
     private              DoubleProperty        upperBoundZ;
+    private              Map<XYZSeries<T>, CullingData> cullingCache;
 
 
     // ******************** Constructors **************************************
@@ -89,6 +92,7 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
         _upperBoundY     = 100;
         _lowerBoundZ     = 0;
         _upperBoundZ     = 100;
+        cullingCache     = new HashMap<>();
 
         initGraphics();
         registerListeners();
@@ -120,7 +124,10 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
         widthProperty().addListener(o -> resize());
         heightProperty().addListener(o -> resize());
 
-        listOfSeries.forEach(series -> series.setOnSeriesEvent(seriesEvent -> redraw()));
+        listOfSeries.forEach(series -> series.setOnSeriesEvent(seriesEvent -> {
+            cullingCache.remove(series);
+            redraw();
+        }));
     }
 
 
@@ -316,13 +323,27 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
         final double LOWER_BOUND_Y = getLowerBoundY();
         final double LOWER_BOUND_Z = getLowerBoundZ();
 
-        Paint  seriesFill   = SERIES.getFill();
-        Paint  seriesStroke = SERIES.getStroke();
-        for (T item : SERIES.getItems()) {
+        Paint       seriesFill   = SERIES.getFill();
+        Paint       seriesStroke = SERIES.getStroke();
+        List<T>     items        = SERIES.getItems();
+        CullingData cullingData  = cullingCache.computeIfAbsent(SERIES, series -> new CullingData(series.getItems()));
+        int         from         = 0;
+        int         to           = items.size();
+        if (cullingData.sortedByX && scaleX > 0) {
+            // Extend the visible x range by the radius of the biggest bubble
+            double padding = Math.max(0, (cullingData.maxZ - LOWER_BOUND_Z) * scaleZ * 0.5) / scaleX;
+            from = lowerIndexOfX(items, LOWER_BOUND_X - padding);
+            to   = upperIndexOfX(items, getUpperBoundX() + padding);
+        }
+        for (int i = from ; i < to ; i++) {
+            T      item     = items.get(i);
             double x        = (item.getX() - LOWER_BOUND_X) * scaleX;
             double y        = height - (item.getY() - LOWER_BOUND_Y) * scaleY;
             double diameter = (item.getZ() - LOWER_BOUND_Z) * scaleZ;
             double radius   = diameter * 0.5;
+            double left     = x - radius;
+            double top      = height - y - radius;
+            if (left > width || left + diameter < 0 || top > height || top + diameter < 0) { continue; }
 
             Symbol itemSymbol = item.getSymbol();
             if (Symbol.NONE == itemSymbol) {
@@ -332,8 +353,29 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
                 ctx.setFill(item.getFill());
                 ctx.setStroke(item.getStroke());
             }
-            ctx.fillOval(x - radius, height - y - radius, diameter, diameter);
+            ctx.fillOval(left, top, diameter, diameter);
+        }
+    }
+
+
+    private static <T extends XYZItem> int lowerIndexOfX(final List<T> ITEMS, final double X) {
+        int low  = 0;
+        int high = ITEMS.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ITEMS.get(mid).getX() < X) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
+    private static <T extends XYZItem> int upperIndexOfX(final List<T> ITEMS, final double X) {
+        int low  = 0;
+        int high = ITEMS.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ITEMS.get(mid).getX() <= X) { low = mid + 1; } else { high = mid; }
         }
+        return low;
     }
 
 
@@ -369,4 +411,31 @@ public class XYZPane<T extends XYZItem> extends Region implements ChartArea {
     private void redraw() {
         drawChart();
     }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Sortedness and biggest z value of a series, computed once after the
+     * series changed and used to cull the bubbles by a binary search on x.
+     */
+    private static class CullingData {
+        private final boolean sortedByX;
+        private final double  maxZ;
+
+
+        // ******************** Constructors **********************************
+        CullingData(final List<? extends XYZItem> ITEMS) {
+            boolean sorted = true;
+            double  max    = -Double.MAX_VALUE;
+            double  lastX  = -Double.MAX_VALUE;
+            for (XYZItem item : ITEMS) {
+                double x = item.getX();
+                if (x < lastX || Double.isNaN(x)) { sorted = false; }
+                lastX = x;
+                max   = Math.max(max, item.getZ());
+            }
+            sortedByX = sorted;
+            maxZ      = max;
+        }
+    }
 }
@@ -20,7 +20,6 @@ import eu.hansolo.fx.charts.data.ValueItem;
 import eu.hansolo.fx.charts.font.Fonts;
 import eu.hansolo.fx.charts.series.YSeries;
 import eu.hansolo.fx.charts.tools.Helper;
-import eu.hansolo.fx.charts.tools.Point;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -82,6 +81,10 @@ public class YPane<T extends ValueItem> extends Region implements ChartArea {
     private              double                   _upperBoundY;
     private              DoubleProperty           upperBoundY;
     private              ObservableList<Category> categories;
+    private              double[]                 radarX;
+    private              double[]                 radarY;
+    private              double[]                 radarSmoothedX;
+    private              double[]                 radarSmoothedY;
 
 
     // ******************** Constructors **************************************
@@ -107,6 +110,10 @@ public class YPane<T extends ValueItem> extends Region implements ChartArea {
         _lowerBoundY       = 0;
         _upperBoundY       = 100;
         categories         = FXCollections.observableArrayList(CATEGORIES);
+        radarX             = new double[0];
+        radarY             = new double[0];
+        radarSmoothedX     = new double[0];
+        radarSmoothedY     = new double[0];
         valid              = isChartTypeValid();
         initGraphics();
         registerListeners();
@@ -439,37 +446,46 @@ public class YPane<T extends ValueItem> extends Region implements ChartArea {
                 ctx.restore();
                 break;
             case SMOOTH_RADAR_POLYGON:
-                double      radAngle     = Math.toRadians(180);
-                double      radAngleStep = Math.toRadians(angleStep);
-                List<Point> points       = new ArrayList<>();
+                double radAngle     = Math.toRadians(180);
+                double radAngleStep = Math.toRadians(angleStep);
+                int    noOfPoints   = SERIES.getItems().size() + (SERIES.isWithWrapping() ? 1 : 2);
+                int    index        = 0;
+                if (radarX.length < noOfPoints) {
+                    radarX = new double[noOfPoints];
+                    radarY = new double[noOfPoints];
+                }
 
-                double x = CENTER_X + (-Math.sin(radAngle) * (CENTER_Y - (0.36239 * size)));
-                double y = CENTER_Y + (+Math.cos(radAngle) * (CENTER_Y - (0.36239 * size)));
                 if(!SERIES.isWithWrapping()){
-                    points.add(new Point(x, y));
+                    radarX[index]   = CENTER_X + (-Math.sin(radAngle) * (CENTER_Y - (0.36239 * size)));
+                    radarY[index++] = CENTER_Y + (+Math.cos(radAngle) * (CENTER_Y - (0.36239 * size)));
                 }
 
                 for (T item : SERIES.getItems()) {
                     double r1 = (CENTER_Y - (CENTER_Y - OFFSET - ((item.getValue() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE));
-                    x = CENTER_X + (-Math.sin(radAngle) * r1);
-                    y = CENTER_Y + (+Math.cos(radAngle) * r1);
-                    points.add(new Point(x, y));
+                    radarX[index]   = CENTER_X + (-Math.sin(radAngle) * r1);
+                    radarY[index++] = CENTER_Y + (+Math.cos(radAngle) * r1);
                     radAngle += radAngleStep;
                 }
                 double r3 = (SERIES.isWithWrapping()) ? (CENTER_Y - (CENTER_Y - OFFSET - ((SERIES.getItems().get(0).getValue() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE)) : (CENTER_Y - (CENTER_Y - OFFSET - ((SERIES.getItems().get(NO_OF_SECTORS - 1).getValue() - LOWER_BOUND_Y) / DATA_RANGE) * RANGE));
-                x = CENTER_X + (-Math.sin(radAngle) * r3);
-                y = CENTER_Y + (+Math.cos(radAngle) * r3);
-                points.add(new Point(x, y));
+                radarX[index]   = CENTER_X + (-Math.sin(radAngle) * r3);
+                radarY[index++] = CENTER_Y + (+Math.cos(radAngle) * r3);
 
-                Point[] interpolatedPoints = (SERIES.isWithWrapping())?Helper.subdividePointsRadial(points.toArray(new Point[0]), 16):Helper.subdividePoints(points.toArray(new Point[0]), 16);
+                int noOfSmoothedPoints = Helper.getNoOfSubdividedPoints(noOfPoints, 16);
+                if (radarSmoothedX.length < noOfSmoothedPoints) {
+                    radarSmoothedX = new double[noOfSmoothedPoints];
+                    radarSmoothedY = new double[noOfSmoothedPoints];
+                }
+                if (SERIES.isWithWrapping()) {
+                    Helper.subdividePointsRadial(radarX, radarY, noOfPoints, 16, radarSmoothedX, radarSmoothedY);
+                } else {
+                    Helper.subdividePoints(radarX, radarY, noOfPoints, 16, radarSmoothedX, radarSmoothedY);
+                }
 
                 ctx.beginPath();
-                ctx.moveTo(interpolatedPoints[0].getX(), interpolatedPoints[0].getY());
-                for (int i = 0 ; i < interpolatedPoints.length - 1 ; i++) {
-                    Point point = interpolatedPoints[i];
-                    ctx.lineTo(point.getX(), point.getY());
+                ctx.moveTo(radarSmoothedX[0], radarSmoothedY[0]);
+                for (int i = 1 ; i < noOfSmoothedPoints ; i++) {
+                    ctx.lineTo(radarSmoothedX[i], radarSmoothedY[i]);
                 }
-                ctx.lineTo(interpolatedPoints[interpolatedPoints.length - 1].getX(), interpolatedPoints[interpolatedPoints.length - 1].getY());
                 ctx.closePath();
 
                 ctx.fill();
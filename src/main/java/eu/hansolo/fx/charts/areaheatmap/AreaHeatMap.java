@@ -20,6 +20,7 @@ import eu.hansolo.fx.charts.data.DataPoint;
 import eu.hansolo.fx.charts.font.Fonts;
 import eu.hansolo.fx.charts.tools.ColorMapping;
 import eu.hansolo.fx.charts.tools.Helper;
+import javafx.application.Platform;
 import javafx.beans.DefaultProperty;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
@@ -34,20 +35,27 @@ import javafx.geometry.VPos;
 import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.CycleMethod;
-import javafx.scene.paint.RadialGradient;
-import javafx.scene.paint.Stop;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
+/**
+ * The values between the data points are interpolated by an InterpolationEngine
+ * into an argb buffer that is written once to an image. After each change the
+ * heat map is computed with Quality.RAW first and then refined to the chosen
+ * quality on a background thread.
+ */
 @DefaultProperty("children")
 public class AreaHeatMap extends Region {
     public enum Quality {
@@ -71,13 +79,19 @@ public class AreaHeatMap extends Region {
     private static final double                       MINIMUM_HEIGHT   = 50;
     private static final double                       MAXIMUM_WIDTH    = 1024;
     private static final double                       MAXIMUM_HEIGHT   = 1024;
+    private static final ExecutorService              REFINER          = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AreaHeatMap-Refiner");
+        thread.setDaemon(true);
+        return thread;
+    });
     private              double                       size;
     private              double                       width;
     private              double                       height;
     private              Canvas                       canvas;
     private              GraphicsContext              ctx;
     private              List<DataPoint>              points;
-    private              List<DataPoint>              polygon;
+    private              double[]                     polygonX;
+    private              double[]                     polygonY;
     private              int                          _quality;
     private              IntegerProperty              quality;
     private              int                          _noOfCloserInfluentPoints;
@@ -97,6 +111,10 @@ public class AreaHeatMap extends Region {
     private              double                       minValue;
     private              double                       maxValue;
     private              double                       range;
+    private              InterpolationEngine          engine;
+    private              WritableImage                image;
+    private              int[]                        pixels;
+    private volatile     long                         generation;
 
 
     // ******************** Constructors **************************************
@@ -111,7 +129,8 @@ public class AreaHeatMap extends Region {
     }
     public AreaHeatMap(final int NO_OF_CLOSER_INFLUENT_POINTS, final int QUALITY) {
         points                    = new ArrayList<>();
-        polygon                   = new ArrayList<>();
+        polygonX                  = new double[0];
+        polygonY                  = new double[0];
         _quality                  = QUALITY;
         _noOfCloserInfluentPoints = NO_OF_CLOSER_INFLUENT_POINTS;
         _heatMapOpacity           = 0.5;
@@ -365,65 +384,48 @@ public class AreaHeatMap extends Region {
         }
         return Helper.hslToRGB(tmp, 1, 0.5);
     }
-    private Color getColorForValue(final double VALUE) { return getColorForValue(VALUE, getHeatMapOpacity()); }
-    private Color getColorForValue(final double VALUE, final double OPACITY) {
-        return Helper.getColorWithOpacityAt(getMapping().getGradient(), ((VALUE - minValue) / range), OPACITY);
-    }
 
-    private void createHullPolygon() {
-        polygon.clear();
-        if (isSmoothedHull()) {
-            List<DataPoint> p = Helper.createSmoothedHull(points, 16);
-            polygon.addAll(p);
-        } else {
-            polygon.addAll(Helper.createHull(points));
+    /**
+     * Returns the colors for the value range of the current mode as argb lookup table
+     */
+    private int[] createLookup() {
+        int   alpha  = (int) Math.round(getHeatMapOpacity() * 255) << 24;
+        int[] lookup = getUseColorMapping() ? getMapping().getArgbLookup() : new int[256];
+        for (int i = 0 ; i < lookup.length ; i++) {
+            int rgb = getUseColorMapping() ? lookup[i] : Helper.toArgb(getColorForValue(-30 + i * 80.0 / 255.0, isDiscreteColors()));
+            lookup[i] = alpha | (rgb & 0x00FFFFFF);
         }
+        return lookup;
     }
 
-    private double getValueAt(final int LIMIT, final double X , final double Y) {
-        List<Number[]> arr = new ArrayList<>();
-        double         t   = 0.0;
-        double         b   = 0.0;
-        if(Helper.isInPolygon(X, Y, polygon)) {
-            for (int counter = 0 ; counter < points.size() ; counter++) {
-                DataPoint point = points.get(counter);
-                double distance = Helper.squareDistance(X, Y, point.getX(), point.getY());
-                if (Double.compare(distance, 0) == 0) { return point.getValue(); }
-                arr.add(counter, new Number[] { distance, counter });
-            }
-            arr.sort(Comparator.comparingInt(n -> n[0].intValue()));
-            for (int counter = 0 ; counter < LIMIT ; counter++) {
-                Number[] ptr = arr.get(counter);
-                double inv = 1 / Math.pow(ptr[0].intValue(), 2);
-                t = t + inv * points.get(ptr[1].intValue()).getValue();
-                b = b + inv;
-            }
-            return t / b;
+    private void createHullPolygon() {
+        List<DataPoint> hull       = Helper.createHull(points);
+        int             noOfPoints = hull.size();
+        double[]        hullX      = new double[noOfPoints];
+        double[]        hullY      = new double[noOfPoints];
+        for (int i = 0 ; i < noOfPoints ; i++) {
+            hullX[i] = hull.get(i).getX();
+            hullY[i] = hull.get(i).getY();
+        }
+        if (isSmoothedHull()) {
+            // The polygon arrays are used as is by isInPolygon(), so they have to match the number of points exactly
+            int noOfSubdividedPoints = Helper.getNoOfSubdividedPoints(noOfPoints, 16);
+            polygonX = new double[noOfSubdividedPoints];
+            polygonY = new double[noOfSubdividedPoints];
+            Helper.subdividePoints(hullX, hullY, noOfPoints, 16, polygonX, polygonY);
         } else {
-            return -255;
+            polygonX = hullX;
+            polygonY = hullY;
         }
+        engine = new InterpolationEngine(points, polygonX, polygonY);
     }
 
-    private void draw(final int LIMIT, final double RESOLUTION) {
-        int limit        = LIMIT > points.size() ? points.size() : LIMIT + 1;
-        double pixelSize = 2 * RESOLUTION;
-
+    private void drawPixels(final int WIDTH, final int HEIGHT, final int[] PIXELS) {
+        if (null == image || (int) image.getWidth() != WIDTH || (int) image.getHeight() != HEIGHT) { image = new WritableImage(WIDTH, HEIGHT); }
+        image.getPixelWriter().setPixels(0, 0, WIDTH, HEIGHT, PixelFormat.getIntArgbInstance(), IntBuffer.wrap(PIXELS), WIDTH);
         ctx.clearRect(0, 0, width, height);
-
-        for (double y = 0 ; y < height ; y += RESOLUTION) {
-            for (double x = 0 ; x < width ; x += RESOLUTION) {
-                double value = getValueAt(limit, x, y);
-                if (value != -255) {
-                    Color          color    = getUseColorMapping() ? getColorForValue(value) : getColorForValue(value, isDiscreteColors());
-                    RadialGradient gradient = new RadialGradient(0, 0, x, y, RESOLUTION,
-                                                                 false, CycleMethod.NO_CYCLE,
-                                                                 new Stop(0, Color.color(color.getRed(), color.getGreen(), color.getBlue(), getHeatMapOpacity())),
-                                                                 new Stop(1, Color.color(color.getRed(), color.getGreen(), color.getBlue(), 0.0)));
-                    ctx.setFill(gradient);
-                    ctx.fillOval(x - RESOLUTION, y - RESOLUTION, pixelSize, pixelSize);
-                }
-            }
-        }
+        ctx.drawImage(image, 0, 0);
+        if (getShowDataPoints()) { drawDataPoints(); }
     }
 
     private void drawDataPoints() {
@@ -463,7 +465,36 @@ public class AreaHeatMap extends Region {
     }
 
     private void redraw() {
-        draw(getNoOfCloserInfluentPoints(), getQuality());
-        if (getShowDataPoints()) { drawDataPoints(); }
+        final long GENERATION = ++generation;
+        final int  WIDTH      = (int) width;
+        final int  HEIGHT     = (int) height;
+        if (null == engine || points.isEmpty() || WIDTH <= 0 || HEIGHT <= 0) {
+            ctx.clearRect(0, 0, width, height);
+            if (getShowDataPoints()) { drawDataPoints(); }
+            return;
+        }
+
+        final InterpolationEngine ENGINE    = engine;
+        final int                 LIMIT     = getNoOfCloserInfluentPoints() > points.size() ? points.size() : getNoOfCloserInfluentPoints() + 1;
+        final int                 QUALITY   = getQuality();
+        final int                 COARSE    = Math.max(QUALITY, Quality.RAW.getFactor());
+        final int[]               LOOKUP    = createLookup();
+        final double              MIN_VALUE = getUseColorMapping() ? minValue : -30;
+        final double              RANGE     = getUseColorMapping() ? range : 80;
+
+        // Coarse version right away...
+        if (null == pixels || pixels.length != WIDTH * HEIGHT) { pixels = new int[WIDTH * HEIGHT]; }
+        ENGINE.render(WIDTH, HEIGHT, COARSE, LIMIT, MIN_VALUE, RANGE, LOOKUP, pixels);
+        drawPixels(WIDTH, HEIGHT, pixels);
+
+        // ...and the refined one as soon as it is ready, unless something changed in the meantime
+        if (QUALITY < COARSE) {
+            REFINER.execute(() -> {
+                if (GENERATION != generation) { return; }
+                int[] refined = new int[WIDTH * HEIGHT];
+                ENGINE.render(WIDTH, HEIGHT, QUALITY, LIMIT, MIN_VALUE, RANGE, LOOKUP, refined);
+                Platform.runLater(() -> { if (GENERATION == generation) { drawPixels(WIDTH, HEIGHT, refined); } });
+            });
+        }
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.areaheatmap;
+
+import eu.hansolo.fx.charts.data.DataPoint;
+import eu.hansolo.fx.charts.tools.KdTree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ * Inverse distance weighted interpolation of the values of scattered data
+ * points inside of their hull. The nearest neighbours are found with a
+ * k-d tree, the values are computed on a grid of samples (one sample every
+ * STEP pixels) and bilinearly interpolated for the pixels in between. The
+ * hull is rasterized once per size into a mask. Rows are computed in parallel.
+ * An engine is immutable apart from the cached mask and can be used from
+ * several threads.
+ */
+public class InterpolationEngine {
+    private final double[]  xValues;
+    private final double[]  yValues;
+    private final double[]  values;
+    private final KdTree    tree;
+    private final double[]  polygonX;
+    private final double[]  polygonY;
+    private       int       maskWidth;
+    private       int       maskHeight;
+    private       boolean[] mask;
+
+
+    // ******************** Constructors **************************************
+    public InterpolationEngine(final List<DataPoint> POINTS, final double[] POLYGON_X, final double[] POLYGON_Y) {
+        final int NO_OF_POINTS = POINTS.size();
+        xValues = new double[NO_OF_POINTS];
+        yValues = new double[NO_OF_POINTS];
+        values  = new double[NO_OF_POINTS];
+        for (int i = 0 ; i < NO_OF_POINTS ; i++) {
+            DataPoint point = POINTS.get(i);
+            xValues[i] = point.getX();
+            yValues[i] = point.getY();
+            values[i]  = point.getValue();
+        }
+        tree       = new KdTree(xValues, yValues, NO_OF_POINTS);
+        polygonX   = POLYGON_X.clone();
+        polygonY   = POLYGON_Y.clone();
+        maskWidth  = -1;
+        maskHeight = -1;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getNoOfPoints() { return values.length; }
+
+    /**
+     * Returns the value at the given position interpolated from the LIMIT nearest
+     * points, weighted with 1 / squaredDistance^2. The given arrays are used as
+     * scratch space and need at least LIMIT elements.
+     */
+    public double getValueAt(final int LIMIT, final double X, final double Y, final int[] INDICES, final double[] SQUARED_DISTANCES) {
+        int    found = tree.nearest(X, Y, LIMIT, INDICES, SQUARED_DISTANCES);
+        double t     = 0;
+        double b     = 0;
+        for (int i = 0 ; i < found ; i++) {
+            double squaredDistance = SQUARED_DISTANCES[i];
+            if (squaredDistance == 0) { return values[INDICES[i]]; }
+            double inv = 1 / (squaredDistance * squaredDistance);
+            t += inv * values[INDICES[i]];
+            b += inv;
+        }
+        return 0 == found ? 0 : t / b;
+    }
+
+    /**
+     * Fills ARGB (WIDTH * HEIGHT elements, row by row) with the colors of the
+     * interpolated values inside of the hull, pixels outside are transparent.
+     * A value v is colored with LOOKUP[(v - MIN_VALUE) / RANGE * (LOOKUP.length - 1)].
+     * @param STEP distance of the samples in pixels, a bigger step is faster but coarser
+     */
+    public void render(final int WIDTH, final int HEIGHT, final int STEP, final int LIMIT, final double MIN_VALUE, final double RANGE,
+                       final int[] LOOKUP, final int[] ARGB) {
+        if (WIDTH <= 0 || HEIGHT <= 0) { return; }
+        if (values.length == 0) {
+            Arrays.fill(ARGB, 0, WIDTH * HEIGHT, 0);
+            return;
+        }
+        final int     K       = Math.max(1, Math.min(LIMIT, values.length));
+        final int     COLS    = (WIDTH - 1) / STEP + 2;
+        final int     ROWS    = (HEIGHT - 1) / STEP + 2;
+        final float[] SAMPLES = new float[COLS * ROWS];
+        IntStream.range(0, ROWS).parallel().forEach(row -> {
+            int[]    indices          = new int[K];
+            double[] squaredDistances = new double[K];
+            for (int col = 0 ; col < COLS ; col++) {
+                SAMPLES[row * COLS + col] = (float) getValueAt(K, col * STEP, row * STEP, indices, squaredDistances);
+            }
+        });
+
+        final boolean[] MASK     = getHullMask(WIDTH, HEIGHT);
+        final int       MAX      = LOOKUP.length - 1;
+        final double    SCALE    = RANGE > 0 ? MAX / RANGE : 0;
+        final float     INV_STEP = 1f / STEP;
+        IntStream.range(0, HEIGHT).parallel().forEach(y -> {
+            final int   ROW    = y / STEP;
+            final float FY     = (y - ROW * STEP) * INV_STEP;
+            final int   TOP    = ROW * COLS;
+            final int   BOTTOM = TOP + COLS;
+            for (int x = 0, i = y * WIDTH ; x < WIDTH ; x++, i++) {
+                if (!MASK[i]) {
+                    ARGB[i] = 0;
+                    continue;
+                }
+                int   col   = x / STEP;
+                float fx    = (x - col * STEP) * INV_STEP;
+                float upper = SAMPLES[TOP + col]    + (SAMPLES[TOP + col + 1]    - SAMPLES[TOP + col])    * fx;
+                float lower = SAMPLES[BOTTOM + col] + (SAMPLES[BOTTOM + col + 1] - SAMPLES[BOTTOM + col]) * fx;
+                float value = upper + (lower - upper) * FY;
+                int   index = (int) ((value - MIN_VALUE) * SCALE + 0.5);
+                ARGB[i] = LOOKUP[index < 0 ? 0 : (index > MAX ? MAX : index)];
+            }
+        });
+    }
+
+    /**
+     * Returns a mask with one element per pixel that is true if the pixel lies
+     * inside of the hull (same rule as Helper.isInPolygon()). The mask is cached
+     * until another size is requested.
+     */
+    public synchronized boolean[] getHullMask(final int WIDTH, final int HEIGHT) {
+        if (null != mask && WIDTH == maskWidth && HEIGHT == maskHeight) { return mask; }
+        final int       NO_OF_POINTS = polygonX.length;
+        final boolean[] MASK         = new boolean[WIDTH * HEIGHT];
+        if (NO_OF_POINTS > 2) {
+            IntStream.range(0, HEIGHT).parallel().forEach(y -> {
+                // x positions where the edges cross this row
+                double[] crossings = new double[NO_OF_POINTS];
+                int      count     = 0;
+                for (int i = 0, j = NO_OF_POINTS - 1 ; i < NO_OF_POINTS ; j = i++) {
+                    if ((polygonY[i] > y) != (polygonY[j] > y)) {
+                        crossings[count++] = (polygonX[j] - polygonX[i]) * (y - polygonY[i]) / (polygonY[j] - polygonY[i]) + polygonX[i];
+                    }
+                }
+                Arrays.sort(crossings, 0, count);
+                for (int k = 0 ; k + 1 < count ; k += 2) {
+                    int from = (int) Math.max(0, Math.ceil(crossings[k]));
+                    int to   = (int) Math.min(WIDTH, Math.ceil(crossings[k + 1]));
+                    if (from < to) { Arrays.fill(MASK, y * WIDTH + from, y * WIDTH + to, true); }
+                }
+            });
+        }
+        mask       = MASK;
+        maskWidth  = WIDTH;
+        maskHeight = HEIGHT;
+        return mask;
+    }
+}
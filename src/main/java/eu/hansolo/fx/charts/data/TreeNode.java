@@ -20,6 +20,7 @@ package eu.hansolo.fx.charts.data;
 import eu.hansolo.fx.charts.event.TreeNodeEvent;
 import eu.hansolo.fx.charts.event.TreeNodeEventListener;
 import eu.hansolo.fx.charts.event.TreeNodeEventType;
+import eu.hansolo.fx.charts.tools.IngestionBuffer;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -45,6 +46,7 @@ public class TreeNode<T extends Item> {
     private       int                         depth;
     private final ObservableList<TreeNode<T>> children;
     private       List<TreeNodeEventListener<T>> listeners;
+    private volatile IngestionBuffer<Runnable> updateBuffer;
 
 
     // ******************** Constructors **************************************
@@ -207,6 +209,35 @@ public class TreeNode<T extends Item> {
     }
 
 
+    /**
+     * Queues the given update of this tree (e.g. changing the value of an item or
+     * adding a node), can be called from any thread. The updates of the whole tree
+     * are collected by the tree root and applied once per pulse on the FX application thread.
+     * @return false if the update was dropped
+     */
+    public boolean offerUpdate(final Runnable UPDATE) { return getUpdateBuffer().offer(UPDATE); }
+
+    /**
+     * Returns the update buffer of the tree root, it will be created on the first call.
+     * The buffer exposes the queue depth, the number of dropped updates and the backpressure policy.
+     */
+    public IngestionBuffer<Runnable> getUpdateBuffer() {
+        TreeNode<T> root = getTreeRoot();
+        if (root != this) { return root.getUpdateBuffer(); }
+        IngestionBuffer<Runnable> buffer = updateBuffer;
+        if (null == buffer) {
+            synchronized (this) {
+                buffer = updateBuffer;
+                if (null == buffer) {
+                    buffer       = new IngestionBuffer<>(IngestionBuffer.DEFAULT_CAPACITY, Runnable::run);
+                    updateBuffer = buffer;
+                }
+            }
+        }
+        return buffer;
+    }
+
+
     // ******************** Event handling ************************************
     public void setOnTreeNodeEvent(final TreeNodeEventListener<T> LISTENER) { addTreeNodeEventListener(LISTENER); }
     public void addTreeNodeEventListener(final TreeNodeEventListener<T> LISTENER) { if (!listeners.contains(LISTENER)) listeners.add(LISTENER); }
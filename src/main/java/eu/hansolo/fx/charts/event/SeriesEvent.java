@@ -16,16 +16,19 @@
 
 package eu.hansolo.fx.charts.event;
 
-import eu.hansolo.fx.charts.data.ChartItem;
+import eu.hansolo.fx.charts.data.Item;
 import eu.hansolo.fx.charts.series.Series;
 
 
 /**
  * Created by hansolo on 16.07.17.
  */
-public class SeriesEvent<T extends ChartItem> {
+public class SeriesEvent<T extends Item> {
     private final Series<T> SERIES;
     private final EventType TYPE;
+    private final int       NO_OF_ADDED_ITEMS;
+    private final int       NO_OF_REMOVED_ITEMS;
+    private final int       NO_OF_UPDATED_ITEMS;
 
 
     // ******************** Constructors **************************************
@@ -33,8 +36,14 @@ public class SeriesEvent<T extends ChartItem> {
         this(SERIES, EventType.UPDATE);
     }
     public SeriesEvent(final Series<T> SERIES, final EventType TYPE) {
-        this.SERIES = SERIES;
-        this.TYPE   = TYPE;
+        this(SERIES, TYPE, 0, 0, 0);
+    }
+    public SeriesEvent(final Series<T> SERIES, final EventType TYPE, final int NO_OF_ADDED_ITEMS, final int NO_OF_REMOVED_ITEMS, final int NO_OF_UPDATED_ITEMS) {
+        this.SERIES              = SERIES;
+        this.TYPE                = TYPE;
+        this.NO_OF_ADDED_ITEMS   = NO_OF_ADDED_ITEMS;
+        this.NO_OF_REMOVED_ITEMS = NO_OF_REMOVED_ITEMS;
+        this.NO_OF_UPDATED_ITEMS = NO_OF_UPDATED_ITEMS;
     }
 
 
@@ -42,4 +51,10 @@ public class SeriesEvent<T extends ChartItem> {
     public Series<T> getSeries() { return SERIES; }
 
     public EventType getEventType() { return TYPE; }
+
+    public int getNoOfAddedItems() { return NO_OF_ADDED_ITEMS; }
+
+    public int getNoOfRemovedItems() { return NO_OF_REMOVED_ITEMS; }
+
+    public int getNoOfUpdatedItems() { return NO_OF_UPDATED_ITEMS; }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Column oriented store for the attributes of many nodes or edges. Every
+ * numeric attribute is kept in one double[] indexed by row, every string
+ * attribute is dictionary encoded in one int[] so that each distinct value
+ * exists only once. Keys and values are interned through a pool that can be
+ * shared between tables.
+ * Missing numeric values are stored as Double.NaN, missing string values as -1.
+ * A column can have a default that is returned for every row without an own value.
+ */
+public class AttributeTable {
+    private static final int                        INITIAL_CAPACITY = 16;
+    private final        Map<String, String>        pool;
+    private final        Map<String, NumericColumn> numericColumns;
+    private final        Map<String, StringColumn>  stringColumns;
+    private              int                        noOfRows;
+
+
+    // ******************** Constructors **************************************
+    public AttributeTable() {
+        this(new HashMap<>());
+    }
+    public AttributeTable(final Map<String, String> POOL) {
+        pool           = POOL;
+        numericColumns = new LinkedHashMap<>();
+        stringColumns  = new LinkedHashMap<>();
+        noOfRows       = 0;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the pooled instance of the given string
+     */
+    public String intern(final String VALUE) {
+        if (null == VALUE) { return null; }
+        String pooled = pool.putIfAbsent(VALUE, VALUE);
+        return null == pooled ? VALUE : pooled;
+    }
+
+    /**
+     * Adds an empty row and returns its index
+     */
+    public int addRow() { return noOfRows++; }
+
+    public int getNoOfRows() { return noOfRows; }
+
+    public double getNumericAttribute(final int ROW, final String KEY) {
+        NumericColumn column = numericColumns.get(KEY);
+        return null == column ? Double.NaN : column.get(ROW);
+    }
+    /**
+     * Sets the value of the given row, the column will be created if needed.
+     * Setting Double.NaN removes the value of the row.
+     */
+    public void setNumericAttribute(final int ROW, final String KEY, final double VALUE) {
+        getOrCreateNumericColumn(KEY).set(ROW, VALUE);
+    }
+
+    public boolean containsNumericAttribute(final int ROW, final String KEY) { return !Double.isNaN(getNumericAttribute(ROW, KEY)); }
+
+    /**
+     * Returns the value of the given key that is used for rows without an own value
+     */
+    public double getNumericDefault(final String KEY) {
+        NumericColumn column = numericColumns.get(KEY);
+        return null == column ? Double.NaN : column.defaultValue;
+    }
+    public void setNumericDefault(final String KEY, final double VALUE) { getOrCreateNumericColumn(KEY).defaultValue = VALUE; }
+
+    /**
+     * Returns the value of the given row or null if the row has no value for the key
+     */
+    public String getStringAttribute(final int ROW, final String KEY) {
+        StringColumn column = stringColumns.get(KEY);
+        return null == column ? null : column.get(ROW);
+    }
+    /**
+     * Sets the value of the given row, the column will be created if needed.
+     * Setting null removes the value of the row.
+     */
+    public void setStringAttribute(final int ROW, final String KEY, final String VALUE) {
+        StringColumn column = getOrCreateStringColumn(KEY);
+        column.set(ROW, null == VALUE ? -1 : column.encode(intern(VALUE)));
+    }
+
+    public boolean containsStringAttribute(final int ROW, final String KEY) { return null != getStringAttribute(ROW, KEY); }
+
+    /**
+     * Returns the value of the given key that is used for rows without an own value
+     */
+    public String getStringDefault(final String KEY) {
+        StringColumn column = stringColumns.get(KEY);
+        return null == column || column.defaultCode < 0 ? null : column.dictionary.get(column.defaultCode);
+    }
+    public void setStringDefault(final String KEY, final String VALUE) {
+        StringColumn column = getOrCreateStringColumn(KEY);
+        column.defaultCode = null == VALUE ? -1 : column.encode(intern(VALUE));
+    }
+
+    public ArrayList<String> getNumericAttributeKeys() { return new ArrayList<>(numericColumns.keySet()); }
+
+    public ArrayList<String> getStringAttributeKeys() { return new ArrayList<>(stringColumns.keySet()); }
+
+    /**
+     * Returns the keys for which the given row has a value
+     */
+    public ArrayList<String> getNumericAttributeKeys(final int ROW) {
+        ArrayList<String> keys = new ArrayList<>();
+        numericColumns.forEach((key, column) -> { if (!Double.isNaN(column.get(ROW))) { keys.add(key); } });
+        return keys;
+    }
+    /**
+     * Returns the keys for which the given row has a value
+     */
+    public ArrayList<String> getStringAttributeKeys(final int ROW) {
+        ArrayList<String> keys = new ArrayList<>();
+        stringColumns.forEach((key, column) -> { if (null != column.get(ROW)) { keys.add(key); } });
+        return keys;
+    }
+
+    /**
+     * Returns the distinct values of the given key in the order of their first
+     * row. Rows without a value contribute the empty string, like
+     * GraphNode.getStringAttribute() does.
+     */
+    public ArrayList<String> getDistinctStringValues(final String KEY) {
+        ArrayList<String> distinct = new ArrayList<>();
+        StringColumn      column   = stringColumns.get(KEY);
+        if (null == column) {
+            if (noOfRows > 0) { distinct.add(""); }
+            return distinct;
+        }
+        boolean[] seen         = new boolean[column.dictionary.size()];
+        boolean   missingAdded = false;
+        for (int row = 0 ; row < noOfRows ; row++) {
+            int code = column.code(row);
+            if (code < 0) {
+                if (!missingAdded) {
+                    distinct.add("");
+                    missingAdded = true;
+                }
+            } else if (!seen[code]) {
+                seen[code] = true;
+                distinct.add(column.dictionary.get(code));
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Shrinks the columns to the current number of rows
+     */
+    public void trimToSize() {
+        numericColumns.values().forEach(column -> column.trim(noOfRows));
+        stringColumns.values().forEach(column -> column.trim(noOfRows));
+    }
+
+    private NumericColumn getOrCreateNumericColumn(final String KEY) {
+        NumericColumn column = numericColumns.get(KEY);
+        if (null == column) {
+            column = new NumericColumn();
+            numericColumns.put(intern(KEY), column);
+        }
+        return column;
+    }
+
+    private StringColumn getOrCreateStringColumn(final String KEY) {
+        StringColumn column = stringColumns.get(KEY);
+        if (null == column) {
+            column = new StringColumn();
+            stringColumns.put(intern(KEY), column);
+        }
+        return column;
+    }
+
+    private static int grow(final int LENGTH, final int MIN_LENGTH) {
+        return Math.max(MIN_LENGTH, Math.max(INITIAL_CAPACITY, LENGTH + (LENGTH >> 1)));
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class NumericColumn {
+        private double[] values       = new double[0];
+        private double   defaultValue = Double.NaN;
+
+        private double get(final int ROW) {
+            double value = ROW < values.length ? values[ROW] : Double.NaN;
+            return Double.isNaN(value) ? defaultValue : value;
+        }
+
+        private void set(final int ROW, final double VALUE) {
+            if (ROW >= values.length) {
+                if (Double.isNaN(VALUE)) { return; }
+                int oldLength = values.length;
+                values = Arrays.copyOf(values, grow(oldLength, ROW + 1));
+                Arrays.fill(values, oldLength, values.length, Double.NaN);
+            }
+            values[ROW] = VALUE;
+        }
+
+        private void trim(final int LENGTH) {
+            if (values.length > LENGTH) { values = Arrays.copyOf(values, LENGTH); }
+        }
+    }
+
+    private static class StringColumn {
+        private final ArrayList<String>        dictionary  = new ArrayList<>();
+        private final HashMap<String, Integer> codes       = new HashMap<>();
+        private       int[]                    values      = new int[0];
+        private       int                      defaultCode = -1;
+
+        private int encode(final String VALUE) {
+            Integer code = codes.get(VALUE);
+            if (null == code) {
+                code = dictionary.size();
+                dictionary.add(VALUE);
+                codes.put(VALUE, code);
+            }
+            return code;
+        }
+
+        private int code(final int ROW) {
+            int code = ROW < values.length ? values[ROW] : -1;
+            return code < 0 ? defaultCode : code;
+        }
+
+        private String get(final int ROW) {
+            int code = code(ROW);
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        private void set(final int ROW, final int CODE) {
+            if (ROW >= values.length) {
+                if (CODE < 0) { return; }
+                int oldLength = values.length;
+                values = Arrays.copyOf(values, grow(oldLength, ROW + 1));
+                Arrays.fill(values, oldLength, values.length, -1);
+            }
+            values[ROW] = CODE;
+        }
+
+        private void trim(final int LENGTH) {
+            if (values.length > LENGTH) { values = Arrays.copyOf(values, LENGTH); }
+        }
+    }
+}
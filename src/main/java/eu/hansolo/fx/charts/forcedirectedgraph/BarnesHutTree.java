@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import java.util.Arrays;
+
+
+/**
+ * Quadtree for the Barnes-Hut approximation of the repulsive forces in a
+ * force directed layout. All tree nodes live in primitive arrays that
+ * will be reused between the builds, so a layout step does not allocate
+ * once the arrays have grown to the size of the graph.
+ */
+public class BarnesHutTree {
+    private static final int      MAX_DEPTH = 32;
+    private              int      noOfCells;
+    private              double[] cellCenterX;
+    private              double[] cellCenterY;
+    private              double[] cellHalfSize;
+    private              double[] cellMassX;
+    private              double[] cellMassY;
+    private              int[]    cellMass;
+    private              int[]    cellBody;
+    private              int[]    cellFirstChild;
+
+
+    // ******************** Constructors **************************************
+    public BarnesHutTree() {
+        noOfCells = 0;
+        allocate(64);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Builds the tree for the first COUNT points of X_VALUES/Y_VALUES
+     */
+    public void build(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0 ; i < COUNT ; i++) {
+            minX = Math.min(minX, X_VALUES[i]);
+            minY = Math.min(minY, Y_VALUES[i]);
+            maxX = Math.max(maxX, X_VALUES[i]);
+            maxY = Math.max(maxY, Y_VALUES[i]);
+        }
+        if (minX > maxX) { minX = maxX = minY = maxY = 0; }
+        double halfSize = Math.max(Math.max(maxX - minX, maxY - minY) * 0.5, 1e-9) * 1.0001;
+
+        noOfCells = 0;
+        newCell((minX + maxX) * 0.5, (minY + maxY) * 0.5, halfSize);
+        for (int i = 0 ; i < COUNT ; i++) { insert(i, X_VALUES[i], Y_VALUES[i]); }
+    }
+
+    /**
+     * Adds the repulsive displacement FACTOR / d^2 (pointing away from the other points) of all
+     * points in the tree to DISP_X/DISP_Y for the points FROM (inclusive) to TO (exclusive).
+     * Cells that appear smaller than THETA from the point of view of a point will be treated
+     * as one mass in their center of mass. Once the tree is built, disjoint ranges of points
+     * can be processed in parallel.
+     */
+    public void applyRepulsion(final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO, final double THETA, final double FACTOR,
+                               final double[] DISP_X, final double[] DISP_Y) {
+        if (noOfCells == 0) { return; }
+        final double THETA_SQUARED = THETA * THETA;
+        final int[]  stack         = new int[4 * MAX_DEPTH + 4];
+        for (int i = FROM ; i < TO ; i++) {
+            final double X  = X_VALUES[i];
+            final double Y  = Y_VALUES[i];
+            double       dx = 0;
+            double       dy = 0;
+            int          sp = 0;
+            stack[sp++] = 0;
+            while (sp > 0) {
+                int cell = stack[--sp];
+                int mass = cellMass[cell];
+                if (mass == 0) { continue; }
+                double comX     = cellMassX[cell] / mass;
+                double comY     = cellMassY[cell] / mass;
+                double deltaX   = X - comX;
+                double deltaY   = Y - comY;
+                double distance = deltaX * deltaX + deltaY * deltaY;
+                double  half    = cellHalfSize[cell];
+                boolean isLeaf  = cellFirstChild[cell] < 0;
+                // Cells that contain the point itself will always be opened
+                boolean isFar   = (Math.abs(X - cellCenterX[cell]) > half || Math.abs(Y - cellCenterY[cell]) > half) && 4 * half * half < THETA_SQUARED * distance;
+                if (isLeaf || isFar) {
+                    // Coincident points have no direction and do not repel each other
+                    if (distance == 0) { continue; }
+                    double length = Math.sqrt(distance);
+                    double force  = mass * FACTOR / distance;
+                    dx += deltaX / length * force;
+                    dy += deltaY / length * force;
+                } else {
+                    int firstChild = cellFirstChild[cell];
+                    stack[sp++] = firstChild;
+                    stack[sp++] = firstChild + 1;
+                    stack[sp++] = firstChild + 2;
+                    stack[sp++] = firstChild + 3;
+                }
+            }
+            DISP_X[i] += dx;
+            DISP_Y[i] += dy;
+        }
+    }
+
+    public int getNoOfCells() { return noOfCells; }
+
+    private void insert(final int BODY, final double X, final double Y) {
+        int cell  = 0;
+        int depth = 0;
+        while (true) {
+            if (cellFirstChild[cell] < 0) {
+                if (cellMass[cell] == 0 || depth >= MAX_DEPTH) {
+                    // Empty leaf or leaf at maximum depth (nearly coincident points)
+                    if (cellMass[cell] == 0) { cellBody[cell] = BODY; }
+                    addMass(cell, X, Y);
+                    return;
+                }
+                split(cell);
+            }
+            addMass(cell, X, Y);
+            cell = cellFirstChild[cell] + quadrant(cell, X, Y);
+            depth++;
+        }
+    }
+
+    private void split(final int CELL) {
+        double half       = cellHalfSize[CELL] * 0.5;
+        double centerX    = cellCenterX[CELL];
+        double centerY    = cellCenterY[CELL];
+        int    firstChild = newCell(centerX - half, centerY - half, half);
+        newCell(centerX + half, centerY - half, half);
+        newCell(centerX - half, centerY + half, half);
+        newCell(centerX + half, centerY + half, half);
+        cellFirstChild[CELL] = firstChild;
+
+        // Move the body of the former leaf one level down
+        int    body  = cellBody[CELL];
+        double bodyX = cellMassX[CELL];
+        double bodyY = cellMassY[CELL];
+        int    child = firstChild + quadrant(CELL, bodyX, bodyY);
+        cellBody[child]  = body;
+        cellMass[child]  = 1;
+        cellMassX[child] = bodyX;
+        cellMassY[child] = bodyY;
+        cellBody[CELL]   = -1;
+    }
+
+    private int quadrant(final int CELL, final double X, final double Y) {
+        return (X < cellCenterX[CELL] ? 0 : 1) + (Y < cellCenterY[CELL] ? 0 : 2);
+    }
+
+    private void addMass(final int CELL, final double X, final double Y) {
+        cellMass[CELL]++;
+        cellMassX[CELL] += X;
+        cellMassY[CELL] += Y;
+    }
+
+    private int newCell(final double CENTER_X, final double CENTER_Y, final double HALF_SIZE) {
+        if (noOfCells == cellMass.length) { allocate(cellMass.length * 2); }
+        int cell = noOfCells++;
+        cellCenterX[cell]    = CENTER_X;
+        cellCenterY[cell]    = CENTER_Y;
+        cellHalfSize[cell]   = HALF_SIZE;
+        cellMassX[cell]      = 0;
+        cellMassY[cell]      = 0;
+        cellMass[cell]       = 0;
+        cellBody[cell]       = -1;
+        cellFirstChild[cell] = -1;
+        return cell;
+    }
+
+    private void allocate(final int CAPACITY) {
+        if (null == cellMass) {
+            cellCenterX    = new double[CAPACITY];
+            cellCenterY    = new double[CAPACITY];
+            cellHalfSize   = new double[CAPACITY];
+            cellMassX      = new double[CAPACITY];
+            cellMassY      = new double[CAPACITY];
+            cellMass       = new int[CAPACITY];
+            cellBody       = new int[CAPACITY];
+            cellFirstChild = new int[CAPACITY];
+        } else {
+            cellCenterX    = Arrays.copyOf(cellCenterX, CAPACITY);
+            cellCenterY    = Arrays.copyOf(cellCenterY, CAPACITY);
+            cellHalfSize   = Arrays.copyOf(cellHalfSize, CAPACITY);
+            cellMassX      = Arrays.copyOf(cellMassX, CAPACITY);
+            cellMassY      = Arrays.copyOf(cellMassY, CAPACITY);
+            cellMass       = Arrays.copyOf(cellMass, CAPACITY);
+            cellBody       = Arrays.copyOf(cellBody, CAPACITY);
+            cellFirstChild = Arrays.copyOf(cellFirstChild, CAPACITY);
+        }
+    }
+}
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import javafx.geometry.Point2D;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+
+/**
+ * Fruchterman-Reingold layout of a NodeEdgeModel that is decoupled from rendering.
+ * The layout can either run on a background thread (start()/stop()) or headless
+ * on the calling thread (run()/runUntilConverged()), e.g. to precompute a layout
+ * before a GraphPanel is shown. The repulsion pass of large graphs is spread over
+ * the common fork-join pool.
+ * After every step the node positions are published as an immutable Snapshot that
+ * can be picked up lock-free from any thread (e.g. the JavaFX application thread).
+ * Changes that are requested from other threads (new graph, moved nodes, temperature)
+ * will be applied at the beginning of the next step.
+ */
+public class ForceLayout {
+    public  static final double                      BASE_TEMPERATURE   = 100;
+    public  static final double                      THRESHOLD          = 1;
+    private static final double                      MIN_FORCE          = 0.01;
+    private static final int                         PARALLEL_THRESHOLD = 1024;
+    private static final int                         MIN_CHUNK_SIZE     = 256;
+    private static final long                        NO_REQUEST         = Double.doubleToRawLongBits(Double.NaN);
+    private        final Object                      workerLock;
+    private        final AtomicReference<Graph>      pendingGraph;
+    private        final AtomicReference<Snapshot>   snapshot;
+    private        final Map<Integer, Move>          pendingMoves;
+    private        final AtomicLong                  requestedTemperature;
+    private        final BarnesHutTree               barnesHutTree;
+    private        final RepulsionGrid               repulsionGrid;
+    private volatile     Graph                       latestGraph;
+    private volatile     RepulsionMode               repulsionMode;
+    private volatile     double                      theta;
+    private volatile     double                      cutoffFactor;
+    private volatile     double                      optimalDistance;
+    private volatile     boolean                     forceInverted;
+    private volatile     boolean                     parallel;
+    private volatile     long                        stepPeriod;
+    private volatile     double                      viewportWidth;
+    private volatile     double                      viewportHeight;
+    private volatile     double                      viewportMargin;
+    private volatile     GraphNode                   pinnedNode;
+    private volatile     double                      temperature;
+    private volatile     boolean                     running;
+    private              int                         generation;
+    private              Graph                       graph;
+    private              int                         pinnedIndex;
+    private              long                        iteration;
+    private              double[]                    positionX;
+    private              double[]                    positionY;
+    private              double[]                    dispX;
+    private              double[]                    dispY;
+    private              double                      minX;
+    private              double                      minY;
+    private              double                      maxX;
+    private              double                      maxY;
+
+
+    // ******************** Constructors **************************************
+    public ForceLayout() {
+        workerLock           = new Object();
+        pendingGraph         = new AtomicReference<>();
+        snapshot             = new AtomicReference<>();
+        pendingMoves         = new ConcurrentHashMap<>();
+        requestedTemperature = new AtomicLong(NO_REQUEST);
+        barnesHutTree        = new BarnesHutTree();
+        repulsionGrid        = new RepulsionGrid();
+        latestGraph          = new Graph(new GraphNode[0], new GraphEdge[0], 0);
+        graph                = latestGraph;
+        repulsionMode        = RepulsionMode.EXACT;
+        theta                = 0.8;
+        cutoffFactor         = 3;
+        optimalDistance      = 1;
+        forceInverted        = false;
+        parallel             = true;
+        stepPeriod           = 0;
+        viewportWidth        = 0;
+        viewportHeight       = 0;
+        viewportMargin       = 0;
+        temperature          = BASE_TEMPERATURE;
+        running              = false;
+        generation           = 0;
+        pinnedIndex          = -1;
+        iteration            = 0;
+        positionX            = new double[0];
+        positionY            = new double[0];
+        dispX                = new double[0];
+        dispY                = new double[0];
+        minX                 = -1;
+        minY                 = -1;
+        maxX                 = 1;
+        maxY                 = 1;
+        snapshot.set(new Snapshot(graph, positionX, positionY, minX, minY, maxX, maxY, iteration, temperature));
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Takes the nodes, edges and current node positions of the given model, will be applied with the next step
+     * @param MODEL The model that should be layouted
+     */
+    public void setGraph(final NodeEdgeModel MODEL) {
+        Graph newGraph = new Graph(MODEL.getNodes().toArray(new GraphNode[0]), MODEL.getEdges().toArray(new GraphEdge[0]), latestGraph.version + 1);
+        latestGraph = newGraph;
+        pendingGraph.set(newGraph);
+    }
+
+    /**
+     * Calls setGraph() if nodes or edges of the model have been added, removed or replaced
+     * or if the force of an edge has changed since the last call.
+     * Has to be called on the thread that modifies the model.
+     * @return true if the graph has been replaced
+     */
+    public boolean syncGraph(final NodeEdgeModel MODEL) {
+        if (latestGraph.matches(MODEL.getNodes(), MODEL.getEdges())) { return false; }
+        setGraph(MODEL);
+        return true;
+    }
+
+    /**
+     * Moves the given node to the given position with the next step, only the
+     * latest requested position per node will be kept until then
+     */
+    public void moveNode(final GraphNode NODE, final double X, final double Y) {
+        Graph   current = latestGraph;
+        Integer index   = current.indexOfNode.get(NODE);
+        if (null == index) { return; }
+        pendingMoves.put(index, new Move(current.version, index, X, Y));
+    }
+
+    /**
+     * A pinned node will not be moved by the forces (e.g. while it is dragged), null to unpin
+     */
+    public GraphNode getPinnedNode() { return pinnedNode; }
+    public void setPinnedNode(final GraphNode NODE) { pinnedNode = NODE; }
+
+    /**
+     * @return The temperature which limits the distance a node can move in one step
+     */
+    public double getTemperature() { return temperature; }
+    /**
+     * Sets the temperature for the next step, the temperature cools down with every step
+     * and the layout is converged as soon as it falls below the THRESHOLD
+     */
+    public void setTemperature(final double TEMPERATURE) {
+        if (Double.isNaN(TEMPERATURE)) { return; }
+        requestedTemperature.set(Double.doubleToRawLongBits(TEMPERATURE));
+    }
+
+    /**
+     * Resets the temperature to the BASE_TEMPERATURE
+     */
+    public void reset() { setTemperature(BASE_TEMPERATURE); }
+
+    public boolean isConverged() { return temperature < THRESHOLD && requestedTemperature.get() == NO_REQUEST && null == pendingGraph.get(); }
+
+    public RepulsionMode getRepulsionMode() { return repulsionMode; }
+    public void setRepulsionMode(final RepulsionMode MODE) { repulsionMode = null == MODE ? RepulsionMode.EXACT : MODE; }
+
+    public double getTheta() { return theta; }
+    public void setTheta(final double THETA) { theta = Math.max(0, Math.min(2, THETA)); }
+
+    public double getCutoffFactor() { return cutoffFactor; }
+    public void setCutoffFactor(final double FACTOR) { cutoffFactor = Math.max(0.1, FACTOR); }
+
+    /**
+     * @return The optimal distance between two nodes (k)
+     */
+    public double getOptimalDistance() { return optimalDistance; }
+    public void setOptimalDistance(final double DISTANCE) { optimalDistance = DISTANCE; }
+
+    public boolean isForceInverted() { return forceInverted; }
+    public void setForceInverted(final boolean INVERTED) { forceInverted = INVERTED; }
+
+    /**
+     * If true, the repulsion pass of graphs with more than 1024 nodes will be spread over the common fork-join pool
+     */
+    public boolean isParallel() { return parallel; }
+    public void setParallel(final boolean PARALLEL) { parallel = PARALLEL; }
+
+    /**
+     * @return The minimum time in nanoseconds between two steps of the background thread
+     */
+    public long getStepPeriod() { return stepPeriod; }
+    public void setStepPeriod(final long NANOS) { stepPeriod = Math.max(0, NANOS); }
+
+    /**
+     * The forces are scaled with the factor that maps the node positions to the given viewport
+     */
+    public void setViewport(final double WIDTH, final double HEIGHT, final double MARGIN) {
+        viewportWidth  = WIDTH;
+        viewportHeight = HEIGHT;
+        viewportMargin = MARGIN;
+    }
+
+    /**
+     * @return The positions of the last step, can be called from any thread
+     */
+    public Snapshot getSnapshot() { return snapshot.get(); }
+
+    /**
+     * Runs the given number of steps on the calling thread and publishes the result
+     * @return the number of steps that have been executed (less if the layout converged before)
+     */
+    public int run(final int ITERATIONS) {
+        int steps = 0;
+        while (steps < ITERATIONS && step()) { steps++; }
+        publish();
+        return steps;
+    }
+
+    /**
+     * Runs steps on the calling thread until the layout converged or MAX_ITERATIONS have been executed
+     * @return the number of steps that have been executed
+     */
+    public int runUntilConverged(final int MAX_ITERATIONS) { return run(MAX_ITERATIONS); }
+
+    /**
+     * Runs the layout on a background thread until it converged or stop() is called,
+     * a snapshot will be published after every step
+     */
+    public void start() {
+        synchronized (workerLock) {
+            if (running) { return; }
+            running = true;
+            final int GENERATION = ++generation;
+            Thread worker = new Thread(() -> runWorker(GENERATION), "ForceLayout");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    public void stop() {
+        synchronized (workerLock) {
+            running = false;
+            generation++;
+        }
+    }
+
+    /**
+     * @return true while the background thread is running
+     */
+    public boolean isRunning() { return running; }
+
+    /**
+     * Executes one step of the Fruchterman-Reingold algorithm on the calling thread
+     * without publishing a snapshot.
+     * @return false if the layout is already converged and nothing has been done
+     */
+    public synchronized boolean step() {
+        applyRequests();
+        if (temperature < THRESHOLD) { return false; }
+
+        final int    N           = graph.nodes.length;
+        final double k           = optimalDistance;
+        final double scaleFactor = getScaleFactor() > 0 ? getScaleFactor() : 1;
+        for (int i = 0 ; i < N ; i++) {
+            dispX[i] = 0;
+            dispY[i] = 0;
+        }
+
+        // Repulsion: scaleFactor * k^2 / d^2 between all pairs of nodes
+        final double        repulsion = scaleFactor * k * k;
+        final RepulsionMode mode      = repulsionMode;
+        final double        theta     = this.theta;
+        final double        cutoff    = cutoffFactor * k;
+        switch (mode) {
+            case BARNES_HUT: barnesHutTree.build(positionX, positionY, N); break;
+            case GRID      : repulsionGrid.build(positionX, positionY, N, cutoff); break;
+        }
+        if (parallel && N >= PARALLEL_THRESHOLD) {
+            final int CHUNKS     = Math.min(N / MIN_CHUNK_SIZE, 4 * ForkJoinPool.getCommonPoolParallelism());
+            final int CHUNK_SIZE = (N + CHUNKS - 1) / CHUNKS;
+            IntStream.range(0, CHUNKS).parallel().forEach(chunk -> repulse(mode, chunk * CHUNK_SIZE, Math.min(N, (chunk + 1) * CHUNK_SIZE), N, theta, cutoff, repulsion));
+        } else {
+            repulse(mode, 0, N, N, theta, cutoff, repulsion);
+        }
+
+        // Attraction: scaleFactor * d^2 / k along the edges
+        final boolean inverted = forceInverted;
+        final int[]   edgeU    = graph.edgeU;
+        final int[]   edgeV    = graph.edgeV;
+        for (int e = 0 ; e < edgeU.length ; e++) {
+            int    u        = edgeU[e];
+            int    v        = edgeV[e];
+            if (u < 0) { continue; }
+            double deltaX   = positionX[v] - positionX[u];
+            double deltaY   = positionY[v] - positionY[u];
+            double distance = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+            if (distance == 0) { continue; }
+            double edgeForce = graph.edgeForce[e] + MIN_FORCE;
+            double force     = scaleFactor * distance * distance / k;
+            force            = inverted ? force / edgeForce : force * edgeForce;
+            double additionX = deltaX / distance * force;
+            double additionY = deltaY / distance * force;
+            dispX[v] -= additionX;
+            dispY[v] -= additionY;
+            dispX[u] += additionX;
+            dispY[u] += additionY;
+        }
+
+        minX = Double.MAX_VALUE;
+        minY = Double.MAX_VALUE;
+        maxX = -Double.MAX_VALUE;
+        maxY = -Double.MAX_VALUE;
+
+        // Move every node along its displacement, limited by the current temperature
+        for (int i = 0 ; i < N ; i++) {
+            double length = Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+            if (length > 0 && i != pinnedIndex) {
+                double step = Math.min(length, temperature) / length;
+                positionX[i] += dispX[i] * step;
+                positionY[i] += dispY[i] * step;
+            }
+            minX = Math.min(minX, positionX[i]);
+            minY = Math.min(minY, positionY[i]);
+            maxX = Math.max(maxX, positionX[i]);
+            maxY = Math.max(maxY, positionY[i]);
+        }
+
+        temperature = (temperature - 1) * 0.93;
+        iteration++;
+        return true;
+    }
+
+    private void repulse(final RepulsionMode MODE, final int FROM, final int TO, final int N, final double THETA, final double CUTOFF, final double REPULSION) {
+        switch (MODE) {
+            case BARNES_HUT:
+                barnesHutTree.applyRepulsion(positionX, positionY, FROM, TO, THETA, REPULSION, dispX, dispY);
+                break;
+            case GRID:
+                repulsionGrid.applyRepulsion(positionX, positionY, FROM, TO, CUTOFF, REPULSION, dispX, dispY);
+                break;
+            case EXACT:
+            default:
+                for (int v = FROM ; v < TO ; v++) {
+                    double x  = positionX[v];
+                    double y  = positionY[v];
+                    double dx = 0;
+                    double dy = 0;
+                    for (int u = 0 ; u < N ; u++) {
+                        if (u == v) { continue; }
+                        double deltaX   = x - positionX[u];
+                        double deltaY   = y - positionY[u];
+                        double distance = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+                        if (distance == 0) { continue; }
+                        double force = REPULSION / (distance * distance);
+                        dx += deltaX / distance * force;
+                        dy += deltaY / distance * force;
+                    }
+                    dispX[v] += dx;
+                    dispY[v] += dy;
+                }
+                break;
+        }
+    }
+
+    private double getScaleFactor() {
+        double scaleX = (viewportWidth - 2 * viewportMargin) / (maxX - minX);
+        double scaleY = (viewportHeight - 2 * viewportMargin) / (maxY - minY);
+        return scaleX <= scaleY ? scaleX : scaleY;
+    }
+
+    private void applyRequests() {
+        Graph newGraph = pendingGraph.getAndSet(null);
+        if (null != newGraph) {
+            int n     = newGraph.nodes.length;
+            graph     = newGraph;
+            positionX = new double[n];
+            positionY = new double[n];
+            dispX     = new double[n];
+            dispY     = new double[n];
+            for (int i = 0 ; i < n ; i++) {
+                positionX[i] = newGraph.initialX[i];
+                positionY[i] = newGraph.initialY[i];
+            }
+        }
+
+        for (Move move : pendingMoves.values()) {
+            // Keeps a move that has been replaced in the meantime for the next step
+            pendingMoves.remove(move.index, move);
+            if (move.version != graph.version) { continue; }
+            positionX[move.index] = move.x;
+            positionY[move.index] = move.y;
+        }
+
+        GraphNode pinned = pinnedNode;
+        Integer   index  = null == pinned ? null : graph.indexOfNode.get(pinned);
+        pinnedIndex      = null == index ? -1 : index;
+
+        long requested = requestedTemperature.getAndSet(NO_REQUEST);
+        if (requested != NO_REQUEST) { temperature = Double.longBitsToDouble(requested); }
+    }
+
+    private synchronized void publish() {
+        snapshot.set(new Snapshot(graph, positionX.clone(), positionY.clone(), minX, minY, maxX, maxY, iteration, temperature));
+    }
+
+    private void runWorker(final int GENERATION) {
+        while (true) {
+            synchronized (workerLock) {
+                if (GENERATION != generation) { return; }
+            }
+            long start = System.nanoTime();
+            if (step()) {
+                publish();
+            } else {
+                synchronized (workerLock) {
+                    // Only finish if no new request came in after the last step
+                    if (GENERATION != generation) { return; }
+                    if (isConverged()) {
+                        running = false;
+                        return;
+                    }
+                }
+                continue;
+            }
+            long sleep = stepPeriod - (System.nanoTime() - start);
+            if (sleep > 0) { LockSupport.parkNanos(sleep); }
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Immutable node positions of one step
+     */
+    public static class Snapshot {
+        private final Graph    graph;
+        private final double[] x;
+        private final double[] y;
+        private final double   minX;
+        private final double   minY;
+        private final double   maxX;
+        private final double   maxY;
+        private final long     iteration;
+        private final double   temperature;
+
+
+        // ******************** Constructors **********************************
+        private Snapshot(final Graph GRAPH, final double[] X, final double[] Y, final double MIN_X, final double MIN_Y, final double MAX_X, final double MAX_Y,
+                         final long ITERATION, final double TEMPERATURE) {
+            graph       = GRAPH;
+            x           = X;
+            y           = Y;
+            minX        = MIN_X;
+            minY        = MIN_Y;
+            maxX        = MAX_X;
+            maxY        = MAX_Y;
+            iteration   = ITERATION;
+            temperature = TEMPERATURE;
+        }
+
+
+        // ******************** Methods ***************************************
+        public int size() { return x.length; }
+
+        public GraphNode getNode(final int INDEX) { return graph.nodes[INDEX]; }
+
+        public double getX(final int INDEX) { return x[INDEX]; }
+
+        public double getY(final int INDEX) { return y[INDEX]; }
+
+        public double getMinX() { return minX; }
+
+        public double getMinY() { return minY; }
+
+        public double getMaxX() { return maxX; }
+
+        public double getMaxY() { return maxY; }
+
+        public long getIteration() { return iteration; }
+
+        public double getTemperature() { return temperature; }
+
+        /**
+         * Sets the positions of the snapshot to the nodes, the given node will be skipped (e.g. while it is dragged)
+         */
+        public void apply(final GraphNode SKIP) {
+            for (int i = 0 ; i < x.length ; i++) {
+                GraphNode node = graph.nodes[i];
+                if (node == SKIP) { continue; }
+                node.setPosition(new Point2D(x[i], y[i]));
+            }
+        }
+        public void apply() { apply(null); }
+    }
+
+    private static class Graph {
+        private final GraphNode[]             nodes;
+        private final GraphEdge[]             edges;
+        private final int                     version;
+        private final int[]                   edgeU;
+        private final int[]                   edgeV;
+        private final double[]                edgeForce;
+        private final double[]                initialX;
+        private final double[]                initialY;
+        private final Map<GraphNode, Integer> indexOfNode;
+
+
+        // ******************** Constructors **********************************
+        private Graph(final GraphNode[] NODES, final GraphEdge[] EDGES, final int VERSION) {
+            nodes       = NODES;
+            edges       = EDGES;
+            version     = VERSION;
+            edgeU       = new int[EDGES.length];
+            edgeV       = new int[EDGES.length];
+            edgeForce   = new double[EDGES.length];
+            initialX    = new double[NODES.length];
+            initialY    = new double[NODES.length];
+            indexOfNode = new IdentityHashMap<>(NODES.length);
+            for (int i = 0 ; i < NODES.length ; i++) {
+                Point2D position = NODES[i].getPosition();
+                initialX[i] = position.getX();
+                initialY[i] = position.getY();
+                indexOfNode.put(NODES[i], i);
+            }
+            for (int e = 0 ; e < EDGES.length ; e++) {
+                // Edges to nodes that are not part of the model will be ignored (-1)
+                Integer u    = indexOfNode.get(EDGES[e].getU());
+                Integer v    = indexOfNode.get(EDGES[e].getV());
+                edgeU[e]     = null == u || null == v ? -1 : u;
+                edgeV[e]     = null == u || null == v ? -1 : v;
+                edgeForce[e] = EDGES[e].getForce();
+            }
+        }
+
+
+        // ******************** Methods ***************************************
+        private boolean matches(final List<GraphNode> NODES, final List<GraphEdge> EDGES) {
+            if (NODES.size() != nodes.length || EDGES.size() != edges.length) { return false; }
+            for (int i = 0 ; i < nodes.length ; i++) {
+                if (NODES.get(i) != nodes[i]) { return false; }
+            }
+            for (int e = 0 ; e < edges.length ; e++) {
+                GraphEdge edge = EDGES.get(e);
+                if (edge != edges[e] || edge.getForce() != edgeForce[e]) { return false; }
+                if (edgeU[e] < 0 ? indexOfNode.containsKey(edge.getU()) && indexOfNode.containsKey(edge.getV())
+                                 : edge.getU() != nodes[edgeU[e]] || edge.getV() != nodes[edgeV[e]]) { return false; }
+            }
+            return true;
+        }
+    }
+
+    private static class Move {
+        private final int    version;
+        private final int    index;
+        private final double x;
+        private final double y;
+
+
+        // ******************** Constructors **********************************
+        private Move(final int VERSION, final int INDEX, final double X, final double Y) {
+            version = VERSION;
+            index   = INDEX;
+            x       = X;
+            y       = Y;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package eu.hansolo.fx.charts.forcedirectedgraph;
 
 import java.util.ArrayList;
-import java.util.PriorityQueue;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 
 /**
@@ -9,6 +11,7 @@ import java.util.PriorityQueue;
  *          Stefan Mettler, orizion (github)
  */
 public class GraphCalculator {
+    private static final int PARALLEL_THRESHOLD = 256;
 
     double[] betweennessResults;
     public final String degreeKey = "DegreeCentrality";
@@ -16,41 +19,15 @@ public class GraphCalculator {
     public final String betweennessKey = "BetweennessCentrality";
     public final String degreeNormalizedKey = "DegreeCentralityNormalized";
     public final String closenessNormalizedKey = "ClosenessCentrualityNormalized";
+    private boolean parallel = true;
 
 
-    private void recursiveBetweennesCalculatioin(ArrayList<GraphNode>[][] paths, ArrayList<GraphNode> graphNodes , double split, GraphNode from, GraphNode to){
-        double nextSplit = split/paths[graphNodes.indexOf(from)][graphNodes.indexOf(to)].size();
-        for(GraphNode node: paths[graphNodes.indexOf(from)][graphNodes.indexOf(to)] ){
-            if(!node.equals(from)){
-                betweennessResults[graphNodes.indexOf(node)] += split;
-                recursiveBetweennesCalculatioin(paths, graphNodes, nextSplit, from, node);
-            }
-        }
-    }
-
-    private ArrayList<ArrayList<GraphNode>> createRealPathsRecursive(ArrayList<GraphNode>[][] paths, ArrayList<GraphNode> graphNodes, GraphNode from, GraphNode to){
-        if(paths[graphNodes.indexOf(from)][graphNodes.indexOf(to)].size() == 1 && paths[graphNodes.indexOf(from)][graphNodes.indexOf(to)].get(0).equals(from)){
-            return new ArrayList<>();
-        } else{
-            ArrayList<ArrayList<GraphNode>> ListOfLists = new ArrayList<>();
-            for(GraphNode node: paths[graphNodes.indexOf(from)][graphNodes.indexOf(to)] ){
-                //ListOfLists.add(createRealPathsRecursive(paths, graphNodes, node, from));
-                ArrayList<ArrayList<GraphNode>> subpaths = createRealPathsRecursive(paths, graphNodes, node, from);
-                if(subpaths.isEmpty()){
-                    ArrayList<GraphNode> temp = new ArrayList<>();
-                    temp.add(node);
-                    ListOfLists.add(temp);
-                } else {
-                    for(ArrayList<GraphNode> ap: subpaths){
-                        ap.add(node);
-                        ListOfLists.add(ap);
-                    }
-                }
-            }
-            return ListOfLists;
-        }
-    }
-
+    /**
+     * If true, closeness and betweenness of graphs with more than 256 nodes
+     * will be calculated in parallel for different source nodes
+     */
+    public boolean isParallel() { return parallel; }
+    public void setParallel(final boolean PARALLEL) { parallel = PARALLEL; }
 
     public NodeEdgeModel calculateDegreeCentrality(NodeEdgeModel nodeEdgeModel){
         for(GraphNode node: nodeEdgeModel.getNodes()) {
@@ -71,53 +48,48 @@ public class GraphCalculator {
     }
 
     /*
-    Implemented with Breadth first algorithm
+    Implemented with Breadth first algorithm, sum of 1 / distance to all reachable nodes
      */
     public NodeEdgeModel calculateClosenessCentrality(NodeEdgeModel nodeEdgeModel){
-        PriorityQueue<GraphNode> queue = new PriorityQueue<>();
-
-        ArrayList<GraphNode> visited = new ArrayList<>();
-        int level;
-        int counterUntilNextLevel;
-        int counterOfNextLevel;
-        double result;
-        GraphNode currentNode;
-        ArrayList<GraphNode> GraphNodes = nodeEdgeModel.getNodes();
-
-        for(GraphNode node: GraphNodes){
-            visited.clear();
-            queue.clear();
-            queue.add(node);
-            result = 0;
-            level = 0;
-            counterUntilNextLevel = 1;
-            counterOfNextLevel = 0;
-
-            while(!queue.isEmpty()){
-                currentNode = queue.poll();
-                counterOfNextLevel += currentNode.getConnectedNodes().size();
-                visited.add(currentNode);
-                ArrayList<GraphNode> currentNodeList = new ArrayList<>(currentNode.getConnectedNodes());
-                for(GraphNode gNode: currentNodeList){
-                    if(!visited.contains(gNode) && !queue.contains(gNode)){
-                        queue.add(gNode);
-                    }
-                }
-                if(level>0) {
-                    result += 1.0 / (double) level;
-                }
-                counterUntilNextLevel--;
-                if(counterUntilNextLevel == 0){
-                    level++;
-                    counterUntilNextLevel = counterOfNextLevel;
-                    counterOfNextLevel = 0;
-                }
+        final IndexedGraph graph   = new IndexedGraph(nodeEdgeModel);
+        final int          N       = graph.getNoOfNodes();
+        final double[]     results = new double[N];
+        forEachChunk(N, (from, to) -> {
+            int[] distance = new int[N];
+            int[] queue    = new int[N];
+            for (int source = from ; source < to ; source++) {
+                results[source] = harmonicCloseness(graph, source, distance, queue);
             }
-            node.setNumericAttribute(closenessKey, result);
+            return null;
+        });
+        for (int i = 0 ; i < N ; i++) {
+            graph.getNode(i).setNumericAttribute(closenessKey, results[i]);
         }
         return nodeEdgeModel;
     }
 
+    private static double harmonicCloseness(final IndexedGraph GRAPH, final int SOURCE, final int[] DISTANCE, final int[] QUEUE) {
+        final int[] OFFSETS    = GRAPH.getOffsets();
+        final int[] NEIGHBOURS = GRAPH.getNeighbours();
+        Arrays.fill(DISTANCE, -1);
+        double result = 0;
+        int    head   = 0;
+        int    tail   = 0;
+        DISTANCE[SOURCE] = 0;
+        QUEUE[tail++]    = SOURCE;
+        while (head < tail) {
+            int v = QUEUE[head++];
+            if (DISTANCE[v] > 0) { result += 1.0 / DISTANCE[v]; }
+            for (int i = OFFSETS[v] ; i < OFFSETS[v + 1] ; i++) {
+                int w = NEIGHBOURS[i];
+                if (DISTANCE[w] < 0) {
+                    DISTANCE[w]   = DISTANCE[v] + 1;
+                    QUEUE[tail++] = w;
+                }
+            }
+        }
+        return result;
+    }
 
     public NodeEdgeModel calculateClosenessCentralityNormalized(NodeEdgeModel nodeEdgeModel){
         if(!nodeEdgeModel.getNodes().get(0).containsNumericAttribute(closenessKey)){
@@ -131,82 +103,92 @@ public class GraphCalculator {
     }
 
 
+    /*
+    Implemented with the algorithm of Brandes (O(n * e)), every pair of nodes is counted once
+     */
     public void calculateBetweennessCentrality(NodeEdgeModel nodeEdgeModel){
-
-        PriorityQueue<GraphNode> currentLevelQueue = new PriorityQueue<>();
-        PriorityQueue<GraphNode> nextLevelQueue = new PriorityQueue<>();
-        ArrayList<GraphNode> visited = new ArrayList<>();
-
-        GraphNode currentNode;
-        ArrayList<GraphNode> graphNodes = nodeEdgeModel.getNodes();
-        betweennessResults = new double[graphNodes.size()];
-        ArrayList<GraphNode>[][] paths = new ArrayList[graphNodes.size()][graphNodes.size()];
-        ArrayList<ArrayList<GraphNode>>[][] realPaths = new ArrayList[graphNodes.size()][graphNodes.size()];
-
-        for(int i=0; i<graphNodes.size(); i++){
-            for(int j=0; j<graphNodes.size(); j++){
-                paths[i][j] = new ArrayList<>();
-            }
-        }
-
-        for(GraphNode node: graphNodes){
-            visited.clear();
-            currentLevelQueue.clear();
-            currentLevelQueue.add(node);
-
-            //save paths from node to all other nodes
-            while(!currentLevelQueue.isEmpty()){
-                currentNode = currentLevelQueue.poll();
-                visited.add(currentNode);
-                for(GraphNode gNode: currentNode.getConnectedNodes()){
-                    if(!visited.contains(gNode) && !currentLevelQueue.contains(gNode)){
-                        paths[graphNodes.indexOf(node)][graphNodes.indexOf(gNode)].add(currentNode);
-                        if(!nextLevelQueue.contains(gNode)){
-                            nextLevelQueue.add(gNode);
-                        }
-                    }
-                }
-                if(currentLevelQueue.isEmpty()){
-                    while(!nextLevelQueue.isEmpty()){
-                        currentLevelQueue.add(nextLevelQueue.poll());
-                    }
-                }
+        final IndexedGraph graph = new IndexedGraph(nodeEdgeModel);
+        final int          N     = graph.getNoOfNodes();
+        betweennessResults = forEachChunk(N, (from, to) -> {
+            double[] partial    = new double[N];
+            int[]    distance   = new int[N];
+            double[] pathCount  = new double[N];
+            double[] dependency = new double[N];
+            int[]    order      = new int[N];
+            for (int source = from ; source < to ; source++) {
+                accumulateBetweenness(graph, source, distance, pathCount, dependency, order, partial);
             }
+            return partial;
+        }).stream().reduce(new double[N], (sum, partial) -> {
+            for (int i = 0 ; i < N ; i++) { sum[i] += partial[i]; }
+            return sum;
+        });
+
+        // Brandes counts the path from s to t and from t to s in an undirected graph
+        for (int i = 0 ; i < N ; i++) {
+            betweennessResults[i] *= 0.5;
+            graph.getNode(i).setNumericAttribute(betweennessKey, betweennessResults[i]);
         }
+    }
 
-        for(int i=0; i<betweennessResults.length; i++){
-            betweennessResults[i]=0;
-        }
-
-        for(int i=0; i<paths.length; i++){
-            for(int j=0; j<paths[i].length; j++){
-                if(i != j){
-                    //recursiveBetweennesCalculatioin(paths, graphNodes,0.5, graphNodes.get(i), graphNodes.get(j));
-                    realPaths[i][j] = createRealPathsRecursive(paths, graphNodes, graphNodes.get(i), graphNodes.get(j));
+    private static void accumulateBetweenness(final IndexedGraph GRAPH, final int SOURCE, final int[] DISTANCE, final double[] PATH_COUNT,
+                                              final double[] DEPENDENCY, final int[] ORDER, final double[] RESULT) {
+        final int[] OFFSETS    = GRAPH.getOffsets();
+        final int[] NEIGHBOURS = GRAPH.getNeighbours();
+        Arrays.fill(DISTANCE, -1);
+        Arrays.fill(PATH_COUNT, 0);
+        Arrays.fill(DEPENDENCY, 0);
+
+        // Breadth first search, ORDER is used as queue and contains the nodes by distance afterwards
+        int head = 0;
+        int tail = 0;
+        DISTANCE[SOURCE]   = 0;
+        PATH_COUNT[SOURCE] = 1;
+        ORDER[tail++]      = SOURCE;
+        while (head < tail) {
+            int v = ORDER[head++];
+            for (int i = OFFSETS[v] ; i < OFFSETS[v + 1] ; i++) {
+                int w = NEIGHBOURS[i];
+                if (DISTANCE[w] < 0) {
+                    DISTANCE[w]   = DISTANCE[v] + 1;
+                    ORDER[tail++] = w;
                 }
+                if (DISTANCE[w] == DISTANCE[v] + 1) { PATH_COUNT[w] += PATH_COUNT[v]; }
             }
         }
 
-        for(int i=0; i<paths.length; i++){
-            for(int j=0; j<paths[i].length; j++){
-                if(i != j){
-                    for(ArrayList<GraphNode> al: realPaths[i][j]){
-                        if(!al.isEmpty()){
-                            for(GraphNode graphNode: al){
-                                betweennessResults[graphNodes.indexOf(graphNode)] += 0.5/realPaths[i][j].size();
-                            }
-                        }
-                    }
+        // Accumulate the dependencies in order of decreasing distance, predecessors are the neighbours one step closer
+        for (int n = tail - 1 ; n > 0 ; n--) {
+            int w = ORDER[n];
+            for (int i = OFFSETS[w] ; i < OFFSETS[w + 1] ; i++) {
+                int v = NEIGHBOURS[i];
+                if (DISTANCE[v] == DISTANCE[w] - 1) {
+                    DEPENDENCY[v] += PATH_COUNT[v] / PATH_COUNT[w] * (1 + DEPENDENCY[w]);
                 }
             }
+            RESULT[w] += DEPENDENCY[w];
         }
+    }
 
-        for(GraphNode node: graphNodes){
-            node.setNumericAttribute(betweennessKey, betweennessResults[graphNodes.indexOf(node)]);
+    /**
+     * Splits the source nodes 0...N into chunks that will be processed in parallel if enabled
+     * @return the results of all chunks
+     */
+    private <R> ArrayList<R> forEachChunk(final int N, final ChunkTask<R> TASK) {
+        final int CHUNKS     = parallel && N >= PARALLEL_THRESHOLD ? Math.min(N / 64, 4 * ForkJoinPool.getCommonPoolParallelism()) : 1;
+        final int CHUNK_SIZE = (N + CHUNKS - 1) / CHUNKS;
+        ArrayList<R> results = new ArrayList<>();
+        if (CHUNKS == 1) {
+            results.add(TASK.run(0, N));
+        } else {
+            IntStream.range(0, CHUNKS).parallel()
+                     .mapToObj(chunk -> TASK.run(Math.min(N, chunk * CHUNK_SIZE), Math.min(N, (chunk + 1) * CHUNK_SIZE)))
+                     .forEachOrdered(results::add);
         }
+        return results;
     }
 
-
-
-
+    @FunctionalInterface private interface ChunkTask<R> {
+        R run(int from, int to);
+    }
 }
@@ -18,6 +18,8 @@ public class GraphEdge {
     private double                    force;
     private double                    width;
     private HashMap<String, Double>   nummericAttributes;
+    private AttributeTable            attributes;
+    private int                       row;
 
 
 
@@ -35,9 +37,25 @@ public class GraphEdge {
     public GraphEdge(GraphNode node1, GraphNode node2){
         this(node1,node2, new HashMap<>());
     }
+    /**
+     * Creates an edge whose attributes are stored in the given row of the table
+     */
+    GraphEdge(final GraphNode NODE_1, final GraphNode NODE_2, final AttributeTable ATTRIBUTES, final int ROW) {
+        this.u          = new SimpleObjectProperty<>(NODE_1);
+        this.v          = new SimpleObjectProperty<>(NODE_2);
+        this.force      = 1;
+        this.width      = 1;
+        this.attributes = ATTRIBUTES;
+        this.row        = ROW;
+        addDefault();
+    }
 
 
     private void addDefault(){
+        if (null != attributes) {
+            if (Double.isNaN(attributes.getNumericDefault(NodeEdgeModel.DEFAULT))) { attributes.setNumericDefault(NodeEdgeModel.DEFAULT, 1.0); }
+            return;
+        }
         nummericAttributes.put(NodeEdgeModel.DEFAULT, 1.0);
     }
 
@@ -69,6 +87,10 @@ public class GraphEdge {
      * @return
      */
     public double getNummericAttribute(String key){
+        if (null != attributes) {
+            double value = attributes.getNumericAttribute(row, key);
+            return Double.isNaN(value) ? -1d : value;
+        }
         if(nummericAttributes.containsKey(key)) {
             return nummericAttributes.get(key);
         }
@@ -76,6 +98,7 @@ public class GraphEdge {
     }
 
     public ArrayList<String> getNummericAttributeKeys(){
+        if (null != attributes) { return attributes.getNumericAttributeKeys(row); }
         ArrayList<String> keys = new ArrayList<>();
         for(Object o: nummericAttributes.keySet()){
             if(o instanceof String){
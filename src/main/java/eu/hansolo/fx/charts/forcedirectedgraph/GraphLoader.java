@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Streaming importer that creates a NodeEdgeModel from edge lists (csv, tsv or
+ * whitespace separated), node lists and GraphML files. The input is read line by
+ * line (or event by event for GraphML), node ids are resolved through a hash map,
+ * keys and string values are interned and all attributes end up in two shared
+ * AttributeTables (one for the nodes, one for the edges) instead of one hash
+ * map per node and edge. The degree of every node is counted while reading so
+ * that the adjacency lists can be allocated with their final size.
+ * <p>
+ * Several inputs can be read into one loader (e.g. a node list and an edge list),
+ * createModel() then creates the model and resets the loader.
+ * <p>
+ * The type of a csv column is taken from its first non empty value. Values that
+ * cannot be parsed in a numeric column are stored as string attribute with the
+ * same key.
+ */
+public class GraphLoader {
+    public  static final String                   WEIGHT_KEY = "weight";
+    private static final byte                     UNKNOWN    = 0;
+    private static final byte                     NUMERIC    = 1;
+    private static final byte                     STRING     = 2;
+    private              Map<String, String>      pool;
+    private              AttributeTable           nodeAttributes;
+    private              AttributeTable           edgeAttributes;
+    private              HashMap<String, Integer> nodeIndex;
+    private              ArrayList<String>        nodeNames;
+    private              int[]                    degrees;
+    private              int[]                    edgeU;
+    private              int[]                    edgeV;
+    private              int                      noOfEdges;
+    private              char                     delimiter;
+
+
+    // ******************** Constructors **************************************
+    public GraphLoader() {
+        delimiter = ',';
+        clear();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Loads the given edge list file, the first line is expected to be a header
+     */
+    public static NodeEdgeModel loadEdgeList(final Path PATH) throws IOException {
+        return new GraphLoader().readEdgeList(PATH, true).createModel();
+    }
+
+    public static NodeEdgeModel loadGraphML(final Path PATH) throws IOException {
+        return new GraphLoader().readGraphML(PATH).createModel();
+    }
+
+    /**
+     * Returns the column delimiter of csv input, a whitespace character
+     * splits at any run of whitespace
+     */
+    public char getDelimiter() { return delimiter; }
+    public void setDelimiter(final char DELIMITER) { delimiter = DELIMITER; }
+
+    public int getNoOfNodes() { return nodeNames.size(); }
+
+    public int getNoOfEdges() { return noOfEdges; }
+
+    public GraphLoader readEdgeList(final Path PATH, final boolean HEADER) throws IOException {
+        try (Reader reader = Files.newBufferedReader(PATH, StandardCharsets.UTF_8)) { return readEdgeList(reader, HEADER); }
+    }
+    /**
+     * Reads one edge per line: source, target and optional attribute columns. Without
+     * a header the third column is named "weight" and further ones "column[index]".
+     * Empty lines and lines starting with '#' are skipped.
+     */
+    public GraphLoader readEdgeList(final Reader READER, final boolean HEADER) throws IOException {
+        BufferedReader    reader  = READER instanceof BufferedReader ? (BufferedReader) READER : new BufferedReader(READER);
+        ArrayList<String> fields  = new ArrayList<>();
+        String[]          keys    = new String[0];
+        byte[]            kinds   = new byte[0];
+        boolean           header  = HEADER;
+        String            line;
+        while ((line = reader.readLine()) != null) {
+            if (isComment(line)) { continue; }
+            split(line, fields);
+            if (header) {
+                keys   = internAll(fields);
+                kinds  = new byte[keys.length];
+                header = false;
+                continue;
+            }
+            if (fields.size() < 2) { continue; }
+            if (fields.size() > keys.length) {
+                int oldLength = keys.length;
+                keys  = Arrays.copyOf(keys, fields.size());
+                kinds = Arrays.copyOf(kinds, fields.size());
+                for (int i = Math.max(2, oldLength) ; i < keys.length ; i++) { keys[i] = edgeAttributes.intern(2 == i ? WEIGHT_KEY : "column" + i); }
+            }
+            int row = addEdge(nodeIndexOf(fields.get(0)), nodeIndexOf(fields.get(1)));
+            for (int i = 2 ; i < fields.size() ; i++) {
+                kinds[i] = setAttribute(edgeAttributes, row, keys[i], kinds[i], fields.get(i));
+            }
+        }
+        return this;
+    }
+
+    public GraphLoader readNodeList(final Path PATH) throws IOException {
+        try (Reader reader = Files.newBufferedReader(PATH, StandardCharsets.UTF_8)) { return readNodeList(reader); }
+    }
+    /**
+     * Reads one node per line, the first line is the header, the first column the
+     * id of the node (as used in the edge list) and the others its attributes.
+     */
+    public GraphLoader readNodeList(final Reader READER) throws IOException {
+        BufferedReader    reader = READER instanceof BufferedReader ? (BufferedReader) READER : new BufferedReader(READER);
+        ArrayList<String> fields = new ArrayList<>();
+        String[]          keys   = null;
+        byte[]            kinds  = null;
+        String            line;
+        while ((line = reader.readLine()) != null) {
+            if (isComment(line)) { continue; }
+            split(line, fields);
+            if (null == keys) {
+                keys  = internAll(fields);
+                kinds = new byte[keys.length];
+                continue;
+            }
+            if (fields.isEmpty()) { continue; }
+            int row = nodeIndexOf(fields.get(0));
+            for (int i = 1 ; i < Math.min(fields.size(), keys.length) ; i++) {
+                kinds[i] = setAttribute(nodeAttributes, row, keys[i], kinds[i], fields.get(i));
+            }
+        }
+        return this;
+    }
+
+    public GraphLoader readGraphML(final Path PATH) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(PATH)) { return readGraphML(inputStream); }
+    }
+    /**
+     * Reads the nodes, edges and their data elements of a GraphML document with
+     * a streaming parser. Nested graphs are flattened, hyperedges and ports are ignored.
+     */
+    public GraphLoader readGraphML(final InputStream INPUT_STREAM) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            XMLStreamReader       reader      = factory.createXMLStreamReader(INPUT_STREAM);
+            HashMap<String, Key>  keys        = new HashMap<>();
+            StringBuilder         text        = new StringBuilder();
+            Key                   currentKey  = null;
+            AttributeTable        table       = null;
+            int                   row         = -1;
+            boolean               collectText = false;
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            switch (reader.getLocalName()) {
+                                case "key":
+                                    String id   = reader.getAttributeValue(null, "id");
+                                    String name = reader.getAttributeValue(null, "attr.name");
+                                    String type = reader.getAttributeValue(null, "attr.type");
+                                    String of   = reader.getAttributeValue(null, "for");
+                                    currentKey  = new Key(nodeAttributes.intern(null == name ? id : name), isNumericType(type), of);
+                                    keys.put(id, currentKey);
+                                    break;
+                                case "default":
+                                    collectText = null != currentKey;
+                                    text.setLength(0);
+                                    break;
+                                case "node":
+                                    table = nodeAttributes;
+                                    row   = nodeIndexOf(reader.getAttributeValue(null, "id"));
+                                    break;
+                                case "edge":
+                                    int u = nodeIndexOf(reader.getAttributeValue(null, "source"));
+                                    int v = nodeIndexOf(reader.getAttributeValue(null, "target"));
+                                    table = edgeAttributes;
+                                    row   = addEdge(u, v);
+                                    break;
+                                case "data":
+                                    String keyId = reader.getAttributeValue(null, "key");
+                                    currentKey   = keys.computeIfAbsent(keyId, k -> new Key(nodeAttributes.intern(k), false, "all"));
+                                    collectText  = null != table;
+                                    text.setLength(0);
+                                    break;
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            if (collectText) { text.append(reader.getText()); }
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            switch (reader.getLocalName()) {
+                                case "key"    : currentKey = null; break;
+                                case "default":
+                                    if (collectText) {
+                                        String value = text.toString().trim();
+                                        if (currentKey.isFor("node")) { setDefault(nodeAttributes, currentKey, value); }
+                                        if (currentKey.isFor("edge")) { setDefault(edgeAttributes, currentKey, value); }
+                                    }
+                                    collectText = false;
+                                    break;
+                                case "node":
+                                case "edge":
+                                    table = null;
+                                    row   = -1;
+                                    break;
+                                case "data":
+                                    if (collectText) { setAttribute(table, row, currentKey.name, currentKey.numeric ? NUMERIC : STRING, text.toString().trim()); }
+                                    currentKey  = null;
+                                    collectText = false;
+                                    break;
+                            }
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Error reading GraphML: " + e.getMessage(), e);
+        }
+        return this;
+    }
+
+    /**
+     * Creates the model from everything that has been read so far and resets the
+     * loader. The nodes and edges of the model keep their attributes in the tables
+     * of this loader.
+     */
+    public NodeEdgeModel createModel() {
+        nodeAttributes.trimToSize();
+        edgeAttributes.trimToSize();
+
+        final int            NO_OF_NODES = nodeNames.size();
+        ArrayList<GraphNode> nodes       = new ArrayList<>(NO_OF_NODES);
+        for (int i = 0 ; i < NO_OF_NODES ; i++) {
+            GraphNode node = new GraphNode(nodeNames.get(i), nodeAttributes, i);
+            node.ensureConnectionCapacity(degrees[i]);
+            nodes.add(node);
+        }
+        ArrayList<GraphEdge> edges = new ArrayList<>(noOfEdges);
+        for (int i = 0 ; i < noOfEdges ; i++) {
+            edges.add(new GraphEdge(nodes.get(edgeU[i]), nodes.get(edgeV[i]), edgeAttributes, i));
+        }
+
+        // The distinct values are known from the dictionaries, no need to collect them per node again
+        HashMap<String, ArrayList<String>> distinctValues = new HashMap<>();
+        for (String key : nodeAttributes.getStringAttributeKeys()) { distinctValues.put(key, nodeAttributes.getDistinctStringValues(key)); }
+
+        clear();
+        return new NodeEdgeModel(nodes, edges, distinctValues);
+    }
+
+    /**
+     * Forgets everything that has been read so far
+     */
+    public void clear() {
+        // The tables of models created before keep their own pool
+        pool           = new HashMap<>();
+        nodeAttributes = new AttributeTable(pool);
+        edgeAttributes = new AttributeTable(pool);
+        nodeIndex      = new HashMap<>();
+        nodeNames      = new ArrayList<>();
+        degrees        = new int[16];
+        edgeU          = new int[16];
+        edgeV          = new int[16];
+        noOfEdges      = 0;
+    }
+
+    private int nodeIndexOf(final String ID) {
+        if (null == ID) { throw new IllegalArgumentException("Node id cannot be null"); }
+        Integer index = nodeIndex.get(ID);
+        if (null == index) {
+            String id = nodeAttributes.intern(ID);
+            index = nodeAttributes.addRow();
+            nodeIndex.put(id, index);
+            nodeNames.add(id);
+            if (index >= degrees.length) { degrees = Arrays.copyOf(degrees, degrees.length * 2); }
+        }
+        return index;
+    }
+
+    private int addEdge(final int U, final int V) {
+        if (noOfEdges == edgeU.length) {
+            edgeU = Arrays.copyOf(edgeU, noOfEdges * 2);
+            edgeV = Arrays.copyOf(edgeV, noOfEdges * 2);
+        }
+        edgeU[noOfEdges] = U;
+        edgeV[noOfEdges] = V;
+        degrees[U]++;
+        degrees[V]++;
+        noOfEdges++;
+        return edgeAttributes.addRow();
+    }
+
+    /**
+     * Stores the value in the column of the given kind and returns the kind of the column
+     */
+    private static byte setAttribute(final AttributeTable TABLE, final int ROW, final String KEY, final byte KIND, final String VALUE) {
+        if (VALUE.isEmpty()) { return KIND; }
+        byte kind = UNKNOWN == KIND ? (isNumber(VALUE) ? NUMERIC : STRING) : KIND;
+        if (NUMERIC == kind) {
+            try {
+                TABLE.setNumericAttribute(ROW, KEY, Double.parseDouble(VALUE));
+                return kind;
+            } catch (NumberFormatException e) {
+                // fall through and keep the value as string
+            }
+        }
+        TABLE.setStringAttribute(ROW, KEY, VALUE);
+        return kind;
+    }
+
+    private static void setDefault(final AttributeTable TABLE, final Key KEY, final String VALUE) {
+        if (KEY.numeric) {
+            try {
+                TABLE.setNumericDefault(KEY.name, Double.parseDouble(VALUE));
+                return;
+            } catch (NumberFormatException e) {
+                // fall through and keep the value as string
+            }
+        }
+        TABLE.setStringDefault(KEY.name, VALUE);
+    }
+
+    private static boolean isNumber(final String VALUE) {
+        char first = VALUE.charAt(0);
+        if (!(Character.isDigit(first) || '-' == first || '+' == first || '.' == first)) { return false; }
+        try {
+            Double.parseDouble(VALUE);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isNumericType(final String TYPE) {
+        return "int".equals(TYPE) || "long".equals(TYPE) || "float".equals(TYPE) || "double".equals(TYPE);
+    }
+
+    private static boolean isComment(final String LINE) {
+        return LINE.isEmpty() || '#' == LINE.charAt(0) || LINE.trim().isEmpty();
+    }
+
+    private String[] internAll(final List<String> VALUES) {
+        String[] interned = new String[VALUES.size()];
+        for (int i = 0 ; i < interned.length ; i++) { interned[i] = nodeAttributes.intern(VALUES.get(i)); }
+        return interned;
+    }
+
+    /**
+     * Splits the line at the delimiter into the given list, fields can be quoted
+     * with " and a quote inside a quoted field is written as ""
+     */
+    private void split(final String LINE, final List<String> FIELDS) {
+        FIELDS.clear();
+        final boolean       WHITESPACE = Character.isWhitespace(delimiter);
+        final int           LENGTH     = LINE.length();
+        final StringBuilder field      = new StringBuilder();
+        int i = 0;
+        while (i < LENGTH) {
+            if (WHITESPACE) {
+                while (i < LENGTH && Character.isWhitespace(LINE.charAt(i))) { i++; }
+                if (i == LENGTH) { break; }
+            }
+            field.setLength(0);
+            if ('"' == LINE.charAt(i)) {
+                i++;
+                while (i < LENGTH) {
+                    char c = LINE.charAt(i++);
+                    if ('"' == c) {
+                        if (i < LENGTH && '"' == LINE.charAt(i)) {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                while (i < LENGTH && !isDelimiter(LINE.charAt(i), WHITESPACE)) { i++; }
+            } else {
+                int start = i;
+                while (i < LENGTH && !isDelimiter(LINE.charAt(i), WHITESPACE)) { i++; }
+                field.append(LINE, start, i);
+            }
+            FIELDS.add(WHITESPACE ? field.toString() : field.toString().trim());
+            if (i < LENGTH && !WHITESPACE) {
+                i++;
+                if (i == LENGTH) { FIELDS.add(""); }
+            }
+        }
+    }
+
+    private boolean isDelimiter(final char C, final boolean WHITESPACE) {
+        return WHITESPACE ? Character.isWhitespace(C) : C == delimiter;
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Key {
+        private final String  name;
+        private final boolean numeric;
+        private final String  of;
+
+        private Key(final String NAME, final boolean NUMERIC, final String FOR) {
+            name    = NAME;
+            numeric = NUMERIC;
+            of      = null == FOR ? "all" : FOR;
+        }
+
+        private boolean isFor(final String ELEMENT) { return "all".equals(of) || ELEMENT.equals(of); }
+    }
+}
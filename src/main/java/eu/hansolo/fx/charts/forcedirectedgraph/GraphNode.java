@@ -25,6 +25,11 @@ public class GraphNode extends ChartItem {
     private HashMap<String, Double> numericAttributes;
     private HashMap<String, String> stringAttributes;
     private ArrayList<GraphNode>    connectedNodes;
+    /**
+     * if set, the attributes are stored in this table instead of the hash maps
+     */
+    private AttributeTable          attributes;
+    private int                     row;
     /**
      * defines which attribute will be assigned to the value field
      */
@@ -64,6 +69,21 @@ public class GraphNode extends ChartItem {
     public GraphNode(final String NAME){
         this(NAME, new HashMap<>(), new HashMap<>());
     }
+    /**
+     * Creates a node whose attributes are stored in the given row of the table
+     */
+    GraphNode(final String NAME, final AttributeTable ATTRIBUTES, final int ROW) {
+        super(NAME, 1, Color.BLACK);
+        position       = new SimpleObjectProperty<>(Point2D.ZERO);
+        disp           = new SimpleObjectProperty<>(new Point2D(0, 0));
+        attributes     = ATTRIBUTES;
+        row            = ROW;
+        connectedNodes = new ArrayList<>();
+        _selected      = false;
+        setFill(Color.BLACK);
+        setStroke(Color.WHITE);
+        addDefault();
+    }
 
 
     public boolean containedIn(double x, double y, double nodeScaleFactor, double generalScaleFactor, double minRadius){
@@ -82,6 +102,11 @@ public class GraphNode extends ChartItem {
     }
 
     private void addDefault() {
+        if (null != attributes) {
+            if (Double.isNaN(attributes.getNumericDefault(NodeEdgeModel.DEFAULT))) { attributes.setNumericDefault(NodeEdgeModel.DEFAULT, Math.sqrt(1/Math.PI)); }
+            if (null == attributes.getStringDefault(NodeEdgeModel.DEFAULT)) { attributes.setStringDefault(NodeEdgeModel.DEFAULT, "Group1"); }
+            return;
+        }
         numericAttributes.putIfAbsent(NodeEdgeModel.DEFAULT, Math.sqrt(1/Math.PI));
         stringAttributes.putIfAbsent(NodeEdgeModel.DEFAULT, "Group1");
     }
@@ -104,11 +129,23 @@ public class GraphNode extends ChartItem {
         connectedNodes.add(node);
     }
 
+    void ensureConnectionCapacity(final int CAPACITY) {
+        connectedNodes.ensureCapacity(CAPACITY);
+    }
+
     public double getNumericAttribute(String key) {
+        if (null != attributes) {
+            double value = attributes.getNumericAttribute(row, key);
+            return Double.isNaN(value) ? 0 : value;
+        }
         Double value = numericAttributes.get(key);
         return value == null ? 0 : value;
     }
     public void setNumericAttribute(String key, double value) {
+        if (null != attributes) {
+            attributes.setNumericAttribute(row, key, value);
+            return;
+        }
         numericAttributes.put(key, value);
     }
 
@@ -118,11 +155,12 @@ public class GraphNode extends ChartItem {
      * @return
      */
     public String getStringAttribute(String key) {
-        String val = stringAttributes.get(key);
+        String val = null == attributes ? stringAttributes.get(key) : attributes.getStringAttribute(row, key);
         return val == null ? "" : val;
     }
 
     public boolean containsNumericAttribute(String key) {
+        if (null != attributes) { return attributes.containsNumericAttribute(row, key); }
         return numericAttributes.containsKey(key);
     }
 
@@ -169,10 +207,12 @@ public class GraphNode extends ChartItem {
     }
 
     public ArrayList<String> getNumericAttributeKeys(){
+        if (null != attributes) { return attributes.getNumericAttributeKeys(row); }
         return new ArrayList<>(numericAttributes.keySet());
     }
 
     public ArrayList<String> getStringAttributeKeys(){
+        if (null != attributes) { return attributes.getStringAttributeKeys(row); }
         return new ArrayList<>(stringAttributes.keySet());
     }
 }
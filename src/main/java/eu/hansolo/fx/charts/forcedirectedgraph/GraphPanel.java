@@ -51,8 +51,6 @@ public class GraphPanel extends Region {
     private static final double                   MAXIMUM_WIDTH           = 1024;
     private static final double                   MAXIMUM_HEIGHT          = 1024;
     private static final long                     REFRESH_PERIOD          = 100_000_000;
-    private static final int                      THRESHOLD               = 1;
-    private static final int                      BASE_TEMPERATURE        = 100;
     private static final double                   DISTANCE_SCALING_FACTOR = 7;
     private static final double                   MIN_EDGE_WIDTH          = 0.5;
     private static final double                   MIN_FORCE = 0.01;
@@ -63,9 +61,7 @@ public class GraphPanel extends Region {
     private              Pane                     pane;
     private              EventHandler<MouseEvent> mouseHandler;
     private              EventHandler<KeyEvent>   keyHandler;
-    private              long                     lastTimerCall;
     private              AnimationTimer           timer;
-    private              double                   temp;
     private              double                   area;
     private              double                   k;
     private              NodeEdgeModel            nodeEdgeModel;
@@ -112,6 +108,9 @@ public class GraphPanel extends Region {
 
     private              GraphCalculator          graphCalculator;
 
+    private              ForceLayout              layout;
+    private              ForceLayout.Snapshot     lastSnapshot;
+
 
     // ******************** Constructors **************************************
     public GraphPanel(){
@@ -128,26 +127,30 @@ public class GraphPanel extends Region {
         width              = PREFERRED_WIDTH;
         height             = PREFERRED_HEIGHT;
         mouseHandler       = this::handleMouseEvents;
-        lastTimerCall      = System.nanoTime();
         _physicsActive     = true;
         _forceInverted     = false;
 
         setInitialPosition((int)width, (int)height);
 
+        // The layout runs on a background thread, the timer only picks up the published positions
         timer              = new AnimationTimer() {
             @Override public void handle(final long now) {
-                if (now > lastTimerCall + REFRESH_PERIOD) {
-                    fruchtermanReingold();
-                    lastTimerCall = now;
-                    redraw();
+                if (!isPhysicsActive()) {
+                    layout.stop();
+                    timer.stop();
+                    return;
                 }
+                updateLayout();
+                if (!applySnapshot() && !layout.isRunning()) { timer.stop(); }
             }
         };
 
         nodeChangeListener    = (o, ov, nv) -> redraw();
-        temp                  = BASE_TEMPERATURE;
         area                  = width * height;
         k                     = Math.sqrt(area / nodeEdgeModel.getNodes().size());
+        layout                = new ForceLayout();
+        layout.setOptimalDistance(k);
+        layout.setStepPeriod(REFRESH_PERIOD);
         distanceScalingFactor = new SimpleDoubleProperty(DISTANCE_SCALING_FACTOR);
         _edgeColor            = Color.DARKGRAY;
         _edgeWidthFactor = 2;
@@ -173,6 +176,8 @@ public class GraphPanel extends Region {
 
         initGraphics();
         registerListeners();
+        updateLayout();
+        layout.start();
         timer.start();
     }
 
@@ -229,21 +234,40 @@ public class GraphPanel extends Region {
 
     public void restart() {
         System.out.println("Restarting simulation");
-        lastTimerCall      = System.nanoTime();
-        temp                  = BASE_TEMPERATURE;
         setInitialPosition((int)width,(int)height);
-
+        layout.setGraph(nodeEdgeModel);
+        layout.reset();
+        layout.start();
         timer.start();
     }
 
-    private double cool(final double TEMPERATURE) { return (TEMPERATURE-1) * .93; }
-
-    private double repulseForce(final double DISTANCE, final double K) { return (calculateScaleFactor() > 0? calculateScaleFactor() :1) * (K * K) / (DISTANCE * DISTANCE); }
-
-    private double attractForce(final double DISTANCE, final double K) {
-        return   (calculateScaleFactor() > 0? calculateScaleFactor() :1) *  DISTANCE * DISTANCE / K; }
+    /**
+     * Passes the current model and settings to the layout, has to be called on the FX application thread
+     */
+    private void updateLayout() {
+        layout.setViewport(width, height, maxRadius);
+        layout.setForceInverted(isForceInverted());
+        layout.syncGraph(nodeEdgeModel);
+    }
 
-    private double pointToLength(final Point2D POINT) { return   Math.sqrt(Math.abs(POINT.getX() * POINT.getX() + POINT.getY() * POINT.getY())); }
+    /**
+     * Sets the positions of the latest layout snapshot to the nodes and redraws the graph
+     * @return false if there was no new snapshot
+     */
+    private boolean applySnapshot() {
+        ForceLayout.Snapshot snapshot = layout.getSnapshot();
+        if (snapshot == lastSnapshot) { return false; }
+        lastSnapshot = snapshot;
+        if (0 == snapshot.getIteration()) { return true; }
+        // The dragged node follows the mouse and not the layout
+        snapshot.apply(null == pointDragLast ? null : selectedNode);
+        minXPosition = snapshot.getMinX();
+        minYPosition = snapshot.getMinY();
+        maxXPosition = snapshot.getMaxX();
+        maxYPosition = snapshot.getMaxY();
+        redraw();
+        return true;
+    }
 
     private void handleMouseEvents(final MouseEvent EVT) {
         final EventType<? extends MouseEvent> TYPE = EVT.getEventType();
@@ -279,10 +303,14 @@ public class GraphPanel extends Region {
 
             if(null == pointDragLast) { pointDragLast = pointDragStarted; }
 
-            temp = pointDragLast.distance(X, Y) / distanceScalingFactor.doubleValue();
+            layout.setPinnedNode(selectedNode);
+            layout.moveNode(selectedNode, X, Y);
+            layout.setTemperature(pointDragLast.distance(X, Y) / distanceScalingFactor.doubleValue());
             pointDragLast = new Point2D(X, Y);
-            fruchtermanReingold();
-            fruchtermanReingold();
+            if (isPhysicsActive()) {
+                layout.start();
+                timer.start();
+            }
 
             redraw();
         } else if(MouseEvent.MOUSE_RELEASED.equals(TYPE)) {
@@ -290,9 +318,13 @@ public class GraphPanel extends Region {
             if(null == pointDragStarted) return;
             X = xPositionDrawnToReal(X);
             Y = yPositionDrawnToReal(Y);
-            temp = pointDragStarted.distance(X,Y) / distanceScalingFactor.doubleValue();
+            layout.setPinnedNode(null);
+            layout.setTemperature(pointDragStarted.distance(X,Y) / distanceScalingFactor.doubleValue());
 
-            if(null != selectedNode) timer.start();
+            if(null != selectedNode && isPhysicsActive()) {
+                layout.start();
+                timer.start();
+            }
             //selectedNode = null;
             pointDragStarted = null;
             pointDragLast = null;
@@ -540,58 +572,30 @@ public class GraphPanel extends Region {
 
     /**
      * Executes the Fruchterman-Reingold algorithm, which is responsible for the placement of the nodes
-     * depending on their distance and attraction to each other
+     * depending on their distance and attraction to each other.
+     * Runs one step on the calling thread, usually the layout runs in the background (see getLayout())
      */
     public void fruchtermanReingold() {
-        if(temp < THRESHOLD  || !isPhysicsActive()) {
+        if(layout.isConverged() || !isPhysicsActive()) {
             timer.stop();
             return;
         }
+        updateLayout();
+        layout.run(1);
+        applySnapshot();
+    }
 
-        for (GraphNode v : nodeEdgeModel.getNodes()) {
-            v.setDisp(Point2D.ZERO);
-            for (GraphNode u : nodeEdgeModel.getNodes()) {
-                if (u != v) {
-                    Point2D positionU = v.getPosition();
-                    Point2D positionV = u.getPosition();
-                    Point2D vectorUV  = positionU.subtract(positionV);
-                    Point2D displacement = vectorUV.normalize()
-                                                   .multiply(repulseForce(pointToLength(vectorUV), k));
-                    v.setDisp(v.getDisp().add(displacement));
-                }
-            }
-        }
-
-        for (GraphEdge e : nodeEdgeModel.getEdges()) {
-            Point2D positionU = e.getU().getPosition();
-            Point2D positionV = e.getV().getPosition();
-            Point2D vectorUV  = positionV.subtract(positionU);
-            double  delta     = pointToLength(vectorUV);
-            Point2D addition;
-            if(!isForceInverted()){
-                addition  = vectorUV.normalize().multiply(attractForce(Math.abs(delta), k)*(e.getForce()+MIN_FORCE));
-            } else{
-                addition  = vectorUV.normalize().multiply(attractForce(Math.abs(delta), k)/(e.getForce()+MIN_FORCE));
-            }
-            e.getV().setDisp(e.getV().getDisp().subtract(addition));
-            e.getU().setDisp(e.getU().getDisp().add(addition));
-        }
-
-        minXPosition = Double.MAX_VALUE;
-        minYPosition = Double.MAX_VALUE;
-        maxXPosition = Double.MIN_VALUE;
-        maxYPosition = Double.MIN_VALUE;
-
-        for (GraphNode v : nodeEdgeModel.getNodes()) {
-            Point2D tempPoint = v.getPosition().add(v.getDisp().normalize().multiply(Math.min(pointToLength(v.getDisp()), temp)));
-            if(tempPoint.getX()<minXPosition) minXPosition = tempPoint.getX();
-            if(tempPoint.getX()>maxXPosition) maxXPosition = tempPoint.getX();
-            if(tempPoint.getY()<minYPosition) minYPosition = tempPoint.getY();
-            if(tempPoint.getY()>maxYPosition) maxYPosition = tempPoint.getY();
-            v.setPosition(new Point2D(tempPoint.getX(), tempPoint.getY()));
-        }
-
-        temp = cool(temp);
+    /**
+     * Calculates the layout of the current model on the calling thread before the graph is shown
+     * @param MAX_ITERATIONS Maximum number of Fruchterman-Reingold steps
+     * @return the number of steps that have been executed until the layout converged
+     */
+    public int precomputeLayout(final int MAX_ITERATIONS) {
+        layout.stop();
+        updateLayout();
+        int steps = layout.runUntilConverged(MAX_ITERATIONS);
+        applySnapshot();
+        return steps;
     }
 
     public void setNodeEdgeModel(NodeEdgeModel nodeEdgeModel){
@@ -660,6 +664,8 @@ public class GraphPanel extends Region {
         canvas.removeEventHandler(MouseEvent.MOUSE_PRESSED, mouseHandler);
         canvas.removeEventHandler(MouseEvent.MOUSE_DRAGGED, mouseHandler);
         canvas.removeEventHandler(MouseEvent.MOUSE_RELEASED, mouseHandler);
+        layout.stop();
+        timer.stop();
 
     }
 
@@ -819,6 +825,45 @@ public class GraphPanel extends Region {
         }
     }
 
+    /**
+     * @return The way the repulsive forces between the nodes will be calculated
+     */
+    public RepulsionMode getRepulsionMode() { return layout.getRepulsionMode(); }
+    /**
+     * EXACT calculates the repulsion between all pairs of nodes (O(n^2)), BARNES_HUT
+     * approximates far away groups of nodes by their center of mass (O(n log n)) and
+     * GRID ignores the repulsion of nodes that are further away than the cutoff
+     * @param MODE The way the repulsive forces between the nodes will be calculated
+     */
+    public void setRepulsionMode(final RepulsionMode MODE) { layout.setRepulsionMode(MODE); }
+
+    /**
+     * @return The Barnes-Hut opening angle
+     */
+    public double getTheta() { return layout.getTheta(); }
+    /**
+     * Defines the accuracy of the BARNES_HUT repulsion mode, 0 is exact, higher
+     * values are faster but less accurate (default 0.8)
+     * @param THETA Ratio of cell size to distance below which a cell will be treated as one mass
+     */
+    public void setTheta(final double THETA) { layout.setTheta(THETA); }
+
+    /**
+     * @return The cutoff distance of the GRID repulsion mode in multiples of the optimal node distance
+     */
+    public double getCutoffFactor() { return layout.getCutoffFactor(); }
+    /**
+     * Nodes that are further away from each other than cutoffFactor * optimal node distance
+     * do not repel each other in the GRID repulsion mode (default 3)
+     * @param FACTOR The cutoff distance in multiples of the optimal node distance
+     */
+    public void setCutoffFactor(final double FACTOR) { layout.setCutoffFactor(FACTOR); }
+
+    /**
+     * @return The layout engine that calculates the node positions in the background
+     */
+    public ForceLayout getLayout() { return layout; }
+
     public SimpleDoubleProperty distanceScalingFactorProperty() {
         return distanceScalingFactor;
     }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Read-only, int indexed view of the connections of the nodes in a NodeEdgeModel
+ * in compressed sparse row form: the neighbours of node i are stored in
+ * neighbours[offsets[i]] ... neighbours[offsets[i + 1] - 1]. The connections
+ * are treated as undirected and duplicates are removed.
+ */
+public class IndexedGraph {
+    private final GraphNode[] nodes;
+    private final int[]       offsets;
+    private final int[]       neighbours;
+
+
+    // ******************** Constructors **************************************
+    public IndexedGraph(final NodeEdgeModel MODEL) {
+        this(MODEL.getNodes());
+    }
+    public IndexedGraph(final List<GraphNode> NODES) {
+        final int N = NODES.size();
+        nodes = NODES.toArray(new GraphNode[0]);
+        Map<GraphNode, Integer> indexOfNode = new IdentityHashMap<>(N);
+        for (int i = 0 ; i < N ; i++) { indexOfNode.put(nodes[i], i); }
+
+        // Count the connections in both directions
+        int[] degree = new int[N];
+        for (int u = 0 ; u < N ; u++) {
+            for (GraphNode node : nodes[u].getConnectedNodes()) {
+                Integer v = indexOfNode.get(node);
+                if (null == v || v == u) { continue; }
+                degree[u]++;
+                degree[v]++;
+            }
+        }
+        int[] start = new int[N + 1];
+        for (int u = 0 ; u < N ; u++) { start[u + 1] = start[u] + degree[u]; }
+        int[] all  = new int[start[N]];
+        int[] fill = new int[N];
+        for (int u = 0 ; u < N ; u++) {
+            for (GraphNode node : nodes[u].getConnectedNodes()) {
+                Integer v = indexOfNode.get(node);
+                if (null == v || v == u) { continue; }
+                all[start[u] + fill[u]++] = v;
+                all[start[v] + fill[v]++] = u;
+            }
+        }
+
+        // Sort and remove duplicates per row
+        offsets = new int[N + 1];
+        int count = 0;
+        for (int u = 0 ; u < N ; u++) {
+            Arrays.sort(all, start[u], start[u + 1]);
+            offsets[u] = count;
+            for (int i = start[u] ; i < start[u + 1] ; i++) {
+                if (i > start[u] && all[i] == all[i - 1]) { continue; }
+                all[count++] = all[i];
+            }
+        }
+        offsets[N] = count;
+        neighbours = Arrays.copyOf(all, count);
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getNoOfNodes() { return nodes.length; }
+
+    public GraphNode getNode(final int INDEX) { return nodes[INDEX]; }
+
+    public int getDegree(final int INDEX) { return offsets[INDEX + 1] - offsets[INDEX]; }
+
+    /**
+     * @return the offsets of the neighbour rows, offsets[i + 1] - offsets[i] is the degree of node i
+     */
+    public int[] getOffsets() { return offsets; }
+
+    /**
+     * @return the neighbour indices of all nodes, row by row (see getOffsets())
+     */
+    public int[] getNeighbours() { return neighbours; }
+}
@@ -76,6 +76,12 @@ public class NodeEdgeModel {
 
 
     public NodeEdgeModel(List<GraphNode> nodes, List<GraphEdge> edges){
+        this(nodes, edges, new HashMap<>());
+    }
+    /**
+     * @param distinctValues already known distinct values per group key (e.g. from a GraphLoader)
+     */
+    NodeEdgeModel(List<GraphNode> nodes, List<GraphEdge> edges, Map<String, ArrayList<String>> distinctValues){
         this.nodes = new ArrayList<>(nodes);
         this.edges = new ArrayList<>(edges);
 
@@ -87,7 +93,7 @@ public class NodeEdgeModel {
 
 
 
-        distinctValuesPerGroupKey = new HashMap<>();
+        distinctValuesPerGroupKey = new HashMap<>(distinctValues);
         saveDistinctValuesForGroupKey(DEFAULT);
         colorSchemes = new HashMap<>();
         getOrCreateGroupColorScheme(DEFAULT);
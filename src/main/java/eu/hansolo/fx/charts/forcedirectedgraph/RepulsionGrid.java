@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+import java.util.Arrays;
+
+
+/**
+ * Uniform grid for the repulsive forces in a force directed layout where
+ * only points closer than a cutoff distance repel each other. Only the
+ * cells around a point have to be visited, the point indices are stored
+ * counting sorted by cell in primitive arrays that will be reused between
+ * the builds.
+ */
+public class RepulsionGrid {
+    private static final int    MAX_CELLS_PER_SIDE = 1024;
+    private              double minX;
+    private              double minY;
+    private              double cellSize;
+    private              int    cols;
+    private              int    rows;
+    private              int[]  cellStart;
+    private              int[]  cellOfPoint;
+    private              int[]  indices;
+    private              int[]  fill;
+
+
+    // ******************** Constructors **************************************
+    public RepulsionGrid() {
+        cellStart   = new int[2];
+        cellOfPoint = new int[0];
+        indices     = new int[0];
+        fill        = new int[1];
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Builds the grid for the first COUNT points of X_VALUES/Y_VALUES with cells of at least CUTOFF size
+     */
+    public void build(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT, final double CUTOFF) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0 ; i < COUNT ; i++) {
+            minX = Math.min(minX, X_VALUES[i]);
+            minY = Math.min(minY, Y_VALUES[i]);
+            maxX = Math.max(maxX, X_VALUES[i]);
+            maxY = Math.max(maxY, Y_VALUES[i]);
+        }
+        if (minX > maxX) { minX = maxX = minY = maxY = 0; }
+
+        // Cells are never smaller than the cutoff, so only the neighbouring cells have to be visited
+        double extent = Math.max(maxX - minX, maxY - minY);
+        this.minX     = minX;
+        this.minY     = minY;
+        this.cellSize = Math.max(Math.max(CUTOFF, extent / MAX_CELLS_PER_SIDE), 1e-9);
+        this.cols     = (int) Math.min(MAX_CELLS_PER_SIDE, Math.floor((maxX - minX) / cellSize) + 1);
+        this.rows     = (int) Math.min(MAX_CELLS_PER_SIDE, Math.floor((maxY - minY) / cellSize) + 1);
+
+        int noOfCells = cols * rows;
+        if (cellStart.length < noOfCells + 1) {
+            cellStart = new int[noOfCells + 1];
+            fill      = new int[noOfCells];
+        } else {
+            Arrays.fill(cellStart, 0, noOfCells + 1, 0);
+            Arrays.fill(fill, 0, noOfCells, 0);
+        }
+        if (cellOfPoint.length < COUNT) {
+            cellOfPoint = new int[COUNT];
+            indices     = new int[COUNT];
+        }
+
+        // Counting sort of the point indices by cell
+        for (int i = 0 ; i < COUNT ; i++) {
+            int cell = colOf(X_VALUES[i]) + rowOf(Y_VALUES[i]) * cols;
+            cellOfPoint[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0 ; c < noOfCells ; c++) { cellStart[c + 1] += cellStart[c]; }
+        for (int i = 0 ; i < COUNT ; i++) {
+            int cell = cellOfPoint[i];
+            indices[cellStart[cell] + fill[cell]++] = i;
+        }
+    }
+
+    /**
+     * Adds the repulsive displacement FACTOR / d^2 (pointing away from the other point) of all
+     * points that are closer than CUTOFF to DISP_X/DISP_Y for the points FROM (inclusive) to
+     * TO (exclusive). Once the grid is built, disjoint ranges of points can be processed in parallel.
+     */
+    public void applyRepulsion(final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO, final double CUTOFF, final double FACTOR,
+                               final double[] DISP_X, final double[] DISP_Y) {
+        final double CUTOFF_SQUARED = CUTOFF * CUTOFF;
+        for (int i = FROM ; i < TO ; i++) {
+            final double X      = X_VALUES[i];
+            final double Y      = Y_VALUES[i];
+            final int    COL    = colOf(X);
+            final int    ROW    = rowOf(Y);
+            double       dx     = 0;
+            double       dy     = 0;
+            for (int row = Math.max(0, ROW - 1) ; row <= Math.min(rows - 1, ROW + 1) ; row++) {
+                for (int col = Math.max(0, COL - 1) ; col <= Math.min(cols - 1, COL + 1) ; col++) {
+                    int cell = col + row * cols;
+                    for (int n = cellStart[cell] ; n < cellStart[cell + 1] ; n++) {
+                        int j = indices[n];
+                        if (j == i) { continue; }
+                        double deltaX   = X - X_VALUES[j];
+                        double deltaY   = Y - Y_VALUES[j];
+                        double distance = deltaX * deltaX + deltaY * deltaY;
+                        if (distance == 0 || distance > CUTOFF_SQUARED) { continue; }
+                        double length = Math.sqrt(distance);
+                        double force  = FACTOR / distance;
+                        dx += deltaX / length * force;
+                        dy += deltaY / length * force;
+                    }
+                }
+            }
+            DISP_X[i] += dx;
+            DISP_Y[i] += dy;
+        }
+    }
+
+    private int colOf(final double X) { return (int) Math.max(0, Math.min(cols - 1, Math.floor((X - minX) / cellSize))); }
+
+    private int rowOf(final double Y) { return (int) Math.max(0, Math.min(rows - 1, Math.floor((Y - minY) / cellSize))); }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.forcedirectedgraph;
+
+
+/**
+ * Defines how the repulsive forces between the nodes of a GraphPanel will be calculated.
+ * EXACT      : all pairs, O(n^2)
+ * BARNES_HUT : quadtree approximation controlled by theta, O(n log n)
+ * GRID       : only nodes within a cutoff distance repel each other, O(n) for evenly spread nodes
+ */
+public enum RepulsionMode {
+    EXACT, BARNES_HUT, GRID
+}
@@ -19,6 +19,7 @@ package eu.hansolo.fx.charts.heatmap;
 import eu.hansolo.fx.charts.tools.ColorMapping;
 import eu.hansolo.fx.charts.tools.Helper;
 import eu.hansolo.fx.charts.tools.Point;
+import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.application.Platform;
 import javafx.embed.swing.SwingFXUtils;
@@ -28,23 +29,37 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
+import javafx.util.Duration;
 
 import javax.imageio.ImageIO;
 import java.io.File;
 import java.io.IOException;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 
+/**
+ * By default the spots are accumulated in a float raster (one intensity per
+ * pixel, combined like the alpha values of images drawn on top of each other)
+ * and only the area that was touched by new spots will be colorized through a
+ * 256 entry argb lookup table of the color mapping. With setRasterMode(false)
+ * the spots are drawn on a canvas that will be read back with a snapshot.
+ * If a decay half-life is set, the intensities fade out over time and the
+ * spots are not kept, so memory and cost per tick don't depend on the
+ * number of spots that have been added.
+ */
 public class HeatMap extends ImageView {
     private static final SnapshotParameters SNAPSHOT_PARAMETERS = new SnapshotParameters();
     private              List<HeatMapSpot>   spotList;
@@ -59,6 +74,27 @@ public class HeatMap extends ImageView {
     private              GraphicsContext     ctx;
     private              WritableImage       monochromeImage;
     private              WritableImage       heatMap;
+    private              boolean             rasterMode;
+    private              int                 rasterWidth;
+    private              int                 rasterHeight;
+    private              float[]             intensities;
+    private              int[]               pixels;
+    private              IntBuffer           pixelBuffer;
+    private              int[]               lookup;
+    private              Map<Image, float[]> kernels;
+    private              int                 dirtyMinX;
+    private              int                 dirtyMinY;
+    private              int                 dirtyMaxX;
+    private              int                 dirtyMaxY;
+    private              Duration            decayHalfLife;
+    private              Duration            decayInterval;
+    private              AnimationTimer      decayTimer;
+    private              boolean             decayRunning;
+    private              long                lastDecay;
+    private              int                 activeMinX;
+    private              int                 activeMinY;
+    private              int                 activeMaxX;
+    private              int                 activeMaxY;
 
 
     // ******************** Constructors **************************************
@@ -88,6 +124,23 @@ public class HeatMap extends ImageView {
         monochrome          = new Canvas(WIDTH, HEIGHT);
         ctx                 = monochrome.getGraphicsContext2D();
         monochromeImage     = new WritableImage((int) WIDTH, (int) HEIGHT);
+        rasterMode          = true;
+        lookup              = createLookup();
+        kernels             = new WeakHashMap<>();
+        decayHalfLife       = Duration.ZERO;
+        decayInterval       = Duration.millis(100);
+        decayTimer          = new AnimationTimer() {
+            @Override public void handle(final long now) {
+                if (lastDecay < 0) { lastDecay = now; }
+                long elapsed = now - lastDecay;
+                if (elapsed < decayInterval.toMillis() * 1_000_000L) { return; }
+                lastDecay = now;
+                decay(Math.pow(0.5, elapsed / (decayHalfLife.toMillis() * 1_000_000.0)));
+                if (activeMinX >= activeMaxX) { stopDecay(); }
+            }
+        };
+        clearActive();
+        resizeRaster((int) WIDTH, (int) HEIGHT);
         setImage(heatMap);
         setMouseTransparent(true);
         setOpacity(HEAT_MAP_OPACITY);
@@ -114,8 +167,8 @@ public class HeatMap extends ImageView {
      */
     public void addSpots(final List<Point> SPOTS) {
         SPOTS.forEach(spot -> {
-            spotList.add(new HeatMapSpot(spot.getX(), spot.getY(), radius, opacityDistribution));
-            ctx.drawImage(spotImage, spot.getX() - radius, spot.getY() - radius);
+            if (!isDecaying()) { spotList.add(new HeatMapSpot(spot.getX(), spot.getY(), radius, opacityDistribution)); }
+            drawSpot(spotImage, spot.getX() - radius, spot.getY() - radius);
         });
         updateHeatMap();
     }
@@ -151,8 +204,8 @@ public class HeatMap extends ImageView {
      * @param OFFSET_Y
      */
     public void addSpot(final double X, final double Y, final Image EVENT_IMAGE, final double OFFSET_X, final double OFFSET_Y) {
-        spotList.add(new HeatMapSpot(X, Y, radius, opacityDistribution));
-        ctx.drawImage(EVENT_IMAGE, X - OFFSET_X, Y - OFFSET_Y);
+        if (!isDecaying()) { spotList.add(new HeatMapSpot(X, Y, radius, opacityDistribution)); }
+        drawSpot(EVENT_IMAGE, X - OFFSET_X, Y - OFFSET_Y);
         updateHeatMap();
     }
 
@@ -161,8 +214,14 @@ public class HeatMap extends ImageView {
      */
     public void clearHeatMap() {
         spotList.clear();
-        ctx.clearRect(0, 0, monochrome.getWidth(), monochrome.getHeight());
-        monochromeImage = new WritableImage(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+        if (rasterMode) {
+            Arrays.fill(intensities, 0f);
+            markDirty(0, 0, rasterWidth, rasterHeight);
+            clearActive();
+        } else {
+            ctx.clearRect(0, 0, monochrome.getWidth(), monochrome.getHeight());
+            monochromeImage = new WritableImage(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+        }
         updateHeatMap();
     }
 
@@ -182,6 +241,8 @@ public class HeatMap extends ImageView {
     public void setColorMapping(final ColorMapping COLOR_MAPPING) {
         colorMapping    = COLOR_MAPPING;
         mappingGradient = COLOR_MAPPING.getGradient();
+        lookup          = createLookup();
+        markDirty(0, 0, rasterWidth, rasterHeight);
         updateHeatMap();
     }
 
@@ -201,6 +262,8 @@ public class HeatMap extends ImageView {
      */
     public void setFadeColors(final boolean FADE_COLORS) {
         fadeColors = FADE_COLORS;
+        lookup     = createLookup();
+        markDirty(0, 0, rasterWidth, rasterHeight);
         updateHeatMap();
     }
 
@@ -242,6 +305,85 @@ public class HeatMap extends ImageView {
         spotImage           = createSpotImage(radius, opacityDistribution);
     }
 
+    /**
+     * Returns true if the spots are accumulated in a raster (default)
+     * instead of being drawn on a canvas
+     * @return true if the spots are accumulated in a raster
+     */
+    public boolean isRasterMode() { return rasterMode; }
+    /**
+     * In raster mode the spots are added to an intensity buffer and only
+     * the area of the new spots will be colorized on the next update.
+     * Otherwise the spots are drawn on a canvas and the whole heat map
+     * is recreated from a snapshot of the canvas on every update.
+     * Switching the mode redraws all spots with their radius and
+     * opacity distribution.
+     * @param RASTER_MODE
+     */
+    public void setRasterMode(final boolean RASTER_MODE) {
+        if (RASTER_MODE == rasterMode) { return; }
+        if (!RASTER_MODE) { setDecayHalfLife(Duration.ZERO); }
+        rasterMode = RASTER_MODE;
+        if (rasterMode) {
+            resizeRaster(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+        } else {
+            intensities = null;
+            pixels      = null;
+            pixelBuffer = null;
+            heatMap     = null;
+        }
+        redrawSpots();
+        updateHeatMap();
+    }
+
+    /**
+     * Returns the time after which the intensity of a spot has dropped
+     * to one half, Duration.ZERO (default) means that spots never fade out
+     * @return the half-life of the intensities
+     */
+    public Duration getDecayHalfLife() { return decayHalfLife; }
+    /**
+     * Lets the heat map fade out with the given half-life, which is handy
+     * for live data (e.g. clicks or geo events) where only the recent
+     * events are of interest. The intensities will be attenuated
+     * exponentially on every tick (see setDecayInterval()) and the spots
+     * will not be kept, which means that updateMonochromeMap() only
+     * affects spots added afterwards. Decay switches to raster mode,
+     * Duration.ZERO or null switches decay off.
+     * @param HALF_LIFE
+     */
+    public void setDecayHalfLife(final Duration HALF_LIFE) {
+        final boolean DECAY = null != HALF_LIFE && HALF_LIFE.greaterThan(Duration.ZERO);
+        if (DECAY) { setRasterMode(true); }
+        decayHalfLife = DECAY ? HALF_LIFE : Duration.ZERO;
+        if (DECAY) {
+            // Let everything that has been added before fade out too
+            spotList.clear();
+            activeMinX = 0;
+            activeMinY = 0;
+            activeMaxX = rasterWidth;
+            activeMaxY = rasterHeight;
+            startDecay();
+        } else {
+            stopDecay();
+            clearActive();
+        }
+    }
+
+    /**
+     * Returns the interval in which the intensities will be attenuated
+     * @return the interval in which the intensities will be attenuated
+     */
+    public Duration getDecayInterval() { return decayInterval; }
+    /**
+     * Defines how often the intensities will be attenuated and the heat
+     * map will be updated in decay mode. The default is 100 ms.
+     * @param INTERVAL
+     */
+    public void setDecayInterval(final Duration INTERVAL) {
+        decayInterval = null == INTERVAL || INTERVAL.lessThan(Duration.ZERO) ? Duration.ZERO : INTERVAL;
+    }
+
     /**
      * Because the heat map is based on images you have to create a new
      * writeable image each time you would like to change the size of
@@ -323,20 +465,214 @@ public class HeatMap extends ImageView {
      * @param OPACITY_GRADIENT
      */
     public void updateMonochromeMap(final OpacityDistribution OPACITY_GRADIENT) {
-        ctx.clearRect(0, 0, monochrome.getWidth(), monochrome.getHeight());
-        spotList.forEach(spot -> {
-            spot.setOpacityDistribution(OPACITY_GRADIENT);
-            ctx.drawImage(createSpotImage(spot.getRadius(), spot.getOpacityDistribution()), spot.getX() - spot.getRadius() * 0.5, spot.getY() - spot.getRadius() * 0.5);
-        });
+        spotList.forEach(spot -> spot.setOpacityDistribution(OPACITY_GRADIENT));
+        redrawSpots();
+        updateHeatMap();
+    }
+
+    /**
+     * Clears the monochrome map and draws all spots again
+     */
+    private void redrawSpots() {
+        // The intensities of a decaying heat map can't be recreated from spots
+        if (isDecaying()) { return; }
+        if (rasterMode) {
+            Arrays.fill(intensities, 0f);
+            markDirty(0, 0, rasterWidth, rasterHeight);
+        } else {
+            ctx.clearRect(0, 0, monochrome.getWidth(), monochrome.getHeight());
+        }
+        spotList.forEach(spot -> drawSpot(createSpotImage(spot.getRadius(), spot.getOpacityDistribution()), spot.getX() - spot.getRadius(), spot.getY() - spot.getRadius()));
+    }
+
+    private void drawSpot(final Image IMAGE, final double X, final double Y) {
+        if (rasterMode) {
+            accumulate(IMAGE, X, Y);
+        } else {
+            ctx.drawImage(IMAGE, X, Y);
+        }
+    }
+
+    /**
+     * Adds the alpha values of the given image at the given position to the
+     * intensity buffer in the same way as drawing the image on a transparent
+     * canvas would do (a = a + s * (1 - a))
+     */
+    private void accumulate(final Image IMAGE, final double X, final double Y) {
+        final int KERNEL_WIDTH = (int) IMAGE.getWidth();
+        if (KERNEL_WIDTH <= 0) { return; }
+        float[] kernel = kernels.get(IMAGE);
+        if (null == kernel) {
+            kernel = createKernel(IMAGE);
+            if (null == kernel) { return; }
+            kernels.put(IMAGE, kernel);
+        }
+        final int KERNEL_HEIGHT = kernel.length / KERNEL_WIDTH;
+        final int X0            = (int) Math.round(X);
+        final int Y0            = (int) Math.round(Y);
+        final int FROM_X        = Math.max(0, X0);
+        final int FROM_Y        = Math.max(0, Y0);
+        final int TO_X          = Math.min(rasterWidth, X0 + KERNEL_WIDTH);
+        final int TO_Y          = Math.min(rasterHeight, Y0 + KERNEL_HEIGHT);
+        if (FROM_X >= TO_X || FROM_Y >= TO_Y) { return; }
+        for (int y = FROM_Y ; y < TO_Y ; y++) {
+            int k = (y - Y0) * KERNEL_WIDTH + (FROM_X - X0);
+            int i = y * rasterWidth + FROM_X;
+            for (int x = FROM_X ; x < TO_X ; x++, i++, k++) {
+                float s = kernel[k];
+                if (s > 0) { intensities[i] += s * (1f - intensities[i]); }
+            }
+        }
+        markDirty(FROM_X, FROM_Y, TO_X, TO_Y);
+        if (isDecaying()) {
+            activeMinX = Math.min(activeMinX, FROM_X);
+            activeMinY = Math.min(activeMinY, FROM_Y);
+            activeMaxX = Math.max(activeMaxX, TO_X);
+            activeMaxY = Math.max(activeMaxY, TO_Y);
+            startDecay();
+        }
+    }
+
+    private boolean isDecaying() { return decayHalfLife.greaterThan(Duration.ZERO); }
+
+    private void startDecay() {
+        if (decayRunning || activeMinX >= activeMaxX) { return; }
+        decayRunning = true;
+        lastDecay    = -1;
+        decayTimer.start();
+    }
+
+    private void stopDecay() {
+        decayTimer.stop();
+        decayRunning = false;
+    }
+
+    /**
+     * Multiplies the intensities of the area that contains spots with the given
+     * factor. Once everything has faded below the smallest visible intensity the
+     * area will be cleared and the decay stops until the next spot will be added.
+     */
+    private void decay(final double FACTOR) {
+        if (activeMinX >= activeMaxX || activeMinY >= activeMaxY) { return; }
+        final float F   = (float) FACTOR;
+        float       max = 0;
+        for (int y = activeMinY ; y < activeMaxY ; y++) {
+            for (int i = y * rasterWidth + activeMinX, end = y * rasterWidth + activeMaxX ; i < end ; i++) {
+                float intensity = intensities[i] * F;
+                intensities[i]  = intensity;
+                if (intensity > max) { max = intensity; }
+            }
+        }
+        markDirty(activeMinX, activeMinY, activeMaxX, activeMaxY);
+        if (max < 0.5f / 255f) {
+            for (int y = activeMinY ; y < activeMaxY ; y++) { Arrays.fill(intensities, y * rasterWidth + activeMinX, y * rasterWidth + activeMaxX, 0f); }
+            clearActive();
+        }
         updateHeatMap();
     }
 
+    private void clearActive() {
+        activeMinX = Integer.MAX_VALUE;
+        activeMinY = Integer.MAX_VALUE;
+        activeMaxX = 0;
+        activeMaxY = 0;
+    }
+
+    /**
+     * Returns the alpha values of the given image or null if the image can't be read (yet)
+     */
+    private float[] createKernel(final Image IMAGE) {
+        PixelReader reader = IMAGE.getPixelReader();
+        if (null == reader || IMAGE.getProgress() < 1) { return null; }
+        int   width  = (int) IMAGE.getWidth();
+        int   height = (int) IMAGE.getHeight();
+        int[] argb   = new int[width * height];
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        float[] kernel = new float[argb.length];
+        for (int i = 0 ; i < argb.length ; i++) { kernel[i] = (argb[i] >>> 24) / 255f; }
+        return kernel;
+    }
+
+    private int[] createLookup() {
+        int[] lookup = colorMapping.getArgbLookup();
+        if (fadeColors) {
+            for (int i = 0 ; i < lookup.length ; i++) { lookup[i] = (i << 24) | (lookup[i] & 0x00FFFFFF); }
+        }
+        return lookup;
+    }
+
+    private void markDirty(final int FROM_X, final int FROM_Y, final int TO_X, final int TO_Y) {
+        dirtyMinX = Math.min(dirtyMinX, FROM_X);
+        dirtyMinY = Math.min(dirtyMinY, FROM_Y);
+        dirtyMaxX = Math.max(dirtyMaxX, TO_X);
+        dirtyMaxY = Math.max(dirtyMaxY, TO_Y);
+    }
+
+    private void clearDirty() {
+        dirtyMinX = Integer.MAX_VALUE;
+        dirtyMinY = Integer.MAX_VALUE;
+        dirtyMaxX = 0;
+        dirtyMaxY = 0;
+    }
+
+    /**
+     * Resizes the raster and keeps the intensities of the overlapping area
+     */
+    private void resizeRaster(final int WIDTH, final int HEIGHT) {
+        final int W              = Math.max(0, WIDTH);
+        final int H              = Math.max(0, HEIGHT);
+        float[]   newIntensities = new float[W * H];
+        if (null != intensities) {
+            int copyWidth = Math.min(W, rasterWidth);
+            for (int y = 0 ; y < Math.min(H, rasterHeight) ; y++) { System.arraycopy(intensities, y * rasterWidth, newIntensities, y * W, copyWidth); }
+        }
+        intensities  = newIntensities;
+        pixels       = new int[W * H];
+        pixelBuffer  = IntBuffer.wrap(pixels);
+        rasterWidth  = W;
+        rasterHeight = H;
+        activeMaxX   = Math.min(activeMaxX, W);
+        activeMaxY   = Math.min(activeMaxY, H);
+        clearDirty();
+        markDirty(0, 0, W, H);
+    }
+
+    /**
+     * Colorizes the dirty area of the intensity buffer and writes it to the heat map image
+     */
+    private void updateRaster() {
+        if (rasterWidth <= 0 || rasterHeight <= 0) { return; }
+        if (null == heatMap || (int) heatMap.getWidth() != rasterWidth || (int) heatMap.getHeight() != rasterHeight) {
+            heatMap = new WritableImage(rasterWidth, rasterHeight);
+            markDirty(0, 0, rasterWidth, rasterHeight);
+        }
+        final int FROM_X = Math.max(0, dirtyMinX);
+        final int FROM_Y = Math.max(0, dirtyMinY);
+        final int TO_X   = Math.min(rasterWidth, dirtyMaxX);
+        final int TO_Y   = Math.min(rasterHeight, dirtyMaxY);
+        clearDirty();
+        if (FROM_X < TO_X && FROM_Y < TO_Y) {
+            for (int y = FROM_Y ; y < TO_Y ; y++) {
+                for (int i = y * rasterWidth + FROM_X, end = y * rasterWidth + TO_X ; i < end ; i++) {
+                    pixels[i] = lookup[(int) (intensities[i] * 255f + 0.5f)];
+                }
+            }
+            pixelBuffer.position(FROM_Y * rasterWidth + FROM_X);
+            heatMap.getPixelWriter().setPixels(FROM_X, FROM_Y, TO_X - FROM_X, TO_Y - FROM_Y, PixelFormat.getIntArgbInstance(), pixelBuffer, rasterWidth);
+        }
+        if (getImage() != heatMap) { setImage(heatMap); }
+    }
+
     /**
      * Recreates the heatmap based on the current monochrome map.
      * Using this approach makes it easy to change the used color
      * mapping.
      */
     private void updateHeatMap() {
+        if (rasterMode) {
+            updateRaster();
+            return;
+        }
         monochrome.snapshot(SNAPSHOT_PARAMETERS, monochromeImage);
 
         int width  = monochromeImage.widthProperty().intValue();
@@ -367,7 +703,11 @@ public class HeatMap extends ImageView {
         monochrome.setHeight(height);
 
         if (width > 0 && height > 0) {
-            monochromeImage = new WritableImage(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+            if (rasterMode) {
+                resizeRaster(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+            } else {
+                monochromeImage = new WritableImage(monochrome.widthProperty().intValue(), monochrome.heightProperty().intValue());
+            }
             updateHeatMap();
         }
     }
@@ -25,6 +25,7 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Dimension2D;
+import javafx.util.Duration;
 
 import java.util.HashMap;
 
@@ -87,6 +88,16 @@ public class HeatMapBuilder<B extends HeatMapBuilder<B>> {
         return (B)this;
     }
 
+    public final B rasterMode(final boolean RASTER_MODE) {
+        properties.put("rasterMode", new SimpleBooleanProperty(RASTER_MODE));
+        return (B)this;
+    }
+
+    public final B decayHalfLife(final Duration HALF_LIFE) {
+        properties.put("decayHalfLife", new SimpleObjectProperty<>(HALF_LIFE));
+        return (B)this;
+    }
+
     public final HeatMap build() {
         double              width               = 400;
         double              height              = 400;
@@ -95,6 +106,8 @@ public class HeatMapBuilder<B extends HeatMapBuilder<B>> {
         boolean             fadeColors          = false;
         double              heatMapOpacity      = 0.5;
         OpacityDistribution opacityDistribution = OpacityDistribution.CUSTOM;
+        boolean             rasterMode          = true;
+        Duration            decayHalfLife       = Duration.ZERO;
 
         for (String key : properties.keySet()) {
             if ("prefSize".equals(key)) {
@@ -115,8 +128,15 @@ public class HeatMapBuilder<B extends HeatMapBuilder<B>> {
                 heatMapOpacity = ((DoubleProperty) properties.get(key)).get();
             } else if ("opacityDistribution".equals(key)) {
                 opacityDistribution = ((ObjectProperty<OpacityDistribution>) properties.get(key)).get();
+            } else if ("rasterMode".equals(key)) {
+                rasterMode = ((BooleanProperty) properties.get(key)).get();
+            } else if ("decayHalfLife".equals(key)) {
+                decayHalfLife = ((ObjectProperty<Duration>) properties.get(key)).get();
             }
         }
-        return new HeatMap(width,  height, colorMapping, spotRadius, fadeColors, heatMapOpacity, opacityDistribution);
+        HeatMap heatMap = new HeatMap(width,  height, colorMapping, spotRadius, fadeColors, heatMapOpacity, opacityDistribution);
+        heatMap.setRasterMode(rasterMode);
+        heatMap.setDecayHalfLife(decayHalfLife);
+        return heatMap;
     }
 }
\ No newline at end of file
@@ -536,11 +536,23 @@ public class ParetoPanel extends Region {
         ctx.setLineWidth(3);
         ctx.setStroke(getPercentageLineColor());
 
-        if(isSmoothPercentageCurve()) {
-            Point[] newPoints =  Helper.subdividePoints(points,10);
-            for (int j = 1; j < newPoints.length; j++) {
-                ctx.strokeLine(newPoints[j-1].getX(),newPoints[j-1].getY(),newPoints[j].getX(),newPoints[j].getY());
+        if(isSmoothPercentageCurve() && points.length > 0) {
+            double[] pointsX = new double[points.length];
+            double[] pointsY = new double[points.length];
+            for (int j = 0; j < points.length; j++) {
+                pointsX[j] = points[j].getX();
+                pointsY[j] = points[j].getY();
             }
+            int      noOfSmoothedPoints = Helper.getNoOfSubdividedPoints(points.length, 10);
+            double[] smoothedX          = new double[noOfSmoothedPoints];
+            double[] smoothedY          = new double[noOfSmoothedPoints];
+            Helper.subdividePoints(pointsX, pointsY, points.length, 10, smoothedX, smoothedY);
+            ctx.beginPath();
+            ctx.moveTo(smoothedX[0], smoothedY[0]);
+            for (int j = 1; j < noOfSmoothedPoints; j++) {
+                ctx.lineTo(smoothedX[j], smoothedY[j]);
+            }
+            ctx.stroke();
         }else {
             for (int j = 1; j < points.length; j++) {
                 ctx.strokeLine(points[j-1].getX(),points[j-1].getY(),points[j].getX(),points[j].getY());
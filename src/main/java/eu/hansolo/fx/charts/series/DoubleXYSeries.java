@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.series;
+
+import eu.hansolo.fx.charts.ChartType;
+import eu.hansolo.fx.charts.Symbol;
+import eu.hansolo.fx.charts.data.XYItem;
+import eu.hansolo.fx.charts.tools.BackpressurePolicy;
+import eu.hansolo.fx.charts.tools.DoubleIngestionQueue;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.List;
+
+
+/**
+ * Columnar xy series that keeps its values in primitive double[] ring
+ * buffers instead of one XYChartItem per point. The buffers either grow
+ * on demand or, if created with a fixed capacity, overwrite the oldest
+ * values when full. Empty items (gaps) are stored as Double.NaN y values.
+ * getItems() of this series is always empty, the XYPane reads the values
+ * directly via getX(i) and getY(i).
+ */
+public class DoubleXYSeries<T extends XYItem> extends XYSeries<T> {
+    private static final int                   DEFAULT_CAPACITY = 1024;
+    private              double[]              xValues;
+    private              double[]              yValues;
+    private              byte[]                styleIndices;
+    private              Color[]               stylePalette;
+    private              int                   capacity;
+    private              boolean               fixedCapacity;
+    private              int                   start;
+    private              int                   size;
+    private              boolean               sorted;
+    private volatile     DoubleIngestionQueue  pendingValues;
+
+
+    // ******************** Constructors **************************************
+    public DoubleXYSeries() {
+        this(DEFAULT_CAPACITY, false, ChartType.LINE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public DoubleXYSeries(final ChartType TYPE) {
+        this(DEFAULT_CAPACITY, false, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public DoubleXYSeries(final int CAPACITY, final boolean FIXED_CAPACITY, final ChartType TYPE) {
+        this(CAPACITY, FIXED_CAPACITY, TYPE, "", Color.TRANSPARENT, Color.BLACK, Symbol.CIRCLE, false);
+    }
+    public DoubleXYSeries(final int CAPACITY, final boolean FIXED_CAPACITY, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE) {
+        this(CAPACITY, FIXED_CAPACITY, TYPE, NAME, FILL, STROKE, Symbol.CIRCLE, false);
+    }
+    public DoubleXYSeries(final int CAPACITY, final boolean FIXED_CAPACITY, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
+        super(null, TYPE, NAME, FILL, STROKE, SYMBOL, SYMBOLS_VISIBLE);
+        if (CAPACITY < 1) { throw new IllegalArgumentException("Capacity must be > 0"); }
+        capacity      = CAPACITY;
+        fixedCapacity = FIXED_CAPACITY;
+        xValues       = new double[CAPACITY];
+        yValues       = new double[CAPACITY];
+        start         = 0;
+        size          = 0;
+        sorted        = true;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int size() { return size; }
+
+    public boolean isEmpty() { return 0 == size; }
+
+    @Override public int getNoOfItems() { return size; }
+
+    public int getCapacity() { return capacity; }
+
+    public boolean isFixedCapacity() { return fixedCapacity; }
+
+    public double getX(final int INDEX) { return xValues[physicalIndex(INDEX)]; }
+
+    public double getY(final int INDEX) { return yValues[physicalIndex(INDEX)]; }
+
+    public boolean isEmptyItem(final int INDEX) { return Double.isNaN(yValues[physicalIndex(INDEX)]); }
+
+    public void add(final double X, final double Y) {
+        addValue(X, Y, (byte) 0);
+        fireSeriesEvent(UPDATE_EVENT);
+    }
+    public void add(final double X, final double Y, final int STYLE_INDEX) {
+        if (null == styleIndices) { styleIndices = new byte[capacity]; }
+        addValue(X, Y, (byte) STYLE_INDEX);
+        fireSeriesEvent(UPDATE_EVENT);
+    }
+    public void addAll(final double[] X_VALUES, final double[] Y_VALUES) {
+        if (X_VALUES.length != Y_VALUES.length) { throw new IllegalArgumentException("x and y arrays must have the same length"); }
+        if (X_VALUES.length == 0) { return; }
+        for (int i = 0 ; i < X_VALUES.length ; i++) { addValue(X_VALUES[i], Y_VALUES[i], (byte) 0); }
+        fireSeriesEvent(UPDATE_EVENT);
+    }
+
+    /**
+     * Appends the given value, removes the values that fell out of the streaming
+     * window in O(1) and fires only one event. Has to be called on the FX application thread.
+     */
+    public void append(final double X, final double Y) {
+        beginUpdate();
+        try {
+            addValue(X, Y, (byte) 0);
+            requestEviction();
+            fireSeriesEvent(UPDATE_EVENT);
+        } finally {
+            endUpdate();
+        }
+    }
+    @Override public void append(final List<T> ITEMS) {
+        beginUpdate();
+        try {
+            for (T item : ITEMS) { addValue(item.getX(), item.isEmptyItem() ? Double.NaN : item.getY(), (byte) 0); }
+            requestEviction();
+            fireSeriesEvent(UPDATE_EVENT);
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Queues the given value, can be called from any thread. The queued values
+     * will be appended on the next call of drainPending().
+     * @return false if the value was dropped
+     */
+    public boolean offer(final double X, final double Y) { return getValueQueue().offer(X, Y); }
+    @Override public boolean offer(final T ITEM) { return offer(ITEM.getX(), ITEM.isEmptyItem() ? Double.NaN : ITEM.getY()); }
+
+    @Override public int drainPending() {
+        DoubleIngestionQueue queue = pendingValues;
+        if (null == queue) { return 0; }
+        int count = queue.drain((x, y) -> addValue(x, y, (byte) 0));
+        if (count > 0) {
+            evict();
+            fireSeriesEvent(UPDATE_EVENT);
+        }
+        return count;
+    }
+
+    @Override public void setBackpressurePolicy(final BackpressurePolicy POLICY) {
+        super.setBackpressurePolicy(POLICY);
+        DoubleIngestionQueue queue = pendingValues;
+        if (null != queue) { queue.setPolicy(POLICY); }
+    }
+
+    @Override public void setIngestionCapacity(final int CAPACITY) {
+        super.setIngestionCapacity(CAPACITY);
+        DoubleIngestionQueue oldQueue = pendingValues;
+        if (null == oldQueue) { return; }
+        DoubleIngestionQueue queue = new DoubleIngestionQueue(getIngestionCapacity(), getBackpressurePolicy());
+        oldQueue.drain(queue::offer);
+        pendingValues = queue;
+    }
+
+    @Override public int getQueueDepth() {
+        DoubleIngestionQueue queue = pendingValues;
+        return null == queue ? 0 : queue.size();
+    }
+
+    @Override public long getNoOfDroppedItems() {
+        DoubleIngestionQueue queue = pendingValues;
+        return null == queue ? 0 : queue.getNoOfDroppedItems();
+    }
+
+    /**
+     * Returns the queue of x/y pairs, it will be created on the first offer
+     */
+    private DoubleIngestionQueue getValueQueue() {
+        DoubleIngestionQueue queue = pendingValues;
+        if (null == queue) {
+            synchronized (this) {
+                queue = pendingValues;
+                if (null == queue) {
+                    queue         = new DoubleIngestionQueue(getIngestionCapacity(), getBackpressurePolicy());
+                    pendingValues = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    @Override public double getLastX() { return 0 == size ? Double.NaN : getX(size - 1); }
+
+    /**
+     * Adds a gap at the given x position (the same as an XYChartItem with isEmpty == true)
+     */
+    public void addEmpty(final double X) { add(X, Double.NaN); }
+
+    public void set(final int INDEX, final double X, final double Y) {
+        int index = physicalIndex(INDEX);
+        xValues[index] = X;
+        yValues[index] = Y;
+        sorted         = false;
+        fireSeriesEvent(UPDATE_EVENT);
+    }
+
+    /**
+     * Removes the given number of values from the start of the buffer in O(1)
+     */
+    public void removeFirst(final int COUNT) {
+        if (removeFirstValues(COUNT)) { fireSeriesEvent(UPDATE_EVENT); }
+    }
+
+    public void clear() {
+        start  = 0;
+        size   = 0;
+        sorted = true;
+        fireSeriesEvent(UPDATE_EVENT);
+    }
+
+    public int getStyleIndex(final int INDEX) { return null == styleIndices ? 0 : (styleIndices[physicalIndex(INDEX)] & 0xFF); }
+
+    public Color[] getStylePalette() { return stylePalette; }
+    /**
+     * The per point style index refers to the given palette, the color will be used as symbol fill
+     */
+    public void setStylePalette(final Color... COLORS) {
+        stylePalette = COLORS;
+        refresh();
+    }
+
+    /**
+     * Returns true if the values are sorted by x in ascending order. Appending
+     * values keeps track of the order so that only a modification via set()
+     * or an out of order value leads to checking all values.
+     */
+    public boolean checkSortedByX() {
+        if (sorted) { return true; }
+        for (int i = 1 ; i < size ; i++) {
+            if (getX(i) < getX(i - 1)) { return false; }
+        }
+        sorted = true;
+        return true;
+    }
+
+    /**
+     * Returns the index of the first value with x >= X, the values must be sorted by x
+     */
+    public int lowerIndexOfX(final double X) {
+        int low  = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getX(mid) < X) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first value with x > X, the values must be sorted by x
+     */
+    public int upperIndexOfX(final double X) {
+        int low  = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getX(mid) <= X) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
+    /**
+     * Copies the values in their logical order into the given arrays and returns the number of copied values
+     */
+    public int copyTo(final double[] X_VALUES, final double[] Y_VALUES) {
+        int length = Math.min(size, Math.min(X_VALUES.length, Y_VALUES.length));
+        int first  = Math.min(length, capacity - start);
+        System.arraycopy(xValues, start, X_VALUES, 0, first);
+        System.arraycopy(yValues, start, Y_VALUES, 0, first);
+        if (length > first) {
+            System.arraycopy(xValues, 0, X_VALUES, first, length - first);
+            System.arraycopy(yValues, 0, Y_VALUES, first, length - first);
+        }
+        return length;
+    }
+
+    @Override public double getMinX() {
+        double min = Double.MAX_VALUE;
+        for (int i = 0 ; i < size ; i++) { min = Math.min(min, getX(i)); }
+        return min;
+    }
+    @Override public double getMaxX() {
+        double max = -Double.MAX_VALUE;
+        for (int i = 0 ; i < size ; i++) { max = Math.max(max, getX(i)); }
+        return max;
+    }
+
+    @Override public double getMinY() {
+        double min = Double.MAX_VALUE;
+        for (int i = 0 ; i < size ; i++) {
+            double y = getY(i);
+            if (!Double.isNaN(y)) { min = Math.min(min, y); }
+        }
+        return min;
+    }
+    @Override public double getMaxY() {
+        double max = -Double.MAX_VALUE;
+        for (int i = 0 ; i < size ; i++) {
+            double y = getY(i);
+            if (!Double.isNaN(y)) { max = Math.max(max, y); }
+        }
+        return max;
+    }
+
+    @Override public double getSumOfXValues() {
+        double sum = 0;
+        for (int i = 0 ; i < size ; i++) { sum += getX(i); }
+        return sum;
+    }
+    @Override public double getSumOfYValues() {
+        double sum = 0;
+        for (int i = 0 ; i < size ; i++) {
+            double y = getY(i);
+            if (!Double.isNaN(y)) { sum += y; }
+        }
+        return sum;
+    }
+
+    @Override protected void evict() {
+        int    windowSize   = getWindowSize();
+        double windowRangeX = getWindowRangeX();
+        int    count        = windowSize > 0 && size > windowSize ? size - windowSize : 0;
+        if (windowRangeX > 0 && size > 0) {
+            double minX = getX(size - 1) - windowRangeX;
+            while (count < size && getX(count) < minX) { count++; }
+        }
+        removeFirstValues(count);
+    }
+
+    private boolean removeFirstValues(final int COUNT) {
+        int count = Math.min(COUNT, size);
+        if (count <= 0) { return false; }
+        start = (start + count) % capacity;
+        size -= count;
+        if (0 == size) { start = 0; }
+        return true;
+    }
+
+    private int physicalIndex(final int INDEX) {
+        if (INDEX < 0 || INDEX >= size) { throw new IndexOutOfBoundsException("Index: " + INDEX + ", Size: " + size); }
+        int index = start + INDEX;
+        return index >= capacity ? index - capacity : index;
+    }
+
+    private void addValue(final double X, final double Y, final byte STYLE_INDEX) {
+        if (size == capacity) {
+            if (fixedCapacity) {
+                // Overwrite the oldest value
+                start = start + 1 == capacity ? 0 : start + 1;
+                size--;
+            } else {
+                grow();
+            }
+        }
+        if (sorted && size > 0 && X < getX(size - 1)) { sorted = false; }
+        int index = start + size;
+        if (index >= capacity) { index -= capacity; }
+        xValues[index] = X;
+        yValues[index] = Y;
+        if (null != styleIndices) { styleIndices[index] = STYLE_INDEX; }
+        size++;
+    }
+
+    private void grow() {
+        int      newCapacity = capacity + (capacity >> 1) + 1;
+        double[] newXValues  = new double[newCapacity];
+        double[] newYValues  = new double[newCapacity];
+        copyTo(newXValues, newYValues);
+        if (null != styleIndices) {
+            byte[] newStyleIndices = new byte[newCapacity];
+            int    first           = Math.min(size, capacity - start);
+            System.arraycopy(styleIndices, start, newStyleIndices, 0, first);
+            if (size > first) { System.arraycopy(styleIndices, 0, newStyleIndices, first, size - first); }
+            styleIndices = newStyleIndices;
+        }
+        xValues  = newXValues;
+        yValues  = newYValues;
+        capacity = newCapacity;
+        start    = 0;
+    }
+}
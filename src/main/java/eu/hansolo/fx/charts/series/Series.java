@@ -26,6 +26,7 @@ import eu.hansolo.fx.charts.event.ItemEventListener;
 import eu.hansolo.fx.charts.event.SeriesEvent;
 import eu.hansolo.fx.charts.event.SeriesEventListener;
 import eu.hansolo.fx.charts.tools.Helper;
+import eu.hansolo.fx.charts.tools.IngestionBuffer;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -46,6 +47,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 
 /**
@@ -85,6 +87,12 @@ public abstract class Series<T extends Item> {
     private         CopyOnWriteArrayList<SeriesEventListener> listeners;
     private         ListChangeListener<T>                     itemListener;
     private         ItemEventListener                         itemEventListener;
+    private         int                                       updateDepth;
+    private         boolean                                   changedDuringUpdate;
+    private         int                                       noOfAddedItems;
+    private         int                                       noOfRemovedItems;
+    private         int                                       noOfUpdatedItems;
+    private volatile IngestionBuffer<Consumer<Series<T>>>     updateBuffer;
 
 
     // ******************** Constructors **************************************
@@ -131,8 +139,27 @@ public abstract class Series<T extends Item> {
         _withWrapping      = false;
         chartType          = TYPE;
         items              = FXCollections.observableArrayList();
-        itemListener       = change -> fireSeriesEvent(UPDATE_EVENT);
-        itemEventListener  = e -> fireSeriesEvent(UPDATE_EVENT);
+        itemListener       = change -> {
+            if (isUpdating()) {
+                while (change.next()) {
+                    if (change.wasPermutated() || change.wasUpdated()) { noOfUpdatedItems += change.getTo() - change.getFrom(); }
+                    if (change.wasAdded())   { noOfAddedItems   += change.getAddedSize(); }
+                    if (change.wasRemoved()) { noOfRemovedItems += change.getRemovedSize(); }
+                }
+                changedDuringUpdate = true;
+            } else {
+                fireSeriesEvent(UPDATE_EVENT);
+            }
+        };
+        itemEventListener  = e -> {
+            if (isUpdating()) {
+                noOfUpdatedItems++;
+                changedDuringUpdate = true;
+            } else {
+                fireSeriesEvent(UPDATE_EVENT);
+            }
+        };
+        updateDepth        = 0;
         listeners          = new CopyOnWriteArrayList<>();
 
         if (null != ITEMS) { items.setAll(ITEMS); }
@@ -457,6 +484,89 @@ public abstract class Series<T extends Item> {
 
     public void refresh() { fireSeriesEvent(UPDATE_EVENT); }
 
+    /**
+     * Starts a bulk update. Until the matching call to endUpdate() no
+     * series events will be fired, calls can be nested.
+     */
+    public void beginUpdate() {
+        if (0 == updateDepth) {
+            changedDuringUpdate = false;
+            noOfAddedItems      = 0;
+            noOfRemovedItems    = 0;
+            noOfUpdatedItems    = 0;
+        }
+        updateDepth++;
+    }
+
+    /**
+     * Ends a bulk update and fires exactly one SeriesEvent that contains the
+     * number of added, removed and updated items if something has changed.
+     */
+    public void endUpdate() {
+        if (0 == updateDepth) { throw new IllegalStateException("endUpdate() called without beginUpdate()"); }
+        try {
+            if (1 == updateDepth) { onEndUpdate(); }
+        } finally {
+            updateDepth--;
+        }
+        if (0 == updateDepth && changedDuringUpdate) {
+            changedDuringUpdate = false;
+            fireSeriesEvent(new SeriesEvent<>(Series.this, EventType.UPDATE, noOfAddedItems, noOfRemovedItems, noOfUpdatedItems));
+        }
+    }
+
+    public boolean isUpdating() { return updateDepth > 0; }
+
+    /**
+     * Called when the outermost bulk update ends, before the event will be fired.
+     * Changes made in here will be part of that event.
+     */
+    protected void onEndUpdate() {}
+
+    /**
+     * Runs the given action as a bulk update e.g.
+     * series.batch(s -> { s.getItems().add(item); s.getItems().remove(0); });
+     */
+    public void batch(final Consumer<Series<T>> ACTION) {
+        beginUpdate();
+        try {
+            ACTION.accept(this);
+        } finally {
+            endUpdate();
+        }
+    }
+
+
+    /**
+     * Queues the given update of this series or its items, can be called from any
+     * thread. All queued updates will be applied once per pulse on the FX application
+     * thread as one bulk update, e.g.
+     * series.offerUpdate(s -> s.getItems().get(0).setValue(42));
+     * @return false if the update was dropped
+     */
+    public boolean offerUpdate(final Consumer<Series<T>> UPDATE) { return getUpdateBuffer().offer(UPDATE); }
+
+    /**
+     * Returns the buffer that holds the updates offered with offerUpdate(), it will be
+     * created on the first call. The buffer exposes the queue depth, the number of
+     * dropped updates and the backpressure policy (default DROP_OLDEST).
+     */
+    public IngestionBuffer<Consumer<Series<T>>> getUpdateBuffer() {
+        IngestionBuffer<Consumer<Series<T>>> buffer = updateBuffer;
+        if (null == buffer) {
+            synchronized (this) {
+                buffer = updateBuffer;
+                if (null == buffer) {
+                    buffer = new IngestionBuffer<>(IngestionBuffer.DEFAULT_CAPACITY, UPDATE -> UPDATE.accept(Series.this));
+                    buffer.setOnDrainStarted(this::beginUpdate);
+                    buffer.setOnDrained(this::endUpdate);
+                    updateBuffer = buffer;
+                }
+            }
+        }
+        return buffer;
+    }
+
 
     // ******************** Event handling ************************************
     public void setOnSeriesEvent(final SeriesEventListener LISTENER) { addSeriesEventListener(LISTENER); }
@@ -464,6 +574,10 @@ public abstract class Series<T extends Item> {
     public void removeSeriesEventListener(final SeriesEventListener LISTENER) { if (listeners.contains(LISTENER)) listeners.remove(LISTENER); }
 
     public void fireSeriesEvent(final SeriesEvent EVENT) {
+        if (isUpdating()) {
+            changedDuringUpdate = true;
+            return;
+        }
         for (SeriesEventListener listener : listeners) { listener.onModelEvent(EVENT); }
     }
 }
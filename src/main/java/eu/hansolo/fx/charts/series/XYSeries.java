@@ -17,12 +17,16 @@
 package eu.hansolo.fx.charts.series;
 
 import eu.hansolo.fx.charts.ChartType;
+import eu.hansolo.fx.charts.Decimation;
 import eu.hansolo.fx.charts.Symbol;
 import eu.hansolo.fx.charts.data.XYItem;
+import eu.hansolo.fx.charts.tools.BackpressurePolicy;
+import eu.hansolo.fx.charts.tools.IngestionQueue;
 import javafx.collections.ObservableList;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -30,7 +34,16 @@ import java.util.List;
 /**
  * Created by hansolo on 16.07.17.
  */
-public class XYSeries<T extends XYItem> extends Series {
+public class XYSeries<T extends XYItem> extends Series<T> {
+    protected static final int                DEFAULT_INGESTION_CAPACITY = 16384;
+    private                Decimation         decimation;
+    private                boolean            sortedByX;
+    private                int                windowSize;
+    private                double             windowRangeX;
+    private                int                ingestionCapacity;
+    private volatile       BackpressurePolicy backpressurePolicy;
+    private volatile       IngestionQueue<T>  pendingItems;
+    private                boolean            evictionPending;
 
     // ******************** Constructors **************************************
     public XYSeries() {
@@ -57,12 +70,205 @@ public class XYSeries<T extends XYItem> extends Series {
     public XYSeries(final List<T> ITEMS, final ChartType TYPE, final String NAME, final Paint FILL, final Paint STROKE, final Symbol SYMBOL, final boolean SYMBOLS_VISIBLE) {
         super(ITEMS, TYPE, NAME, FILL, STROKE, SYMBOL);
         setSymbolsVisible(SYMBOLS_VISIBLE);
+        ingestionCapacity  = DEFAULT_INGESTION_CAPACITY;
+        backpressurePolicy = BackpressurePolicy.DROP_OLDEST;
     }
 
 
     // ******************** Methods *******************************************
     @Override public ObservableList<T> getItems() { return items; }
 
+    /**
+     * Returns the decimation for this series, if null the decimation
+     * defined in the XYPane for the chart type of this series will be used.
+     */
+    public Decimation getDecimation() { return decimation; }
+    public void setDecimation(final Decimation DECIMATION) {
+        decimation = DECIMATION;
+        refresh();
+    }
+
+    /**
+     * If true the items are known to be sorted by x in ascending order and the
+     * XYPane can skip checking it before culling the items outside of the
+     * visible range.
+     */
+    public boolean isSortedByX() { return sortedByX; }
+    public void setSortedByX(final boolean SORTED) {
+        sortedByX = SORTED;
+        refresh();
+    }
+
+    /**
+     * Streaming window that limits the number of items, if more items are
+     * appended the oldest items will be removed. 0 means no limit.
+     */
+    public int getWindowSize() { return windowSize; }
+    public void setWindowSize(final int SIZE) {
+        if (SIZE < 0) { throw new IllegalArgumentException("Window size cannot be negative"); }
+        windowSize = SIZE;
+        batch(series -> {
+            evict();
+            refresh();
+        });
+    }
+
+    /**
+     * Streaming window that limits the x range of the items (e.g. the last 60
+     * seconds for a time series), items with an x value smaller than the x
+     * value of the newest item minus the range will be removed. 0 means no limit.
+     */
+    public double getWindowRangeX() { return windowRangeX; }
+    public void setWindowRangeX(final double RANGE) {
+        if (RANGE < 0) { throw new IllegalArgumentException("Window range cannot be negative"); }
+        windowRangeX = RANGE;
+        batch(series -> {
+            evict();
+            refresh();
+        });
+    }
+
+    public boolean isStreaming() { return windowSize > 0 || windowRangeX > 0; }
+
+    /**
+     * Appends the given items, removes the items that fell out of the streaming
+     * window and fires only one event. Has to be called on the FX application thread.
+     * If called within a bulk update the items will be removed once when the
+     * update ends.
+     */
+    @SafeVarargs public final void append(final T... ITEMS) {
+        List<T> items = new ArrayList<>(ITEMS.length);
+        for (T item : ITEMS) { items.add(item); }
+        append(items);
+    }
+    public void append(final List<T> ITEMS) {
+        beginUpdate();
+        try {
+            getItems().addAll(ITEMS);
+            requestEviction();
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Queues the given item, can be called from any thread. The queued items
+     * will be appended on the next call of drainPending() which will be done
+     * on every pulse by an XYChart in streaming mode. If the queue is full
+     * the backpressure policy decides what happens.
+     * @return false if the item was dropped
+     */
+    public boolean offer(final T ITEM) { return getIngestionQueue().offer(ITEM); }
+
+    public boolean hasPendingItems() { return getQueueDepth() > 0; }
+
+    /**
+     * Appends all queued items at once, has to be called on the FX application thread.
+     * @return the number of appended items
+     */
+    public int drainPending() {
+        IngestionQueue<T> queue = pendingItems;
+        if (null == queue || queue.isEmpty()) { return 0; }
+        List<T> drained = new ArrayList<>(queue.size());
+        queue.drain(drained::add);
+        append(drained);
+        return drained.size();
+    }
+
+    /**
+     * Defines what happens if items are offered while the ingestion queue is full,
+     * DROP_OLDEST (default), DROP_NEWEST or BLOCK the producer thread.
+     */
+    public BackpressurePolicy getBackpressurePolicy() { return backpressurePolicy; }
+    public void setBackpressurePolicy(final BackpressurePolicy POLICY) {
+        if (null == POLICY) { throw new IllegalArgumentException("Policy cannot be null"); }
+        backpressurePolicy = POLICY;
+        IngestionQueue<T> queue = pendingItems;
+        if (null != queue) { queue.setPolicy(POLICY); }
+    }
+
+    public int getIngestionCapacity() { return ingestionCapacity; }
+    /**
+     * Replaces the ingestion queue with a queue of the given capacity (rounded up
+     * to the next power of two), should be called before producers start to offer items.
+     */
+    public void setIngestionCapacity(final int CAPACITY) {
+        ingestionCapacity = IngestionQueue.capacityFor(CAPACITY);
+        IngestionQueue<T> oldQueue = pendingItems;
+        if (null == oldQueue) { return; }
+        IngestionQueue<T> queue = new IngestionQueue<>(ingestionCapacity, backpressurePolicy);
+        oldQueue.drain(queue::offer);
+        pendingItems = queue;
+    }
+
+    /**
+     * Returns the number of items that have been offered but not yet appended
+     */
+    public int getQueueDepth() {
+        IngestionQueue<T> queue = pendingItems;
+        return null == queue ? 0 : queue.size();
+    }
+
+    /**
+     * Returns the number of items that have been dropped because the ingestion queue was full
+     */
+    public long getNoOfDroppedItems() {
+        IngestionQueue<T> queue = pendingItems;
+        return null == queue ? 0 : queue.getNoOfDroppedItems();
+    }
+
+    /**
+     * Returns the ingestion queue, it will be created on the first call
+     * so that series that are never streamed don't allocate it.
+     */
+    protected IngestionQueue<T> getIngestionQueue() {
+        IngestionQueue<T> queue = pendingItems;
+        if (null == queue) {
+            synchronized (this) {
+                queue = pendingItems;
+                if (null == queue) {
+                    queue        = new IngestionQueue<>(ingestionCapacity, backpressurePolicy);
+                    pendingItems = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * Returns the x value of the newest item or Double.NaN if the series is empty
+     */
+    public double getLastX() {
+        List<T> items = getItems();
+        return items.isEmpty() ? Double.NaN : items.get(items.size() - 1).getX();
+    }
+
+    /**
+     * Marks the streaming window to be applied when the current bulk update ends,
+     * so that all appends of one batch lead to only one eviction.
+     */
+    protected void requestEviction() { evictionPending = true; }
+
+    @Override protected void onEndUpdate() {
+        if (!evictionPending) { return; }
+        evictionPending = false;
+        evict();
+    }
+
+    /**
+     * Removes the items that are outside of the streaming window with one list operation
+     */
+    protected void evict() {
+        ObservableList<T> items     = getItems();
+        int               noOfItems = items.size();
+        int               count     = windowSize > 0 && noOfItems > windowSize ? noOfItems - windowSize : 0;
+        if (windowRangeX > 0 && noOfItems > 0) {
+            double minX = items.get(noOfItems - 1).getX() - windowRangeX;
+            while (count < noOfItems && items.get(count).getX() < minX) { count++; }
+        }
+        if (count > 0) { items.remove(0, count); }
+    }
+
     public double getMinX() { return getItems().stream().min(Comparator.comparingDouble(T::getX)).get().getX(); }
     public double getMaxX() { return getItems().stream().max(Comparator.comparingDouble(T::getX)).get().getX(); }
 
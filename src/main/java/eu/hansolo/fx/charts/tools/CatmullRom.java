@@ -36,6 +36,35 @@ public class CatmullRom<T extends Point> {
     // ******************** Methods *******************************************
     public T q(final double T) { return (T) new Point(splineXValues.q(T), splineYValues.q(T)); }
 
+    /**
+     * Writes the subdivided points of the segment P1 -> P2 to OUT_X/OUT_Y starting at OFFSET
+     * without creating any objects. The end point (P2) will only be written if INCLUDE_END
+     * is true, because it usually is the start point of the next segment.
+     * @return the number of points written (SUB_DIVISIONS or SUB_DIVISIONS + 1)
+     */
+    public static int subdivide(final double X0, final double Y0, final double X1, final double Y1,
+                                final double X2, final double Y2, final double X3, final double Y3,
+                                final int SUB_DIVISIONS, final boolean INCLUDE_END,
+                                final double[] OUT_X, final double[] OUT_Y, final int OFFSET) {
+        // Polynomial coefficients, evaluated with Horner's scheme
+        final double AX = 2 * X1;
+        final double BX = X2 - X0;
+        final double CX = 2 * X0 - 5 * X1 + 4 * X2 - X3;
+        final double DX = 3 * X1 - X0 - 3 * X2 + X3;
+        final double AY = 2 * Y1;
+        final double BY = Y2 - Y0;
+        final double CY = 2 * Y0 - 5 * Y1 + 4 * Y2 - Y3;
+        final double DY = 3 * Y1 - Y0 - 3 * Y2 + Y3;
+        final double INCREMENT = 1.0 / SUB_DIVISIONS;
+        final int    COUNT     = INCLUDE_END ? SUB_DIVISIONS + 1 : SUB_DIVISIONS;
+        for (int j = 0 ; j < COUNT ; j++) {
+            double t = j * INCREMENT;
+            OUT_X[OFFSET + j] = 0.5 * (AX + t * (BX + t * (CX + t * DX)));
+            OUT_Y[OFFSET + j] = 0.5 * (AY + t * (BY + t * (CY + t * DY)));
+        }
+        return COUNT;
+    }
+
 
     // ******************** Inner Classes *************************************
     class CatmullRomSpline {
@@ -43,6 +43,8 @@ public enum ColorMapping {
 
     private final Stop[] stops;
 
+    private int[] argbLookup;
+
     ColorMapping(final Stop... STOPS) {
         this.stops    = STOPS;
         this.gradient = new LinearGradient(0, 0, 100, 0, false, CycleMethod.NO_CYCLE, STOPS);
@@ -52,4 +54,12 @@ public enum ColorMapping {
     public Stop[] getStops() { return stops; }
 
     public LinearGradient getGradient() { return gradient; }
+
+    /**
+     * Returns a copy of the gradient sampled at 256 positions as argb values
+     */
+    public int[] getArgbLookup() {
+        if (null == argbLookup) { argbLookup = Helper.createArgbLookup(gradient, 256); }
+        return argbLookup.clone();
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import eu.hansolo.fx.charts.Decimation;
+
+
+/**
+ * Reduces x-sorted data to roughly the number of points that can be shown
+ * on screen. Empty items are expected as Double.NaN y values, the data is
+ * split into runs at these gaps and every run is reduced on its own. In the
+ * output the runs are separated by a single NaN y value again.
+ */
+public class Decimator {
+
+    // ******************** Constructors **************************************
+    private Decimator() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Decimates the first COUNT values of X_VALUES/Y_VALUES into OUT_X/OUT_Y which
+     * must have at least COUNT elements. Only the points in the visible x range
+     * (plus one neighbour on each side) will be taken into account.
+     * @return the number of points written to OUT_X/OUT_Y
+     */
+    public static int decimate(final Decimation DECIMATION, final double[] X_VALUES, final double[] Y_VALUES, final int COUNT,
+                               final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double SCALE_X, final int THRESHOLD,
+                               final double[] OUT_X, final double[] OUT_Y) {
+        int outCount = 0;
+        int runStart = -1;
+        for (int i = 0 ; i <= COUNT ; i++) {
+            boolean isGap = i == COUNT || Double.isNaN(Y_VALUES[i]);
+            if (isGap) {
+                if (runStart > -1) {
+                    int written = decimateRun(DECIMATION, X_VALUES, Y_VALUES, runStart, i, LOWER_BOUND_X, UPPER_BOUND_X, SCALE_X, THRESHOLD, OUT_X, OUT_Y, outCount);
+                    outCount += written;
+                    runStart = -1;
+                }
+                if (i < COUNT && outCount > 0 && !Double.isNaN(OUT_Y[outCount - 1])) {
+                    OUT_X[outCount] = X_VALUES[i];
+                    OUT_Y[outCount] = Double.NaN;
+                    outCount++;
+                }
+            } else if (runStart < 0) {
+                runStart = i;
+            }
+        }
+        return outCount;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets, keeps the first and last point and picks
+     * the point that forms the largest triangle in each bucket.
+     * @return the number of points written to OUT_X/OUT_Y starting at OFFSET
+     */
+    public static int lttb(final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO, final int THRESHOLD,
+                           final double[] OUT_X, final double[] OUT_Y, final int OFFSET) {
+        final int LENGTH = TO - FROM;
+        if (THRESHOLD < 3 || LENGTH <= THRESHOLD) { return copy(X_VALUES, Y_VALUES, FROM, TO, OUT_X, OUT_Y, OFFSET); }
+
+        double every = (double) (LENGTH - 2) / (THRESHOLD - 2);
+        int    a     = FROM;
+        int    out   = OFFSET;
+        OUT_X[out]   = X_VALUES[a];
+        OUT_Y[out++] = Y_VALUES[a];
+
+        for (int i = 0 ; i < THRESHOLD - 2 ; i++) {
+            // Average of the next bucket
+            int avgStart = FROM + (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd   = Math.min(FROM + (int) Math.floor((i + 2) * every) + 1, TO);
+            double avgX  = 0;
+            double avgY  = 0;
+            for (int j = avgStart ; j < avgEnd ; j++) {
+                avgX += X_VALUES[j];
+                avgY += Y_VALUES[j];
+            }
+            int avgLength = avgEnd - avgStart;
+            if (avgLength > 0) {
+                avgX /= avgLength;
+                avgY /= avgLength;
+            } else {
+                avgX = X_VALUES[TO - 1];
+                avgY = Y_VALUES[TO - 1];
+            }
+
+            // Point of the current bucket with the largest triangle
+            int    rangeStart = FROM + (int) Math.floor(i * every) + 1;
+            int    rangeEnd   = FROM + (int) Math.floor((i + 1) * every) + 1;
+            double ax         = X_VALUES[a];
+            double ay         = Y_VALUES[a];
+            double maxArea    = -1;
+            int    next       = rangeStart;
+            for (int j = rangeStart ; j < rangeEnd ; j++) {
+                double area = Math.abs((ax - avgX) * (Y_VALUES[j] - ay) - (ax - X_VALUES[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next    = j;
+                }
+            }
+            OUT_X[out]   = X_VALUES[next];
+            OUT_Y[out++] = Y_VALUES[next];
+            a = next;
+        }
+
+        OUT_X[out]   = X_VALUES[TO - 1];
+        OUT_Y[out++] = Y_VALUES[TO - 1];
+        return out - OFFSET;
+    }
+
+    /**
+     * Keeps the first, min, max and last point of every pixel column in their original order.
+     * @return the number of points written to OUT_X/OUT_Y starting at OFFSET
+     */
+    public static int minMax(final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO, final double LOWER_BOUND_X, final double SCALE_X,
+                             final double[] OUT_X, final double[] OUT_Y, final int OFFSET) {
+        int out = OFFSET;
+        int i   = FROM;
+        while (i < TO) {
+            long column = (long) Math.floor((X_VALUES[i] - LOWER_BOUND_X) * SCALE_X);
+            int  first  = i;
+            int  min    = i;
+            int  max    = i;
+            int  last   = i;
+            i++;
+            while (i < TO && (long) Math.floor((X_VALUES[i] - LOWER_BOUND_X) * SCALE_X) == column) {
+                if (Y_VALUES[i] < Y_VALUES[min]) { min = i; }
+                if (Y_VALUES[i] > Y_VALUES[max]) { max = i; }
+                last = i;
+                i++;
+            }
+            // Indices are ascending (first <= lo <= hi <= last), so duplicates are always adjacent
+            int lo = Math.min(min, max);
+            int hi = Math.max(min, max);
+            out = emit(X_VALUES, Y_VALUES, first, OUT_X, OUT_Y, out);
+            if (lo != first) { out = emit(X_VALUES, Y_VALUES, lo, OUT_X, OUT_Y, out); }
+            if (hi != lo)    { out = emit(X_VALUES, Y_VALUES, hi, OUT_X, OUT_Y, out); }
+            if (last != hi)  { out = emit(X_VALUES, Y_VALUES, last, OUT_X, OUT_Y, out); }
+        }
+        return out - OFFSET;
+    }
+
+    private static int emit(final double[] X_VALUES, final double[] Y_VALUES, final int INDEX, final double[] OUT_X, final double[] OUT_Y, final int OUT) {
+        OUT_X[OUT] = X_VALUES[INDEX];
+        OUT_Y[OUT] = Y_VALUES[INDEX];
+        return OUT + 1;
+    }
+
+    private static int decimateRun(final Decimation DECIMATION, final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO,
+                                   final double LOWER_BOUND_X, final double UPPER_BOUND_X, final double SCALE_X, final int THRESHOLD,
+                                   final double[] OUT_X, final double[] OUT_Y, final int OFFSET) {
+        // Cull the run to the visible range plus one neighbour on each side
+        int first = FROM;
+        while (first < TO && X_VALUES[first] < LOWER_BOUND_X) { first++; }
+        int last = TO - 1;
+        while (last >= first && X_VALUES[last] > UPPER_BOUND_X) { last--; }
+        int from = Math.max(FROM, first - 1);
+        int to   = Math.min(TO, last + 2);
+        if (to - from < 1) { return 0; }
+
+        switch (DECIMATION) {
+            case LTTB   : return lttb(X_VALUES, Y_VALUES, from, to, THRESHOLD, OUT_X, OUT_Y, OFFSET);
+            case MIN_MAX: return minMax(X_VALUES, Y_VALUES, from, to, LOWER_BOUND_X, SCALE_X, OUT_X, OUT_Y, OFFSET);
+            case NONE   :
+            default     : return copy(X_VALUES, Y_VALUES, from, to, OUT_X, OUT_Y, OFFSET);
+        }
+    }
+
+    private static int copy(final double[] X_VALUES, final double[] Y_VALUES, final int FROM, final int TO, final double[] OUT_X, final double[] OUT_Y, final int OFFSET) {
+        System.arraycopy(X_VALUES, FROM, OUT_X, OFFSET, TO - FROM);
+        System.arraycopy(Y_VALUES, FROM, OUT_Y, OFFSET, TO - FROM);
+        return TO - FROM;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Lock-free bounded queue of x/y pairs that works like the IngestionQueue
+ * but keeps the values in two primitive double[] ring buffers, so offering
+ * a sample does not create any object. The sequence number of a slot is
+ * published after the values were written and read before the values are
+ * read. The capacity will be rounded up to the next power of two.
+ */
+public class DoubleIngestionQueue {
+    private static final long               PARK_NANOS = 50_000;
+    private final        int                capacity;
+    private final        int                mask;
+    private final        double[]           xValues;
+    private final        double[]           yValues;
+    private final        AtomicLongArray    sequences;
+    private final        AtomicLong         head;
+    private final        AtomicLong         tail;
+    private final        AtomicLong         offeredItems;
+    private final        AtomicLong         droppedItems;
+    private volatile     BackpressurePolicy policy;
+
+
+    // ******************** Constructors **************************************
+    public DoubleIngestionQueue(final int CAPACITY) {
+        this(CAPACITY, BackpressurePolicy.DROP_OLDEST);
+    }
+    public DoubleIngestionQueue(final int CAPACITY, final BackpressurePolicy POLICY) {
+        if (null == POLICY) { throw new IllegalArgumentException("Policy cannot be null"); }
+        capacity     = IngestionQueue.capacityFor(CAPACITY);
+        mask         = capacity - 1;
+        xValues      = new double[capacity];
+        yValues      = new double[capacity];
+        sequences    = new AtomicLongArray(capacity);
+        head         = new AtomicLong(0);
+        tail         = new AtomicLong(0);
+        offeredItems = new AtomicLong(0);
+        droppedItems = new AtomicLong(0);
+        policy       = POLICY;
+        for (int i = 0 ; i < capacity ; i++) { sequences.set(i, i); }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds the given pair, can be called from any thread. What happens if
+     * the queue is full depends on the backpressure policy.
+     * @return false if the pair was dropped
+     */
+    public boolean offer(final double X, final double Y) {
+        offeredItems.incrementAndGet();
+        switch (policy) {
+            case DROP_NEWEST:
+                if (tryOffer(X, Y)) { return true; }
+                droppedItems.incrementAndGet();
+                return false;
+            case BLOCK:
+                while (!tryOffer(X, Y)) {
+                    // The FX application thread drains the queue and must never wait for it
+                    if (Platform.isFxApplicationThread()) { throw new IllegalStateException("Blocking offer on the FX application thread"); }
+                    if (Thread.currentThread().isInterrupted()) {
+                        droppedItems.incrementAndGet();
+                        return false;
+                    }
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                return true;
+            case DROP_OLDEST:
+            default:
+                while (!tryOffer(X, Y)) {
+                    if (poll(null)) { droppedItems.incrementAndGet(); }
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Passes all pairs that are in the queue at the time of the call to the given consumer.
+     * @return the number of drained pairs
+     */
+    public int drain(final PairConsumer CONSUMER) {
+        if (null == CONSUMER) { throw new IllegalArgumentException("Consumer cannot be null"); }
+        long limit = tail.get();
+        int  count = 0;
+        while (head.get() < limit) {
+            if (!poll(CONSUMER)) { break; }
+            count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Returns the number of pairs in the queue (the queue depth)
+     */
+    public int size() { return (int) Math.max(0, Math.min(capacity, tail.get() - head.get())); }
+
+    public int getCapacity() { return capacity; }
+
+    public BackpressurePolicy getPolicy() { return policy; }
+    public void setPolicy(final BackpressurePolicy POLICY) {
+        if (null == POLICY) { throw new IllegalArgumentException("Policy cannot be null"); }
+        policy = POLICY;
+    }
+
+    public long getNoOfOfferedItems() { return offeredItems.get(); }
+
+    public long getNoOfDroppedItems() { return droppedItems.get(); }
+
+    public void resetStatistics() {
+        offeredItems.set(0);
+        droppedItems.set(0);
+    }
+
+    /**
+     * Removes the oldest pair and passes it to the given consumer (if not null)
+     * @return false if the queue was empty
+     */
+    private boolean poll(final PairConsumer CONSUMER) {
+        long position = head.get();
+        for (;;) {
+            int  index      = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    double x = xValues[index];
+                    double y = yValues[index];
+                    sequences.lazySet(index, position + capacity);
+                    if (null != CONSUMER) { CONSUMER.accept(x, y); }
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    private boolean tryOffer(final double X, final double Y) {
+        long position = tail.get();
+        for (;;) {
+            int  index      = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    xValues[index] = X;
+                    yValues[index] = Y;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(double x, double y);
+    }
+}
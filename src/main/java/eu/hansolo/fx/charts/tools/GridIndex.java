@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import java.util.function.IntConsumer;
+
+
+/**
+ * Immutable uniform grid over 2d points that answers rectangle queries
+ * with the indices of the points inside. The cells are stored in a
+ * compressed form (cell start offsets + one index array) so that the
+ * index only needs two int arrays independent of the number of cells used.
+ */
+public class GridIndex {
+    private final double   minX;
+    private final double   minY;
+    private final double   cellWidth;
+    private final double   cellHeight;
+    private final int      cols;
+    private final int      rows;
+    private final int[]    cellStart;
+    private final int[]    indices;
+    private final double[] xValues;
+    private final double[] yValues;
+
+
+    // ******************** Constructors **************************************
+    public GridIndex(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0 ; i < COUNT ; i++) {
+            if (Double.isNaN(Y_VALUES[i])) { continue; }
+            minX = Math.min(minX, X_VALUES[i]);
+            minY = Math.min(minY, Y_VALUES[i]);
+            maxX = Math.max(maxX, X_VALUES[i]);
+            maxY = Math.max(maxY, Y_VALUES[i]);
+        }
+        if (minX > maxX) { minX = maxX = minY = maxY = 0; }
+
+        // Roughly 8 points per cell
+        int side        = (int) Helper.clamp(1, 1024, Math.ceil(Math.sqrt(COUNT / 8.0)));
+        this.minX       = minX;
+        this.minY       = minY;
+        this.cols       = side;
+        this.rows       = side;
+        this.cellWidth  = Math.max((maxX - minX) / side, Double.MIN_NORMAL);
+        this.cellHeight = Math.max((maxY - minY) / side, Double.MIN_NORMAL);
+        this.xValues    = X_VALUES;
+        this.yValues    = Y_VALUES;
+
+        // Counting sort of the point indices by cell
+        int[] cellOfPoint = new int[COUNT];
+        cellStart         = new int[cols * rows + 1];
+        for (int i = 0 ; i < COUNT ; i++) {
+            if (Double.isNaN(Y_VALUES[i])) { cellOfPoint[i] = -1; continue; }
+            int cell = cellIndex(colOf(X_VALUES[i]), rowOf(Y_VALUES[i]));
+            cellOfPoint[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0 ; c < cols * rows ; c++) { cellStart[c + 1] += cellStart[c]; }
+        indices    = new int[cellStart[cols * rows]];
+        int[] fill = new int[cols * rows];
+        for (int i = 0 ; i < COUNT ; i++) {
+            int cell = cellOfPoint[i];
+            if (cell < 0) { continue; }
+            indices[cellStart[cell] + fill[cell]++] = i;
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Calls the consumer with the index of every point that lies inside the given rectangle
+     */
+    public void query(final double MIN_X, final double MIN_Y, final double MAX_X, final double MAX_Y, final IntConsumer CONSUMER) {
+        int minCol = colOf(MIN_X);
+        int maxCol = colOf(MAX_X);
+        int minRow = rowOf(MIN_Y);
+        int maxRow = rowOf(MAX_Y);
+        for (int row = minRow ; row <= maxRow ; row++) {
+            for (int col = minCol ; col <= maxCol ; col++) {
+                int cell = cellIndex(col, row);
+                for (int i = cellStart[cell] ; i < cellStart[cell + 1] ; i++) {
+                    int    index = indices[i];
+                    double x     = xValues[index];
+                    double y     = yValues[index];
+                    if (x >= MIN_X && x <= MAX_X && y >= MIN_Y && y <= MAX_Y) { CONSUMER.accept(index); }
+                }
+            }
+        }
+    }
+
+    public int size() { return indices.length; }
+
+    private int colOf(final double X) { return (int) Helper.clamp(0, cols - 1, Math.floor((X - minX) / cellWidth)); }
+
+    private int rowOf(final double Y) { return (int) Helper.clamp(0, rows - 1, Math.floor((Y - minY) / cellHeight)); }
+
+    private int cellIndex(final int COL, final int ROW) { return ROW * cols + COL; }
+}
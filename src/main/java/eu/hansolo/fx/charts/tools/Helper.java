@@ -23,6 +23,7 @@ import eu.hansolo.fx.charts.TickLabelOrientation;
 import eu.hansolo.fx.charts.data.ChartItem;
 import eu.hansolo.fx.charts.data.DataPoint;
 import eu.hansolo.fx.charts.data.XYChartItem;
+import eu.hansolo.fx.charts.data.XYItem;
 import javafx.animation.Interpolator;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.geometry.Orientation;
@@ -323,26 +324,74 @@ public class Helper {
     public static final DataPoint[] subdividePoints(final DataPoint[] POINTS, final int SUB_DIVISIONS) {
         assert POINTS != null;
         assert POINTS.length >= 3;
-        int    noOfPoints = POINTS.length;
+        int      noOfPoints = POINTS.length;
+        double[] pointsX    = new double[noOfPoints];
+        double[] pointsY    = new double[noOfPoints];
+        for (int i = 0 ; i < noOfPoints ; i++) {
+            pointsX[i] = POINTS[i].getX();
+            pointsY[i] = POINTS[i].getY();
+        }
 
-        DataPoint[] subdividedPoints = new DataPoint[((noOfPoints - 1) * SUB_DIVISIONS) + 1];
+        int      noOfSubdividedPoints = getNoOfSubdividedPoints(noOfPoints, SUB_DIVISIONS);
+        double[] subdividedX          = new double[noOfSubdividedPoints];
+        double[] subdividedY          = new double[noOfSubdividedPoints];
+        subdividePoints(pointsX, pointsY, noOfPoints, SUB_DIVISIONS, subdividedX, subdividedY);
 
-        double increments = 1.0 / (double) SUB_DIVISIONS;
+        DataPoint[] subdividedPoints = new DataPoint[noOfSubdividedPoints];
+        for (int i = 0 ; i < noOfSubdividedPoints ; i++) {
+            subdividedPoints[i] = new DataPoint(subdividedX[i], subdividedY[i]);
+        }
+        return subdividedPoints;
+    }
 
-        for (int i = 0 ; i < noOfPoints - 1 ; i++) {
-            DataPoint p0 = i == 0 ? POINTS[i] : POINTS[i - 1];
-            DataPoint p1 = POINTS[i];
-            DataPoint p2 = POINTS[i + 1];
-            DataPoint p3 = (i+2 == noOfPoints) ? POINTS[i + 1] : POINTS[i + 2];
+    /**
+     * Returns the number of points that subdividing COUNT points with the given number of sub divisions will create
+     */
+    public static final int getNoOfSubdividedPoints(final int COUNT, final int SUB_DIVISIONS) {
+        return COUNT < 2 ? COUNT : (COUNT - 1) * SUB_DIVISIONS + 1;
+    }
 
-            CatmullRom<DataPoint> crs = new CatmullRom<>(p0, p1, p2, p3);
+    /**
+     * Allocation free version of subdividePoints() that reads the first COUNT points from
+     * X_VALUES/Y_VALUES and writes the subdivided points to OUT_X/OUT_Y which must have at
+     * least getNoOfSubdividedPoints(COUNT, SUB_DIVISIONS) elements.
+     * @return the number of points written to OUT_X/OUT_Y
+     */
+    public static final int subdividePoints(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT, final int SUB_DIVISIONS,
+                                            final double[] OUT_X, final double[] OUT_Y) {
+        if (COUNT < 2) { return copyPoints(X_VALUES, Y_VALUES, COUNT, OUT_X, OUT_Y); }
+        int offset = 0;
+        for (int i = 0 ; i < COUNT - 1 ; i++) {
+            int i0 = i == 0 ? i : i - 1;
+            int i3 = i + 2 == COUNT ? i + 1 : i + 2;
+            offset += CatmullRom.subdivide(X_VALUES[i0], Y_VALUES[i0], X_VALUES[i], Y_VALUES[i], X_VALUES[i + 1], Y_VALUES[i + 1], X_VALUES[i3], Y_VALUES[i3],
+                                           SUB_DIVISIONS, i + 2 == COUNT, OUT_X, OUT_Y, offset);
+        }
+        return offset;
+    }
 
-            for (int j = 0 ; j <= SUB_DIVISIONS ; j++) {
-                subdividedPoints[(i * SUB_DIVISIONS) + j] = crs.q(j * increments);
-            }
+    /**
+     * Allocation free version of subdividePointsRadial(), the last point is expected to be the same
+     * as the first point so that the curve will be closed smoothly.
+     * @return the number of points written to OUT_X/OUT_Y
+     */
+    public static final int subdividePointsRadial(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT, final int SUB_DIVISIONS,
+                                                  final double[] OUT_X, final double[] OUT_Y) {
+        if (COUNT < 3) { return subdividePoints(X_VALUES, Y_VALUES, COUNT, SUB_DIVISIONS, OUT_X, OUT_Y); }
+        int offset = 0;
+        for (int i = 0 ; i < COUNT - 1 ; i++) {
+            int i0 = i == 0 ? COUNT - 2 : i - 1;
+            int i3 = i == COUNT - 2 ? 1 : i + 2;
+            offset += CatmullRom.subdivide(X_VALUES[i0], Y_VALUES[i0], X_VALUES[i], Y_VALUES[i], X_VALUES[i + 1], Y_VALUES[i + 1], X_VALUES[i3], Y_VALUES[i3],
+                                           SUB_DIVISIONS, i + 2 == COUNT, OUT_X, OUT_Y, offset);
         }
+        return offset;
+    }
 
-        return subdividedPoints;
+    private static final int copyPoints(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT, final double[] OUT_X, final double[] OUT_Y) {
+        System.arraycopy(X_VALUES, 0, OUT_X, 0, COUNT);
+        System.arraycopy(Y_VALUES, 0, OUT_Y, 0, COUNT);
+        return COUNT;
     }
 
     public static final Point[] subdividePointsLinear(final Point[] POINTS, final int SUB_DIVISIONS) {
@@ -547,6 +596,40 @@ public class Helper {
                 Double.compare(Y, MAX_Y) <= 0);
     }
 
+    public static final <T extends XYItem> boolean isSortedByX(final List<T> ITEMS) {
+        int noOfItems = ITEMS.size();
+        for (int i = 1 ; i < noOfItems ; i++) {
+            if (ITEMS.get(i).getX() < ITEMS.get(i - 1).getX()) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first item with x >= X in a list that is sorted by x
+     */
+    public static final <T extends XYItem> int lowerIndexOfX(final List<T> ITEMS, final double X) {
+        int low  = 0;
+        int high = ITEMS.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ITEMS.get(mid).getX() < X) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first item with x > X in a list that is sorted by x
+     */
+    public static final <T extends XYItem> int upperIndexOfX(final List<T> ITEMS, final double X) {
+        int low  = 0;
+        int high = ITEMS.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ITEMS.get(mid).getX() <= X) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
     public static final boolean isInCircle(final double x, final double y, final double centerX, final double centerY, final double radius) {
         double deltaX = centerX - x;
         double deltaY = centerY - y;
@@ -672,6 +755,27 @@ public class Helper {
         return (Color) Interpolator.LINEAR.interpolate(lowerStop.getColor(), upperStop.getColor(), interpolationFraction);
     }
 
+    /**
+     * Returns the color as non premultiplied 32 bit argb value (as used by PixelFormat.getIntArgbInstance())
+     */
+    public static final int toArgb(final Color COLOR) {
+        return ((int) Math.round(COLOR.getOpacity() * 255) << 24) |
+               ((int) Math.round(COLOR.getRed()     * 255) << 16) |
+               ((int) Math.round(COLOR.getGreen()   * 255) <<  8) |
+                (int) Math.round(COLOR.getBlue()    * 255);
+    }
+
+    /**
+     * Samples the gradient at SIZE equidistant fractions from 0 to 1 and returns
+     * the colors as argb values, so that a fraction f can be colored with
+     * lookup[(int) (f * (SIZE - 1) + 0.5)] instead of searching the gradient
+     */
+    public static final int[] createArgbLookup(final LinearGradient GRADIENT, final int SIZE) {
+        int[] lookup = new int[SIZE];
+        for (int i = 0 ; i < SIZE ; i++) { lookup[i] = toArgb(getColorAt(GRADIENT, SIZE > 1 ? (double) i / (SIZE - 1) : 0)); }
+        return lookup;
+    }
+
     public static final String format(final double NUMBER, final int DECIMALS) {
         return format(NUMBER, clamp(0, 12, DECIMALS), Locale.US);
     }
@@ -896,9 +1000,12 @@ public class Helper {
         List<DataPoint> hullPolygon = createHull(POINTS);
         return subdivideDataPoints(hullPolygon, SUB_DIVISIONS);
     }
-    public static final <T extends Point> List<T> createHull(final List<T> POINTS) {
+    public static final <T extends Point> List<T> createHull(final List<T> INPUT_POINTS) {
         List<T> convexHull = new ArrayList<>();
-        if (POINTS.size() < 3) { return new ArrayList<T>(POINTS); }
+        if (INPUT_POINTS.size() < 3) { return new ArrayList<T>(INPUT_POINTS); }
+
+        // Work on a copy, the algorithm removes the hull points from the list
+        final List<T> POINTS = new ArrayList<>(INPUT_POINTS);
 
         int minDataPoint = -1;
         int maxDataPoint = -1;
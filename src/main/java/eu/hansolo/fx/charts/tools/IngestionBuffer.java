@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+
+/**
+ * Hands over data from any thread to the FX application thread without
+ * one Platform.runLater() call per sample. Producers offer their data to
+ * a bounded IngestionQueue, the queue will be drained once per pulse and
+ * every element will be passed to the given consumer on the FX application
+ * thread. The timer only runs while there is something to drain.
+ * It can be used for every chart type, e.g. with
+ * new IngestionBuffer<Runnable>(4096, BackpressurePolicy.DROP_NEWEST, Runnable::run)
+ * to apply updates of ChartItems or TreeNodes.
+ */
+public class IngestionBuffer<E> {
+    public  static final int                 DEFAULT_CAPACITY = 4096;
+    private        final IngestionQueue<E>   queue;
+    private        final Consumer<? super E> consumer;
+    private        final AtomicBoolean       running;
+    private        final AnimationTimer      timer;
+    private              Runnable            onDrainStarted;
+    private              Runnable            onDrained;
+
+
+    // ******************** Constructors **************************************
+    public IngestionBuffer(final int CAPACITY, final Consumer<? super E> CONSUMER) {
+        this(CAPACITY, BackpressurePolicy.DROP_OLDEST, CONSUMER);
+    }
+    public IngestionBuffer(final int CAPACITY, final BackpressurePolicy POLICY, final Consumer<? super E> CONSUMER) {
+        if (null == CONSUMER) { throw new IllegalArgumentException("Consumer cannot be null"); }
+        consumer = CONSUMER;
+        queue    = new IngestionQueue<>(CAPACITY, POLICY);
+        running  = new AtomicBoolean(false);
+        timer    = new AnimationTimer() {
+            @Override public void handle(final long now) {
+                if (drain() == 0) {
+                    // Nothing arrived during the last pulse, go to sleep until the next offer
+                    stop();
+                    running.set(false);
+                    if (!queue.isEmpty() && running.compareAndSet(false, true)) { start(); }
+                }
+            }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds the given element, can be called from any thread.
+     * @return false if the element was dropped
+     */
+    public boolean offer(final E ELEMENT) {
+        boolean accepted = queue.offer(ELEMENT);
+        if (running.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                timer.start();
+            } else {
+                Platform.runLater(timer::start);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Drains the queue immediately, has to be called on the FX application thread.
+     * @return the number of drained elements
+     */
+    public int drain() {
+        if (queue.isEmpty()) { return 0; }
+        if (null != onDrainStarted) { onDrainStarted.run(); }
+        int count = 0;
+        try {
+            count = queue.drain(consumer);
+        } finally {
+            if (null != onDrained) { onDrained.run(); }
+        }
+        return count;
+    }
+
+    /**
+     * The given runnable will be called on the FX application thread before
+     * each drain of a non empty queue (e.g. to begin a bulk update of a series).
+     */
+    public void setOnDrainStarted(final Runnable ON_DRAIN_STARTED) { onDrainStarted = ON_DRAIN_STARTED; }
+
+    /**
+     * The given runnable will be called on the FX application thread after
+     * each drain of a non empty queue, also if the consumer failed
+     * (e.g. to end a bulk update or to redraw a chart once).
+     */
+    public void setOnDrained(final Runnable ON_DRAINED) { onDrained = ON_DRAINED; }
+
+    public IngestionQueue<E> getQueue() { return queue; }
+
+    public int getQueueDepth() { return queue.size(); }
+
+    public long getNoOfDroppedItems() { return queue.getNoOfDroppedItems(); }
+
+    public BackpressurePolicy getPolicy() { return queue.getPolicy(); }
+    public void setPolicy(final BackpressurePolicy POLICY) { queue.setPolicy(POLICY); }
+
+    public void stop() {
+        timer.stop();
+        running.set(false);
+    }
+}
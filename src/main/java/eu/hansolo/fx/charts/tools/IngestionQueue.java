@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/**
+ * Lock-free bounded queue that is used to hand over data from producer
+ * threads to the FX application thread. Every slot of the ring buffer
+ * carries a sequence number that tells producers and consumers whether
+ * the slot is free or filled (Vyukov's bounded queue). The queue accepts
+ * any number of producers, with DROP_OLDEST producers also remove elements
+ * from the head of a full queue, that's why polling is multi consumer safe.
+ * The capacity will be rounded up to the next power of two.
+ */
+public class IngestionQueue<E> {
+    private static final long                    PARK_NANOS = 50_000;
+    private final        int                     capacity;
+    private final        int                     mask;
+    private final        AtomicReferenceArray<E> elements;
+    private final        AtomicLongArray         sequences;
+    private final        AtomicLong              head;
+    private final        AtomicLong              tail;
+    private final        AtomicLong              offeredItems;
+    private final        AtomicLong              droppedItems;
+    private volatile     BackpressurePolicy      policy;
+
+
+    // ******************** Constructors **************************************
+    public IngestionQueue(final int CAPACITY) {
+        this(CAPACITY, BackpressurePolicy.DROP_OLDEST);
+    }
+    public IngestionQueue(final int CAPACITY, final BackpressurePolicy POLICY) {
+        if (null == POLICY) { throw new IllegalArgumentException("Policy cannot be null"); }
+        capacity     = capacityFor(CAPACITY);
+        mask         = capacity - 1;
+        elements     = new AtomicReferenceArray<>(capacity);
+        sequences    = new AtomicLongArray(capacity);
+        head         = new AtomicLong(0);
+        tail         = new AtomicLong(0);
+        offeredItems = new AtomicLong(0);
+        droppedItems = new AtomicLong(0);
+        policy       = POLICY;
+        for (int i = 0 ; i < capacity ; i++) { sequences.set(i, i); }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the capacity a queue will have if created with the given capacity
+     * (the next power of two)
+     */
+    public static int capacityFor(final int CAPACITY) {
+        if (CAPACITY < 2 || CAPACITY > 1 << 30) { throw new IllegalArgumentException("Capacity must be between 2 and 2^30"); }
+        return Integer.highestOneBit(CAPACITY - 1) << 1;
+    }
+
+    /**
+     * Adds the given element, can be called from any thread. What happens if
+     * the queue is full depends on the backpressure policy.
+     * @return false if the element was dropped
+     */
+    public boolean offer(final E ELEMENT) {
+        if (null == ELEMENT) { throw new IllegalArgumentException("Element cannot be null"); }
+        offeredItems.incrementAndGet();
+        switch (policy) {
+            case DROP_NEWEST:
+                if (tryOffer(ELEMENT)) { return true; }
+                droppedItems.incrementAndGet();
+                return false;
+            case BLOCK:
+                while (!tryOffer(ELEMENT)) {
+                    // The FX application thread drains the queue and must never wait for it
+                    if (Platform.isFxApplicationThread()) { throw new IllegalStateException("Blocking offer on the FX application thread"); }
+                    if (Thread.currentThread().isInterrupted()) {
+                        droppedItems.incrementAndGet();
+                        return false;
+                    }
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                return true;
+            case DROP_OLDEST:
+            default:
+                while (!tryOffer(ELEMENT)) {
+                    if (null != poll()) { droppedItems.incrementAndGet(); }
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Removes and returns the oldest element or null if the queue is empty
+     */
+    public E poll() {
+        long position = head.get();
+        for (;;) {
+            int  index      = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.lazySet(index, position + capacity);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Passes all elements that are in the queue at the time of the call to the given consumer.
+     * @return the number of drained elements
+     */
+    public int drain(final Consumer<? super E> CONSUMER) {
+        long limit = tail.get();
+        int  count = 0;
+        while (head.get() < limit) {
+            E element = poll();
+            if (null == element) { break; }
+            CONSUMER.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Returns the number of elements in the queue (the queue depth)
+     */
+    public int size() { return (int) Math.max(0, Math.min(capacity, tail.get() - head.get())); }
+
+    public int getCapacity() { return capacity; }
+
+    public BackpressurePolicy getPolicy() { return policy; }
+    public void setPolicy(final BackpressurePolicy POLICY) {
+        if (null == POLICY) { throw new IllegalArgumentException("Policy cannot be null"); }
+        policy = POLICY;
+    }
+
+    public long getNoOfOfferedItems() { return offeredItems.get(); }
+
+    public long getNoOfDroppedItems() { return droppedItems.get(); }
+
+    public void resetStatistics() {
+        offeredItems.set(0);
+        droppedItems.set(0);
+    }
+
+    private boolean tryOffer(final E ELEMENT) {
+        long position = tail.get();
+        for (;;) {
+            int  index      = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, ELEMENT);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+/**
+ * Immutable, balanced 2d-tree over points given as x and y arrays that
+ * answers k nearest neighbour queries. The tree is stored implicitly in one
+ * int array of point indices (the median of every range is the split point,
+ * the split axis alternates with the depth), so queries don't allocate and
+ * can run from several threads at the same time.
+ */
+public class KdTree {
+    private final double[] xValues;
+    private final double[] yValues;
+    private final int[]    indices;
+
+
+    // ******************** Constructors **************************************
+    public KdTree(final double[] X_VALUES, final double[] Y_VALUES, final int COUNT) {
+        xValues = X_VALUES;
+        yValues = Y_VALUES;
+        indices = new int[COUNT];
+        for (int i = 0 ; i < COUNT ; i++) { indices[i] = i; }
+        build(0, COUNT, 0);
+    }
+
+
+    // ******************** Methods *******************************************
+    public int size() { return indices.length; }
+
+    /**
+     * Writes the indices of the K points that are closest to the given position
+     * into OUT_INDICES and their squared distances into OUT_SQUARED_DISTANCES,
+     * both sorted by ascending distance. The arrays need at least K elements.
+     * @return the number of points found (less than K if the tree has less points)
+     */
+    public int nearest(final double X, final double Y, final int K, final int[] OUT_INDICES, final double[] OUT_SQUARED_DISTANCES) {
+        if (K <= 0) { return 0; }
+        return search(0, indices.length, 0, X, Y, K, OUT_INDICES, OUT_SQUARED_DISTANCES, 0);
+    }
+
+    /**
+     * @return the number of points in the result arrays after searching the given range
+     */
+    private int search(final int FROM, final int TO, final int DEPTH, final double X, final double Y, final int K,
+                       final int[] OUT_INDICES, final double[] OUT_SQUARED_DISTANCES, final int FOUND) {
+        if (FROM >= TO) { return FOUND; }
+        final int    MID   = (FROM + TO) >>> 1;
+        final int    INDEX = indices[MID];
+        final double DX    = X - xValues[INDEX];
+        final double DY    = Y - yValues[INDEX];
+        int found = insert(INDEX, DX * DX + DY * DY, K, OUT_INDICES, OUT_SQUARED_DISTANCES, FOUND);
+
+        final double DELTA = (DEPTH & 1) == 0 ? DX : DY;
+        if (DELTA < 0) {
+            found = search(FROM, MID, DEPTH + 1, X, Y, K, OUT_INDICES, OUT_SQUARED_DISTANCES, found);
+            if (found < K || DELTA * DELTA < OUT_SQUARED_DISTANCES[found - 1]) { found = search(MID + 1, TO, DEPTH + 1, X, Y, K, OUT_INDICES, OUT_SQUARED_DISTANCES, found); }
+        } else {
+            found = search(MID + 1, TO, DEPTH + 1, X, Y, K, OUT_INDICES, OUT_SQUARED_DISTANCES, found);
+            if (found < K || DELTA * DELTA < OUT_SQUARED_DISTANCES[found - 1]) { found = search(FROM, MID, DEPTH + 1, X, Y, K, OUT_INDICES, OUT_SQUARED_DISTANCES, found); }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts the candidate into the sorted result arrays if it is closer than the worst one
+     * @return the number of points in the result arrays
+     */
+    private static int insert(final int INDEX, final double SQUARED_DISTANCE, final int K, final int[] OUT_INDICES, final double[] OUT_SQUARED_DISTANCES, final int FOUND) {
+        if (FOUND == K && SQUARED_DISTANCE >= OUT_SQUARED_DISTANCES[K - 1]) { return FOUND; }
+        int i = FOUND == K ? K - 1 : FOUND;
+        while (i > 0 && OUT_SQUARED_DISTANCES[i - 1] > SQUARED_DISTANCE) {
+            OUT_SQUARED_DISTANCES[i] = OUT_SQUARED_DISTANCES[i - 1];
+            OUT_INDICES[i]           = OUT_INDICES[i - 1];
+            i--;
+        }
+        OUT_SQUARED_DISTANCES[i] = SQUARED_DISTANCE;
+        OUT_INDICES[i]           = INDEX;
+        return FOUND < K ? FOUND + 1 : FOUND;
+    }
+
+    private void build(final int FROM, final int TO, final int DEPTH) {
+        if (TO - FROM < 2) { return; }
+        final int MID = (FROM + TO) >>> 1;
+        select(FROM, TO - 1, MID, (DEPTH & 1) == 0 ? xValues : yValues);
+        build(FROM, MID, DEPTH + 1);
+        build(MID + 1, TO, DEPTH + 1);
+    }
+
+    /**
+     * Quickselect: partially sorts indices[LEFT..RIGHT] so that the element at NTH is in its final position
+     */
+    private void select(final int LEFT, final int RIGHT, final int NTH, final double[] VALUES) {
+        int left  = LEFT;
+        int right = RIGHT;
+        while (right > left) {
+            double pivot = VALUES[indices[(left + right) >>> 1]];
+            int    i     = left;
+            int    j     = right;
+            while (i <= j) {
+                while (VALUES[indices[i]] < pivot) { i++; }
+                while (VALUES[indices[j]] > pivot) { j--; }
+                if (i <= j) {
+                    int tmp    = indices[i];
+                    indices[i] = indices[j];
+                    indices[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (NTH <= j) {
+                right = j;
+            } else if (NTH >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
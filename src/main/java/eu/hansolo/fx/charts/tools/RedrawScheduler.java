@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Collects redraw requests and runs the given redraw task at most once per
+ * JavaFX pulse. The timer only runs while there is something to draw.
+ */
+public class RedrawScheduler {
+    private final Runnable       REDRAW_TASK;
+    private final AtomicBoolean  dirty;
+    private final AtomicBoolean  running;
+    private final AtomicLong     requestedRedraws;
+    private final AtomicLong     performedRedraws;
+    private final AnimationTimer timer;
+
+
+    // ******************** Constructors **************************************
+    public RedrawScheduler(final Runnable REDRAW_TASK) {
+        if (null == REDRAW_TASK) { throw new IllegalArgumentException("Redraw task cannot be null"); }
+        this.REDRAW_TASK = REDRAW_TASK;
+        dirty            = new AtomicBoolean(false);
+        running          = new AtomicBoolean(false);
+        requestedRedraws = new AtomicLong(0);
+        performedRedraws = new AtomicLong(0);
+        timer            = new AnimationTimer() {
+            @Override public void handle(final long now) {
+                if (dirty.getAndSet(false)) {
+                    performedRedraws.incrementAndGet();
+                    REDRAW_TASK.run();
+                } else {
+                    // Nothing happened during the last pulse, go to sleep until the next request
+                    stop();
+                    running.set(false);
+                    // A request that came in after the check above found running true and didn't start the timer
+                    if (dirty.get() && running.compareAndSet(false, true)) { start(); }
+                }
+            }
+        };
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Marks the target as dirty, can be called from any thread.
+     */
+    public void requestRedraw() {
+        requestedRedraws.incrementAndGet();
+        dirty.set(true);
+        if (running.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                timer.start();
+            } else {
+                // stop() might have been called in the meantime
+                Platform.runLater(() -> { if (running.get()) { timer.start(); } });
+            }
+        }
+    }
+
+    /**
+     * Runs a pending redraw immediately (e.g. before taking a snapshot).
+     */
+    public void flush() {
+        if (dirty.getAndSet(false)) {
+            performedRedraws.incrementAndGet();
+            REDRAW_TASK.run();
+        }
+    }
+
+    public boolean isDirty() { return dirty.get(); }
+
+    public long getRequestedRedraws() { return requestedRedraws.get(); }
+
+    public long getPerformedRedraws() { return performedRedraws.get(); }
+
+    public long getCoalescedRedraws() { return Math.max(0, requestedRedraws.get() - performedRedraws.get()); }
+
+    public void resetStatistics() {
+        requestedRedraws.set(0);
+        performedRedraws.set(0);
+    }
+
+    public void stop() {
+        dirty.set(false);
+        timer.stop();
+        running.set(false);
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.tools;
+
+import eu.hansolo.fx.charts.data.XYItem;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Keeps the Catmull-Rom subdivided points of a series in data space and
+ * only recalculates the segments that are next to changed, added or
+ * removed source points. Source points that were removed from the start
+ * (e.g. by a sliding window or panning) only shift the cached segments.
+ * The mapping to screen space will only be recalculated completely if the
+ * bounds, the scale or the size of the chart changed.
+ * The result is the same as the one of Helper.subdividePoints().
+ */
+public class SmoothingCache {
+    private int       subDivisions;
+    private int       noOfSourcePoints;
+    private double[]  sourceX;
+    private double[]  sourceY;
+    private boolean[] sourceEmpty;
+    private int       noOfNewPoints;
+    private double[]  newX;
+    private double[]  newY;
+    private boolean[] newEmpty;
+    private int       noOfPoints;
+    private double[]  x;
+    private double[]  y;
+    private boolean[] empty;
+    private double[]  screenX;
+    private double[]  screenY;
+    private boolean   screenValid;
+    private int       screenKeptFrom;
+    private int       screenKeptTo;
+    private double    screenLowerBoundX;
+    private double    screenLowerBoundY;
+    private double    screenScaleX;
+    private double    screenScaleY;
+    private double    screenHeight;
+    private int       noOfRecalculatedSegments;
+
+
+    // ******************** Constructors **************************************
+    public SmoothingCache() {
+        subDivisions = 0;
+        sourceX      = new double[0];
+        sourceY      = new double[0];
+        sourceEmpty  = new boolean[0];
+        newX         = new double[0];
+        newY         = new double[0];
+        newEmpty     = new boolean[0];
+        x            = new double[0];
+        y            = new double[0];
+        empty        = new boolean[0];
+        screenX      = new double[0];
+        screenY      = new double[0];
+        screenValid  = false;
+    }
+
+
+    // ******************** Methods *******************************************
+    public void update(final List<? extends XYItem> ITEMS, final int SUB_DIVISIONS) {
+        prepare(ITEMS.size());
+        // Iterates instead of get(i) to stay O(n) for linked lists
+        int i = 0;
+        for (XYItem item : ITEMS) {
+            newX[i]     = item.getX();
+            newY[i]     = item.getY();
+            newEmpty[i] = item.isEmptyItem();
+            i++;
+        }
+        commit(SUB_DIVISIONS);
+    }
+    public void update(final Point[] POINTS, final int SUB_DIVISIONS) {
+        prepare(POINTS.length);
+        for (int i = 0 ; i < POINTS.length ; i++) {
+            Point point = POINTS[i];
+            newX[i]     = point.getX();
+            newY[i]     = point.getY();
+            newEmpty[i] = point.isEmpty();
+        }
+        commit(SUB_DIVISIONS);
+    }
+
+    /**
+     * Returns the number of subdivided points
+     */
+    public int size() { return noOfPoints; }
+
+    public double getX(final int INDEX) { return x[INDEX]; }
+
+    public double getY(final int INDEX) { return y[INDEX]; }
+
+    public boolean isEmpty(final int INDEX) { return empty[INDEX]; }
+
+    /**
+     * Returns the number of segments that have been recalculated by the last update
+     */
+    public int getNoOfRecalculatedSegments() { return noOfRecalculatedSegments; }
+
+    public Point[] toPoints() {
+        Point[] points = new Point[noOfPoints];
+        for (int i = 0 ; i < noOfPoints ; i++) { points[i] = new Point(x[i], y[i], empty[i]); }
+        return points;
+    }
+
+    /**
+     * Maps the subdivided points to screen space, only the recalculated
+     * points will be mapped if the given parameters did not change.
+     */
+    public void toScreen(final double LOWER_BOUND_X, final double LOWER_BOUND_Y, final double SCALE_X, final double SCALE_Y, final double HEIGHT) {
+        boolean sameParameters = screenValid &&
+                                 Double.compare(LOWER_BOUND_X, screenLowerBoundX) == 0 && Double.compare(LOWER_BOUND_Y, screenLowerBoundY) == 0 &&
+                                 Double.compare(SCALE_X, screenScaleX) == 0 && Double.compare(SCALE_Y, screenScaleY) == 0 &&
+                                 Double.compare(HEIGHT, screenHeight) == 0;
+        if (sameParameters && screenKeptFrom == 0 && screenKeptTo == noOfPoints) { return; }
+        if (sameParameters) {
+            mapToScreen(0, screenKeptFrom);
+            mapToScreen(screenKeptTo, noOfPoints);
+        } else {
+            screenLowerBoundX = LOWER_BOUND_X;
+            screenLowerBoundY = LOWER_BOUND_Y;
+            screenScaleX      = SCALE_X;
+            screenScaleY      = SCALE_Y;
+            screenHeight      = HEIGHT;
+            mapToScreen(0, noOfPoints);
+        }
+        screenValid    = true;
+        screenKeptFrom = 0;
+        screenKeptTo   = noOfPoints;
+    }
+
+    public double getScreenX(final int INDEX) { return screenX[INDEX]; }
+
+    public double getScreenY(final int INDEX) { return screenY[INDEX]; }
+
+    public void clear() {
+        noOfSourcePoints = 0;
+        noOfPoints       = 0;
+        screenValid      = false;
+    }
+
+    private void prepare(final int NO_OF_POINTS) {
+        if (newX.length < NO_OF_POINTS) {
+            int capacity = Math.max(NO_OF_POINTS, newX.length + (newX.length >> 1));
+            newX     = new double[capacity];
+            newY     = new double[capacity];
+            newEmpty = new boolean[capacity];
+        }
+        noOfNewPoints = NO_OF_POINTS;
+    }
+
+    private void commit(final int SUB_DIVISIONS) {
+        if (SUB_DIVISIONS < 1) { throw new IllegalArgumentException("Subdivisions must be > 0"); }
+        final int N = noOfNewPoints;
+        final int M = noOfSourcePoints;
+
+        // Find the number of points that have been removed from the start
+        int     shift        = 0;
+        boolean incremental  = SUB_DIVISIONS == subDivisions && M > 1 && N > 1;
+        if (incremental && !isSamePoint(0, 0)) {
+            shift = -1;
+            for (int k = 1 ; k < M - 1 ; k++) {
+                if (isSamePoint(0, k) && isSamePoint(1, k + 1)) {
+                    shift = k;
+                    break;
+                }
+            }
+            incremental = shift > 0;
+        }
+
+        // Number of unchanged points after the shift
+        int unchanged = 0;
+        if (incremental) {
+            int maxUnchanged = Math.min(N, M - shift);
+            while (unchanged < maxUnchanged && isSamePoint(unchanged, unchanged + shift)) { unchanged++; }
+        }
+
+        // Segment i depends on the points i - 1 ... i + 2
+        int firstKept = shift > 0 ? 1 : 0;
+        int lastKept  = (unchanged == N && N == M - shift) ? N - 2 : unchanged - 3;
+        if (!incremental || lastKept < firstKept) {
+            firstKept = 0;
+            lastKept  = -1;
+        }
+
+        final int NO_OF_POINTS = N < 2 ? N : (N - 1) * SUB_DIVISIONS + 1;
+        if (x.length < NO_OF_POINTS) {
+            int capacity = Math.max(NO_OF_POINTS, x.length + (x.length >> 1));
+            x       = Arrays.copyOf(x, capacity);
+            y       = Arrays.copyOf(y, capacity);
+            empty   = Arrays.copyOf(empty, capacity);
+            screenX = Arrays.copyOf(screenX, capacity);
+            screenY = Arrays.copyOf(screenY, capacity);
+        }
+
+        // Move the kept segments to their new position
+        int keptFrom = firstKept * SUB_DIVISIONS;
+        int keptTo   = (lastKept + 1) * SUB_DIVISIONS + (lastKept == N - 2 ? 1 : 0);
+        if (lastKept >= firstKept && shift > 0) {
+            int offset = shift * SUB_DIVISIONS;
+            System.arraycopy(x, keptFrom + offset, x, keptFrom, keptTo - keptFrom);
+            System.arraycopy(y, keptFrom + offset, y, keptFrom, keptTo - keptFrom);
+            System.arraycopy(empty, keptFrom + offset, empty, keptFrom, keptTo - keptFrom);
+            System.arraycopy(screenX, keptFrom + offset, screenX, keptFrom, keptTo - keptFrom);
+            System.arraycopy(screenY, keptFrom + offset, screenY, keptFrom, keptTo - keptFrom);
+        }
+        if (lastKept < firstKept) {
+            keptFrom = 0;
+            keptTo   = 0;
+        }
+
+        // Recalculate the other segments
+        noOfRecalculatedSegments = 0;
+        if (N == 1) {
+            x[0]     = newX[0];
+            y[0]     = newY[0];
+            empty[0] = newEmpty[0];
+        }
+        for (int i = 0 ; i < N - 1 ; i++) {
+            if (i >= firstKept && i <= lastKept) { continue; }
+            subdivideSegment(i, N, SUB_DIVISIONS);
+            noOfRecalculatedSegments++;
+        }
+
+        // The screen coordinates of the kept segments stay valid if the screen parameters did not change
+        if (screenValid) {
+            int offset = Math.max(shift, 0) * subDivisions;
+            screenKeptFrom = Math.max(keptFrom, screenKeptFrom - offset);
+            screenKeptTo   = Math.min(keptTo, screenKeptTo - offset);
+            if (screenKeptFrom >= screenKeptTo) {
+                screenKeptFrom = 0;
+                screenKeptTo   = 0;
+            }
+        }
+
+        // Swap source and new points
+        double[]  tmpX     = sourceX;
+        double[]  tmpY     = sourceY;
+        boolean[] tmpEmpty = sourceEmpty;
+        sourceX          = newX;
+        sourceY          = newY;
+        sourceEmpty      = newEmpty;
+        newX             = tmpX;
+        newY             = tmpY;
+        newEmpty         = tmpEmpty;
+        noOfSourcePoints = N;
+        noOfPoints       = NO_OF_POINTS;
+        subDivisions     = SUB_DIVISIONS;
+    }
+
+    private void subdivideSegment(final int SEGMENT, final int NO_OF_SOURCE_POINTS, final int SUB_DIVISIONS) {
+        final int     I0        = SEGMENT == 0 ? SEGMENT : SEGMENT - 1;
+        final int     I3        = SEGMENT + 2 == NO_OF_SOURCE_POINTS ? SEGMENT + 1 : SEGMENT + 2;
+        final double  X0        = newX[I0],          Y0 = newY[I0];
+        final double  X1        = newX[SEGMENT],     Y1 = newY[SEGMENT];
+        final double  X2        = newX[SEGMENT + 1], Y2 = newY[SEGMENT + 1];
+        final double  X3        = newX[I3],          Y3 = newY[I3];
+        final boolean EMPTY     = newEmpty[SEGMENT] || newEmpty[SEGMENT + 1];
+        final int     OFFSET    = SEGMENT * SUB_DIVISIONS;
+        // The last point of a segment is the first point of the next segment
+        final int     COUNT     = CatmullRom.subdivide(X0, Y0, X1, Y1, X2, Y2, X3, Y3, SUB_DIVISIONS, SEGMENT + 2 == NO_OF_SOURCE_POINTS, x, y, OFFSET);
+        Arrays.fill(empty, OFFSET, OFFSET + COUNT, EMPTY);
+    }
+
+    private void mapToScreen(final int FROM, final int TO) {
+        for (int i = FROM ; i < TO ; i++) {
+            screenX[i] = (x[i] - screenLowerBoundX) * screenScaleX;
+            screenY[i] = screenHeight - (y[i] - screenLowerBoundY) * screenScaleY;
+        }
+    }
+
+    private boolean isSamePoint(final int NEW_INDEX, final int SOURCE_INDEX) {
+        return Double.compare(newX[NEW_INDEX], sourceX[SOURCE_INDEX]) == 0 &&
+               Double.compare(newY[NEW_INDEX], sourceY[SOURCE_INDEX]) == 0 &&
+               newEmpty[NEW_INDEX] == sourceEmpty[SOURCE_INDEX];
+    }
+}
@@ -0,0 +1,659 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.voronoi;
+
+import java.util.Arrays;
+
+
+/**
+ * Delaunay triangulation (Bowyer-Watson) that keeps everything in int and
+ * double arrays. Vertex v has the coordinates x[v], y[v]. Triangle t has the
+ * counter clockwise vertices vertices[3t], vertices[3t + 1], vertices[3t + 2]
+ * and neighbours[3t + i] is the triangle on the other side of the edge that
+ * is opposite of vertex i (or -1). Removed triangles are recycled.
+ * The first three vertices form the super triangle that contains all points.
+ * A point is located by walking from the last created triangle towards it.
+ * Points can be removed and moved, only the triangles around them will be
+ * triangulated again. The vertices of all triangles that have been created
+ * since the last call of clearChanges() are collected, these are the
+ * vertices whose Voronoi cells changed.
+ */
+public class DelaunayTriangulation {
+    public  static final int       NO_TRIANGLE          = -1;
+    public  static final int       NO_OF_SUPER_VERTICES = 3;
+    private static final int       INITIAL_CAPACITY     = 64;
+    private              double[]  x;
+    private              double[]  y;
+    private              int[]     vertexTriangle;
+    private              int       noOfVertices;
+    private              int[]     vertices;
+    private              int[]     neighbours;
+    private              boolean[] alive;
+    private              int       noOfTriangleSlots;
+    private              int[]     freeTriangles;
+    private              int       noOfFreeTriangles;
+    private              int       lastTriangle;
+    private              int[]     stamps;
+    private              int       stamp;
+    private              int[]     stack;
+    private              int[]     cavity;
+    private              int[]     boundary;
+    private              int[]     newTriangles;
+    private              int[]     startingAt;
+    private              boolean[] removed;
+    private              int[]     freeVertices;
+    private              int       noOfFreeVertices;
+    private              boolean[] changed;
+    private              int[]     changedVertices;
+    private              int       noOfChangedVertices;
+    private              int[]     changedTriangles;
+    private              int       noOfChangedTriangles;
+    private              int[]     polygon;
+    private              int[]     polygonNeighbours;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Creates a triangulation with the given counter clockwise super triangle,
+     * all points that will be added have to be inside of it
+     */
+    public DelaunayTriangulation(final double X0, final double Y0, final double X1, final double Y1, final double X2, final double Y2) {
+        x                 = new double[INITIAL_CAPACITY];
+        y                 = new double[INITIAL_CAPACITY];
+        vertexTriangle    = new int[INITIAL_CAPACITY];
+        vertices          = new int[INITIAL_CAPACITY * 6];
+        neighbours        = new int[INITIAL_CAPACITY * 6];
+        alive             = new boolean[INITIAL_CAPACITY * 2];
+        freeTriangles     = new int[16];
+        stamps            = new int[INITIAL_CAPACITY * 2];
+        stack             = new int[16];
+        cavity            = new int[16];
+        boundary          = new int[48];
+        newTriangles      = new int[16];
+        startingAt        = new int[INITIAL_CAPACITY];
+        removed           = new boolean[INITIAL_CAPACITY];
+        freeVertices      = new int[16];
+        changed           = new boolean[INITIAL_CAPACITY];
+        changedVertices   = new int[INITIAL_CAPACITY];
+        changedTriangles  = new int[INITIAL_CAPACITY];
+        polygon           = new int[16];
+        polygonNeighbours = new int[16];
+        Arrays.fill(startingAt, NO_TRIANGLE);
+        addVertex(X0, Y0);
+        if (orientation(X0, Y0, X1, Y1, X2, Y2) > 0) {
+            addVertex(X1, Y1);
+            addVertex(X2, Y2);
+        } else {
+            addVertex(X2, Y2);
+            addVertex(X1, Y1);
+        }
+        lastTriangle = createTriangle(0, 1, 2, NO_TRIANGLE, NO_TRIANGLE, NO_TRIANGLE);
+        clearChanges();
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the number of vertex slots including the three vertices of the
+     * super triangle, slots of removed vertices will be reused
+     */
+    public int getNoOfVertices() { return noOfVertices; }
+
+    public boolean isRemoved(final int VERTEX) { return removed[VERTEX]; }
+
+    public double getX(final int VERTEX) { return x[VERTEX]; }
+    public double getY(final int VERTEX) { return y[VERTEX]; }
+
+    public boolean isSuperVertex(final int VERTEX) { return VERTEX < NO_OF_SUPER_VERTICES; }
+
+    /**
+     * Returns the number of triangle slots, slots of removed triangles are not alive
+     */
+    public int getNoOfTriangleSlots() { return noOfTriangleSlots; }
+
+    public boolean isAlive(final int TRIANGLE) { return alive[TRIANGLE]; }
+
+    public int getNoOfTriangles() { return noOfTriangleSlots - noOfFreeTriangles; }
+
+    /**
+     * Returns the vertex with the given index (0 - 2) of the triangle
+     */
+    public int getVertex(final int TRIANGLE, final int INDEX) { return vertices[3 * TRIANGLE + INDEX]; }
+
+    /**
+     * Returns the triangle on the other side of the edge opposite of the vertex with the given index (0 - 2)
+     */
+    public int getNeighbour(final int TRIANGLE, final int INDEX) { return neighbours[3 * TRIANGLE + INDEX]; }
+
+    /**
+     * Returns true if the triangle has one of the vertices of the super triangle
+     */
+    public boolean touchesSuperTriangle(final int TRIANGLE) {
+        final int OFFSET = 3 * TRIANGLE;
+        return vertices[OFFSET] < NO_OF_SUPER_VERTICES || vertices[OFFSET + 1] < NO_OF_SUPER_VERTICES || vertices[OFFSET + 2] < NO_OF_SUPER_VERTICES;
+    }
+
+    /**
+     * Inserts the point and returns its vertex index. If there is already a
+     * vertex at that position its index will be returned.
+     */
+    public int addPoint(final double X, final double Y) {
+        final int TRIANGLE = locate(X, Y);
+        if (NO_TRIANGLE == TRIANGLE) { throw new IllegalArgumentException("Point " + X + ", " + Y + " is outside of the super triangle"); }
+        final int OFFSET = 3 * TRIANGLE;
+        for (int i = 0 ; i < 3 ; i++) {
+            int vertex = vertices[OFFSET + i];
+            if (x[vertex] == X && y[vertex] == Y) { return vertex; }
+        }
+        final int VERTEX = addVertex(X, Y);
+        insert(VERTEX, TRIANGLE);
+        return VERTEX;
+    }
+
+    /**
+     * Removes the vertex and triangulates the polygon around it again
+     */
+    public void removePoint(final int VERTEX) {
+        if (isSuperVertex(VERTEX) || VERTEX >= noOfVertices || removed[VERTEX]) { return; }
+        remove(VERTEX);
+        removed[VERTEX] = true;
+        if (noOfFreeVertices == freeVertices.length) { freeVertices = Arrays.copyOf(freeVertices, noOfFreeVertices * 2); }
+        freeVertices[noOfFreeVertices++] = VERTEX;
+    }
+
+    /**
+     * Moves the vertex to the given position, it keeps its index unless there
+     * is already another vertex at the new position. In that case the vertex
+     * will be removed and the index of the other vertex will be returned.
+     */
+    public int movePoint(final int VERTEX, final double X, final double Y) {
+        if (isSuperVertex(VERTEX) || VERTEX >= noOfVertices || removed[VERTEX]) { throw new IllegalArgumentException("No vertex " + VERTEX); }
+        if (x[VERTEX] == X && y[VERTEX] == Y) { return VERTEX; }
+        remove(VERTEX);
+        final int TRIANGLE = locate(X, Y);
+        if (NO_TRIANGLE == TRIANGLE) { throw new IllegalArgumentException("Point " + X + ", " + Y + " is outside of the super triangle"); }
+        final int OFFSET = 3 * TRIANGLE;
+        for (int i = 0 ; i < 3 ; i++) {
+            int vertex = vertices[OFFSET + i];
+            if (x[vertex] == X && y[vertex] == Y) {
+                removed[VERTEX] = true;
+                if (noOfFreeVertices == freeVertices.length) { freeVertices = Arrays.copyOf(freeVertices, noOfFreeVertices * 2); }
+                freeVertices[noOfFreeVertices++] = VERTEX;
+                return vertex;
+            }
+        }
+        x[VERTEX] = X;
+        y[VERTEX] = Y;
+        insert(VERTEX, TRIANGLE);
+        return VERTEX;
+    }
+
+    /**
+     * Returns the vertices of the triangles that have been created since the
+     * last call of clearChanges() (the vertices with changed Voronoi cells),
+     * the result can contain removed vertices
+     */
+    public int[] getChangedVertices() { return Arrays.copyOf(changedVertices, noOfChangedVertices); }
+
+    /**
+     * Returns the triangles that have been created since the last call of
+     * clearChanges(), the result can contain triangles that are not alive anymore
+     */
+    public int[] getChangedTriangles() { return Arrays.copyOf(changedTriangles, noOfChangedTriangles); }
+
+    public int getNoOfChangedVertices() { return noOfChangedVertices; }
+
+    public void clearChanges() {
+        for (int i = 0 ; i < noOfChangedVertices ; i++) { changed[changedVertices[i]] = false; }
+        noOfChangedVertices  = 0;
+        noOfChangedTriangles = 0;
+    }
+
+    /**
+     * Inserts all points in the order of a Hilbert curve, so that each point
+     * is close to the previous one and the walks to locate them are short.
+     * @return the vertex index of each point
+     */
+    public int[] addPoints(final double[] XS, final double[] YS, final int COUNT) {
+        final int[] RESULT = new int[COUNT];
+        if (COUNT == 0) { return RESULT; }
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0 ; i < COUNT ; i++) {
+            minX = Math.min(minX, XS[i]);
+            maxX = Math.max(maxX, XS[i]);
+            minY = Math.min(minY, YS[i]);
+            maxY = Math.max(maxY, YS[i]);
+        }
+        final double SCALE_X = maxX > minX ? 1023 / (maxX - minX) : 0;
+        final double SCALE_Y = maxY > minY ? 1023 / (maxY - minY) : 0;
+        final long[] KEYS    = new long[COUNT];
+        for (int i = 0 ; i < COUNT ; i++) {
+            long d = hilbertIndex((int) ((XS[i] - minX) * SCALE_X), (int) ((YS[i] - minY) * SCALE_Y));
+            KEYS[i] = (d << 32) | i;
+        }
+        Arrays.sort(KEYS);
+        ensureVertexCapacity(noOfVertices + COUNT);
+        for (long key : KEYS) {
+            int i = (int) key;
+            RESULT[i] = addPoint(XS[i], YS[i]);
+        }
+        return RESULT;
+    }
+
+    /**
+     * Returns a triangle that contains the given point or NO_TRIANGLE if the point is outside of the super triangle
+     */
+    public int locate(final double X, final double Y) {
+        int triangle = alive[lastTriangle] ? lastTriangle : firstAliveTriangle();
+        int steps    = 0;
+        int maxSteps = getNoOfTriangles() + 3;
+        walk:
+        while (steps++ < maxSteps) {
+            final int OFFSET = 3 * triangle;
+            // Start with another edge each step, this avoids cycles on degenerate input
+            final int START = steps % 3;
+            for (int k = 0 ; k < 3 ; k++) {
+                int i = START + k;
+                if (i > 2) { i -= 3; }
+                int a = vertices[OFFSET + (i == 2 ? 0 : i + 1)];
+                int b = vertices[OFFSET + (i == 0 ? 2 : i - 1)];
+                if (orientation(x[a], y[a], x[b], y[b], X, Y) < 0) {
+                    int next = neighbours[OFFSET + i];
+                    if (NO_TRIANGLE == next) { return NO_TRIANGLE; }
+                    triangle = next;
+                    continue walk;
+                }
+            }
+            return triangle;
+        }
+        // The walk didn't terminate, fall back to checking all triangles
+        for (int t = 0 ; t < noOfTriangleSlots ; t++) {
+            if (alive[t] && contains(t, X, Y)) { return t; }
+        }
+        return NO_TRIANGLE;
+    }
+
+    /**
+     * Returns the index of the vertex of the triangle (0 - 2) or -1
+     */
+    public int indexOf(final int TRIANGLE, final int VERTEX) {
+        final int OFFSET = 3 * TRIANGLE;
+        if (vertices[OFFSET]     == VERTEX) { return 0; }
+        if (vertices[OFFSET + 1] == VERTEX) { return 1; }
+        if (vertices[OFFSET + 2] == VERTEX) { return 2; }
+        return -1;
+    }
+
+    /**
+     * Returns the triangles around the given vertex in counter clockwise order.
+     * If the vertex is on the border of the triangulation the result starts at the border.
+     */
+    public int[] getSurroundingTriangles(final int VERTEX) {
+        final int START = vertexTriangle[VERTEX];
+        if (NO_TRIANGLE == START) { return new int[0]; }
+        // Turn clockwise to the border (if any) first
+        int first    = START;
+        int previous = clockwiseNeighbour(first, VERTEX);
+        while (NO_TRIANGLE != previous && START != previous) {
+            first    = previous;
+            previous = clockwiseNeighbour(first, VERTEX);
+        }
+        int[] triangles = new int[8];
+        int   count     = 0;
+        int   triangle  = first;
+        do {
+            if (count == triangles.length) { triangles = Arrays.copyOf(triangles, count * 2); }
+            triangles[count++] = triangle;
+            triangle = counterClockwiseNeighbour(triangle, VERTEX);
+        } while (NO_TRIANGLE != triangle && first != triangle);
+        return Arrays.copyOf(triangles, count);
+    }
+
+    /**
+     * Writes the circumcenter of the triangle into OUT[0] and OUT[1]
+     */
+    public void getCircumcenter(final int TRIANGLE, final double[] OUT) {
+        final int    OFFSET = 3 * TRIANGLE;
+        final int    A      = vertices[OFFSET];
+        final int    B      = vertices[OFFSET + 1];
+        final int    C      = vertices[OFFSET + 2];
+        final double BX     = x[B] - x[A];
+        final double BY     = y[B] - y[A];
+        final double CX     = x[C] - x[A];
+        final double CY     = y[C] - y[A];
+        final double D      = 2 * (BX * CY - BY * CX);
+        final double B2     = BX * BX + BY * BY;
+        final double C2     = CX * CX + CY * CY;
+        OUT[0] = x[A] + (CY * B2 - BY * C2) / D;
+        OUT[1] = y[A] + (BX * C2 - CX * B2) / D;
+    }
+
+    private int clockwiseNeighbour(final int TRIANGLE, final int VERTEX) {
+        // The edge from VERTEX to the next vertex is opposite of the previous vertex
+        final int I = indexOf(TRIANGLE, VERTEX);
+        return neighbours[3 * TRIANGLE + (I == 0 ? 2 : I - 1)];
+    }
+
+    private int counterClockwiseNeighbour(final int TRIANGLE, final int VERTEX) {
+        // The edge from the previous vertex to VERTEX is opposite of the next vertex
+        final int I = indexOf(TRIANGLE, VERTEX);
+        return neighbours[3 * TRIANGLE + (I == 2 ? 0 : I + 1)];
+    }
+
+    /**
+     * Removes all triangles whose circumcircle contains the new vertex (the
+     * cavity) and connects the vertex with the edges on the border of the cavity
+     */
+    private void insert(final int VERTEX, final int TRIANGLE) {
+        final double PX = x[VERTEX];
+        final double PY = y[VERTEX];
+        nextStamp();
+
+        // Collect the cavity with a depth first search starting at the triangle that contains the point
+        int noOfCavity   = 0;
+        int noOfBoundary = 0;
+        int top          = 0;
+        stack[top++]     = TRIANGLE;
+        stamps[TRIANGLE] = stamp;
+        while (top > 0) {
+            final int T = stack[--top];
+            if (noOfCavity == cavity.length) { cavity = Arrays.copyOf(cavity, noOfCavity * 2); }
+            cavity[noOfCavity++] = T;
+            for (int i = 0 ; i < 3 ; i++) {
+                final int N = neighbours[3 * T + i];
+                if (NO_TRIANGLE != N && stamps[N] == stamp) { continue; }
+                if (NO_TRIANGLE != N && inCircumcircle(N, PX, PY)) {
+                    stamps[N] = stamp;
+                    if (top == stack.length) { stack = Arrays.copyOf(stack, top * 2); }
+                    stack[top++] = N;
+                } else {
+                    // Edge of T opposite of vertex i is on the border, remember a, b and the outer triangle
+                    if (noOfBoundary + 3 > boundary.length) { boundary = Arrays.copyOf(boundary, boundary.length * 2); }
+                    boundary[noOfBoundary++] = vertices[3 * T + (i == 2 ? 0 : i + 1)];
+                    boundary[noOfBoundary++] = vertices[3 * T + (i == 0 ? 2 : i - 1)];
+                    boundary[noOfBoundary++] = N;
+                }
+            }
+        }
+        // A neighbour outside of the cavity could be reached from two cavity triangles, the stamps only mark cavity triangles
+        for (int i = 0 ; i < noOfCavity ; i++) { releaseTriangle(cavity[i]); }
+
+        // Fan of new triangles
+        final int NO_OF_EDGES = noOfBoundary / 3;
+        if (NO_OF_EDGES > newTriangles.length) { newTriangles = Arrays.copyOf(newTriangles, NO_OF_EDGES * 2); }
+        for (int e = 0 ; e < NO_OF_EDGES ; e++) {
+            final int A     = boundary[3 * e];
+            final int B     = boundary[3 * e + 1];
+            final int OUTER = boundary[3 * e + 2];
+            final int T     = createTriangle(A, B, VERTEX, NO_TRIANGLE, NO_TRIANGLE, OUTER);
+            if (NO_TRIANGLE != OUTER) {
+                // Let the outer triangle point to the new one instead of the removed one
+                final int OFFSET = 3 * OUTER;
+                for (int i = 0 ; i < 3 ; i++) {
+                    int u = vertices[OFFSET + (i == 2 ? 0 : i + 1)];
+                    int v = vertices[OFFSET + (i == 0 ? 2 : i - 1)];
+                    if (u == B && v == A) {
+                        neighbours[OFFSET + i] = T;
+                        break;
+                    }
+                }
+            }
+            startingAt[A]   = T;
+            newTriangles[e] = T;
+        }
+        // Triangle (a, b, p) shares the edge (b, p) with the triangle that starts at b
+        for (int e = 0 ; e < NO_OF_EDGES ; e++) {
+            final int T    = newTriangles[e];
+            final int NEXT = startingAt[vertices[3 * T + 1]];
+            neighbours[3 * T]        = NEXT;
+            neighbours[3 * NEXT + 1] = T;
+        }
+        for (int e = 0 ; e < NO_OF_EDGES ; e++) { startingAt[vertices[3 * newTriangles[e]]] = NO_TRIANGLE; }
+        lastTriangle = newTriangles[0];
+    }
+
+    /**
+     * Removes the triangles around the vertex and fills the polygon they leave
+     * with Delaunay triangles by cutting off ears whose circumcircle contains
+     * no other vertex of the polygon
+     */
+    private void remove(final int VERTEX) {
+        final int[] STAR = getSurroundingTriangles(VERTEX);
+        final int   N    = STAR.length;
+        if (N > polygon.length) {
+            polygon           = new int[N * 2];
+            polygonNeighbours = new int[N * 2];
+        }
+        // polygon[k] -> polygon[k + 1] is an edge of the polygon (counter clockwise), polygonNeighbours[k] the triangle on its outer side
+        for (int k = 0 ; k < N ; k++) {
+            final int T = STAR[k];
+            final int I = indexOf(T, VERTEX);
+            polygon[k]           = vertices[3 * T + (I == 2 ? 0 : I + 1)];
+            polygonNeighbours[k] = neighbours[3 * T + I];
+        }
+        for (int k = 0 ; k < N ; k++) { releaseTriangle(STAR[k]); }
+        vertexTriangle[VERTEX] = NO_TRIANGLE;
+
+        int size = N;
+        while (size > 3) {
+            int ear = -1;
+            for (int k = 0 ; k < size && ear < 0 ; k++) {
+                if (isDelaunayEar(k, size)) { ear = k; }
+            }
+            if (ear < 0) {
+                // Rounding errors, take the first convex ear
+                for (int k = 0 ; k < size && ear < 0 ; k++) {
+                    int a = polygon[k], b = polygon[(k + 1) % size], c = polygon[(k + 2) % size];
+                    if (orientation(x[a], y[a], x[b], y[b], x[c], y[c]) > 0) { ear = k; }
+                }
+                if (ear < 0) { ear = 0; }
+            }
+            final int K1 = (ear + 1) % size;
+            final int K2 = (ear + 2) % size;
+            final int A  = polygon[ear];
+            final int B  = polygon[K1];
+            final int C  = polygon[K2];
+            final int T  = createTriangle(A, B, C, NO_TRIANGLE, NO_TRIANGLE, NO_TRIANGLE);
+            setNeighbours(T, A, B, polygonNeighbours[ear]);
+            setNeighbours(T, B, C, polygonNeighbours[K1]);
+            // The new edge a -> c replaces the two edges of the ear, T is on its outer side
+            polygonNeighbours[ear] = T;
+            System.arraycopy(polygon, K1 + 1, polygon, K1, size - K1 - 1);
+            System.arraycopy(polygonNeighbours, K1 + 1, polygonNeighbours, K1, size - K1 - 1);
+            size--;
+        }
+        final int T = createTriangle(polygon[0], polygon[1], polygon[2], NO_TRIANGLE, NO_TRIANGLE, NO_TRIANGLE);
+        setNeighbours(T, polygon[0], polygon[1], polygonNeighbours[0]);
+        setNeighbours(T, polygon[1], polygon[2], polygonNeighbours[1]);
+        setNeighbours(T, polygon[2], polygon[0], polygonNeighbours[2]);
+        lastTriangle = T;
+    }
+
+    private boolean isDelaunayEar(final int K, final int SIZE) {
+        final int A = polygon[K];
+        final int B = polygon[(K + 1) % SIZE];
+        final int C = polygon[(K + 2) % SIZE];
+        if (orientation(x[A], y[A], x[B], y[B], x[C], y[C]) <= 0) { return false; }
+        for (int j = 0 ; j < SIZE ; j++) {
+            int v = polygon[j];
+            if (v == A || v == B || v == C) { continue; }
+            if (inCircumcircle(A, B, C, x[v], y[v])) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Connects the triangles on both sides of the edge from A to B (counter clockwise in TRIANGLE)
+     */
+    private void setNeighbours(final int TRIANGLE, final int A, final int B, final int NEIGHBOUR) {
+        neighbours[3 * TRIANGLE + edgeIndex(TRIANGLE, A, B)] = NEIGHBOUR;
+        if (NO_TRIANGLE != NEIGHBOUR) { neighbours[3 * NEIGHBOUR + edgeIndex(NEIGHBOUR, B, A)] = TRIANGLE; }
+    }
+
+    /**
+     * Returns the index of the vertex that is opposite of the edge from A to B
+     */
+    private int edgeIndex(final int TRIANGLE, final int A, final int B) {
+        final int I = indexOf(TRIANGLE, A);
+        if (vertices[3 * TRIANGLE + (I == 2 ? 0 : I + 1)] != B) { throw new IllegalStateException("Edge " + A + " -> " + B + " not in triangle " + TRIANGLE); }
+        return I == 0 ? 2 : I - 1;
+    }
+
+    private boolean inCircumcircle(final int TRIANGLE, final double PX, final double PY) {
+        final int OFFSET = 3 * TRIANGLE;
+        return inCircumcircle(vertices[OFFSET], vertices[OFFSET + 1], vertices[OFFSET + 2], PX, PY);
+    }
+    private boolean inCircumcircle(final int A, final int B, final int C, final double PX, final double PY) {
+        final double ADX = x[A] - PX;
+        final double ADY = y[A] - PY;
+        final double BDX = x[B] - PX;
+        final double BDY = y[B] - PY;
+        final double CDX = x[C] - PX;
+        final double CDY = y[C] - PY;
+        final double AD  = ADX * ADX + ADY * ADY;
+        final double BD  = BDX * BDX + BDY * BDY;
+        final double CD  = CDX * CDX + CDY * CDY;
+        return ADX * (BDY * CD - BD * CDY) - ADY * (BDX * CD - BD * CDX) + AD * (BDX * CDY - BDY * CDX) > 0;
+    }
+
+    private boolean contains(final int TRIANGLE, final double X, final double Y) {
+        final int OFFSET = 3 * TRIANGLE;
+        final int A      = vertices[OFFSET];
+        final int B      = vertices[OFFSET + 1];
+        final int C      = vertices[OFFSET + 2];
+        return orientation(x[A], y[A], x[B], y[B], X, Y) >= 0 && orientation(x[B], y[B], x[C], y[C], X, Y) >= 0 && orientation(x[C], y[C], x[A], y[A], X, Y) >= 0;
+    }
+
+    /**
+     * Returns a positive value if C is on the left of the line from A to B, a negative value if it is on the right and 0 if it is on the line
+     */
+    private static double orientation(final double AX, final double AY, final double BX, final double BY, final double CX, final double CY) {
+        return (BX - AX) * (CY - AY) - (BY - AY) * (CX - AX);
+    }
+
+    private int addVertex(final double X, final double Y) {
+        final int VERTEX;
+        if (noOfFreeVertices > 0) {
+            VERTEX = freeVertices[--noOfFreeVertices];
+        } else {
+            ensureVertexCapacity(noOfVertices + 1);
+            VERTEX = noOfVertices++;
+        }
+        x[VERTEX]              = X;
+        y[VERTEX]              = Y;
+        vertexTriangle[VERTEX] = NO_TRIANGLE;
+        removed[VERTEX]        = false;
+        return VERTEX;
+    }
+
+    private void ensureVertexCapacity(final int CAPACITY) {
+        if (CAPACITY <= x.length) { return; }
+        final int OLD_LENGTH = x.length;
+        final int LENGTH     = Math.max(CAPACITY, OLD_LENGTH + (OLD_LENGTH >> 1));
+        x              = Arrays.copyOf(x, LENGTH);
+        y              = Arrays.copyOf(y, LENGTH);
+        vertexTriangle = Arrays.copyOf(vertexTriangle, LENGTH);
+        startingAt     = Arrays.copyOf(startingAt, LENGTH);
+        removed        = Arrays.copyOf(removed, LENGTH);
+        changed        = Arrays.copyOf(changed, LENGTH);
+        Arrays.fill(startingAt, OLD_LENGTH, LENGTH, NO_TRIANGLE);
+    }
+
+    private int createTriangle(final int A, final int B, final int C, final int NEIGHBOUR_A, final int NEIGHBOUR_B, final int NEIGHBOUR_C) {
+        final int TRIANGLE;
+        if (noOfFreeTriangles > 0) {
+            TRIANGLE = freeTriangles[--noOfFreeTriangles];
+        } else {
+            if (noOfTriangleSlots == alive.length) {
+                final int LENGTH = noOfTriangleSlots * 2;
+                vertices   = Arrays.copyOf(vertices, LENGTH * 3);
+                neighbours = Arrays.copyOf(neighbours, LENGTH * 3);
+                alive      = Arrays.copyOf(alive, LENGTH);
+                stamps     = Arrays.copyOf(stamps, LENGTH);
+            }
+            TRIANGLE = noOfTriangleSlots++;
+        }
+        final int OFFSET = 3 * TRIANGLE;
+        vertices[OFFSET]       = A;
+        vertices[OFFSET + 1]   = B;
+        vertices[OFFSET + 2]   = C;
+        neighbours[OFFSET]     = NEIGHBOUR_A;
+        neighbours[OFFSET + 1] = NEIGHBOUR_B;
+        neighbours[OFFSET + 2] = NEIGHBOUR_C;
+        alive[TRIANGLE]        = true;
+        stamps[TRIANGLE]       = 0;
+        vertexTriangle[A]      = TRIANGLE;
+        vertexTriangle[B]      = TRIANGLE;
+        vertexTriangle[C]      = TRIANGLE;
+        markChanged(A);
+        markChanged(B);
+        markChanged(C);
+        if (noOfChangedTriangles == changedTriangles.length) { changedTriangles = Arrays.copyOf(changedTriangles, noOfChangedTriangles * 2); }
+        changedTriangles[noOfChangedTriangles++] = TRIANGLE;
+        return TRIANGLE;
+    }
+
+    private void markChanged(final int VERTEX) {
+        if (changed[VERTEX]) { return; }
+        changed[VERTEX] = true;
+        if (noOfChangedVertices == changedVertices.length) { changedVertices = Arrays.copyOf(changedVertices, noOfChangedVertices * 2); }
+        changedVertices[noOfChangedVertices++] = VERTEX;
+    }
+
+    private void releaseTriangle(final int TRIANGLE) {
+        alive[TRIANGLE] = false;
+        if (noOfFreeTriangles == freeTriangles.length) { freeTriangles = Arrays.copyOf(freeTriangles, noOfFreeTriangles * 2); }
+        freeTriangles[noOfFreeTriangles++] = TRIANGLE;
+    }
+
+    private int firstAliveTriangle() {
+        for (int t = 0 ; t < noOfTriangleSlots ; t++) { if (alive[t]) { return t; } }
+        return NO_TRIANGLE;
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Returns the position of the given cell on a Hilbert curve through a 1024 x 1024 grid
+     */
+    private static long hilbertIndex(final int X, final int Y) {
+        long d = 0;
+        int  x = X;
+        int  y = Y;
+        for (int s = 1 << 9 ; s > 0 ; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+}
@@ -71,8 +71,13 @@ public class VoronoiChart extends Region {
     private              GraphicsContext          ctx;
     private              Pane                     pane;
     private              ObservableList<VPoint>   points;
-    private              Triangle                 initialTriangle;
-    private              Triangulation            triangulation;
+    private              DelaunayTriangulation    triangulation;
+    private              List<VPoint>             sites;
+    private              Map<VPoint, Integer>     vertexOf;
+    private              int                      noOfSites;
+    private              double[]                 cellX;
+    private              double[]                 cellY;
+    private              double[]                 center;
     private              Map<Object, Color>       colorTable;
     private              boolean                  _pointsVisible;
     private              BooleanProperty          pointsVisible;
@@ -101,8 +106,12 @@ public class VoronoiChart extends Region {
     }
     public VoronoiChart(final List<VPoint> points) {
         this.points          = FXCollections.observableArrayList(points);
-        this.initialTriangle = new Triangle(new VPoint(-initialSize, -initialSize), new VPoint(initialSize, -initialSize), new VPoint(0, initialSize));
-        this.triangulation   = new Triangulation(initialTriangle);
+        this.triangulation   = createTriangulation();
+        this.sites           = new ArrayList<>();
+        this.vertexOf        = new HashMap<>();
+        this.cellX           = new double[16];
+        this.cellY           = new double[16];
+        this.center          = new double[2];
         this.colorTable      = new HashMap<>();
         this._pointsVisible  = true;
         this._pointColor     = Color.BLACK;
@@ -117,7 +126,7 @@ public class VoronoiChart extends Region {
         initGraphics();
         registerListeners();
 
-        points.forEach(point -> addPoint(point));
+        addPoints(this.points);
     }
 
 
@@ -146,12 +155,16 @@ public class VoronoiChart extends Region {
         heightProperty().addListener(o -> resize());
         points.addListener((ListChangeListener<VPoint>) c -> {
             while (c.next()) {
-                if (c.wasAdded()) {
-                    c.getAddedSubList().forEach(point -> addPoint(point));
-                } else if (c.wasRemoved()) {
+                List<? extends VPoint> removed = c.getRemoved();
+                List<? extends VPoint> added   = c.wasAdded() ? c.getAddedSubList() : List.of();
+                if (c.wasReplaced() && removed.size() == added.size()) {
+                    for (int i = 0 ; i < added.size() ; i++) { relocate(removed.get(i), added.get(i)); }
+                } else {
+                    removed.forEach(point -> remove(point));
+                    if (!added.isEmpty()) { addPoints(added); }
                 }
             }
-            redraw();
+            drawChanges();
         });
     }
 
@@ -318,12 +331,32 @@ public class VoronoiChart extends Region {
     }
 
     public void addPoint(final VPoint point) {
-        triangulation.place(point);
-        redraw();
+        insert(point, triangulation.addPoint(point.getCoordinates(0), point.getCoordinates(1)));
+        drawChanges();
+    }
+
+    /**
+     * Removes the point, only the surrounding cells will be triangulated and drawn again
+     */
+    public void removePoint(final VPoint point) {
+        remove(point);
+        drawChanges();
+    }
+
+    /**
+     * Moves the site at OLD_POINT to NEW_POINT, only the cells around the old
+     * and the new position will be triangulated and drawn again
+     */
+    public void movePoint(final VPoint oldPoint, final VPoint newPoint) {
+        relocate(oldPoint, newPoint);
+        drawChanges();
     }
 
     public void clear() {
-        triangulation = new Triangulation(initialTriangle);
+        triangulation = createTriangulation();
+        sites.clear();
+        vertexOf.clear();
+        noOfSites = 0;
         redraw();
     }
 
@@ -388,6 +421,55 @@ public class VoronoiChart extends Region {
         return userAgentStyleSheet;
     }
 
+    private static DelaunayTriangulation createTriangulation() {
+        return new DelaunayTriangulation(-initialSize, -initialSize, initialSize, -initialSize, 0, initialSize);
+    }
+
+    private void addPoints(final List<? extends VPoint> points) {
+        final int      NO_OF_POINTS = points.size();
+        final double[] XS           = new double[NO_OF_POINTS];
+        final double[] YS           = new double[NO_OF_POINTS];
+        for (int i = 0 ; i < NO_OF_POINTS ; i++) {
+            XS[i] = points.get(i).getCoordinates(0);
+            YS[i] = points.get(i).getCoordinates(1);
+        }
+        final int[] VERTICES = triangulation.addPoints(XS, YS, NO_OF_POINTS);
+        for (int i = 0 ; i < NO_OF_POINTS ; i++) { insert(points.get(i), VERTICES[i]); }
+    }
+
+    /**
+     * Remembers the point of the given vertex, sites.get(vertex - 3) is the point of a vertex
+     */
+    private void insert(final VPoint point, final int vertex) {
+        final int INDEX = vertex - DelaunayTriangulation.NO_OF_SUPER_VERTICES;
+        while (sites.size() <= INDEX) { sites.add(null); }
+        if (null == sites.get(INDEX)) {
+            sites.set(INDEX, point);
+            vertexOf.put(point, vertex);
+            noOfSites++;
+        }
+    }
+
+    private void remove(final VPoint point) {
+        Integer vertex = vertexOf.remove(point);
+        if (null == vertex) { return; }
+        triangulation.removePoint(vertex);
+        sites.set(vertex - DelaunayTriangulation.NO_OF_SUPER_VERTICES, null);
+        noOfSites--;
+    }
+
+    private void relocate(final VPoint oldPoint, final VPoint newPoint) {
+        Integer vertex = vertexOf.get(oldPoint);
+        if (null == vertex) {
+            insert(newPoint, triangulation.addPoint(newPoint.getCoordinates(0), newPoint.getCoordinates(1)));
+            return;
+        }
+        vertexOf.remove(oldPoint);
+        sites.set(vertex - DelaunayTriangulation.NO_OF_SUPER_VERTICES, null);
+        noOfSites--;
+        insert(newPoint, triangulation.movePoint(vertex, newPoint.getCoordinates(0), newPoint.getCoordinates(1)));
+    }
+
     private Color getColor(final Object item) {
         if (colorTable.containsKey(item)) { return colorTable.get(item); }
         Color color = Helper.hsbToRGB(RND.nextDouble() * 360, 1.0, 1.0);
@@ -403,62 +485,79 @@ public class VoronoiChart extends Region {
         ctx.fillOval(x - r, y - r, r + r, r + r);
     }
 
-    private void drawPolygon(final VPoint[] polygon, final Color fillColor) {
-        double[] x = new double[polygon.length];
-        double[] y = new double[polygon.length];
-        for (int i = 0; i < polygon.length; i++) {
-            x[i] = polygon[i].getCoordinates(0);
-            y[i] = polygon[i].getCoordinates(1);
-        }
+    private void drawPolygon(final double[] x, final double[] y, final int noOfPoints, final Color fillColor) {
         if (fillColor != null) {
             Paint temp = ctx.getFill();
             ctx.setFill(fillColor);
-            ctx.fillPolygon(x, y, polygon.length);
+            ctx.fillPolygon(x, y, noOfPoints);
             ctx.setFill(temp);
         }
         ctx.setStroke(getBorderColor());
-        ctx.strokePolygon(x, y, polygon.length);
+        ctx.strokePolygon(x, y, noOfPoints);
     }
 
     private void drawDelaunay() {
-        boolean filled = getFillRegions();
-        for (Triangle triangle : triangulation) {
-            VPoint[] vertices = triangle.toArray(new VPoint[0]);
-            drawPolygon(vertices, filled ? getMulticolor() ? getColor(triangle) : getDelaunayColor() : Color.TRANSPARENT);
+        for (int triangle = 0 ; triangle < triangulation.getNoOfTriangleSlots() ; triangle++) {
+            if (triangulation.isAlive(triangle)) { drawTriangle(triangle); }
+        }
+    }
+
+    private void drawTriangle(final int triangle) {
+        for (int i = 0 ; i < 3 ; i++) {
+            int vertex = triangulation.getVertex(triangle, i);
+            cellX[i] = triangulation.getX(vertex);
+            cellY[i] = triangulation.getY(vertex);
         }
+        drawPolygon(cellX, cellY, 3, getFillRegions() ? getMulticolor() ? getColor(triangle) : getDelaunayColor() : Color.TRANSPARENT);
     }
 
     private void drawVoronoi() {
-        boolean     filled = getFillRegions();
-        Set<VPoint> done   = new HashSet<>(initialTriangle);
-        for (Triangle triangle : triangulation) {
-            for (VPoint point : triangle) {
-                if (done.contains(point)) { continue; }
-                done.add(point);
-                List<Triangle> triangles = triangulation.surroundingTriangles(point, triangle);
-                VPoint[]       vertices  = new VPoint[triangles.size()];
-                int            counter   = 0;
-                for (Triangle tri : triangles) {
-                    vertices[counter++] = tri.getCircumCenter();
-                }
-                drawPolygon(vertices, filled ? getMulticolor() ? getColor(point) : getVoronoiColor() : Color.TRANSPARENT);
+        for (int vertex = DelaunayTriangulation.NO_OF_SUPER_VERTICES ; vertex < triangulation.getNoOfVertices() ; vertex++) {
+            if (triangulation.isRemoved(vertex)) { continue; }
+            drawCell(vertex);
+            if (getPointsVisible()) { drawPoint(getSite(vertex)); }
+        }
+    }
 
-                if (getPointsVisible()) { drawPoint(point); }
-            }
+    private void drawCell(final int vertex) {
+        int noOfCorners = getCell(vertex);
+        VPoint point = getSite(vertex);
+        drawPolygon(cellX, cellY, noOfCorners, getFillRegions() ? getMulticolor() ? getColor(point) : getVoronoiColor() : Color.TRANSPARENT);
+    }
+
+    /**
+     * Writes the corners of the Voronoi cell of the vertex into cellX and cellY and returns their number
+     */
+    private int getCell(final int vertex) {
+        int[] triangles = triangulation.getSurroundingTriangles(vertex);
+        if (triangles.length > cellX.length) {
+            cellX = new double[triangles.length];
+            cellY = new double[triangles.length];
         }
+        for (int i = 0 ; i < triangles.length ; i++) {
+            triangulation.getCircumcenter(triangles[i], center);
+            cellX[i] = center[0];
+            cellY[i] = center[1];
+        }
+        return triangles.length;
     }
 
-    private void drawChart() {
-        ctx.clearRect(0, 0, width, height);
+    private VPoint getSite(final int vertex) { return sites.get(vertex - DelaunayTriangulation.NO_OF_SUPER_VERTICES); }
 
+    private void fillBackground() {
         if (!isVoronoi()) {
             ctx.setFill(getDelaunayColor());
-        } else if (triangulation.contains(initialTriangle)) {
+        } else if (0 == noOfSites) {
             ctx.setFill(Color.TRANSPARENT);
         } else {
             ctx.setFill(getVoronoiColor());
         }
         ctx.fillRect(0, 0, this.getWidth(), this.getHeight());
+    }
+
+    private void drawChart() {
+        ctx.clearRect(0, 0, width, height);
+        fillBackground();
 
         if (!getMulticolor()) { colorTable.clear(); }
 
@@ -466,6 +565,79 @@ public class VoronoiChart extends Region {
             case VORONOI: drawVoronoi(); break;
             case DELAUNY: drawDelaunay(); break;
         }
+        triangulation.clearChanges();
+    }
+
+    /**
+     * Draws only the cells (or triangles) that changed since the last drawing.
+     * The canvas is clipped to the area of the new cells, which is the same
+     * area that the changed cells covered before, cleared and the cells are
+     * drawn again. If many cells changed everything will be drawn again.
+     */
+    private void drawChanges() {
+        if (width <= 0 || height <= 0 || noOfSites < 2 || triangulation.getNoOfChangedVertices() > noOfSites / 4) {
+            redraw();
+            return;
+        }
+        if (!getMulticolor()) { colorTable.clear(); }
+        ctx.save();
+        ctx.beginPath();
+        switch(getType()) {
+            case VORONOI:
+                int[] changedVertices = triangulation.getChangedVertices();
+                for (int vertex : changedVertices) {
+                    if (triangulation.isSuperVertex(vertex) || triangulation.isRemoved(vertex)) { continue; }
+                    addToPath(getCell(vertex));
+                }
+                ctx.clip();
+                ctx.clearRect(0, 0, width, height);
+                fillBackground();
+                for (int vertex : changedVertices) {
+                    if (triangulation.isSuperVertex(vertex) || triangulation.isRemoved(vertex)) { continue; }
+                    drawCell(vertex);
+                }
+                ctx.restore();
+                if (getPointsVisible()) {
+                    // The points of the neighbours could be partly covered by the changed cells
+                    Set<Integer> done = new HashSet<>();
+                    for (int vertex : changedVertices) {
+                        if (triangulation.isSuperVertex(vertex) || triangulation.isRemoved(vertex)) { continue; }
+                        for (int triangle : triangulation.getSurroundingTriangles(vertex)) {
+                            for (int i = 0 ; i < 3 ; i++) {
+                                int neighbour = triangulation.getVertex(triangle, i);
+                                if (!triangulation.isSuperVertex(neighbour) && done.add(neighbour)) { drawPoint(getSite(neighbour)); }
+                            }
+                        }
+                    }
+                }
+                break;
+            case DELAUNY:
+                int[] changedTriangles = triangulation.getChangedTriangles();
+                for (int triangle : changedTriangles) {
+                    if (!triangulation.isAlive(triangle)) { continue; }
+                    for (int i = 0 ; i < 3 ; i++) {
+                        int vertex = triangulation.getVertex(triangle, i);
+                        cellX[i] = triangulation.getX(vertex);
+                        cellY[i] = triangulation.getY(vertex);
+                    }
+                    addToPath(3);
+                }
+                ctx.clip();
+                ctx.clearRect(0, 0, width, height);
+                fillBackground();
+                for (int triangle : changedTriangles) {
+                    if (triangulation.isAlive(triangle)) { drawTriangle(triangle); }
+                }
+                ctx.restore();
+                break;
+        }
+        triangulation.clearChanges();
+    }
+
+    private void addToPath(final int noOfCorners) {
+        ctx.moveTo(cellX[0], cellY[0]);
+        for (int i = 1 ; i < noOfCorners ; i++) { ctx.lineTo(cellX[i], cellY[i]); }
+        ctx.closePath();
     }
 
     private void resize() {
@@ -27,12 +27,14 @@ import eu.hansolo.fx.charts.tools.Helper;
 import eu.hansolo.fx.charts.tools.Location;
 import eu.hansolo.fx.charts.tools.MapPoint;
 import eu.hansolo.fx.charts.tools.Point;
+import eu.hansolo.fx.geometry.RectBounds;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.DefaultProperty;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.DoubleProperty;
@@ -53,6 +55,7 @@ import javafx.css.StyleablePropertyFactory;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
 import javafx.event.WeakEventHandler;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -81,10 +84,9 @@ import javafx.scene.shape.SVGPath;
 import javafx.scene.shape.Shape;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Scale;
 import javafx.util.Duration;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -97,7 +99,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalDouble;
-import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -113,9 +114,8 @@ import static javafx.scene.input.MouseEvent.MOUSE_RELEASED;
 @DefaultProperty("children")
 public class World extends Region {
     public enum Resolution { HI_RES, LO_RES };
+    public enum RenderMode { NODES, CANVAS };
     private static final StyleablePropertyFactory<World> FACTORY          = new StyleablePropertyFactory<>(Region.getClassCssMetaData());
-    private static final String                          HIRES_PROPERTIES = "eu/hansolo/fx/charts/world/hires.properties";
-    private static final String                          LORES_PROPERTIES = "eu/hansolo/fx/chaworld/lores.properties";
     private static final double                          PREFERRED_WIDTH  = 1009;
     private static final double                          PREFERRED_HEIGHT = 665;
     private static final double                          MINIMUM_WIDTH    = 100;
@@ -126,6 +126,7 @@ public class World extends Region {
     private static       double                          MAP_OFFSET_Y     = PREFERRED_HEIGHT * 0.195;
     private static final double                          ASPECT_RATIO     = PREFERRED_HEIGHT / PREFERRED_WIDTH;
     private static final double                          MAX_DIAM         = 50;
+    private static final double                          MAX_MAP_SIZE     = 4096;
     private static final CssMetaData<World, Color>       BACKGROUND_COLOR = FACTORY.createColorCssMetaData("-background-color", s -> s.backgroundColor, Color.web("#3f3f4f"), false);
     private        final StyleableProperty<Color>        backgroundColor;
     private static final CssMetaData<World, Color>       FILL_COLOR = FACTORY.createColorCssMetaData("-fill-color", s -> s.fillColor, Color.web("#d9d9dc"), false);
@@ -145,7 +146,8 @@ public class World extends Region {
     private              ObjectProperty<Country>         selectedCountry;
     private              BooleanProperty                 zoomEnabled;
     private              DoubleProperty                  scaleFactor;
-    private              Properties                      resolutionProperties;
+    private        final WorldGeometry                   geometry;
+    private        final RenderMode                      renderMode;
     private              Country                         formerSelectedCountry;
     private              double                          zoomSceneX;
     private              double                          zoomSceneY;
@@ -160,6 +162,19 @@ public class World extends Region {
     private              Canvas                          overlayCanvas;
     private              GraphicsContext                 overlayCtx;
     private              Map<String, List<CountryPath>>  countryPaths;
+    private              Canvas                          mapCanvas;
+    private              GraphicsContext                 mapCtx;
+    private              double                          mapScale;
+    private              Color[]                         countryFills;
+    private              CountryPath[]                   countrySources;
+    private              int                             hoveredCountry;
+    private              int                             pressedCountry;
+    private              int                             overviewLevel;
+    private              int                             detailLevel;
+    private              double[]                        visibleArea;
+    private              int[]                           contentLevels;
+    private              boolean                         zooming;
+    private              boolean                         panPending;
     private              ObservableMap<Location, Shape>  locations;
     private              ColorMapping                    colorMapping;
     private              double                          spotRadius;
@@ -206,8 +221,15 @@ public class World extends Region {
     public World(final Resolution RESOLUTION) {
         this(RESOLUTION, ColorMapping.INFRARED_3, 5, false, OpacityDistribution.EXPONENTIAL, 0.75);
     }
+    public World(final Resolution RESOLUTION, final RenderMode RENDER_MODE) {
+        this(RESOLUTION, RENDER_MODE, ColorMapping.INFRARED_3, 5, false, OpacityDistribution.EXPONENTIAL, 0.75);
+    }
     public World(final Resolution RESOLUTION, final ColorMapping COLOR_MAPPING, final double EVENT_RADIUS, final boolean FADE_COLORS, final OpacityDistribution OPACITY_DISTRIBUTION, final double HEAT_MAP_OPACITY) {
-        resolutionProperties   = readProperties(Resolution.HI_RES == RESOLUTION ? World.HIRES_PROPERTIES : World.LORES_PROPERTIES);
+        this(RESOLUTION, RenderMode.NODES, COLOR_MAPPING, EVENT_RADIUS, FADE_COLORS, OPACITY_DISTRIBUTION, HEAT_MAP_OPACITY);
+    }
+    public World(final Resolution RESOLUTION, final RenderMode RENDER_MODE, final ColorMapping COLOR_MAPPING, final double EVENT_RADIUS, final boolean FADE_COLORS, final OpacityDistribution OPACITY_DISTRIBUTION, final double HEAT_MAP_OPACITY) {
+        geometry               = WorldGeometry.of(RESOLUTION);
+        renderMode             = RENDER_MODE;
         backgroundColor        = new StyleableObjectProperty<Color>(BACKGROUND_COLOR.getInitialValue(World.this)) {
             @Override protected void invalidated() { setBackground(new Background(new BackgroundFill(get(), CornerRadii.EMPTY, Insets.EMPTY))); }
             @Override public Object getBean() { return World.this; }
@@ -284,12 +306,21 @@ public class World extends Region {
                 if (isZoomEnabled()) {
                     setScaleX(get());
                     setScaleY(get());
+                    if (!zooming) { updateLevelOfDetail(); }
                 }
             }
             @Override public Object getBean() { return World.this; }
             @Override public String getName() { return "scaleFactor"; }
         };
-        countryPaths           = createCountryPaths();
+        overviewLevel          = WorldGeometry.getLevel(1.0);
+        detailLevel            = overviewLevel;
+        visibleArea            = new double[] { 0, 0, PREFERRED_WIDTH, PREFERRED_HEIGHT };
+        contentLevels          = new int[geometry.getNoOfPaths()];
+        countryPaths           = RenderMode.NODES == renderMode ? createCountryPaths(overviewLevel) : null;
+        countryFills           = new Color[geometry.getNoOfCountries()];
+        countrySources         = new CountryPath[geometry.getNoOfCountries()];
+        hoveredCountry         = -1;
+        pressedCountry         = -1;
         locations              = FXCollections.observableHashMap();
         colorMapping           = COLOR_MAPPING;
         spotRadius             = EVENT_RADIUS;
@@ -343,8 +374,11 @@ public class World extends Region {
             }
             double deltaX = (zoomSceneX - (getBoundsInParent().getWidth() / 2 + getBoundsInParent().getMinX()));
             double deltaY = (zoomSceneY - (getBoundsInParent().getHeight() / 2 + getBoundsInParent().getMinY()));
+            zooming = true;
             setScaleFactor(scale);
             setPivot(deltaX * factor, deltaY * factor);
+            zooming = false;
+            updateLevelOfDetail();
 
             evt.consume();
         };
@@ -370,19 +404,38 @@ public class World extends Region {
         Color fill   = getFillColor();
         Color stroke = getStrokeColor();
 
-        countryPaths.forEach((name, pathList) -> {
-            Country country = Country.valueOf(name);
-            pathList.forEach(path -> {
-                path.setFill(null == country.getColor() ? fill : country.getColor());
-                path.setStroke(stroke);
-                path.setStrokeWidth(0.2);
-                path.setOnMouseEntered(new WeakEventHandler<>(_mouseEnterHandler));
-                path.setOnMousePressed(new WeakEventHandler<>(_mousePressHandler));
-                path.setOnMouseReleased(new WeakEventHandler<>(_mouseReleaseHandler));
-                path.setOnMouseExited(new WeakEventHandler<>(_mouseExitHandler));
+        if (RenderMode.CANVAS == renderMode) {
+            for (int i = 0 ; i < countryFills.length ; i++) {
+                Country country = Country.valueOf(geometry.getCountryName(i));
+                countryFills[i] = null == country.getColor() ? fill : country.getColor();
+            }
+            mapCanvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+            mapCtx    = mapCanvas.getGraphicsContext2D();
+            mapScale  = 1;
+            // Nothing is drawn yet, the first update draws all paths
+            Arrays.fill(contentLevels, -1);
+            EventHandler<MouseEvent> mapMouseHandler = evt -> handleMapMouseEvent(evt);
+            mapCanvas.setOnMouseMoved(mapMouseHandler);
+            mapCanvas.setOnMouseDragged(mapMouseHandler);
+            mapCanvas.setOnMousePressed(mapMouseHandler);
+            mapCanvas.setOnMouseReleased(mapMouseHandler);
+            mapCanvas.setOnMouseExited(mapMouseHandler);
+            pane.getChildren().add(mapCanvas);
+        } else {
+            countryPaths.forEach((name, pathList) -> {
+                Country country = Country.valueOf(name);
+                pathList.forEach(path -> {
+                    path.setFill(null == country.getColor() ? fill : country.getColor());
+                    path.setStroke(stroke);
+                    path.setStrokeWidth(0.2);
+                    path.setOnMouseEntered(new WeakEventHandler<>(_mouseEnterHandler));
+                    path.setOnMousePressed(new WeakEventHandler<>(_mousePressHandler));
+                    path.setOnMouseReleased(new WeakEventHandler<>(_mouseReleaseHandler));
+                    path.setOnMouseExited(new WeakEventHandler<>(_mouseExitHandler));
+                });
+                pane.getChildren().addAll(pathList);
             });
-            pane.getChildren().addAll(pathList);
-        });
+        }
 
         group.getChildren().add(pane);
 
@@ -409,6 +462,20 @@ public class World extends Region {
     private void registerListeners() {
         widthProperty().addListener(o -> resize());
         heightProperty().addListener(o -> resize());
+        // Panning changes the visible part of the map and with it the countries that need the detailed outlines,
+        // x and y of a pan change one after the other and are combined into one update
+        InvalidationListener panListener = o -> {
+            if (zooming || panPending) { return; }
+            panPending = true;
+            Platform.runLater(() -> {
+                panPending = false;
+                if (!zooming) { updateLevelOfDetail(); }
+            });
+        };
+        translateXProperty().addListener(panListener);
+        translateYProperty().addListener(panListener);
+        group.translateXProperty().addListener(panListener);
+        group.translateYProperty().addListener(panListener);
         sceneProperty().addListener(o -> {
             if (!locations.isEmpty()) { addShapesToScene(locations.values()); }
             if (isZoomEnabled()) { getScene().addEventFilter( ScrollEvent.ANY, new WeakEventHandler<>(_scrollEventHandler)); }
@@ -442,7 +509,16 @@ public class World extends Region {
 
     @Override public ObservableList<Node> getChildren() { return super.getChildren(); }
 
-    public Map<String, List<CountryPath>> getCountryPaths() { return countryPaths; }
+    /**
+     * Returns the country paths, in RenderMode.CANVAS they will be created on
+     * the first call and are not part of the scene graph.
+     */
+    public Map<String, List<CountryPath>> getCountryPaths() {
+        if (null == countryPaths) { countryPaths = createCountryPaths(0); }
+        return countryPaths;
+    }
+
+    public RenderMode getRenderMode() { return renderMode; }
 
     public void setMouseEnterHandler(final EventHandler<MouseEvent> HANDLER) { mouseEnterHandler = HANDLER; }
     public void setMousePressHandler(final EventHandler<MouseEvent> HANDLER) { mousePressHandler = HANDLER; }
@@ -619,11 +695,14 @@ public class World extends Region {
     public Timeline getTimeline() { return timeline; }
 
     public void resetZoom() {
+        zooming = true;
         setScaleFactor(1.0);
         setTranslateX(0);
         setTranslateY(0);
         group.setTranslateX(0);
         group.setTranslateY(0);
+        zooming = false;
+        updateLevelOfDetail();
     }
 
     public void addLocation(final Location LOCATION) {
@@ -799,6 +878,21 @@ public class World extends Region {
      */
     public void setOpacityDistribution(final OpacityDistribution OPACITY_DISTRIBUTION) { heatMap.setOpacityDistribution(OPACITY_DISTRIBUTION); }
 
+    /**
+     * Returns the time after which the intensity of an event in the
+     * heat map has dropped to one half, Duration.ZERO means no decay
+     * @return the half-life of the events in the heat map
+     */
+    public Duration getDecayHalfLife() { return heatMap.getDecayHalfLife(); }
+
+    /**
+     * Lets the events in the heat map fade out with the given half-life
+     * instead of keeping them until clearHeatMap() is called, which keeps
+     * memory and cpu usage constant for continuous streams of events.
+     * @param HALF_LIFE
+     */
+    public void setDecayHalfLife(final Duration HALF_LIFE) { heatMap.setDecayHalfLife(HALF_LIFE); }
+
     public static double[] latLonToXY(final double LATITUDE, final double LONGITUDE) {
         double x = (LONGITUDE + 180) * (PREFERRED_WIDTH / 360) + MAP_OFFSET_X;
         double y = (PREFERRED_HEIGHT / 2) - (PREFERRED_WIDTH * (Math.log(Math.tan((Math.PI / 4) + (Math.toRadians(LATITUDE) / 2)))) / (2 * Math.PI)) + MAP_OFFSET_Y;
@@ -812,10 +906,11 @@ public class World extends Region {
         double lowerRightX = 0;
         double lowerRightY = 0;
         for (Country country : COUNTRIES) {
-            List<CountryPath> paths = countryPaths.get(country.getName());
-            for (int i = 0; i < paths.size(); i++) {
-                CountryPath path   = paths.get(i);
-                Bounds      bounds = path.getLayoutBounds();
+            int countryIndex = geometry.getCountryIndex(country.getName());
+            if (countryIndex < 0) { continue; }
+            int firstPath = geometry.getFirstPath(countryIndex);
+            for (int path = firstPath ; path < firstPath + geometry.getNoOfPaths(countryIndex) ; path++) {
+                RectBounds bounds = geometry.getBounds(path);
                 upperLeftX  = Math.min(bounds.getMinX(), upperLeftX);
                 upperLeftY  = Math.min(bounds.getMinY(), upperLeftY);
                 lowerRightX = Math.max(bounds.getMaxX(), lowerRightX);
@@ -826,6 +921,7 @@ public class World extends Region {
     }
 
     private void zoomToArea(final double[] BOUNDS) {
+        zooming = true;
         group.setTranslateX(0);
         group.setTranslateY(0);
         double      areaWidth   = BOUNDS[2] - BOUNDS[0];
@@ -851,24 +947,71 @@ public class World extends Region {
         setScaleFactor(sf);
         group.setTranslateX(width * 0.5 - (areaCenterX));
         group.setTranslateY(height * 0.5 - (areaCenterY));
+        zooming = false;
+        updateLevelOfDetail();
     }
 
     private void setPivot(final double X, final double Y) {
+        boolean wasZooming = zooming;
+        zooming = true;
         setTranslateX(getTranslateX() - X);
         setTranslateY(getTranslateY() - Y);
+        zooming = wasZooming;
+        if (!zooming) { updateLevelOfDetail(); }
     }
 
     private void handleMouseEvent(final MouseEvent EVENT, final EventHandler<MouseEvent> HANDLER) {
-        final CountryPath       COUNTRY_PATH = (CountryPath) EVENT.getSource();
-        final String            COUNTRY_NAME = COUNTRY_PATH.getName();
-        final Country           COUNTRY      = Country.valueOf(COUNTRY_NAME);
-        final List<CountryPath> PATHS        = countryPaths.get(COUNTRY_NAME);
+        final CountryPath COUNTRY_PATH = (CountryPath) EVENT.getSource();
+        handleCountryEvent(Country.valueOf(COUNTRY_PATH.getName()), EVENT, HANDLER);
+    }
 
+    /**
+     * Turns the mouse events of the map canvas into the events a country path
+     * would get in RenderMode.NODES. The country under the mouse is looked up
+     * in the geometry and the events are passed on with a CountryPath of that
+     * country as source.
+     */
+    private void handleMapMouseEvent(final MouseEvent EVENT) {
+        final EventType<? extends MouseEvent> TYPE = EVENT.getEventType();
+        if (MOUSE_EXITED == TYPE) {
+            setHoveredCountry(-1, EVENT);
+            return;
+        }
+        int path    = geometry.getPathAt(EVENT.getX() / mapScale, EVENT.getY() / mapScale);
+        int country = path < 0 ? -1 : geometry.getCountryOfPath(path);
+        if (MOUSE_PRESSED == TYPE) {
+            setHoveredCountry(country, EVENT);
+            pressedCountry = country;
+            if (country > -1) { fireCountryEvent(country, EVENT, MOUSE_PRESSED, mousePressHandler); }
+        } else if (MOUSE_RELEASED == TYPE) {
+            // Like a node the pressed country receives the release
+            if (pressedCountry > -1) { fireCountryEvent(pressedCountry, EVENT, MOUSE_RELEASED, mouseReleaseHandler); }
+            pressedCountry = -1;
+            setHoveredCountry(country, EVENT);
+        } else {
+            setHoveredCountry(country, EVENT);
+        }
+    }
+
+    private void setHoveredCountry(final int COUNTRY_INDEX, final MouseEvent EVENT) {
+        if (COUNTRY_INDEX == hoveredCountry) { return; }
+        if (hoveredCountry > -1) { fireCountryEvent(hoveredCountry, EVENT, MOUSE_EXITED, mouseExitHandler); }
+        hoveredCountry = COUNTRY_INDEX;
+        if (hoveredCountry > -1) { fireCountryEvent(hoveredCountry, EVENT, MOUSE_ENTERED, mouseEnterHandler); }
+    }
+
+    private void fireCountryEvent(final int COUNTRY_INDEX, final MouseEvent EVENT, final EventType<MouseEvent> TYPE, final EventHandler<MouseEvent> HANDLER) {
+        if (null == countrySources[COUNTRY_INDEX]) { countrySources[COUNTRY_INDEX] = new CountryPath(geometry.getCountryName(COUNTRY_INDEX)); }
+        CountryPath source = countrySources[COUNTRY_INDEX];
+        handleCountryEvent(Country.valueOf(source.getName()), EVENT.copyFor(source, source, TYPE), HANDLER);
+    }
+
+    private void handleCountryEvent(final Country COUNTRY, final MouseEvent EVENT, final EventHandler<MouseEvent> HANDLER) {
         final EventType TYPE = EVENT.getEventType();
         if (MOUSE_ENTERED == TYPE) {
             if (isHoverEnabled()) {
                 Color color = isSelectionEnabled() && COUNTRY.equals(getSelectedCountry()) ? getSelectedColor() : getHoverColor();
-                for (SVGPath path : PATHS) { path.setFill(color); }
+                setCountryFill(COUNTRY, color);
             }
         } else if (MOUSE_PRESSED == TYPE) {
             if (isSelectionEnabled()) {
@@ -879,10 +1022,10 @@ public class World extends Region {
                 } else {
                     color = null == getSelectedCountry().getColor() ? getFillColor() : getSelectedCountry().getColor();
                 }
-                for (SVGPath path : countryPaths.get(getSelectedCountry().getName())) { path.setFill(color); }
+                setCountryFill(getSelectedCountry(), color);
             } else {
                 if (isHoverEnabled()) {
-                    for (SVGPath path : PATHS) { path.setFill(getPressedColor()); }
+                    setCountryFill(COUNTRY, getPressedColor());
                 }
             }
         } else if (MOUSE_RELEASED == TYPE) {
@@ -900,14 +1043,12 @@ public class World extends Region {
                 color = getHoverColor();
             }
             if (isHoverEnabled()) {
-                for (SVGPath path : PATHS) { path.setFill(color); }
+                setCountryFill(COUNTRY, color);
             }
         } else if (MOUSE_EXITED == TYPE) {
             if (isHoverEnabled()) {
                 Color color = isSelectionEnabled() && COUNTRY.equals(getSelectedCountry()) ? getSelectedColor() : getFillColor();
-                for (SVGPath path : PATHS) {
-                    path.setFill(null == COUNTRY.getColor() || COUNTRY == getSelectedCountry() ? color : COUNTRY.getColor());
-                }
+                setCountryFill(COUNTRY, null == COUNTRY.getColor() || COUNTRY == getSelectedCountry() ? color : COUNTRY.getColor());
             }
         }
 
@@ -915,12 +1056,26 @@ public class World extends Region {
     }
 
     private void setFillAndStroke() {
+        if (RenderMode.CANVAS == renderMode) {
+            if (null == mapCanvas) { return; }
+            for (int i = 0 ; i < countryFills.length ; i++) {
+                Country country = Country.valueOf(geometry.getCountryName(i));
+                countryFills[i] = null == country.getColor() ? getFillColor() : country.getColor();
+            }
+            drawMap(0, 0, PREFERRED_WIDTH, PREFERRED_HEIGHT);
+            return;
+        }
         countryPaths.keySet().forEach(name -> {
             Country country = Country.valueOf(name);
             setCountryFillAndStroke(country, null == country.getColor() ? getFillColor() : country.getColor(), getStrokeColor());
         });
     }
     private void setCountryFillAndStroke(final Country COUNTRY, final Color FILL, final Color STROKE) {
+        if (RenderMode.CANVAS == renderMode) {
+            // The stroke of all countries is the stroke color
+            setCountryFill(COUNTRY, FILL);
+            return;
+        }
         List<CountryPath> paths = countryPaths.get(COUNTRY.getName());
         for (CountryPath path : paths) {
             path.setFill(FILL);
@@ -928,6 +1083,20 @@ public class World extends Region {
         }
     }
 
+    private void setCountryFill(final Country COUNTRY, final Color FILL) {
+        if (RenderMode.NODES == renderMode) {
+            for (SVGPath path : countryPaths.get(COUNTRY.getName())) { path.setFill(FILL); }
+            return;
+        }
+        int countryIndex = geometry.getCountryIndex(COUNTRY.getName());
+        if (countryIndex < 0 || FILL.equals(countryFills[countryIndex])) { return; }
+        countryFills[countryIndex] = FILL;
+
+        double[] bounds = getBounds(COUNTRY);
+        double   margin = 0.2 + 2 / mapScale;
+        drawMap(bounds[0] - margin, bounds[1] - margin, bounds[2] + margin, bounds[3] + margin);
+    }
+
     private void addShapesToScene(final Shape... SHAPES) {
         addShapesToScene(Arrays.asList(SHAPES));
     }
@@ -942,28 +1111,128 @@ public class World extends Region {
         return VALUE;
     }
 
-    private Properties readProperties(final String FILE_NAME) {
-        final ClassLoader LOADER     = Thread.currentThread().getContextClassLoader();
-        final Properties  PROPERTIES = new Properties();
-        try(InputStream resourceStream = LOADER.getResourceAsStream(FILE_NAME)) {
-            PROPERTIES.load(resourceStream);
-        } catch (IOException exception) {
-            System.out.println(exception);
+    private Map<String, List<CountryPath>> createCountryPaths(final int LEVEL) {
+        Map<String, List<CountryPath>> countryPaths = new HashMap<>();
+        for (int country = 0 ; country < geometry.getNoOfCountries() ; country++) {
+            String            name      = geometry.getCountryName(country);
+            int               firstPath = geometry.getFirstPath(country);
+            int               lastPath  = firstPath + geometry.getNoOfPaths(country);
+            List<CountryPath> pathList  = new ArrayList<>();
+            for (int path = firstPath ; path < lastPath ; path++) {
+                pathList.add(new CountryPath(name, geometry.getSvgContent(path, LEVEL)));
+                contentLevels[path] = LEVEL;
+            }
+            countryPaths.put(name, pathList);
         }
-        return PROPERTIES;
+        return countryPaths;
     }
 
-    private Map<String, List<CountryPath>> createCountryPaths() {
-        Map<String, List<CountryPath>> countryPaths = new HashMap<>();
-        resolutionProperties.forEach((key, value) -> {
-            String            name     = key.toString();
-            List<CountryPath> pathList = new ArrayList<>();
-            for (String path : value.toString().split(";")) { pathList.add(new CountryPath(name, path)); }
-            countryPaths.put(name, pathList);
+    /**
+     * Chooses the levels of detail from the current size and zoom. Countries
+     * in the visible part of the map use the level of the current zoom, all
+     * others keep the level of the unzoomed map.
+     */
+    private void updateLevelOfDetail() {
+        if (width <= 0 || height <= 0) { return; }
+        double paneScale = width / PREFERRED_WIDTH;
+        double zoom      = isZoomEnabled() ? getScaleFactor() : 1;
+        overviewLevel = WorldGeometry.getLevel(paneScale);
+        detailLevel   = WorldGeometry.getLevel(Math.min(paneScale * zoom, MAX_MAP_SIZE / PREFERRED_WIDTH));
+        visibleArea   = getVisibleArea();
+
+        if (RenderMode.CANVAS == renderMode) {
+            if (Double.compare(getMapScale(), mapScale) != 0) {
+                resizeMap();
+            } else {
+                drawChangedLevels();
+            }
+            return;
+        }
+        countryPaths.forEach((name, pathList) -> {
+            int firstPath = geometry.getFirstPath(geometry.getCountryIndex(name));
+            for (int i = 0 ; i < pathList.size() ; i++) {
+                int level = getLevel(firstPath + i);
+                if (level == contentLevels[firstPath + i]) { continue; }
+                pathList.get(i).setContent(geometry.getSvgContent(firstPath + i, level));
+                contentLevels[firstPath + i] = level;
+            }
         });
-        return countryPaths;
     }
 
+    private int getLevel(final int PATH_INDEX) {
+        return geometry.intersects(PATH_INDEX, visibleArea[0], visibleArea[1], visibleArea[2], visibleArea[3]) ? detailLevel : overviewLevel;
+    }
+
+    /**
+     * @return the part of the map (in map coordinates) that is visible in the area of this control
+     */
+    private double[] getVisibleArea() {
+        if (null == getParent()) { return new double[] { 0, 0, PREFERRED_WIDTH, PREFERRED_HEIGHT }; }
+        Bounds viewport = pane.sceneToLocal(getParent().localToScene(new BoundingBox(getLayoutX(), getLayoutY(), getWidth(), getHeight())));
+        return new double[] { viewport.getMinX(), viewport.getMinY(), viewport.getMaxX(), viewport.getMaxY() };
+    }
+
+    private double getMapScale() {
+        double paneScale = width / PREFERRED_WIDTH;
+        double zoom      = isZoomEnabled() ? getScaleFactor() : 1;
+        return Math.min(paneScale * zoom, MAX_MAP_SIZE / PREFERRED_WIDTH);
+    }
+
+    private void resizeMap() {
+        if (null == mapCanvas) { return; }
+        mapScale = getMapScale();
+        mapCanvas.setWidth(PREFERRED_WIDTH * mapScale);
+        mapCanvas.setHeight(PREFERRED_HEIGHT * mapScale);
+        mapCanvas.getTransforms().setAll(new Scale(1 / mapScale, 1 / mapScale, 0, 0));
+        drawMap(0, 0, PREFERRED_WIDTH, PREFERRED_HEIGHT);
+    }
+
+    /**
+     * Redraws the area of all paths whose level of detail differs from the
+     * level they were drawn with, e.g. after panning at a zoom where the
+     * visible countries use a finer level than the others.
+     */
+    private void drawChangedLevels() {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int path = 0 ; path < geometry.getNoOfPaths() ; path++) {
+            if (getLevel(path) == contentLevels[path]) { continue; }
+            RectBounds bounds = geometry.getBounds(path);
+            minX = Math.min(minX, bounds.getMinX());
+            minY = Math.min(minY, bounds.getMinY());
+            maxX = Math.max(maxX, bounds.getMaxX());
+            maxY = Math.max(maxY, bounds.getMaxY());
+        }
+        if (minX > maxX) { return; }
+        double margin = 0.2 + 2 / mapScale;
+        drawMap(minX - margin, minY - margin, maxX + margin, maxY + margin);
+    }
+
+    /**
+     * Redraws all countries that intersect the given area (in map coordinates)
+     * into the map canvas, the canvas has the resolution of the current zoom.
+     */
+    private void drawMap(final double MIN_X, final double MIN_Y, final double MAX_X, final double MAX_Y) {
+        mapCtx.save();
+        mapCtx.setTransform(mapScale, 0, 0, mapScale, 0, 0);
+        mapCtx.beginPath();
+        mapCtx.rect(MIN_X, MIN_Y, MAX_X - MIN_X, MAX_Y - MIN_Y);
+        mapCtx.clip();
+        mapCtx.clearRect(MIN_X, MIN_Y, MAX_X - MIN_X, MAX_Y - MIN_Y);
+        mapCtx.setStroke(getStrokeColor());
+        mapCtx.setLineWidth(0.2);
+        for (int path = 0 ; path < geometry.getNoOfPaths() ; path++) {
+            if (!geometry.intersects(path, MIN_X, MIN_Y, MAX_X, MAX_Y)) { continue; }
+            contentLevels[path] = getLevel(path);
+            geometry.addToContext(mapCtx, path, contentLevels[path]);
+            mapCtx.setFill(countryFills[geometry.getCountryOfPath(path)]);
+            mapCtx.fill();
+            mapCtx.stroke();
+        }
+        mapCtx.restore();
+    }
 
     private void redraw() {
         if (mapPoints.isEmpty() && mapConnections.isEmpty()) { return; }
@@ -1238,6 +1507,8 @@ public class World extends Region {
             group.resize(width, height);
             group.relocate((getWidth() - width) * 0.5, (getHeight() - height) * 0.5);
 
+            updateLevelOfDetail();
+
             //heatMap.setSize(width, height);
             //heatMap.relocate(((getWidth() - getInsets().getLeft() - getInsets().getRight()) - width) * 0.5, ((getHeight() - getInsets().getTop() - getInsets().getBottom()) - height) * 0.5);
 
@@ -22,6 +22,7 @@ import eu.hansolo.fx.charts.heatmap.OpacityDistribution;
 import eu.hansolo.fx.charts.tools.ColorMapping;
 import eu.hansolo.fx.charts.tools.Location;
 import eu.hansolo.fx.charts.tools.MapPoint;
+import eu.hansolo.fx.charts.world.World.RenderMode;
 import eu.hansolo.fx.charts.world.World.Resolution;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
@@ -35,6 +36,7 @@ import javafx.geometry.Dimension2D;
 import javafx.geometry.Insets;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
+import javafx.util.Duration;
 
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +48,7 @@ import java.util.List;
 public class WorldBuilder<B extends WorldBuilder<B>> {
     private HashMap<String, Property> properties = new HashMap<>();
     private Resolution                resolution = Resolution.HI_RES;
+    private RenderMode                renderMode = RenderMode.NODES;
 
 
     // ******************** Constructors **************************************
@@ -60,6 +63,11 @@ public class WorldBuilder<B extends WorldBuilder<B>> {
         return (B)this;
     }
 
+    public final B renderMode(final RenderMode RENDER_MODE) {
+        renderMode = RENDER_MODE;
+        return (B)this;
+    }
+
     public final B backgroundColor(final Color COLOR) {
         properties.put("backgroundColor", new SimpleObjectProperty<>(COLOR));
         return (B)this;
@@ -165,6 +173,11 @@ public class WorldBuilder<B extends WorldBuilder<B>> {
         return (B) this;
     }
 
+    public final B decayHalfLife(final Duration HALF_LIFE) {
+        properties.put("decayHalfLife", new SimpleObjectProperty<>(HALF_LIFE));
+        return (B) this;
+    }
+
     public final B mapPoints(final List<MapPoint> MAP_POINTS) {
         properties.put("mapPoints", new SimpleObjectProperty<>(MAP_POINTS));
         return (B)this;
@@ -289,7 +302,7 @@ public class WorldBuilder<B extends WorldBuilder<B>> {
         double              heatMapOpacity      = properties.containsKey("heatMapOpacity") ? ((DoubleProperty) properties.get("heatMapOpacity")).get() : 0.5;
         OpacityDistribution opacityDistribution = properties.containsKey("opacityDistribution") ? ((ObjectProperty<OpacityDistribution>) properties.get("opacityDistribution")).get() : OpacityDistribution.EXPONENTIAL;
 
-        final World CONTROL = new World(resolution, colorMapping, eventRadius, fadeColors, opacityDistribution, heatMapOpacity);
+        final World CONTROL = new World(resolution, renderMode, colorMapping, eventRadius, fadeColors, opacityDistribution, heatMapOpacity);
 
         for (String key : properties.keySet()) {
             if ("prefSize".equals(key)) {
@@ -325,6 +338,8 @@ public class WorldBuilder<B extends WorldBuilder<B>> {
                 CONTROL.setTranslateX(((DoubleProperty) properties.get(key)).get());
             } else if ("translateY".equals(key)) {
                 CONTROL.setTranslateY(((DoubleProperty) properties.get(key)).get());
+            } else if ("decayHalfLife".equals(key)) {
+                CONTROL.setDecayHalfLife(((ObjectProperty<Duration>) properties.get(key)).get());
             } else if ("padding".equals(key)) {
                 CONTROL.setPadding(((ObjectProperty<Insets>) properties.get(key)).get());
             } else if ("backgroundColor".equals(key)) {
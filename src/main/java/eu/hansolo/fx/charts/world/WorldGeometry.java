@@ -0,0 +1,762 @@
+/*
+ * Copyright (c) 2023 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.fx.charts.world;
+
+import eu.hansolo.fx.charts.world.World.Resolution;
+import eu.hansolo.fx.geometry.Path;
+import eu.hansolo.fx.geometry.Path.WindingRule;
+import eu.hansolo.fx.geometry.PathIterator;
+import eu.hansolo.fx.geometry.RectBounds;
+import javafx.scene.canvas.GraphicsContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+
+/**
+ * Immutable outlines of all countries of the world map in one resolution.
+ * The outlines are stored as command bytes (the segment types of
+ * eu.hansolo.fx.geometry.PathIterator) and packed float coordinates, all
+ * paths of all countries in one array each. Call of() to get the instance
+ * that is shared by all World instances.
+ * The geometry is loaded from a precompiled binary file (hires.bin or
+ * lores.bin) that is created at build time by WorldGeometryGenerator, if that file
+ * is not available the svg paths in the properties files will be parsed.
+ * Besides the full outlines there are levels of detail that are simplified
+ * with the Douglas-Peucker algorithm, level 0 is the full geometry and every
+ * following level allows twice the deviation of the former one. The levels
+ * are created on first use and shared like the full geometry.
+ */
+public class WorldGeometry {
+    private static final String                         HIRES_PROPERTIES = "hires.properties";
+    private static final String                         LORES_PROPERTIES = "lores.properties";
+    private static final String                         HIRES_BINARY     = "hires.bin";
+    private static final String                         LORES_BINARY     = "lores.bin";
+    private static final int                            MAGIC            = 0x5747454F; // "WGEO"
+    private static final int                            VERSION          = 1;
+    private static final double                         GRID_CELL_SIZE   = 8;
+    private static final double[]                       LEVEL_TOLERANCES = { 0, 0.125, 0.25, 0.5, 1, 2 };
+    private static final double                         MAX_PIXEL_ERROR  = 0.5;
+    private static final Map<Resolution, WorldGeometry> INSTANCES        = new EnumMap<>(Resolution.class);
+    private        final String[]                       countryNames;
+    private        final int[]                          countryPathOffsets;
+    private        final int[]                          commandOffsets;
+    private        final int[]                          coordOffsets;
+    private        final byte[]                         commands;
+    private        final float[]                        coords;
+    private        final Map<String, Integer>           countryIndices;
+    private        final int[]                          pathCountries;
+    private        final double[]                       pathBounds;
+    private        final Level[]                        levels;
+    private              String[][]                     svgContents;
+    private              Path[]                         shapes;
+    private              int[]                          gridCellOffsets;
+    private              int[]                          gridPaths;
+    private              double                         gridMinX;
+    private              double                         gridMinY;
+    private              int                            gridColumns;
+    private              int                            gridRows;
+
+
+    // ******************** Constructors **************************************
+    private WorldGeometry(final String[] COUNTRY_NAMES, final int[] COUNTRY_PATH_OFFSETS, final int[] COMMAND_OFFSETS, final int[] COORD_OFFSETS, final byte[] COMMANDS, final float[] COORDS) {
+        countryNames       = COUNTRY_NAMES;
+        countryPathOffsets = COUNTRY_PATH_OFFSETS;
+        commandOffsets     = COMMAND_OFFSETS;
+        coordOffsets       = COORD_OFFSETS;
+        commands           = COMMANDS;
+        coords             = COORDS;
+        countryIndices     = new HashMap<>(COUNTRY_NAMES.length * 2);
+        levels             = new Level[LEVEL_TOLERANCES.length];
+        levels[0]          = new Level(COMMAND_OFFSETS, COORD_OFFSETS, COMMANDS, COORDS);
+        for (int i = 0 ; i < COUNTRY_NAMES.length ; i++) { countryIndices.put(COUNTRY_NAMES[i], i); }
+
+        int noOfPaths = COMMAND_OFFSETS.length - 1;
+        pathCountries = new int[noOfPaths];
+        pathBounds    = new double[noOfPaths * 4];
+        for (int country = 0 ; country < COUNTRY_NAMES.length ; country++) {
+            for (int path = COUNTRY_PATH_OFFSETS[country] ; path < COUNTRY_PATH_OFFSETS[country + 1] ; path++) { pathCountries[path] = country; }
+        }
+        for (int path = 0 ; path < noOfPaths ; path++) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = COORD_OFFSETS[path] ; i < COORD_OFFSETS[path + 1] ; i += 2) {
+                minX = Math.min(minX, COORDS[i]);
+                minY = Math.min(minY, COORDS[i + 1]);
+                maxX = Math.max(maxX, COORDS[i]);
+                maxY = Math.max(maxY, COORDS[i + 1]);
+            }
+            pathBounds[path * 4]     = minX;
+            pathBounds[path * 4 + 1] = minY;
+            pathBounds[path * 4 + 2] = maxX;
+            pathBounds[path * 4 + 3] = maxY;
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the geometry of the given resolution, it will be loaded on the
+     * first call and shared afterwards.
+     */
+    public static WorldGeometry of(final Resolution RESOLUTION) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(RESOLUTION, WorldGeometry::load);
+        }
+    }
+
+    public static int getNoOfLevels() { return LEVEL_TOLERANCES.length; }
+
+    /**
+     * @return the maximum deviation of the outlines in the given level from the full outlines in map units
+     */
+    public static double getTolerance(final int LEVEL) { return LEVEL_TOLERANCES[LEVEL]; }
+
+    /**
+     * Returns the coarsest level of detail whose deviation from the full
+     * outlines stays below half a pixel if one map unit is drawn with the
+     * given number of pixels.
+     */
+    public static int getLevel(final double PIXELS_PER_UNIT) {
+        double maxTolerance = MAX_PIXEL_ERROR / PIXELS_PER_UNIT;
+        for (int level = LEVEL_TOLERANCES.length - 1 ; level > 0 ; level--) {
+            if (LEVEL_TOLERANCES[level] <= maxTolerance) { return level; }
+        }
+        return 0;
+    }
+
+    public int getNoOfCountries() { return countryNames.length; }
+
+    public String getCountryName(final int COUNTRY_INDEX) { return countryNames[COUNTRY_INDEX]; }
+
+    public List<String> getCountryNames() { return Collections.unmodifiableList(Arrays.asList(countryNames)); }
+
+    /**
+     * @return the index of the country with the given name or -1 if the map doesn't contain it
+     */
+    public int getCountryIndex(final String NAME) { return countryIndices.getOrDefault(NAME, -1); }
+
+    public int getNoOfPaths() { return commandOffsets.length - 1; }
+
+    /**
+     * @return the index of the first path of the given country, the paths of a country are consecutive
+     */
+    public int getFirstPath(final int COUNTRY_INDEX) { return countryPathOffsets[COUNTRY_INDEX]; }
+
+    public int getNoOfPaths(final int COUNTRY_INDEX) { return countryPathOffsets[COUNTRY_INDEX + 1] - countryPathOffsets[COUNTRY_INDEX]; }
+
+    public int getCountryOfPath(final int PATH_INDEX) { return pathCountries[PATH_INDEX]; }
+
+    public RectBounds getBounds(final int PATH_INDEX) {
+        return new RectBounds(pathBounds[PATH_INDEX * 4], pathBounds[PATH_INDEX * 4 + 1], pathBounds[PATH_INDEX * 4 + 2], pathBounds[PATH_INDEX * 4 + 3]);
+    }
+
+    /**
+     * Returns the index of the path that contains the given point or -1 if
+     * there is none. The candidates are taken from a grid of the path bounds
+     * and checked with Path.contains(), if paths overlap the one with the
+     * highest index (the one that is drawn last) wins.
+     */
+    public int getPathAt(final double X, final double Y) {
+        synchronized (this) {
+            if (null == gridCellOffsets) { createGrid(); }
+            if (null == shapes) { shapes = new Path[getNoOfPaths()]; }
+            int column = (int) Math.floor((X - gridMinX) / GRID_CELL_SIZE);
+            int row    = (int) Math.floor((Y - gridMinY) / GRID_CELL_SIZE);
+            if (column < 0 || column >= gridColumns || row < 0 || row >= gridRows) { return -1; }
+            int cell = row * gridColumns + column;
+            for (int i = gridCellOffsets[cell + 1] - 1 ; i >= gridCellOffsets[cell] ; i--) {
+                int path = gridPaths[i];
+                if (X < pathBounds[path * 4] || Y < pathBounds[path * 4 + 1] || X > pathBounds[path * 4 + 2] || Y > pathBounds[path * 4 + 3]) { continue; }
+                if (null == shapes[path]) { shapes[path] = getPath(path); }
+                if (shapes[path].contains(X, Y)) { return path; }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * @return true if the bounds of the given path intersect the given rectangle
+     */
+    public boolean intersects(final int PATH_INDEX, final double MIN_X, final double MIN_Y, final double MAX_X, final double MAX_Y) {
+        return pathBounds[PATH_INDEX * 4] <= MAX_X && pathBounds[PATH_INDEX * 4 + 2] >= MIN_X &&
+               pathBounds[PATH_INDEX * 4 + 1] <= MAX_Y && pathBounds[PATH_INDEX * 4 + 3] >= MIN_Y;
+    }
+
+    /**
+     * Adds the outline of the given path as a new path to the given
+     * GraphicsContext, the caller fills and/or strokes it.
+     */
+    public void addToContext(final GraphicsContext CTX, final int PATH_INDEX) { addToContext(CTX, PATH_INDEX, 0); }
+    public void addToContext(final GraphicsContext CTX, final int PATH_INDEX, final int LEVEL) {
+        Level   level       = getLevelData(LEVEL);
+        float[] levelCoords = level.coords;
+        int     coord       = level.coordOffsets[PATH_INDEX];
+        CTX.beginPath();
+        for (int i = level.commandOffsets[PATH_INDEX] ; i < level.commandOffsets[PATH_INDEX + 1] ; i++) {
+            switch(level.commands[i]) {
+                case PathIterator.MOVE_TO  : CTX.moveTo(levelCoords[coord], levelCoords[coord + 1]); coord += 2; break;
+                case PathIterator.LINE_TO  : CTX.lineTo(levelCoords[coord], levelCoords[coord + 1]); coord += 2; break;
+                case PathIterator.QUAD_TO  : CTX.quadraticCurveTo(levelCoords[coord], levelCoords[coord + 1], levelCoords[coord + 2], levelCoords[coord + 3]); coord += 4; break;
+                case PathIterator.BEZIER_TO: CTX.bezierCurveTo(levelCoords[coord], levelCoords[coord + 1], levelCoords[coord + 2], levelCoords[coord + 3], levelCoords[coord + 4], levelCoords[coord + 5]); coord += 6; break;
+                default                    : CTX.closePath(); break;
+            }
+        }
+    }
+
+    /**
+     * Returns a new Path with the outline of the path with the given index.
+     */
+    public Path getPath(final int PATH_INDEX) { return getPath(PATH_INDEX, 0); }
+    public Path getPath(final int PATH_INDEX, final int LEVEL) {
+        Level    level        = getLevelData(LEVEL);
+        int      commandStart = level.commandOffsets[PATH_INDEX];
+        int      noOfCommands = level.commandOffsets[PATH_INDEX + 1] - commandStart;
+        int      coordStart   = level.coordOffsets[PATH_INDEX];
+        int      noOfCoords   = level.coordOffsets[PATH_INDEX + 1] - coordStart;
+        double[] pathCoords   = new double[noOfCoords];
+        for (int i = 0 ; i < noOfCoords ; i++) { pathCoords[i] = level.coords[coordStart + i]; }
+        return new Path(WindingRule.WIND_NON_ZERO, Arrays.copyOfRange(level.commands, commandStart, commandStart + noOfCommands), noOfCommands, pathCoords, noOfCoords);
+    }
+
+    /**
+     * @return the number of points of the given path in the given level of detail
+     */
+    public int getNoOfPoints(final int PATH_INDEX, final int LEVEL) {
+        Level level = getLevelData(LEVEL);
+        return (level.coordOffsets[PATH_INDEX + 1] - level.coordOffsets[PATH_INDEX]) / 2;
+    }
+
+    /**
+     * Returns the outline of the path with the given index as svg path
+     * content with absolute coordinates. The strings are created once and
+     * shared by all callers.
+     */
+    public String getSvgContent(final int PATH_INDEX) { return getSvgContent(PATH_INDEX, 0); }
+    public String getSvgContent(final int PATH_INDEX, final int LEVEL) {
+        Level level = getLevelData(LEVEL);
+        synchronized (this) {
+            if (null == svgContents) { svgContents = new String[LEVEL_TOLERANCES.length][]; }
+            if (null == svgContents[LEVEL]) { svgContents[LEVEL] = new String[getNoOfPaths()]; }
+            if (null == svgContents[LEVEL][PATH_INDEX]) { svgContents[LEVEL][PATH_INDEX] = createSvgContent(level, PATH_INDEX); }
+            return svgContents[LEVEL][PATH_INDEX];
+        }
+    }
+
+    private Level getLevelData(final int LEVEL) {
+        synchronized (levels) {
+            if (null == levels[LEVEL]) { levels[LEVEL] = simplify(LEVEL_TOLERANCES[LEVEL]); }
+            return levels[LEVEL];
+        }
+    }
+
+    private void createGrid() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int path = 0 ; path < getNoOfPaths() ; path++) {
+            minX = Math.min(minX, pathBounds[path * 4]);
+            minY = Math.min(minY, pathBounds[path * 4 + 1]);
+            maxX = Math.max(maxX, pathBounds[path * 4 + 2]);
+            maxY = Math.max(maxY, pathBounds[path * 4 + 3]);
+        }
+        gridMinX    = getNoOfPaths() > 0 ? minX : 0;
+        gridMinY    = getNoOfPaths() > 0 ? minY : 0;
+        gridColumns = getNoOfPaths() > 0 ? (int) (Math.floor((maxX - minX) / GRID_CELL_SIZE)) + 1 : 0;
+        gridRows    = getNoOfPaths() > 0 ? (int) (Math.floor((maxY - minY) / GRID_CELL_SIZE)) + 1 : 0;
+
+        // Count the paths per cell first, then fill the cells in path order
+        int[] cellOffsets = new int[gridColumns * gridRows + 1];
+        for (int pass = 0 ; pass < 2 ; pass++) {
+            int[] fill = 0 == pass ? null : Arrays.copyOf(cellOffsets, cellOffsets.length);
+            for (int path = 0 ; path < getNoOfPaths() ; path++) {
+                int minColumn = (int) ((pathBounds[path * 4]     - gridMinX) / GRID_CELL_SIZE);
+                int minRow    = (int) ((pathBounds[path * 4 + 1] - gridMinY) / GRID_CELL_SIZE);
+                int maxColumn = (int) ((pathBounds[path * 4 + 2] - gridMinX) / GRID_CELL_SIZE);
+                int maxRow    = (int) ((pathBounds[path * 4 + 3] - gridMinY) / GRID_CELL_SIZE);
+                for (int row = minRow ; row <= maxRow ; row++) {
+                    for (int column = minColumn ; column <= maxColumn ; column++) {
+                        int cell = row * gridColumns + column;
+                        if (0 == pass) {
+                            cellOffsets[cell + 1]++;
+                        } else {
+                            gridPaths[fill[cell]++] = path;
+                        }
+                    }
+                }
+            }
+            if (0 == pass) {
+                for (int cell = 0 ; cell < gridColumns * gridRows ; cell++) { cellOffsets[cell + 1] += cellOffsets[cell]; }
+                gridPaths = new int[cellOffsets[gridColumns * gridRows]];
+            }
+        }
+        gridCellOffsets = cellOffsets;
+    }
+
+    private String createSvgContent(final Level LEVEL, final int PATH_INDEX) {
+        StringBuilder content = new StringBuilder();
+        int           coord   = LEVEL.coordOffsets[PATH_INDEX];
+        for (int i = LEVEL.commandOffsets[PATH_INDEX] ; i < LEVEL.commandOffsets[PATH_INDEX + 1] ; i++) {
+            int noOfCoords;
+            switch(LEVEL.commands[i]) {
+                case PathIterator.MOVE_TO  : content.append('M'); noOfCoords = 2; break;
+                case PathIterator.LINE_TO  : content.append('L'); noOfCoords = 2; break;
+                case PathIterator.QUAD_TO  : content.append('Q'); noOfCoords = 4; break;
+                case PathIterator.BEZIER_TO: content.append('C'); noOfCoords = 6; break;
+                default                    : content.append('Z'); noOfCoords = 0; break;
+            }
+            for (int j = 0 ; j < noOfCoords ; j++) {
+                if (j > 0) { content.append(' '); }
+                content.append(LEVEL.coords[coord++]);
+            }
+        }
+        return content.toString();
+    }
+
+
+    // ******************** Simplification ************************************
+    /**
+     * Simplifies every ring (a MOVE_TO followed by LINE_TOs and an optional
+     * CLOSE) of all paths with the Douglas-Peucker algorithm, rings keep at
+     * least 3 points. Paths that contain curves or rings without a MOVE_TO
+     * are copied unchanged.
+     */
+    private Level simplify(final double TOLERANCE) {
+        int       noOfPaths       = getNoOfPaths();
+        int[]     levelCmdOffsets = new int[noOfPaths + 1];
+        int[]     levelCrdOffsets = new int[noOfPaths + 1];
+        byte[]    levelCommands   = new byte[commands.length];
+        float[]   levelCoords     = new float[coords.length];
+        boolean[] keep            = new boolean[coords.length / 2];
+        int[]     stack           = new int[coords.length + 4];
+        int       noOfCommands    = 0;
+        int       noOfCoords      = 0;
+        for (int path = 0 ; path < noOfPaths ; path++) {
+            levelCmdOffsets[path] = noOfCommands;
+            levelCrdOffsets[path] = noOfCoords;
+            int start = commandOffsets[path];
+            int end   = commandOffsets[path + 1];
+            if (!isPolygon(start, end)) {
+                System.arraycopy(commands, start, levelCommands, noOfCommands, end - start);
+                System.arraycopy(coords, coordOffsets[path], levelCoords, noOfCoords, coordOffsets[path + 1] - coordOffsets[path]);
+                noOfCommands += end - start;
+                noOfCoords   += coordOffsets[path + 1] - coordOffsets[path];
+                continue;
+            }
+            int command = start;
+            int coord   = coordOffsets[path];
+            while (command < end) {
+                int ringStart  = coord;
+                int noOfPoints = 0;
+                do {
+                    noOfPoints++;
+                    coord += 2;
+                    command++;
+                } while (command < end && PathIterator.LINE_TO == commands[command]);
+                boolean closed = command < end && PathIterator.CLOSE == commands[command];
+                if (closed) { command++; }
+
+                simplifyRing(ringStart, noOfPoints, TOLERANCE, keep, stack);
+                boolean first = true;
+                for (int i = 0 ; i < noOfPoints ; i++) {
+                    if (!keep[i]) { continue; }
+                    levelCommands[noOfCommands++] = (byte) (first ? PathIterator.MOVE_TO : PathIterator.LINE_TO);
+                    levelCoords[noOfCoords++]     = coords[ringStart + i * 2];
+                    levelCoords[noOfCoords++]     = coords[ringStart + i * 2 + 1];
+                    first = false;
+                }
+                if (closed) { levelCommands[noOfCommands++] = (byte) PathIterator.CLOSE; }
+            }
+        }
+        levelCmdOffsets[noOfPaths] = noOfCommands;
+        levelCrdOffsets[noOfPaths] = noOfCoords;
+        return new Level(levelCmdOffsets, levelCrdOffsets, Arrays.copyOf(levelCommands, noOfCommands), Arrays.copyOf(levelCoords, noOfCoords));
+    }
+
+    private boolean isPolygon(final int START, final int END) {
+        boolean ringStarted = false;
+        for (int i = START ; i < END ; i++) {
+            switch(commands[i]) {
+                case PathIterator.MOVE_TO: ringStarted = true; break;
+                case PathIterator.LINE_TO: if (!ringStarted) { return false; } break;
+                case PathIterator.CLOSE  : ringStarted = false; break;
+                default                  : return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the points of the given ring that survive the simplification in
+     * KEEP. The ring is split at its first point and the point that is
+     * farthest away from it, both halves are simplified on their own.
+     */
+    private void simplifyRing(final int START, final int NO_OF_POINTS, final double TOLERANCE, final boolean[] KEEP, final int[] STACK) {
+        boolean simplify = TOLERANCE > 0 && NO_OF_POINTS > 3;
+        for (int i = 0 ; i < NO_OF_POINTS ; i++) { KEEP[i] = !simplify; }
+        if (!simplify) { return; }
+
+        double x0       = coords[START];
+        double y0       = coords[START + 1];
+        int    farthest = 0;
+        double maxDist  = -1;
+        for (int i = 1 ; i < NO_OF_POINTS ; i++) {
+            double dx   = coords[START + i * 2] - x0;
+            double dy   = coords[START + i * 2 + 1] - y0;
+            double dist = dx * dx + dy * dy;
+            if (dist > maxDist) {
+                maxDist  = dist;
+                farthest = i;
+            }
+        }
+        KEEP[0]        = true;
+        KEEP[farthest] = true;
+
+        // The index NO_OF_POINTS stands for the first point that closes the ring
+        double toleranceSquared = TOLERANCE * TOLERANCE;
+        int    noOfKept         = 2;
+        int    thirdPoint       = -1;
+        double thirdDist        = -1;
+        int    top              = 0;
+        STACK[top++] = 0;
+        STACK[top++] = farthest;
+        STACK[top++] = farthest;
+        STACK[top++] = NO_OF_POINTS;
+        while (top > 0) {
+            int to   = STACK[--top];
+            int from = STACK[--top];
+            if (to - from < 2) { continue; }
+            double ax = coords[START + from * 2];
+            double ay = coords[START + from * 2 + 1];
+            double bx = coords[START + (to % NO_OF_POINTS) * 2];
+            double by = coords[START + (to % NO_OF_POINTS) * 2 + 1];
+            int    index = -1;
+            double max   = -1;
+            for (int i = from + 1 ; i < to ; i++) {
+                double dist = segmentDistanceSquared(coords[START + i * 2], coords[START + i * 2 + 1], ax, ay, bx, by);
+                if (dist > max) {
+                    max   = dist;
+                    index = i;
+                }
+            }
+            if (max > toleranceSquared) {
+                KEEP[index] = true;
+                noOfKept++;
+                STACK[top++] = from;
+                STACK[top++] = index;
+                STACK[top++] = index;
+                STACK[top++] = to;
+            } else if (max > thirdDist) {
+                thirdDist  = max;
+                thirdPoint = index;
+            }
+        }
+        // A ring needs at least 3 points to keep an area
+        if (noOfKept < 3 && thirdPoint > -1) { KEEP[thirdPoint] = true; }
+    }
+
+    private static double segmentDistanceSquared(final double X, final double Y, final double AX, final double AY, final double BX, final double BY) {
+        double dx     = BX - AX;
+        double dy     = BY - AY;
+        double length = dx * dx + dy * dy;
+        double t      = length > 0 ? Math.max(0, Math.min(1, ((X - AX) * dx + (Y - AY) * dy) / length)) : 0;
+        double px     = AX + t * dx - X;
+        double py     = AY + t * dy - Y;
+        return px * px + py * py;
+    }
+
+    private static class Level {
+        private final int[]   commandOffsets;
+        private final int[]   coordOffsets;
+        private final byte[]  commands;
+        private final float[] coords;
+
+        Level(final int[] COMMAND_OFFSETS, final int[] COORD_OFFSETS, final byte[] COMMANDS, final float[] COORDS) {
+            commandOffsets = COMMAND_OFFSETS;
+            coordOffsets   = COORD_OFFSETS;
+            commands       = COMMANDS;
+            coords         = COORDS;
+        }
+    }
+
+
+    // ******************** Loading *******************************************
+    private static WorldGeometry load(final Resolution RESOLUTION) {
+        String binary = getBinaryName(RESOLUTION);
+        try (InputStream binaryStream = WorldGeometry.class.getResourceAsStream(binary)) {
+            if (null != binaryStream) { return read(ByteBuffer.wrap(binaryStream.readAllBytes())); }
+        } catch (IOException | RuntimeException exception) {
+            throw new IllegalStateException("Cannot read world geometry from " + binary, exception);
+        }
+        return parse(RESOLUTION);
+    }
+
+    /**
+     * Returns the name of the binary file of the given resolution, relative to this package
+     */
+    static String getBinaryName(final Resolution RESOLUTION) { return Resolution.HI_RES == RESOLUTION ? HIRES_BINARY : LORES_BINARY; }
+
+    private static Properties readProperties(final String FILE_NAME) {
+        final Properties PROPERTIES = new Properties();
+        try (InputStream resourceStream = WorldGeometry.class.getResourceAsStream(FILE_NAME)) {
+            if (null == resourceStream) { throw new IllegalStateException("Missing world geometry resource " + FILE_NAME); }
+            PROPERTIES.load(resourceStream);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot read world geometry from " + FILE_NAME, exception);
+        }
+        return PROPERTIES;
+    }
+
+    private static WorldGeometry read(final ByteBuffer BUFFER) throws IOException {
+        if (BUFFER.getInt() != MAGIC || BUFFER.getInt() != VERSION) { throw new IOException("Unsupported world geometry format"); }
+        int noOfCountries = BUFFER.getInt();
+        int noOfPaths     = BUFFER.getInt();
+        int noOfCommands  = BUFFER.getInt();
+        int noOfCoords    = BUFFER.getInt();
+
+        String[] countryNames = new String[noOfCountries];
+        byte[]   nameBytes    = new byte[256];
+        for (int i = 0 ; i < noOfCountries ; i++) {
+            int length = BUFFER.get() & 0xFF;
+            BUFFER.get(nameBytes, 0, length);
+            countryNames[i] = new String(nameBytes, 0, length, StandardCharsets.US_ASCII);
+        }
+        int[]   countryPathOffsets = readInts(BUFFER, noOfCountries + 1);
+        int[]   commandOffsets     = readInts(BUFFER, noOfPaths + 1);
+        int[]   coordOffsets       = readInts(BUFFER, noOfPaths + 1);
+        byte[]  commands           = new byte[noOfCommands];
+        float[] coords             = new float[noOfCoords];
+        BUFFER.get(commands);
+        BUFFER.position(BUFFER.position() + padding(BUFFER.position()));
+        BUFFER.asFloatBuffer().get(coords);
+        return new WorldGeometry(countryNames, countryPathOffsets, commandOffsets, coordOffsets, commands, coords);
+    }
+
+    private static int[] readInts(final ByteBuffer BUFFER, final int COUNT) {
+        int[] values = new int[COUNT];
+        BUFFER.asIntBuffer().get(values);
+        BUFFER.position(BUFFER.position() + COUNT * Integer.BYTES);
+        return values;
+    }
+
+    private static int padding(final int POSITION) { return (Integer.BYTES - POSITION % Integer.BYTES) % Integer.BYTES; }
+
+    /**
+     * Writes the geometry in the binary format that is read by of().
+     */
+    void write(final OutputStream OUTPUT_STREAM) throws IOException {
+        int size = 6 * Integer.BYTES;
+        for (String name : countryNames) { size += 1 + name.length(); }
+        size += (countryPathOffsets.length + commandOffsets.length + coordOffsets.length) * Integer.BYTES;
+        size += commands.length;
+        size += padding(size) + coords.length * Float.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(countryNames.length).putInt(getNoOfPaths()).putInt(commands.length).putInt(coords.length);
+        for (String name : countryNames) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+            buffer.put((byte) nameBytes.length).put(nameBytes);
+        }
+        for (int offset : countryPathOffsets) { buffer.putInt(offset); }
+        for (int offset : commandOffsets)     { buffer.putInt(offset); }
+        for (int offset : coordOffsets)       { buffer.putInt(offset); }
+        buffer.put(commands);
+        buffer.position(buffer.position() + padding(buffer.position()));
+        buffer.asFloatBuffer().put(coords);
+        OUTPUT_STREAM.write(buffer.array());
+    }
+
+
+    // ******************** Parsing *******************************************
+    /**
+     * Parses the svg paths of the given resolution from its properties file.
+     */
+    static WorldGeometry parse(final Resolution RESOLUTION) {
+        return parse(readProperties(Resolution.HI_RES == RESOLUTION ? HIRES_PROPERTIES : LORES_PROPERTIES));
+    }
+
+    /**
+     * Parses the svg paths of all countries in the given properties, the
+     * key is the country name, the value contains its paths separated by ';'.
+     * Supports the commands M, L, H, V, Q, C and Z in absolute and relative form.
+     */
+    static WorldGeometry parse(final Properties PROPERTIES) {
+        List<String> names = new ArrayList<>(PROPERTIES.stringPropertyNames());
+        Collections.sort(names);
+
+        SvgParser parser             = new SvgParser();
+        int[]     countryPathOffsets = new int[names.size() + 1];
+        for (int i = 0 ; i < names.size() ; i++) {
+            countryPathOffsets[i] = parser.noOfPaths;
+            for (String path : PROPERTIES.getProperty(names.get(i)).split(";")) {
+                if (!path.isBlank()) { parser.parse(path); }
+            }
+        }
+        countryPathOffsets[names.size()] = parser.noOfPaths;
+        parser.commandOffsets[parser.noOfPaths] = parser.noOfCommands;
+        parser.coordOffsets[parser.noOfPaths]   = parser.noOfCoords;
+
+        return new WorldGeometry(names.toArray(new String[0]), countryPathOffsets,
+                                 Arrays.copyOf(parser.commandOffsets, parser.noOfPaths + 1),
+                                 Arrays.copyOf(parser.coordOffsets, parser.noOfPaths + 1),
+                                 Arrays.copyOf(parser.commands, parser.noOfCommands),
+                                 Arrays.copyOf(parser.coords, parser.noOfCoords));
+    }
+
+    private static class SvgParser {
+        private byte[]  commands       = new byte[1024];
+        private float[] coords         = new float[4096];
+        private int[]   commandOffsets = new int[256];
+        private int[]   coordOffsets   = new int[256];
+        private int     noOfCommands;
+        private int     noOfCoords;
+        private int     noOfPaths;
+        private String  content;
+        private int     index;
+
+        void parse(final String CONTENT) {
+            if (noOfPaths + 1 >= commandOffsets.length) {
+                commandOffsets = Arrays.copyOf(commandOffsets, commandOffsets.length * 2);
+                coordOffsets   = Arrays.copyOf(coordOffsets, coordOffsets.length * 2);
+            }
+            commandOffsets[noOfPaths] = noOfCommands;
+            coordOffsets[noOfPaths]   = noOfCoords;
+            noOfPaths++;
+
+            content = CONTENT;
+            index   = 0;
+            char  command = ' ';
+            float startX  = 0, startY = 0;
+            float x       = 0, y      = 0;
+            while (skipSeparators()) {
+                char c = content.charAt(index);
+                if (Character.isLetter(c)) {
+                    command = c;
+                    index++;
+                } else if (command == 'M') {
+                    command = 'L';
+                } else if (command == 'm') {
+                    command = 'l';
+                } else if (command == 'Z' || command == 'z' || command == ' ') {
+                    throw new IllegalArgumentException("Missing command at " + index + " in " + CONTENT);
+                }
+                boolean relative = Character.isLowerCase(command);
+                float   dx       = relative ? x : 0;
+                float   dy       = relative ? y : 0;
+                switch(Character.toUpperCase(command)) {
+                    case 'M':
+                        x = startX = dx + nextNumber();
+                        y = startY = dy + nextNumber();
+                        add(PathIterator.MOVE_TO, x, y);
+                        break;
+                    case 'L':
+                        x = dx + nextNumber();
+                        y = dy + nextNumber();
+                        add(PathIterator.LINE_TO, x, y);
+                        break;
+                    case 'H':
+                        x = dx + nextNumber();
+                        add(PathIterator.LINE_TO, x, y);
+                        break;
+                    case 'V':
+                        y = dy + nextNumber();
+                        add(PathIterator.LINE_TO, x, y);
+                        break;
+                    case 'Q':
+                        add(PathIterator.QUAD_TO, dx + nextNumber(), dy + nextNumber());
+                        x = dx + nextNumber();
+                        y = dy + nextNumber();
+                        addCoords(x, y);
+                        break;
+                    case 'C':
+                        add(PathIterator.BEZIER_TO, dx + nextNumber(), dy + nextNumber());
+                        addCoords(dx + nextNumber(), dy + nextNumber());
+                        x = dx + nextNumber();
+                        y = dy + nextNumber();
+                        addCoords(x, y);
+                        break;
+                    case 'Z':
+                        add(PathIterator.CLOSE);
+                        x = startX;
+                        y = startY;
+                        break;
+                    default : throw new IllegalArgumentException("Unsupported command " + command + " in " + CONTENT);
+                }
+            }
+        }
+
+        private boolean skipSeparators() {
+            while (index < content.length()) {
+                char c = content.charAt(index);
+                if (c != ' ' && c != ',' && !Character.isWhitespace(c)) { return true; }
+                index++;
+            }
+            return false;
+        }
+
+        private float nextNumber() {
+            if (!skipSeparators()) { throw new IllegalArgumentException("Missing number in " + content); }
+            int     start  = index;
+            boolean dot    = false;
+            boolean digits = false;
+            if (content.charAt(index) == '-' || content.charAt(index) == '+') { index++; }
+            while (index < content.length()) {
+                char c = content.charAt(index);
+                if (Character.isDigit(c)) {
+                    digits = true;
+                } else if (c == '.' && !dot) {
+                    dot = true;
+                } else if ((c == 'e' || c == 'E') && digits) {
+                    index++;
+                    if (index < content.length() && (content.charAt(index) == '-' || content.charAt(index) == '+')) { index++; }
+                    continue;
+                } else {
+                    break;
+                }
+                index++;
+            }
+            if (!digits) { throw new IllegalArgumentException("Invalid number at " + start + " in " + content); }
+            return Float.parseFloat(content.substring(start, index));
+        }
+
+        private void add(final int COMMAND) {
+            if (noOfCommands == commands.length) { commands = Arrays.copyOf(commands, commands.length * 2); }
+            commands[noOfCommands++] = (byte) COMMAND;
+        }
+        private void add(final int COMMAND, final float X, final float Y) {
+            add(COMMAND);
+            addCoords(X, Y);
+        }
+
+        private void addCoords(final float X, final float Y) {
+            if (noOfCoords + 2 > coords.length) { coords = Arrays.copyOf(coords, coords.length * 2); }
+            coords[noOfCoords++] = X;
+            coords[noOfCoords++] = Y;
+        }
+    }
+}
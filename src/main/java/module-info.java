@@ -3,6 +3,7 @@ module eu.hansolo.fx.charts {
     // Java
     requires java.base;
     requires java.logging;
+    requires java.xml;
 
     // Java-FX
     requires javafx.base;